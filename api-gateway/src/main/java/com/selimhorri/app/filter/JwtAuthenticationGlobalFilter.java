@@ -0,0 +1,92 @@
+package com.selimhorri.app.filter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.client.identity.AuthenticatedIdentity;
+import com.selimhorri.app.client.identity.IdentityHeader;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Global filter verifying the signature and expiry of the bearer JWT at the API Gateway level.
+ * A request with an invalid token is answered 401, a valid one is forwarded with a signed
+ * identity header holding the user and its roles, so proxy-client and the services trust it
+ * instead of looking the user up again. An identity header sent by the client is always dropped.
+ * Tokens issued without the roles claim are forwarded as they are, for proxy-client to resolve.
+ */
+@Component
+@Slf4j
+public class JwtAuthenticationGlobalFilter implements GlobalFilter, Ordered {
+
+    static final String ROLES_CLAIM = "roles";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final String jwtSecret;
+    private final IdentityHeader identityHeader;
+
+    public JwtAuthenticationGlobalFilter(@Value("${app.security.jwt.secret:secret}") String jwtSecret,
+                                         IdentityHeader identityHeader) {
+        this.jwtSecret = jwtSecret;
+        this.identityHeader = identityHeader;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return chain.filter(withIdentity(exchange, null));
+        }
+
+        Claims claims;
+        try {
+            claims = Jwts.parser()
+                    .setSigningKey(this.jwtSecret)
+                    .parseClaimsJws(authorization.substring(BEARER_PREFIX.length()))
+                    .getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejecting request with an invalid token: {}", e.getMessage());
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+
+        Object roles = claims.get(ROLES_CLAIM);
+        if (claims.getSubject() == null || claims.getExpiration() == null || !(roles instanceof List)) {
+            return chain.filter(withIdentity(exchange, null));
+        }
+        return chain.filter(withIdentity(exchange, this.identityHeader.sign(new AuthenticatedIdentity(
+                claims.getSubject(),
+                ((List<?>) roles).stream().map(String::valueOf).collect(Collectors.toUnmodifiableList()),
+                claims.getExpiration().toInstant()))));
+    }
+
+    @Override
+    public int getOrder() {
+        // Execute right after the HTTP method filter, ahead of routing
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    private static ServerWebExchange withIdentity(ServerWebExchange exchange, String identity) {
+        return exchange.mutate()
+                .request(request -> request.headers(headers -> {
+                    headers.remove(IdentityHeader.NAME);
+                    if (identity != null) {
+                        headers.set(IdentityHeader.NAME, identity);
+                    }
+                }))
+                .build();
+    }
+}
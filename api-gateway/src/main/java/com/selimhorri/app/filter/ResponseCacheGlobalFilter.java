@@ -0,0 +1,331 @@
+package com.selimhorri.app.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.reactivestreams.Publisher;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Caches anonymous GET responses of the configured routes at the edge, so catalogue browsing
+ * does not go through proxy-client and product-service down to the database on every request.
+ * Only 200 responses without Set-Cookie are kept, for the route ttl or the shorter max-age
+ * (s-maxage first) sent by upstream, never when upstream answers no-store, no-cache or private.
+ * A client sending no-store bypasses the cache, no-cache refreshes the entry. A hit carrying the
+ * ETag of an If-None-Match is answered 304. Concurrent misses of the same key wait on the first one
+ * instead of all going upstream. Any write going through the gateway to a path of a route drops
+ * the entries of that route, writes made behind the gateway are only bounded by the ttl.
+ */
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+@Slf4j
+public class ResponseCacheGlobalFilter implements GlobalFilter, Ordered {
+
+    static final String CACHE_HEADER = "X-Cache";
+    private static final Set<HttpMethod> WRITE_METHODS = Set.of(HttpMethod.POST, HttpMethod.PUT,
+            HttpMethod.PATCH, HttpMethod.DELETE);
+    // framing and per request headers, never replayed from the cache
+    private static final Set<String> SKIPPED_HEADERS = Set.of(HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ROOT),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(Locale.ROOT), HttpHeaders.CONNECTION.toLowerCase(Locale.ROOT),
+            HttpHeaders.DATE.toLowerCase(Locale.ROOT), CACHE_HEADER.toLowerCase(Locale.ROOT));
+
+    private final ResponseCacheProperties properties;
+    private final List<Route> routes;
+    private final Cache<String, CachedResponse> entries;
+    private final ConcurrentMap<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public ResponseCacheGlobalFilter(ResponseCacheProperties properties) {
+        this.properties = properties;
+        PathPatternParser parser = new PathPatternParser();
+        this.routes = properties.getRoutes().entrySet().stream()
+                .map(route -> new Route(route.getKey(), route.getValue().getPaths().stream()
+                        .map(parser::parse)
+                        .collect(Collectors.toUnmodifiableList()), route.getValue().getTtl()))
+                .collect(Collectors.toUnmodifiableList());
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.body.length)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+                        return response.ttl.toNanos();
+                    }
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse response, long currentTime,
+                                                  long currentDuration) {
+                        return response.ttl.toNanos();
+                    }
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse response, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = this.properties.isEnabled() ? route(request.getPath().pathWithinApplication()) : null;
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        if (WRITE_METHODS.contains(request.getMethod())) {
+            return chain.filter(exchange).doFinally(signal -> invalidate(route));
+        }
+        Set<String> directives = directives(request.getHeaders().getCacheControl());
+        if (request.getMethod() != HttpMethod.GET
+                || request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)
+                || directives.contains("no-store")) {
+            return chain.filter(exchange);
+        }
+
+        String key = route.keyPrefix + request.getURI().getRawPath()
+                + (request.getURI().getRawQuery() == null ? "" : "?" + request.getURI().getRawQuery())
+                + " " + Objects.toString(request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING), "");
+        boolean refresh = directives.contains("no-cache");
+        return Mono.defer(() -> serve(exchange, chain, route, key, refresh));
+    }
+
+    @Override
+    public int getOrder() {
+        // Execute after the JWT filter, requests with a rejected token never reach the cache
+        return Ordered.HIGHEST_PRECEDENCE + 2;
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, GatewayFilterChain chain, Route route, String key,
+                             boolean refresh) {
+        if (!refresh) {
+            CachedResponse cached = this.entries.getIfPresent(key);
+            if (cached != null) {
+                return replay(exchange, cached);
+            }
+        }
+
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> leader = this.inFlight.putIfAbsent(key, sink);
+        if (leader != null) {
+            return leader.asMono()
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .timeout(this.properties.getInFlightTimeout())
+                    .onErrorResume(TimeoutException.class, e -> Mono.just(Optional.empty()))
+                    .flatMap(cached -> cached.isPresent() ? replay(exchange, cached.get()) : chain.filter(exchange));
+        }
+
+        // the conditional headers are the client's own, upstream must send the full body to fill the entry
+        ServerWebExchange leading = exchange.mutate()
+                .request(forwarded -> forwarded.headers(headers -> {
+                    headers.remove(HttpHeaders.IF_NONE_MATCH);
+                    headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                }))
+                .response(new CachingResponse(exchange.getResponse(), route, key, sink))
+                .build();
+        leading.getResponse().getHeaders().set(CACHE_HEADER, "MISS");
+        return chain.filter(leading)
+                .doFinally(signal -> {
+                    this.inFlight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    private Route route(PathContainer path) {
+        return this.routes.stream()
+                .filter(route -> route.paths.stream().anyMatch(pattern -> pattern.matches(path)))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void invalidate(Route route) {
+        route.generation.incrementAndGet();
+        this.entries.asMap().keySet().removeIf(key -> key.startsWith(route.keyPrefix));
+        log.debug("Dropped cached responses of route {}", route.name);
+    }
+
+    private static Mono<Void> replay(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.headers.forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+        headers.set(CACHE_HEADER, "HIT");
+        headers.set(HttpHeaders.AGE, String.valueOf(Duration.ofNanos(System.nanoTime() - cached.storedAt).toSeconds()));
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+        if (cached.headers.getETag() != null
+                && (ifNoneMatch.contains("*") || ifNoneMatch.contains(cached.headers.getETag()))) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.body.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body)));
+    }
+
+    private static Set<String> directives(String cacheControl) {
+        return cacheControl == null ? Set.of() : Arrays.stream(cacheControl.split(","))
+                .map(directive -> directive.strip().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * How long the response may be cached, empty when it may not be
+     */
+    private static Optional<Duration> ttl(Route route, ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        if (response.getStatusCode() != HttpStatus.OK
+                || headers.containsKey(HttpHeaders.SET_COOKIE)
+                || headers.getVary().contains("*")) {
+            return Optional.empty();
+        }
+        Set<String> directives = directives(headers.getCacheControl());
+        if (directives.contains("no-store") || directives.contains("no-cache") || directives.contains("private")) {
+            return Optional.empty();
+        }
+        Optional<Duration> maxAge = maxAge(directives, "s-maxage=").or(() -> maxAge(directives, "max-age="));
+        Duration ttl = maxAge.filter(age -> age.compareTo(route.ttl) < 0).orElse(route.ttl);
+        return ttl.isZero() || ttl.isNegative() ? Optional.empty() : Optional.of(ttl);
+    }
+
+    private static Optional<Duration> maxAge(Set<String> directives, String name) {
+        return directives.stream()
+                .filter(directive -> directive.startsWith(name))
+                .findFirst()
+                .map(directive -> {
+                    try {
+                        return Duration.ofSeconds(Long.parseLong(directive.substring(name.length()).strip()));
+                    } catch (NumberFormatException e) {
+                        return Duration.ZERO;
+                    }
+                });
+    }
+
+    /**
+     * Copies the body as it is written to the client and stores it once upstream completes,
+     * provided the route was not written to in the meantime and the body stayed under the size limit.
+     */
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final Route route;
+        private final String key;
+        private final Sinks.One<CachedResponse> sink;
+        private final long generation;
+
+        CachingResponse(ServerHttpResponse delegate, Route route, String key, Sinks.One<CachedResponse> sink) {
+            super(delegate);
+            this.route = route;
+            this.key = key;
+            this.sink = sink;
+            this.generation = route.generation.get();
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            Optional<Duration> ttl = ttl(this.route, getDelegate());
+            if (ttl.isEmpty()) {
+                return super.writeWith(body);
+            }
+            long limit = ResponseCacheGlobalFilter.this.properties.getMaximumEntrySize().toBytes();
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            return super.writeWith(Flux.from(body)
+                    .doOnNext(buffer -> {
+                        if (copy.size() <= limit) {
+                            ByteBuffer bytes = buffer.asByteBuffer();
+                            byte[] chunk = new byte[bytes.remaining()];
+                            bytes.get(chunk);
+                            copy.write(chunk, 0, chunk.length);
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        if (copy.size() <= limit && this.route.generation.get() == this.generation) {
+                            store(ttl.get(), copy.toByteArray());
+                        }
+                    }));
+        }
+
+        private void store(Duration ttl, byte[] body) {
+            HttpHeaders headers = new HttpHeaders();
+            getDelegate().getHeaders().forEach((name, values) -> {
+                String lowerCase = name.toLowerCase(Locale.ROOT);
+                // CORS headers are computed for the origin of each request
+                if (!SKIPPED_HEADERS.contains(lowerCase) && !lowerCase.startsWith("access-control-")) {
+                    headers.put(name, values);
+                }
+            });
+            CachedResponse cached = new CachedResponse(HttpHeaders.readOnlyHttpHeaders(headers), body, ttl, System.nanoTime());
+            ResponseCacheGlobalFilter.this.entries.put(this.key, cached);
+            this.sink.tryEmitValue(cached);
+        }
+
+    }
+
+    private static final class Route {
+
+        private final String name;
+        private final List<PathPattern> paths;
+        private final Duration ttl;
+        private final String keyPrefix;
+        // bumped by every write, a miss started before it must not store what it read
+        private final AtomicLong generation = new AtomicLong();
+
+        Route(String name, List<PathPattern> paths, Duration ttl) {
+            this.name = name;
+            this.paths = paths;
+            this.ttl = ttl;
+            this.keyPrefix = name + " ";
+        }
+
+    }
+
+    private static final class CachedResponse {
+
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private final Duration ttl;
+        private final long storedAt;
+
+        CachedResponse(HttpHeaders headers, byte[] body, Duration ttl, long storedAt) {
+            this.headers = headers;
+            this.body = body;
+            this.ttl = ttl;
+            this.storedAt = storedAt;
+        }
+
+    }
+
+}
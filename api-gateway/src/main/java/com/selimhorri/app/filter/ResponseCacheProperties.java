@@ -0,0 +1,49 @@
+package com.selimhorri.app.filter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings of {@link ResponseCacheGlobalFilter}, bound by the filter itself
+ */
+@ConfigurationProperties(prefix = "app.response-cache")
+@Getter
+@Setter
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    /** Total size of the cached bodies, the least recently used entries go first */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+    /** Larger responses are forwarded without being cached */
+    private DataSize maximumEntrySize = DataSize.ofKilobytes(512);
+
+    /** How long a concurrent miss waits on the in-flight one before going upstream itself */
+    private Duration inFlightTimeout = Duration.ofSeconds(5);
+
+    /** Cached routes by name, a write to any path of a route drops all of its entries */
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+
+        /** Path patterns, e.g. /app/api/products/** */
+        private List<String> paths = new ArrayList<>();
+
+        /** Upper bound of an entry lifetime, a shorter max-age from upstream wins */
+        private Duration ttl = Duration.ofSeconds(30);
+
+    }
+
+}
@@ -2,7 +2,7 @@ package com.selimhorri.app;
 
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.security.identity.secret=api-gateway-test-identity-secret")
 class ApiGatewayApplicationTests {
 	
 	
@@ -0,0 +1,96 @@
+package com.selimhorri.app.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.client.identity.AuthenticatedIdentity;
+import com.selimhorri.app.client.identity.IdentityHeader;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import reactor.core.publisher.Mono;
+
+@DisplayName("JwtAuthenticationGlobalFilter Tests")
+class JwtAuthenticationGlobalFilterTest {
+	
+	private final IdentityHeader identityHeader = new IdentityHeader("identity-secret");
+	private final JwtAuthenticationGlobalFilter filter = new JwtAuthenticationGlobalFilter("secret", identityHeader);
+	private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+	private final GatewayFilterChain chain = exchange -> {
+		forwarded.set(exchange);
+		return Mono.empty();
+	};
+	
+	private static String token(final String secret, final long expiresInMillis, final List<String> roles) {
+		return Jwts.builder()
+				.claim(JwtAuthenticationGlobalFilter.ROLES_CLAIM, roles)
+				.setSubject("selimhorri")
+				.setExpiration(new Date(System.currentTimeMillis() + expiresInMillis))
+				.signWith(SignatureAlgorithm.HS256, secret)
+				.compact();
+	}
+	
+	private static MockServerWebExchange exchange(final String token, final String identity) {
+		final MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/app/api/orders");
+		if (token != null)
+			request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+		if (identity != null)
+			request.header(IdentityHeader.NAME, identity);
+		return MockServerWebExchange.from(request);
+	}
+	
+	@Test
+	@DisplayName("Should forward a valid token with a signed identity header")
+	void testValidToken() {
+		// When
+		filter.filter(exchange(token("secret", 60_000, List.of("ROLE_USER")), null), chain).block();
+		
+		// Then
+		final Optional<AuthenticatedIdentity> identity = identityHeader.verify(
+				forwarded.get().getRequest().getHeaders().getFirst(IdentityHeader.NAME));
+		assertTrue(identity.isPresent());
+		assertEquals("selimhorri", identity.get().getUsername());
+		assertEquals(List.of("ROLE_USER"), identity.get().getRoles());
+	}
+	
+	@Test
+	@DisplayName("Should answer 401 to an expired or forged token")
+	void testInvalidToken() {
+		// Given
+		final MockServerWebExchange expired = exchange(token("secret", -60_000, List.of("ROLE_USER")), null);
+		final MockServerWebExchange forged = exchange(token("other-secret", 60_000, List.of("ROLE_ADMIN")), null);
+		
+		// When
+		filter.filter(expired, chain).block();
+		filter.filter(forged, chain).block();
+		
+		// Then
+		assertEquals(HttpStatus.UNAUTHORIZED, expired.getResponse().getStatusCode());
+		assertEquals(HttpStatus.UNAUTHORIZED, forged.getResponse().getStatusCode());
+		assertNull(forwarded.get());
+	}
+	
+	@Test
+	@DisplayName("Should drop an identity header sent by the client")
+	void testClientIdentityIsDropped() {
+		// When
+		filter.filter(exchange(null, "spoofed"), chain).block();
+		
+		// Then
+		assertNull(forwarded.get().getRequest().getHeaders().getFirst(IdentityHeader.NAME));
+	}
+	
+}
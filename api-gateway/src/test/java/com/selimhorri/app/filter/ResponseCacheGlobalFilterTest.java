@@ -0,0 +1,152 @@
+package com.selimhorri.app.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+@DisplayName("ResponseCacheGlobalFilter Tests")
+class ResponseCacheGlobalFilterTest {
+	
+	private final AtomicInteger upstreamCalls = new AtomicInteger();
+	private final ResponseCacheGlobalFilter filter = new ResponseCacheGlobalFilter(properties());
+	
+	private static ResponseCacheProperties properties() {
+		final ResponseCacheProperties.Route catalogue = new ResponseCacheProperties.Route();
+		catalogue.setPaths(List.of("/app/api/products/**", "/app/api/categories/**"));
+		final ResponseCacheProperties properties = new ResponseCacheProperties();
+		properties.getRoutes().put("catalogue", catalogue);
+		return properties;
+	}
+	
+	private GatewayFilterChain upstream(final String cacheControl, final Duration delay) {
+		return exchange -> Mono.delay(delay).then(Mono.defer(() -> {
+			upstreamCalls.incrementAndGet();
+			final ServerHttpResponse response = exchange.getResponse();
+			response.setStatusCode(HttpStatus.OK);
+			response.getHeaders().setETag("\"v1\"");
+			if (cacheControl != null)
+				response.getHeaders().setCacheControl(cacheControl);
+			return response.writeWith(Mono.just(response.bufferFactory()
+					.wrap("{\"productId\":1}".getBytes(StandardCharsets.UTF_8))));
+		}));
+	}
+	
+	private GatewayFilterChain upstream() {
+		return upstream(null, Duration.ZERO);
+	}
+	
+	private static MockServerWebExchange get(final String path) {
+		return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+	}
+	
+	@Test
+	@DisplayName("Should serve a repeated anonymous GET from the cache")
+	void testHit() {
+		// Given
+		filter.filter(get("/app/api/products/1"), upstream()).block();
+		final MockServerWebExchange exchange = get("/app/api/products/1");
+		
+		// When
+		filter.filter(exchange, upstream()).block();
+		
+		// Then
+		assertEquals(1, upstreamCalls.get());
+		assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+		assertEquals("HIT", exchange.getResponse().getHeaders().getFirst(ResponseCacheGlobalFilter.CACHE_HEADER));
+		assertEquals("\"v1\"", exchange.getResponse().getHeaders().getETag());
+		assertEquals("{\"productId\":1}", exchange.getResponse().getBodyAsString().block());
+	}
+	
+	@Test
+	@DisplayName("Should answer 304 to a hit whose ETag matches If-None-Match")
+	void testNotModified() {
+		// Given
+		filter.filter(get("/app/api/products/1"), upstream()).block();
+		final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest
+				.get("/app/api/products/1").ifNoneMatch("\"v1\""));
+		
+		// When
+		filter.filter(exchange, upstream()).block();
+		
+		// Then
+		assertEquals(1, upstreamCalls.get());
+		assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+	}
+	
+	@Test
+	@DisplayName("Should not cache authenticated requests, other routes or no-store responses")
+	void testBypass() {
+		// When
+		for (int i = 0; i < 2; i++) {
+			filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/app/api/products/1")
+					.header(HttpHeaders.AUTHORIZATION, "Bearer token")), upstream()).block();
+			filter.filter(get("/app/api/orders/1"), upstream()).block();
+			filter.filter(get("/app/api/categories/1"), upstream("no-store", Duration.ZERO)).block();
+		}
+		
+		// Then
+		assertEquals(6, upstreamCalls.get());
+	}
+	
+	@Test
+	@DisplayName("Should drop the entries of a route written to through the gateway")
+	void testWriteInvalidates() {
+		// Given
+		filter.filter(get("/app/api/categories/1"), upstream()).block();
+		
+		// When
+		filter.filter(MockServerWebExchange.from(MockServerHttpRequest.put("/app/api/products/1")),
+				exchange -> Mono.empty()).block();
+		final MockServerWebExchange exchange = get("/app/api/categories/1");
+		filter.filter(exchange, upstream()).block();
+		
+		// Then
+		assertEquals(2, upstreamCalls.get());
+		assertEquals("MISS", exchange.getResponse().getHeaders().getFirst(ResponseCacheGlobalFilter.CACHE_HEADER));
+	}
+	
+	@Test
+	@DisplayName("Should send concurrent misses of the same key upstream once")
+	void testConcurrentMissesCoalesce() {
+		// Given
+		final GatewayFilterChain slow = upstream(null, Duration.ofMillis(200));
+		final MockServerWebExchange first = get("/app/api/products?limit=20");
+		final MockServerWebExchange second = get("/app/api/products?limit=20");
+		
+		// When
+		Mono.when(filter.filter(first, slow), filter.filter(second, slow)).block();
+		
+		// Then
+		assertEquals(1, upstreamCalls.get());
+		assertEquals(first.getResponse().getBodyAsString().block(), second.getResponse().getBodyAsString().block());
+		assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheGlobalFilter.CACHE_HEADER));
+	}
+	
+	@Test
+	@DisplayName("Should keep a response no longer than its max-age")
+	void testMaxAge() {
+		// Given
+		filter.filter(get("/app/api/products/1"), upstream("max-age=0", Duration.ZERO)).block();
+		
+		// When
+		filter.filter(get("/app/api/products/1"), upstream()).block();
+		
+		// Then
+		assertEquals(2, upstreamCalls.get());
+	}
+	
+}
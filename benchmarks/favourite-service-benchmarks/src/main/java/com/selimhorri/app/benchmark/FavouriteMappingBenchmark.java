@@ -0,0 +1,54 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.Favourite;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.helper.FavouriteMappingHelper;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FavouriteMappingBenchmark {
+	
+	private Favourite favourite;
+	private FavouriteDto favouriteDto;
+	
+	@Setup
+	public void setUp() {
+		this.favourite = Favourite.builder()
+				.userId(1)
+				.productId(1)
+				.likeDate(LocalDateTime.of(2024, 1, 1, 12, 0))
+				.build();
+		this.favouriteDto = FavouriteMappingHelper.map(this.favourite);
+	}
+	
+	@Benchmark
+	public FavouriteDto entityToDto() {
+		return FavouriteMappingHelper.map(this.favourite);
+	}
+	
+	@Benchmark
+	public Favourite dtoToEntity() {
+		return FavouriteMappingHelper.map(this.favouriteDto);
+	}
+	
+	
+	
+}
@@ -0,0 +1,84 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.mapper.MapperConfig;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+
+/**
+ * Serializes an enriched favourite listing, each row embedding its user and product,
+ * with the ObjectMapper of {@link MapperConfig}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FavouriteSerializationBenchmark {
+	
+	@Param({ "1", "100", "10000" })
+	private int size;
+	
+	private ObjectMapper objectMapper;
+	private DtoCollectionResponse<FavouriteDto> response;
+	
+	@Setup
+	public void setUp() {
+		this.objectMapper = new MapperConfig().objectMapperBean();
+		final LocalDateTime likeDate = LocalDateTime.of(2024, 1, 1, 12, 0);
+		final List<FavouriteDto> favouriteDtos = IntStream.rangeClosed(1, this.size)
+				.mapToObj(i -> FavouriteDto.builder()
+						.userId(i % 100)
+						.productId(i)
+						.likeDate(likeDate.plusSeconds(i))
+						.userDto(UserDto.builder()
+								.userId(i % 100)
+								.firstName("First " + i % 100)
+								.lastName("Last " + i % 100)
+								.imageUrl("https://cdn.example.com/users/" + i % 100 + ".png")
+								.email("user" + i % 100 + "@example.com")
+								.phone("+57300000" + i % 100)
+								.build())
+						.productDto(ProductDto.builder()
+								.productId(i)
+								.productTitle("Product " + i)
+								.imageUrl("https://cdn.example.com/products/" + i + ".png")
+								.sku("SKU-" + i)
+								.priceUnit(19.99 + i)
+								.quantity(50)
+								.build())
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+		this.response = new DtoCollectionResponse<>(favouriteDtos);
+	}
+	
+	@Benchmark
+	public byte[] serializeCollection() throws JsonProcessingException {
+		return this.objectMapper.writeValueAsBytes(this.response);
+	}
+	
+	
+	
+}
@@ -0,0 +1,4 @@
+package com.selimhorri.app.benchmark.jmh_generated;
+public class FavouriteMappingBenchmark_jmhType extends FavouriteMappingBenchmark_jmhType_B3 {
+}
+
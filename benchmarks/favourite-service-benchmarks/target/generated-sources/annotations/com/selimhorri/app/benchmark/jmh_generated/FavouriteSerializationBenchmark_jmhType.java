@@ -0,0 +1,4 @@
+package com.selimhorri.app.benchmark.jmh_generated;
+public class FavouriteSerializationBenchmark_jmhType extends FavouriteSerializationBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,149 @@
+package com.selimhorri.app.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.client.InterServiceClientAutoConfiguration;
+import com.selimhorri.app.client.InterServiceClientProperties;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Sequential GETs from 16 caller threads against a local stub downstream, with the transport
+ * the services had, a new RestTemplate over HttpURLConnection encoding the Basic header on
+ * every call, and with the pooled transport of the inter-service-client module.
+ * As every thread calls in a loop, the latency of a call is 16 / throughput, and
+ * callerCpuNanos / throughput is the CPU a call costs its caller thread.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class InterServiceTransportBenchmark {
+	
+	private static final byte[] BODY = "{\"userId\":1,\"firstName\":\"selim\",\"lastName\":\"horri\"}"
+			.getBytes(StandardCharsets.UTF_8);
+	
+	public enum Transport { SIMPLE, POOLED }
+	
+	@Param
+	private Transport transport;
+	
+	private HttpServer downstream;
+	private ExecutorService downstreamThreads;
+	private String url;
+	private PoolingHttpClientConnectionManager connectionManager;
+	private CloseableHttpClient httpClient;
+	private RestTemplate restTemplate;
+	
+	@Setup
+	public void setUp() throws IOException {
+		this.downstreamThreads = Executors.newFixedThreadPool(32);
+		this.downstream = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+		this.downstream.setExecutor(this.downstreamThreads);
+		this.downstream.createContext("/user-service/api/users/1", exchange -> {
+			exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+			exchange.sendResponseHeaders(200, BODY.length);
+			try (OutputStream body = exchange.getResponseBody()) {
+				body.write(BODY);
+			}
+		});
+		this.downstream.start();
+		this.url = "http://localhost:" + this.downstream.getAddress().getPort() + "/user-service/api/users/1";
+		
+		if (this.transport == Transport.SIMPLE) {
+			this.restTemplate = new RestTemplate();
+			this.restTemplate.setInterceptors(List.of(perCallBasicAuthentication()));
+		}
+		else {
+			final InterServiceClientProperties properties = new InterServiceClientProperties();
+			final InterServiceClientAutoConfiguration configuration = new InterServiceClientAutoConfiguration();
+			this.connectionManager = configuration.interServiceConnectionManager(properties);
+			this.httpClient = configuration.interServiceHttpClient(this.connectionManager, properties);
+			this.restTemplate = new RestTemplate(configuration.interServiceRequestFactory(this.httpClient));
+			this.restTemplate.setInterceptors(List.of(configuration.interServiceAuthenticationInterceptor(properties)));
+		}
+	}
+	
+	@TearDown
+	public void tearDown() throws IOException {
+		if (this.httpClient != null)
+			this.httpClient.close();
+		if (this.connectionManager != null)
+			this.connectionManager.close();
+		this.downstream.stop(0);
+		this.downstreamThreads.shutdownNow();
+	}
+	
+	@Benchmark
+	public String get(final CallerCpu callerCpu) {
+		final long cpuBefore = callerCpu.threads.getCurrentThreadCpuTime();
+		final String body = this.restTemplate.getForObject(this.url, String.class);
+		callerCpu.callerCpuNanos += callerCpu.threads.getCurrentThreadCpuTime() - cpuBefore;
+		return body;
+	}
+	
+	/**
+	 * CPU time spent by the caller threads, reported as nanoseconds per millisecond of the iteration.
+	 */
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class CallerCpu {
+		
+		private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		
+		public long callerCpuNanos;
+		
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.callerCpuNanos = 0;
+		}
+	}
+	
+	/**
+	 * The interceptor the services had, encoding the credentials on every call.
+	 */
+	private static ClientHttpRequestInterceptor perCallBasicAuthentication() {
+		return (request, body, execution) -> {
+			final String auth = "user" + ":" + "password";
+			final byte[] encodedAuth = Base64.getEncoder().encode(auth.getBytes(StandardCharsets.UTF_8));
+			request.getHeaders().set("Authorization", "Basic " + new String(encodedAuth, StandardCharsets.UTF_8));
+			return execution.execute(request, body);
+		};
+	}
+	
+	
+	
+}
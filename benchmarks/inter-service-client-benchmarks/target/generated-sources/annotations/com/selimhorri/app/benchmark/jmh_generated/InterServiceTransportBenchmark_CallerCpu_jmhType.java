@@ -0,0 +1,4 @@
+package com.selimhorri.app.benchmark.jmh_generated;
+public class InterServiceTransportBenchmark_CallerCpu_jmhType extends InterServiceTransportBenchmark_CallerCpu_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.selimhorri.app.benchmark.jmh_generated;
+public class InterServiceTransportBenchmark_jmhType extends InterServiceTransportBenchmark_jmhType_B3 {
+}
+
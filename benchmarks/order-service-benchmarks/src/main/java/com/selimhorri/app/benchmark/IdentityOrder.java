@@ -0,0 +1,39 @@
+package com.selimhorri.app.benchmark;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Order mapped the way it was before pooled ids, the baseline of {@link OrderInsertBenchmark}
+ */
+@Entity
+@Table(name = "orders")
+public class IdentityOrder {
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "order_id", unique = true, nullable = false, updatable = false)
+	private Integer orderId;
+	
+	@Column(name = "order_desc")
+	private String orderDesc;
+	
+	@Column(name = "order_fee", columnDefinition = "decimal")
+	private Double orderFee;
+	
+	protected IdentityOrder() {
+	}
+	
+	public IdentityOrder(final String orderDesc, final Double orderFee) {
+		this.orderDesc = orderDesc;
+		this.orderFee = orderFee;
+	}
+	
+	
+	
+}
+
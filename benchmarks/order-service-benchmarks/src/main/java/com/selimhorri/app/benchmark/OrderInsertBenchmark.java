@@ -0,0 +1,102 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.domain.Order;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Time to insert 10k orders in one transaction on the order-service schema (Flyway migrations on H2),
+ * with IDENTITY ids, where Hibernate must run each insert on its own to read the key back,
+ * against the pooled ids of {@link Order}, where inserts go out in JDBC batches.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderInsertBenchmark {
+	
+	private static final int ORDERS = 10_000;
+	private static final int BATCH_SIZE = 50;
+	
+	@Param({ "IDENTITY", "POOLED" })
+	private String idGeneration;
+	
+	private HikariDataSource dataSource;
+	private SessionFactory sessionFactory;
+	
+	@Setup
+	public void setUp() {
+		this.dataSource = new HikariDataSource();
+		this.dataSource.setJdbcUrl("jdbc:h2:mem:order_insert_benchmark;DB_CLOSE_DELAY=-1");
+		this.dataSource.setUsername("sa");
+		Flyway.configure()
+				.dataSource(this.dataSource)
+				.load()
+				.migrate();
+		
+		this.sessionFactory = new MetadataSources(new StandardServiceRegistryBuilder()
+					.applySetting(AvailableSettings.DATASOURCE, this.dataSource)
+					.applySetting(AvailableSettings.DIALECT, H2Dialect.class.getName())
+					.applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, BATCH_SIZE)
+					.applySetting(AvailableSettings.ORDER_INSERTS, true)
+					.build())
+				.addAnnotatedClass(Cart.class)
+				.addAnnotatedClass(Order.class)
+				.addAnnotatedClass(IdentityOrder.class)
+				.buildMetadata()
+				.buildSessionFactory();
+	}
+	
+	@TearDown
+	public void tearDown() {
+		this.sessionFactory.close();
+		this.dataSource.close();
+	}
+	
+	@Benchmark
+	public int insertOrders() {
+		try (final Session session = this.sessionFactory.openSession()) {
+			final Transaction transaction = session.beginTransaction();
+			for (int i = 0; i < ORDERS; i++) {
+				session.persist("POOLED".equals(this.idGeneration) ? 
+						Order.builder().orderDesc("benchmark").orderFee(5000.0).build() 
+						: new IdentityOrder("benchmark", 5000.0));
+				if ((i + 1) % BATCH_SIZE == 0) {
+					session.flush();
+					session.clear();
+				}
+			}
+			transaction.commit();
+		}
+		return ORDERS;
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,132 @@
+package com.selimhorri.app.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.helper.OrderMappingHelper;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Time to list every order on the order-service schema (Flyway migrations on H2), the way
+ * OrderServiceImpl#findAll did, managed entities with their EAGER cart mapped to dtos in a
+ * read-write transaction, against the constructor expression of OrderRepository#findAllDtos
+ * in a read-only one. Run with -prof gc to compare the allocation per listing as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderReadBenchmark {
+	
+	private static final String FIND_ALL_DTOS = "SELECT new com.selimhorri.app.dto.OrderDto(o.orderId, o.orderDate, o.orderDesc, o.orderFee, o.version, c.cartId) "
+			+ "FROM Order o LEFT JOIN o.cart c";
+	private static final int CARTS = 4;
+	
+	@Param({ "10000", "50000" })
+	private int orders;
+	
+	private HikariDataSource dataSource;
+	private SessionFactory sessionFactory;
+	
+	@Setup
+	public void setUp() throws SQLException {
+		this.dataSource = new HikariDataSource();
+		this.dataSource.setJdbcUrl("jdbc:h2:mem:order_read_benchmark_" + this.orders + ";DB_CLOSE_DELAY=-1");
+		this.dataSource.setUsername("sa");
+		Flyway.configure()
+				.dataSource(this.dataSource)
+				.load()
+				.migrate();
+		
+		try (final Connection connection = this.dataSource.getConnection();
+				final PreparedStatement insert = connection.prepareStatement(
+						"INSERT INTO orders (order_id, order_date, order_desc, order_fee, cart_id) VALUES (?, CURRENT_TIMESTAMP, ?, ?, ?)")) {
+			for (int i = 1; i <= this.orders; i++) {
+				insert.setInt(1, 1_000_000 + i);
+				insert.setString(2, "benchmark");
+				insert.setDouble(3, 5000.0);
+				insert.setInt(4, 1 + i % CARTS);
+				insert.addBatch();
+			}
+			insert.executeBatch();
+		}
+		
+		this.sessionFactory = new MetadataSources(new StandardServiceRegistryBuilder()
+					.applySetting(AvailableSettings.DATASOURCE, this.dataSource)
+					.applySetting(AvailableSettings.DIALECT, H2Dialect.class.getName())
+					.build())
+				.addAnnotatedClass(Cart.class)
+				.addAnnotatedClass(Order.class)
+				.buildMetadata()
+				.buildSessionFactory();
+	}
+	
+	@TearDown
+	public void tearDown() {
+		this.sessionFactory.close();
+		this.dataSource.close();
+	}
+	
+	@Benchmark
+	public List<OrderDto> managedEntities() {
+		try (final Session session = this.sessionFactory.openSession()) {
+			final Transaction transaction = session.beginTransaction();
+			final List<OrderDto> orderDtos = session.createQuery("FROM Order", Order.class)
+					.getResultList()
+					.stream()
+						.map(OrderMappingHelper::map)
+						.distinct()
+						.collect(Collectors.toUnmodifiableList());
+			transaction.commit();
+			return orderDtos;
+		}
+	}
+	
+	@Benchmark
+	public List<OrderDto> projection() {
+		try (final Session session = this.sessionFactory.openSession()) {
+			session.setDefaultReadOnly(true);
+			final Transaction transaction = session.beginTransaction();
+			final List<OrderDto> orderDtos = session.createQuery(FIND_ALL_DTOS, OrderDto.class)
+					.getResultList()
+					.stream()
+						.distinct()
+						.collect(Collectors.toUnmodifiableList());
+			transaction.commit();
+			return orderDtos;
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,4 @@
+package com.selimhorri.app.benchmark.jmh_generated;
+public class OrderInsertBenchmark_jmhType extends OrderInsertBenchmark_jmhType_B3 {
+}
+
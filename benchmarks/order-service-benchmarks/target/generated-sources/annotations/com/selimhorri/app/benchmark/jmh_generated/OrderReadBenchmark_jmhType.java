@@ -0,0 +1,4 @@
+package com.selimhorri.app.benchmark.jmh_generated;
+public class OrderReadBenchmark_jmhType extends OrderReadBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,27 @@
+package com.selimhorri.app.benchmark;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+
+final class BenchmarkData {
+	
+	private BenchmarkData() {
+	}
+	
+	static Product product(final int productId) {
+		return Product.builder()
+				.productId(productId)
+				.productTitle("Product " + productId)
+				.imageUrl("https://cdn.example.com/products/" + productId + ".png")
+				.sku("SKU-" + productId)
+				.priceUnit(19.99 + productId)
+				.quantity(50)
+				.category(Category.builder()
+						.categoryId(productId % 10)
+						.categoryTitle("Category " + productId % 10)
+						.imageUrl("https://cdn.example.com/categories/" + productId % 10 + ".png")
+						.build())
+				.build();
+	}
+	
+}
@@ -0,0 +1,78 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.service.search.ProductSearchIndex;
+
+/**
+ * Queries of GET /api/products/search against a catalogue held in a {@link ProductSearchIndex}.
+ * Every product shares the "product" term, so the AND queries show the work following the rarest token.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ProductSearchBenchmark {
+	
+	@Param({ "100000", "1000000" })
+	private int size;
+	
+	private ProductSearchIndex index;
+	
+	@Setup
+	public void setUp() {
+		final List<ProductDto> productDtos = IntStream.rangeClosed(1, this.size)
+				.mapToObj(BenchmarkData::product)
+				.map(ProductMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+		this.index = new ProductSearchIndex();
+		this.index.rebuild(productDtos);
+	}
+	
+	@Benchmark
+	public List<ProductDto> exactTerms() {
+		return this.index.search("product 54321", null, null, null, 20);
+	}
+	
+	@Benchmark
+	public List<ProductDto> sku() {
+		return this.index.search("SKU-54321", null, null, null, 20);
+	}
+	
+	@Benchmark
+	public List<ProductDto> prefix() {
+		return this.index.search("product 5432", null, null, null, 20);
+	}
+	
+	@Benchmark
+	public List<ProductDto> typo() {
+		return this.index.search("prodcut 54321", null, null, null, 20);
+	}
+	
+	@Benchmark
+	public List<ProductDto> filteredBrowse() {
+		return this.index.search(null, 3, 100.0, 200.0, 20);
+	}
+	
+	
+	
+}
@@ -0,0 +1,71 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.service.stock.StripedStockCounter;
+
+/**
+ * Take-and-give-back of one unit from many threads, on the striped counter of the hot products
+ * against a single compare-and-set value, the in-memory analogue of every reservation queueing on one row.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class StockCounterBenchmark {
+	
+	private static final long STOCK = 1_000_000;
+	
+	private StripedStockCounter striped;
+	private AtomicLong single;
+	
+	@Setup
+	public void setUp() {
+		this.striped = new StripedStockCounter(Runtime.getRuntime().availableProcessors());
+		for (int i = 0; i < 1_000; i++) {
+			this.striped.add(STOCK / 1_000);
+		}
+		this.single = new AtomicLong(STOCK);
+	}
+	
+	@Benchmark
+	public boolean striped() {
+		final boolean taken = this.striped.tryTake(1);
+		if (taken) {
+			this.striped.add(1);
+		}
+		return taken;
+	}
+	
+	@Benchmark
+	public boolean single() {
+		long available = this.single.get();
+		while (available >= 1) {
+			if (this.single.compareAndSet(available, available - 1)) {
+				this.single.incrementAndGet();
+				return true;
+			}
+			available = this.single.get();
+		}
+		return false;
+	}
+	
+	
+	
+}
@@ -0,0 +1,4 @@
+package com.selimhorri.app.benchmark.jmh_generated;
+public class ProductMappingBenchmark_jmhType extends ProductMappingBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.selimhorri.app.benchmark.jmh_generated;
+public class ProductSearchBenchmark_jmhType extends ProductSearchBenchmark_jmhType_B3 {
+}
+
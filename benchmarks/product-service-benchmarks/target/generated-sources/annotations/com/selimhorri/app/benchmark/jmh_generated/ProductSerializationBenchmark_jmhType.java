@@ -0,0 +1,4 @@
+package com.selimhorri.app.benchmark.jmh_generated;
+public class ProductSerializationBenchmark_jmhType extends ProductSerializationBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.selimhorri.app.benchmark.jmh_generated;
+public class StockCounterBenchmark_jmhType extends StockCounterBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,115 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Load comparison of the two proxy-client read paths against a downstream answering in 50ms:
+ * the blocking one, a request thread per call out of a Tomcat-sized pool of 200 threads
+ * waiting on an HttpURLConnection call (the default Feign client), and the reactive one,
+ * every call in flight at once on the Reactor Netty event loop.
+ * Reports the time to serve {@code inFlight} concurrent calls.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DownstreamCallLoadBenchmark {
+	
+	private static final Duration DOWNSTREAM_LATENCY = Duration.ofMillis(50);
+	private static final int REQUEST_THREADS = 200;
+	private static final String BODY = "{\"collection\":[{\"productId\":1,\"productTitle\":\"Laptop\"}]}";
+	
+	@Param({ "200", "1000", "5000" })
+	private int inFlight;
+	
+	private DisposableServer downstream;
+	private String url;
+	private ExecutorService requestThreads;
+	private RestTemplate restTemplate;
+	private WebClient webClient;
+	
+	@Setup
+	public void setUp() {
+		this.downstream = HttpServer.create()
+				.port(0)
+				.route(routes -> routes.get("/api/products", (request, response) -> Mono.delay(DOWNSTREAM_LATENCY)
+						.then(response.header("Content-Type", "application/json")
+								.sendString(Mono.just(BODY))
+								.then())))
+				.bindNow();
+		this.url = "http://localhost:" + this.downstream.port() + "/api/products";
+		
+		this.requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+		this.restTemplate = new RestTemplate();
+		this.webClient = WebClient.builder()
+				.clientConnector(new ReactorClientHttpConnector(HttpClient.create(ConnectionProvider
+						.builder("benchmark")
+						.maxConnections(1000)
+						.pendingAcquireMaxCount(-1)
+						.build())))
+				.build();
+	}
+	
+	@TearDown
+	public void tearDown() {
+		this.requestThreads.shutdownNow();
+		this.downstream.disposeNow();
+	}
+	
+	@Benchmark
+	public int blocking() throws InterruptedException, ExecutionException {
+		final List<Future<String>> calls = new ArrayList<>(this.inFlight);
+		for (int i = 0; i < this.inFlight; i++)
+			calls.add(this.requestThreads.submit(() -> this.restTemplate.getForObject(this.url, String.class)));
+		for (final Future<String> call : calls)
+			call.get();
+		return calls.size();
+	}
+	
+	@Benchmark
+	public long reactive() {
+		return Flux.range(0, this.inFlight)
+				.flatMap(i -> this.webClient.get()
+						.uri(this.url)
+						.retrieve()
+						.bodyToMono(String.class), this.inFlight)
+				.count()
+				.block();
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,62 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.selimhorri.app.jwt.util.JwtUtil;
+import com.selimhorri.app.jwt.util.impl.JwtUtilImpl;
+
+/**
+ * Cost of the token handling JwtRequestFilter and the authentication endpoint
+ * run on every request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+	
+	private JwtUtil jwtUtil;
+	private UserDetails userDetails;
+	private String token;
+	
+	@Setup
+	public void setUp() {
+		this.jwtUtil = new JwtUtilImpl();
+		this.userDetails = new User("selimhorri", "password", List.of());
+		this.token = this.jwtUtil.generateToken(this.userDetails);
+	}
+	
+	@Benchmark
+	public String generateToken() {
+		return this.jwtUtil.generateToken(this.userDetails);
+	}
+	
+	@Benchmark
+	public String extractUsername() {
+		return this.jwtUtil.extractUsername(this.token);
+	}
+	
+	@Benchmark
+	public Boolean validateToken() {
+		return this.jwtUtil.validateToken(this.token, this.userDetails);
+	}
+	
+	
+	
+}
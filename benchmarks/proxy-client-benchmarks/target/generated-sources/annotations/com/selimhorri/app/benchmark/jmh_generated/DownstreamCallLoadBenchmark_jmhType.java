@@ -0,0 +1,4 @@
+package com.selimhorri.app.benchmark.jmh_generated;
+public class DownstreamCallLoadBenchmark_jmhType extends DownstreamCallLoadBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,53 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.helper.OrderItemMappingHelper;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderItemMappingBenchmark {
+	
+	private OrderItem orderItem;
+	private OrderItemDto orderItemDto;
+	
+	@Setup
+	public void setUp() {
+		this.orderItem = OrderItem.builder()
+				.productId(1)
+				.orderId(1)
+				.orderedQuantity(3)
+				.build();
+		this.orderItemDto = OrderItemMappingHelper.map(this.orderItem);
+	}
+	
+	@Benchmark
+	public OrderItemDto entityToDto() {
+		return OrderItemMappingHelper.map(this.orderItem);
+	}
+	
+	@Benchmark
+	public OrderItem dtoToEntity() {
+		return OrderItemMappingHelper.map(this.orderItemDto);
+	}
+	
+	
+	
+}
@@ -0,0 +1,4 @@
+package com.selimhorri.app.benchmark.jmh_generated;
+public class OrderItemMappingBenchmark_jmhType extends OrderItemMappingBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,68 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.RoleBasedAuthority;
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.helper.UserMappingHelper;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMappingBenchmark {
+	
+	private User user;
+	private UserDto userDto;
+	
+	@Setup
+	public void setUp() {
+		this.user = User.builder()
+				.userId(1)
+				.firstName("First")
+				.lastName("Last")
+				.imageUrl("https://cdn.example.com/users/1.png")
+				.email("user1@example.com")
+				.phone("+573000000001")
+				.credential(Credential.builder()
+						.credentialId(1)
+						.username("user1")
+						.password("$2a$04$Zk5v1B4XvTQ1hY6p8p2G6eW1m4nq1JxQm8i2bHqkF5m2mKq3lJ5Xy")
+						.roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+						.isEnabled(true)
+						.isAccountNonExpired(true)
+						.isAccountNonLocked(true)
+						.isCredentialsNonExpired(true)
+						.build())
+				.build();
+		this.userDto = UserMappingHelper.map(this.user);
+	}
+	
+	@Benchmark
+	public UserDto entityToDto() {
+		return UserMappingHelper.map(this.user);
+	}
+	
+	@Benchmark
+	public User dtoToEntity() {
+		return UserMappingHelper.map(this.userDto);
+	}
+	
+	
+	
+}
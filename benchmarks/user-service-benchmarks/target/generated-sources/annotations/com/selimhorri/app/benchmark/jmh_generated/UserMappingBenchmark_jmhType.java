@@ -0,0 +1,4 @@
+package com.selimhorri.app.benchmark.jmh_generated;
+public class UserMappingBenchmark_jmhType extends UserMappingBenchmark_jmhType_B3 {
+}
+
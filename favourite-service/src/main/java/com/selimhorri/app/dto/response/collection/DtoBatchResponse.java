@@ -0,0 +1,44 @@
+package com.selimhorri.app.dto.response.collection;
+
+import java.util.Collection;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a batch write, the saved items plus one error per rejected item,
+ * referenced by its position in the request.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class DtoBatchResponse<T> {
+	
+	private Collection<T> collection;
+	private List<ItemError> errors;
+	
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Data
+	public static class ItemError {
+		
+		private Integer index;
+		private String message;
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
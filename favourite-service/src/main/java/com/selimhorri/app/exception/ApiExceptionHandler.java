@@ -48,6 +48,23 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = {
+		IllegalArgumentException.class
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleBadRequestException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle BAD REQUEST exception*\n");
+		final var badRequest = HttpStatus.BAD_REQUEST;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("#### " + e.getMessage() + "! ####")
+					.httpStatus(badRequest)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), badRequest);
+	}
+	
 	@ExceptionHandler(value = {
 		DuplicateEntityException.class
 	})
@@ -0,0 +1,15 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+
+import com.selimhorri.app.domain.Favourite;
+
+public interface FavouriteBatchRepository {
+	
+	/**
+	 * Inserts new favourites in JDBC batches of {@code hibernate.jdbc.batch_size}.
+	 * Unlike save, it never merges, so no select is issued per assigned composite key.
+	 */
+	List<Favourite> persistAll(final List<Favourite> favourites);
+	
+}
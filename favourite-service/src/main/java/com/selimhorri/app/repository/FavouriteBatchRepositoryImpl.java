@@ -0,0 +1,47 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.transaction.Transactional;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import com.selimhorri.app.domain.Favourite;
+
+public class FavouriteBatchRepositoryImpl implements FavouriteBatchRepository {
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int batchSize;
+	
+	@Override
+	@Transactional
+	public List<Favourite> persistAll(final List<Favourite> favourites) {
+		for (int i = 0; i < favourites.size(); i++) {
+			this.entityManager.persist(favourites.get(i));
+			if ((i + 1) % this.batchSize == 0) {
+				this.entityManager.flush();
+				this.entityManager.clear();
+			}
+		}
+		this.entityManager.flush();
+		return favourites;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,12 +1,39 @@
 package com.selimhorri.app.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Favourite;
 import com.selimhorri.app.domain.id.FavouriteId;
 
-public interface FavouriteRepository extends JpaRepository<Favourite, FavouriteId> {
+public interface FavouriteRepository extends JpaRepository<Favourite, FavouriteId>, FavouriteBatchRepository {
+	
+	/**
+	 * Superset of the rows matching any of the given keys, callers match the exact composite keys
+	 */
+	List<Favourite> findAllByUserIdInAndProductIdIn(final Collection<Integer> userIds, 
+			final Collection<Integer> productIds);
+	
+	List<Favourite> findAllByOrderByUserIdAscProductIdAscLikeDateAsc(final Pageable pageable);
 	
+	/**
+	 * Served by the primary key, whose leading column is user_id
+	 */
+	List<Favourite> findAllByUserIdOrderByLikeDateDesc(final Integer userId);
 	
+	@Query("SELECT f FROM Favourite f WHERE f.userId > :userId "
+			+ "OR (f.userId = :userId AND (f.productId > :productId "
+			+ "OR (f.productId = :productId AND f.likeDate > :likeDate))) "
+			+ "ORDER BY f.userId ASC, f.productId ASC, f.likeDate ASC")
+	List<Favourite> findPageAfter(@Param("userId") final Integer userId, 
+			@Param("productId") final Integer productId, 
+			@Param("likeDate") final LocalDateTime likeDate, 
+			final Pageable pageable);
 	
 }
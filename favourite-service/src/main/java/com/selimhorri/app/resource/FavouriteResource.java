@@ -2,11 +2,14 @@ package com.selimhorri.app.resource;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,13 +18,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.response.collection.DtoBatchResponse;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.service.FavouriteService;
+import com.selimhorri.app.util.NdjsonStreamUtil;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,6 +42,7 @@ import lombok.extern.slf4j.Slf4j;
 public class FavouriteResource {
 	
 	private final FavouriteService favouriteService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAll() {
@@ -40,6 +50,30 @@ public class FavouriteResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findAll()));
 	}
 	
+	@GetMapping(params = "limit")
+	public ResponseEntity<DtoCursorPageResponse<FavouriteDto>> findPage(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam("limit") final int limit) {
+		log.info("*** FavouriteDto Page, controller; fetch favourites page *");
+		return ResponseEntity.ok(this.favouriteService.findPage(after, limit));
+	}
+	
+	@GetMapping(params = "userId")
+	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAllByUserId(
+			@RequestParam("userId") final Integer userId) {
+		log.info("*** FavouriteDto List, controller; fetch favourites by user id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findAllByUserId(userId)));
+	}
+	
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> stream() {
+		log.info("*** FavouriteDto Stream, controller; stream all favourites *");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(NdjsonStreamUtil.stream(this.objectMapper, 
+						after -> this.favouriteService.findPage(after, AppConstant.MAX_PAGE_SIZE)));
+	}
+	
 	@GetMapping("/{userId}/{productId}/{likeDate}")
 	public ResponseEntity<FavouriteDto> findById(
 			@PathVariable("userId") final String userId, 
@@ -69,6 +103,16 @@ public class FavouriteResource {
 		return ResponseEntity.status(HttpStatus.CREATED).body(this.favouriteService.save(favouriteDto));
 	}
 	
+	@PostMapping("/batch")
+	public ResponseEntity<DtoBatchResponse<FavouriteDto>> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final DtoCollectionResponse<FavouriteDto> favouriteDtos) {
+		log.info("*** FavouriteDto Batch, resource; save favourites batch *");
+		return ResponseEntity.ok(this.favouriteService.saveAll(favouriteDtos.getCollection() == null ? 
+				List.of() : new ArrayList<>(favouriteDtos.getCollection())));
+	}
+	
 	@PutMapping
 	public ResponseEntity<FavouriteDto> update(
 			@RequestBody 
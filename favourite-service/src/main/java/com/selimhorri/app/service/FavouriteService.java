@@ -4,12 +4,17 @@ import java.util.List;
 
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.response.collection.DtoBatchResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 
 public interface FavouriteService {
 	
 	List<FavouriteDto> findAll();
+	DtoCursorPageResponse<FavouriteDto> findPage(final String after, final int limit);
+	List<FavouriteDto> findAllByUserId(final Integer userId);
 	FavouriteDto findById(final FavouriteId favouriteId);
 	FavouriteDto save(final FavouriteDto favouriteDto);
+	DtoBatchResponse<FavouriteDto> saveAll(final List<FavouriteDto> favouriteDtos);
 	FavouriteDto update(final FavouriteDto favouriteDto);
 	void deleteById(final FavouriteId favouriteId);
 	
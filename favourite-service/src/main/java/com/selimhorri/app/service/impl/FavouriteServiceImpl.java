@@ -1,18 +1,36 @@
 package com.selimhorri.app.service.impl;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Favourite;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoBatchResponse;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.helper.FavouriteMappingHelper;
 import com.selimhorri.app.repository.FavouriteRepository;
@@ -30,23 +48,128 @@ public class FavouriteServiceImpl implements FavouriteService {
 	private final FavouriteRepository favouriteRepository;
 	private final RestTemplate restTemplate;
 	
+	/**
+	 * Upper bound of ids sent in a single bulk lookup, keeps the query string
+	 * well below the default header size limits of the downstream servers
+	 */
+	private static final int BULK_LOOKUP_CHUNK_SIZE = 500;
+	
 	@Override
 	public List<FavouriteDto> findAll() {
 		log.info("*** FavouriteDto List, service; fetch all favourites *");
-		return this.favouriteRepository.findAll()
+		final List<FavouriteDto> favouriteDtos = this.favouriteRepository.findAll()
 				.stream()
 					.map(FavouriteMappingHelper::map)
-					.map(f -> {
-						f.setUserDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-						f.setProductDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-						return f;
-					})
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
+		return this.enrich(favouriteDtos);
+	}
+	
+	@Override
+	public DtoCursorPageResponse<FavouriteDto> findPage(final String after, final int limit) {
+		log.info("*** FavouriteDto Page, service; fetch favourites page *");
+		final int pageSize = Math.min(Math.max(limit, 1), AppConstant.MAX_PAGE_SIZE);
+		final List<Favourite> favourites;
+		if (after == null || after.isBlank()) {
+			favourites = this.favouriteRepository
+					.findAllByOrderByUserIdAscProductIdAscLikeDateAsc(PageRequest.of(0, pageSize));
+		}
+		else {
+			final FavouriteId cursor = parseCursor(after);
+			favourites = this.favouriteRepository.findPageAfter(cursor.getUserId(), 
+					cursor.getProductId(), cursor.getLikeDate(), PageRequest.of(0, pageSize));
+		}
+		final List<FavouriteDto> favouriteDtos = this.enrich(favourites.stream()
+				.map(FavouriteMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList()));
+		return DtoCursorPageResponse.of(favouriteDtos, pageSize, f -> String.join(",", 
+				String.valueOf(f.getUserId()), 
+				String.valueOf(f.getProductId()), 
+				f.getLikeDate().format(DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT))));
+	}
+	
+	@Override
+	public List<FavouriteDto> findAllByUserId(final Integer userId) {
+		log.info("*** FavouriteDto List, service; fetch favourites by user id *");
+		return this.enrich(this.favouriteRepository.findAllByUserIdOrderByLikeDateDesc(userId)
+				.stream()
+					.map(FavouriteMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	/**
+	 * Cursor of a favourite page is its composite key: {@code userId,productId,likeDate}
+	 */
+	private static FavouriteId parseCursor(final String cursor) {
+		final String[] parts = cursor.strip().split(",");
+		if (parts.length != 3)
+			throw new IllegalArgumentException(String.format("Invalid favourite cursor: [%s]", cursor));
+		try {
+			return new FavouriteId(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), 
+					LocalDateTime.parse(parts[2], DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT)));
+		}
+		catch (final NumberFormatException | DateTimeParseException e) {
+			throw new IllegalArgumentException(String.format("Invalid favourite cursor: [%s]", cursor), e);
+		}
+	}
+	
+	/**
+	 * Resolves users and products of all given favourites with one bulk call per
+	 * downstream service (per chunk of ids) instead of two calls per row,
+	 * then stitches the results in memory.
+	 * Favourites whose user or product could not be resolved keep their id-only placeholder.
+	 */
+	private List<FavouriteDto> enrich(final List<FavouriteDto> favouriteDtos) {
+		
+		if (favouriteDtos.isEmpty())
+			return favouriteDtos;
+		
+		final Map<Integer, UserDto> users = this.fetchByIds(
+				AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL,
+				favouriteDtos.stream()
+					.map(FavouriteDto::getUserId)
+					.collect(Collectors.toSet()),
+				new ParameterizedTypeReference<DtoCollectionResponse<UserDto>>() {},
+				UserDto::getUserId);
+		final Map<Integer, ProductDto> products = this.fetchByIds(
+				AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL,
+				favouriteDtos.stream()
+					.map(FavouriteDto::getProductId)
+					.collect(Collectors.toSet()),
+				new ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>() {},
+				ProductDto::getProductId);
+		
+		favouriteDtos.forEach(f -> {
+			f.setUserDto(users.getOrDefault(f.getUserId(), f.getUserDto()));
+			f.setProductDto(products.getOrDefault(f.getProductId(), f.getProductDto()));
+		});
+		
+		return favouriteDtos;
+	}
+	
+	private <T> Map<Integer, T> fetchByIds(final String apiUrl, final Set<Integer> ids, 
+			final ParameterizedTypeReference<DtoCollectionResponse<T>> responseType, 
+			final Function<T, Integer> idExtractor) {
+		
+		final Map<Integer, T> resolved = new HashMap<>(ids.size());
+		final List<Integer> sortedIds = new ArrayList<>(ids);
+		sortedIds.sort(null);
+		
+		for (int from = 0; from < sortedIds.size(); from += BULK_LOOKUP_CHUNK_SIZE) {
+			final Collection<Integer> chunk = sortedIds
+					.subList(from, Math.min(from + BULK_LOOKUP_CHUNK_SIZE, sortedIds.size()));
+			final DtoCollectionResponse<T> response = this.restTemplate
+					.exchange(apiUrl + "?ids=" + chunk.stream()
+								.map(String::valueOf)
+								.collect(Collectors.joining(",")), 
+							HttpMethod.GET, null, responseType)
+					.getBody();
+			if (response != null && response.getCollection() != null)
+				response.getCollection()
+						.forEach(dto -> resolved.put(idExtractor.apply(dto), dto));
+		}
+		
+		return resolved;
 	}
 	
 	@Override
@@ -73,6 +196,82 @@ public class FavouriteServiceImpl implements FavouriteService {
 				.save(FavouriteMappingHelper.map(favouriteDto)));
 	}
 	
+	/**
+	 * Validates the whole batch at once: one IN query for the existing keys and one
+	 * bulk call per referenced service, then inserts the remaining rows in JDBC batches.
+	 * Rejected favourites are reported by their position in the batch.
+	 */
+	@Override
+	public DtoBatchResponse<FavouriteDto> saveAll(final List<FavouriteDto> favouriteDtos) {
+		log.info("*** FavouriteDto Batch, service; save favourites batch *");
+		
+		if (favouriteDtos == null || favouriteDtos.isEmpty())
+			throw new IllegalArgumentException("Batch must not be empty");
+		if (favouriteDtos.size() > AppConstant.MAX_BATCH_SIZE)
+			throw new IllegalArgumentException(String
+					.format("Batch size must not exceed %d", AppConstant.MAX_BATCH_SIZE));
+		
+		final List<DtoBatchResponse.ItemError> errors = new ArrayList<>();
+		final Map<FavouriteId, Integer> candidates = new LinkedHashMap<>();
+		for (int i = 0; i < favouriteDtos.size(); i++) {
+			final FavouriteDto favouriteDto = favouriteDtos.get(i);
+			if (favouriteDto == null || favouriteDto.getUserId() == null 
+					|| favouriteDto.getProductId() == null || favouriteDto.getLikeDate() == null)
+				errors.add(new DtoBatchResponse.ItemError(i, "userId, productId and likeDate are required"));
+			else if (candidates.putIfAbsent(new FavouriteId(favouriteDto.getUserId(), 
+					favouriteDto.getProductId(), favouriteDto.getLikeDate()), i) != null)
+				errors.add(new DtoBatchResponse.ItemError(i, "Favourite is repeated in the batch"));
+		}
+		
+		if (!candidates.isEmpty()) {
+			final Set<Integer> userIds = candidates.keySet().stream()
+					.map(FavouriteId::getUserId)
+					.collect(Collectors.toSet());
+			final Set<Integer> productIds = candidates.keySet().stream()
+					.map(FavouriteId::getProductId)
+					.collect(Collectors.toSet());
+			
+			final Set<FavouriteId> existing = this.favouriteRepository
+					.findAllByUserIdInAndProductIdIn(userIds, productIds)
+					.stream()
+						.map(f -> new FavouriteId(f.getUserId(), f.getProductId(), f.getLikeDate()))
+						.collect(Collectors.toSet());
+			final Set<Integer> existingUsers = this.fetchByIds(
+					AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL, userIds, 
+					new ParameterizedTypeReference<DtoCollectionResponse<UserDto>>() {}, 
+					UserDto::getUserId).keySet();
+			final Set<Integer> existingProducts = this.fetchByIds(
+					AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL, productIds, 
+					new ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>() {}, 
+					ProductDto::getProductId).keySet();
+			
+			candidates.entrySet().removeIf(candidate -> {
+				final FavouriteId id = candidate.getKey();
+				final String error;
+				if (existing.contains(id))
+					error = String.format("Favourite with id: [%s] already exists", id);
+				else if (!existingUsers.contains(id.getUserId()))
+					error = String.format("User with id: [%d] not found", id.getUserId());
+				else if (!existingProducts.contains(id.getProductId()))
+					error = String.format("Product with id: [%d] not found", id.getProductId());
+				else
+					return false;
+				errors.add(new DtoBatchResponse.ItemError(candidate.getValue(), error));
+				return true;
+			});
+		}
+		
+		final List<FavouriteDto> saved = this.favouriteRepository.persistAll(candidates.values().stream()
+					.map(favouriteDtos::get)
+					.map(FavouriteMappingHelper::map)
+					.collect(Collectors.toList()))
+				.stream()
+					.map(FavouriteMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+		errors.sort(Comparator.comparing(DtoBatchResponse.ItemError::getIndex));
+		return new DtoBatchResponse<>(saved, errors);
+	}
+	
 	@Override
 	public FavouriteDto update(final FavouriteDto favouriteDto) {
 		return FavouriteMappingHelper.map(this.favouriteRepository
@@ -16,12 +16,23 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Favourite;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoBatchResponse;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.FavouriteMappingHelper;
 import com.selimhorri.app.repository.FavouriteRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,13 +69,61 @@ class FavouriteServiceImplTest {
 	
 	@Test
 	@DisplayName("Should find all favourites")
+	@SuppressWarnings("unchecked")
 	void testFindAll() {
-		when(favouriteRepository.findAll()).thenReturn(Arrays.asList(favourite));
-		when(restTemplate.getForObject(anyString(), eq(ProductDto.class))).thenReturn(new ProductDto());
-		when(restTemplate.getForObject(anyString(), eq(UserDto.class))).thenReturn(new UserDto());
+		Favourite other = new Favourite();
+		other.setUserId(1);
+		other.setProductId(2);
+		other.setLikeDate(LocalDateTime.now());
+		
+		UserDto userDto = UserDto.builder().userId(1).firstName("John").build();
+		ProductDto productDto = ProductDto.builder().productId(1).productTitle("Laptop").build();
+		
+		when(favouriteRepository.findAll()).thenReturn(Arrays.asList(favourite, other));
+		when(restTemplate.exchange(startsWith(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL), 
+				eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+			.thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(userDto))));
+		when(restTemplate.exchange(startsWith(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL), 
+				eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+			.thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(productDto))));
+		
+		List<FavouriteDto> result = favouriteService.findAll();
 		
-		assertNotNull(favouriteService.findAll());
+		assertEquals(2, result.size());
+		assertEquals("John", result.get(0).getUserDto().getFirstName());
+		assertEquals("John", result.get(1).getUserDto().getFirstName());
+		assertEquals("Laptop", result.get(0).getProductDto().getProductTitle());
+		assertEquals(2, result.get(1).getProductDto().getProductId());
+		assertNull(result.get(1).getProductDto().getProductTitle());
 		verify(favouriteRepository, times(1)).findAll();
+		verify(restTemplate, times(1)).exchange(eq(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "?ids=1"), 
+				eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+		verify(restTemplate, times(1)).exchange(eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "?ids=1,2"), 
+				eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+	}
+	
+	@Test
+	@DisplayName("Should find the favourites of a user without scanning all favourites")
+	@SuppressWarnings("unchecked")
+	void testFindAllByUserId() {
+		when(favouriteRepository.findAllByUserIdOrderByLikeDateDesc(1)).thenReturn(List.of(favourite));
+		when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+			.thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of())));
+		
+		List<FavouriteDto> result = favouriteService.findAllByUserId(1);
+		
+		assertEquals(1, result.size());
+		assertEquals(1, result.get(0).getUserDto().getUserId());
+		verify(favouriteRepository, never()).findAll();
+		verify(restTemplate, times(1)).exchange(eq(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "?ids=1"), 
+				eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+	}
+	
+	@Test
+	@DisplayName("Should reject a malformed favourite cursor")
+	void testFindPageInvalidCursor() {
+		assertThrows(IllegalArgumentException.class, () -> favouriteService.findPage("1,abc", 10));
+		verifyNoInteractions(favouriteRepository, restTemplate);
 	}
 	
 	@Test
@@ -90,6 +149,46 @@ class FavouriteServiceImplTest {
 		verify(favouriteRepository, times(1)).save(any(Favourite.class));
 	}
 	
+	@Test
+	@DisplayName("Should save a batch of favourites reporting rejected items by position")
+	@SuppressWarnings("unchecked")
+	void testSaveAll() {
+		favouriteDto.setLikeDate(favourite.getLikeDate().plusSeconds(1));
+		FavouriteDto unknownProduct = FavouriteDto.builder()
+				.userId(1).productId(2).likeDate(favouriteDto.getLikeDate()).build();
+		FavouriteDto existingDto = FavouriteMappingHelper.map(favourite);
+		
+		when(favouriteRepository.findAllByUserIdInAndProductIdIn(anyCollection(), anyCollection()))
+			.thenReturn(List.of(favourite));
+		when(restTemplate.exchange(startsWith(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL), 
+				eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+			.thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(UserDto.builder().userId(1).build()))));
+		when(restTemplate.exchange(startsWith(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL), 
+				eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+			.thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(ProductDto.builder().productId(1).build()))));
+		when(favouriteRepository.persistAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+		
+		DtoBatchResponse<FavouriteDto> result = favouriteService.saveAll(
+				Arrays.asList(favouriteDto, unknownProduct, existingDto, favouriteDto, new FavouriteDto()));
+		
+		assertEquals(1, result.getCollection().size());
+		assertEquals(List.of(1, 2, 3, 4), result.getErrors().stream()
+				.map(DtoBatchResponse.ItemError::getIndex)
+				.collect(Collectors.toList()));
+		verify(favouriteRepository, never()).save(any(Favourite.class));
+		verify(restTemplate, times(1)).exchange(eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "?ids=1,2"), 
+				eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+	}
+	
+	@Test
+	@DisplayName("Should reject a batch over the maximum size")
+	void testSaveAllTooLarge() {
+		List<FavouriteDto> batch = Collections.nCopies(AppConstant.MAX_BATCH_SIZE + 1, favouriteDto);
+		
+		assertThrows(IllegalArgumentException.class, () -> favouriteService.saveAll(batch));
+		verifyNoInteractions(favouriteRepository, restTemplate);
+	}
+	
 	@Test
 	@DisplayName("Should update favourite")
 	void testUpdate() {
@@ -0,0 +1,117 @@
+package com.selimhorri.app.client;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.support.BasicAuthenticationInterceptor;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.client.cache.ClientCacheProperties;
+import com.selimhorri.app.client.cache.ResponseCacheInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Transport of the inter-service RestTemplates: one pool of persistent connections
+ * shared by every RestTemplate of the service, bounded per downstream instance, with
+ * connect, pool acquisition and read timeouts. The Basic credentials are encoded once.
+ * The pool is reported as the httpcomponents.httpclient.pool.* gauges, tagged httpclient=inter-service.
+ * With Caffeine on the classpath, the GET lookups of the downstreams listed under app.client-cache
+ * can be cached by the {@link ResponseCacheInterceptor}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(InterServiceClientProperties.class)
+public class InterServiceClientAutoConfiguration {
+	
+	public static final String POOL_NAME = "inter-service";
+	
+	@Bean(destroyMethod = "close")
+	public PoolingHttpClientConnectionManager interServiceConnectionManager(final InterServiceClientProperties properties) {
+		final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+				properties.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+		connectionManager.setMaxTotal(properties.getMaxTotal());
+		connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+		connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+		properties.getRoutes().forEach((route, maxConnections) -> 
+				connectionManager.setMaxPerRoute(new HttpRoute(HttpHost.create(route)), maxConnections));
+		return connectionManager;
+	}
+	
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient interServiceHttpClient(final PoolingHttpClientConnectionManager interServiceConnectionManager, 
+			final InterServiceClientProperties properties) {
+		return HttpClients.custom()
+				.setConnectionManager(interServiceConnectionManager)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+						.setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+						.setSocketTimeout((int) properties.getReadTimeout().toMillis())
+						.build())
+				.setKeepAliveStrategy(keepAliveStrategy(properties.getKeepAlive().toMillis()))
+				.evictExpiredConnections()
+				.evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+				.disableCookieManagement()
+				.build();
+	}
+	
+	@Bean
+	public ClientHttpRequestFactory interServiceRequestFactory(final CloseableHttpClient interServiceHttpClient) {
+		return new HttpComponentsClientHttpRequestFactory(interServiceHttpClient);
+	}
+	
+	@Bean
+	public BasicAuthenticationInterceptor interServiceAuthenticationInterceptor(final InterServiceClientProperties properties) {
+		return new BasicAuthenticationInterceptor(properties.getUsername(), properties.getPassword());
+	}
+	
+	@Bean
+	public MeterBinder interServiceConnectionPoolMetrics(final PoolingHttpClientConnectionManager interServiceConnectionManager) {
+		return new PoolingHttpClientConnectionManagerMetricsBinder(interServiceConnectionManager, POOL_NAME);
+	}
+	
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(Caffeine.class)
+	@EnableConfigurationProperties(ClientCacheProperties.class)
+	static class ResponseCacheConfiguration {
+		
+		@Bean
+		public ResponseCacheInterceptor responseCacheInterceptor(final ClientCacheProperties properties, 
+				final ObjectProvider<MeterRegistry> meterRegistry) {
+			return new ResponseCacheInterceptor(properties, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+		}
+		
+	}
+	
+	private static ConnectionKeepAliveStrategy keepAliveStrategy(final long maxKeepAliveMillis) {
+		return (response, context) -> {
+			final long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+			return keepAlive > 0 ? Math.min(keepAlive, maxKeepAliveMillis) : maxKeepAliveMillis;
+		};
+	}
+	
+	
+	
+}
+
+
+
+
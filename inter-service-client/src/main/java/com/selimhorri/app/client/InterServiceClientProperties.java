@@ -0,0 +1,56 @@
+package com.selimhorri.app.client;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Connection pool, timeouts and credentials of the inter-service RestTemplates.
+ */
+@ConfigurationProperties(prefix = "app.inter-service-client")
+@Getter
+@Setter
+public class InterServiceClientProperties {
+	
+	/** Connections kept open across every downstream instance */
+	private int maxTotal = 200;
+	
+	/** Connections kept open to a single downstream instance */
+	private int maxPerRoute = 50;
+	
+	/** Per instance overrides of maxPerRoute, keyed by host:port in brackets, quoted in yml: "[user-service:8700]": 100 */
+	private Map<String, Integer> routes = new HashMap<>();
+	
+	private Duration connectTimeout = Duration.ofSeconds(2);
+	
+	/** How long a call waits for a free pooled connection */
+	private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+	
+	private Duration readTimeout = Duration.ofSeconds(5);
+	
+	/** Keep-alive of a connection when the downstream does not send a Keep-Alive header, and its upper bound otherwise */
+	private Duration keepAlive = Duration.ofSeconds(30);
+	
+	/** Idle connections are closed after this long */
+	private Duration idleTimeout = Duration.ofSeconds(30);
+	
+	/** Pooled connections are never reused past this age, so new downstream instances get their share of calls */
+	private Duration timeToLive = Duration.ofMinutes(5);
+	
+	/** Pooled connections idle for longer are checked before reuse */
+	private Duration validateAfterInactivity = Duration.ofSeconds(2);
+	
+	private String username = "user";
+	
+	private String password = "password";
+	
+}
+
+
+
+
@@ -0,0 +1,40 @@
+package com.selimhorri.app.client.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Response cache settings of the inter-service RestTemplate, keyed by the
+ * lower-case service id of the downstream. Downstreams not listed here are not cached.
+ */
+@ConfigurationProperties(prefix = "app.client-cache")
+@Getter
+@Setter
+public class ClientCacheProperties {
+	
+	private Map<String, Downstream> downstreams = new HashMap<>();
+	
+	@Getter
+	@Setter
+	public static class Downstream {
+		
+		/** How long a response is served without asking the downstream again */
+		private Duration ttl = Duration.ofSeconds(30);
+		
+		/** How long after the ttl a response is still served while it is refreshed in background */
+		private Duration staleWhileRevalidate = Duration.ofSeconds(30);
+		
+		private long maximumSize = 1000;
+		
+	}
+	
+}
+
+
+
@@ -0,0 +1,230 @@
+package com.selimhorri.app.client.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.AbstractClientHttpResponse;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.StreamUtils;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-through cache for the GET lookups against other services, keyed by url.
+ * It runs ahead of the authentication and load balancer interceptors, so a hit never leaves the process.
+ * Concurrent misses on the same url share a single call, and once an entry is older than its ttl
+ * it is still served during the stale-while-revalidate window while one background call refreshes it.
+ * Only 2xx responses are cached. Registered by {@link com.selimhorri.app.client.InterServiceClientAutoConfiguration},
+ * each service adds it ahead of the other interceptors of its RestTemplate.
+ */
+@Slf4j
+public class ResponseCacheInterceptor implements ClientHttpRequestInterceptor, DisposableBean {
+	
+	private final Map<String, DownstreamCache> caches;
+	private final ThreadPoolTaskExecutor refreshExecutor;
+	
+	public ResponseCacheInterceptor(ClientCacheProperties properties, MeterRegistry meterRegistry) {
+		this.caches = properties.getDownstreams().entrySet().stream()
+				.collect(Collectors.toUnmodifiableMap(
+						e -> e.getKey().toLowerCase(Locale.ROOT),
+						e -> new DownstreamCache(e.getKey().toLowerCase(Locale.ROOT), e.getValue(), meterRegistry)));
+		this.refreshExecutor = new ThreadPoolTaskExecutor();
+		this.refreshExecutor.setCorePoolSize(2);
+		this.refreshExecutor.setMaxPoolSize(2);
+		this.refreshExecutor.setThreadNamePrefix("client-cache-refresh-");
+		this.refreshExecutor.setDaemon(true);
+		this.refreshExecutor.initialize();
+	}
+	
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+			ClientHttpRequestExecution execution) throws IOException {
+		final String host = request.getURI().getHost();
+		final DownstreamCache cache = request.getMethod() == HttpMethod.GET && host != null
+				? this.caches.get(host.toLowerCase(Locale.ROOT)) : null;
+		if (cache == null) {
+			return execution.execute(request, body);
+		}
+		
+		final URI key = request.getURI();
+		CompletableFuture<CachedResponse> existing = cache.entries.getIfPresent(key);
+		final CompletableFuture<CachedResponse> loading = new CompletableFuture<>();
+		if (existing == null) {
+			existing = cache.entries.asMap().putIfAbsent(key, loading);
+		}
+		if (existing == null) {
+			return this.load(cache, key, loading, request, body, execution).toResponse();
+		}
+		
+		final CachedResponse cached = join(existing);
+		if (System.nanoTime() - cached.fetchedAt > cache.ttlNanos) {
+			this.revalidate(cache, key, request, body, execution);
+		}
+		return cached.toResponse();
+	}
+	
+	@Override
+	public void destroy() {
+		this.refreshExecutor.shutdown();
+	}
+	
+	private CachedResponse load(DownstreamCache cache, URI key, CompletableFuture<CachedResponse> loading,
+			HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+		try {
+			final CachedResponse response = CachedResponse.read(execution.execute(request, body));
+			loading.complete(response);
+			if (!response.isCacheable()) {
+				cache.entries.asMap().remove(key, loading);
+			}
+			return response;
+		}
+		catch (IOException | RuntimeException e) {
+			loading.completeExceptionally(e);
+			cache.entries.asMap().remove(key, loading);
+			throw e;
+		}
+	}
+	
+	private void revalidate(DownstreamCache cache, URI key, HttpRequest request,
+			byte[] body, ClientHttpRequestExecution execution) {
+		if (!cache.refreshing.add(key)) {
+			return;
+		}
+		try {
+			this.refreshExecutor.execute(() -> {
+				try {
+					final CachedResponse response = CachedResponse.read(execution.execute(request, body));
+					if (response.isCacheable()) {
+						cache.entries.put(key, CompletableFuture.completedFuture(response));
+					}
+				}
+				catch (IOException | RuntimeException e) {
+					log.warn("Could not revalidate {}, serving the stale response: {}", key, e.getMessage());
+				}
+				finally {
+					cache.refreshing.remove(key);
+				}
+			});
+		}
+		catch (TaskRejectedException e) {
+			cache.refreshing.remove(key);
+		}
+	}
+	
+	private static CachedResponse join(CompletableFuture<CachedResponse> future) throws IOException {
+		try {
+			return future.join();
+		}
+		catch (CompletionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+	
+	private static final class DownstreamCache {
+		
+		private final long ttlNanos;
+		private final AsyncCache<URI, CachedResponse> entries;
+		private final Set<URI> refreshing = ConcurrentHashMap.newKeySet();
+		
+		private DownstreamCache(String name, ClientCacheProperties.Downstream settings, MeterRegistry meterRegistry) {
+			this.ttlNanos = settings.getTtl().toNanos();
+			this.entries = Caffeine.newBuilder()
+					.maximumSize(settings.getMaximumSize())
+					.expireAfterWrite(settings.getTtl().plus(settings.getStaleWhileRevalidate()))
+					.recordStats()
+					.buildAsync();
+			CaffeineCacheMetrics.monitor(meterRegistry, this.entries.synchronous(), "restTemplate." + name);
+		}
+	}
+	
+	private static final class CachedResponse {
+		
+		private final int statusCode;
+		private final String statusText;
+		private final HttpHeaders headers;
+		private final byte[] body;
+		private final long fetchedAt = System.nanoTime();
+		
+		private CachedResponse(int statusCode, String statusText, HttpHeaders headers, byte[] body) {
+			this.statusCode = statusCode;
+			this.statusText = statusText;
+			this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+			this.body = body;
+		}
+		
+		private static CachedResponse read(ClientHttpResponse response) throws IOException {
+			try (response) {
+				final HttpHeaders headers = new HttpHeaders();
+				headers.putAll(response.getHeaders());
+				return new CachedResponse(response.getRawStatusCode(), response.getStatusText(),
+						headers, StreamUtils.copyToByteArray(response.getBody()));
+			}
+		}
+		
+		private boolean isCacheable() {
+			final HttpStatus status = HttpStatus.resolve(this.statusCode);
+			return status != null && status.is2xxSuccessful();
+		}
+		
+		private ClientHttpResponse toResponse() {
+			return new AbstractClientHttpResponse() {
+				
+				@Override
+				public int getRawStatusCode() {
+					return statusCode;
+				}
+				
+				@Override
+				public String getStatusText() {
+					return statusText;
+				}
+				
+				@Override
+				public HttpHeaders getHeaders() {
+					return headers;
+				}
+				
+				@Override
+				public InputStream getBody() {
+					return new ByteArrayInputStream(body);
+				}
+				
+				@Override
+				public void close() {
+				}
+			};
+		}
+	}
+}
+
+
+
@@ -0,0 +1,30 @@
+package com.selimhorri.app.client.idempotency;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * {@link IdempotencyFilter} of the servlet services, for the POST endpoints they list under app.idempotency.paths.
+ * Left at the default order, so it runs after the security filter chain.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass({ Caffeine.class, SecurityContextHolder.class })
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyAutoConfiguration {
+	
+	@Bean
+	public IdempotencyFilter idempotencyFilter(final IdempotencyProperties properties) {
+		return new IdempotencyFilter(properties);
+	}
+	
+	
+	
+}
+
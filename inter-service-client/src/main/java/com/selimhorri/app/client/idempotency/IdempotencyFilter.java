@@ -0,0 +1,244 @@
+package com.selimhorri.app.client.idempotency;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Honors the Idempotency-Key header on the configured POST endpoints. The first request with a key
+ * runs and its response is kept for the ttl, keyed by caller and key, so a replay gets the same
+ * response back without reaching the controller. A duplicate arriving while the original still runs
+ * waits on it. A key reused with another request (method, path, query or body) is refused with a 422.
+ * Only 2xx responses are kept, the key of a failed request is released for the retry.
+ * Runs after the security filter chain, which is what scopes keys to the authenticated caller.
+ * Registered by {@link IdempotencyAutoConfiguration}.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+	
+	public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+	public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+	
+	private final IdempotencyProperties properties;
+	private final Cache<String, Entry> entries;
+	
+	public IdempotencyFilter(final IdempotencyProperties properties) {
+		this.properties = properties;
+		this.entries = Caffeine.newBuilder()
+				.maximumSize(properties.getMaximumSize())
+				.expireAfterWrite(properties.getTtl())
+				.build();
+	}
+	
+	@Override
+	protected boolean shouldNotFilter(final HttpServletRequest request) {
+		return !HttpMethod.POST.matches(request.getMethod())
+				|| request.getHeader(IDEMPOTENCY_KEY) == null
+				|| request.getHeader(IDEMPOTENCY_KEY).isBlank()
+				|| !this.properties.getPaths().contains(request.getRequestURI().substring(request.getContextPath().length()));
+	}
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, 
+			final FilterChain filterChain) throws ServletException, IOException {
+		final byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+		final String key = caller() + ":" + request.getHeader(IDEMPOTENCY_KEY).strip();
+		final Entry entry = new Entry(fingerprint(request, body));
+		final Entry existing = this.entries.asMap().putIfAbsent(key, entry);
+		
+		if (existing != null) {
+			this.replay(key, existing, entry, response);
+			return;
+		}
+		
+		final ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+		try {
+			filterChain.doFilter(new ReplayableRequest(request, body), responseWrapper);
+		}
+		catch (IOException | ServletException | RuntimeException e) {
+			this.entries.asMap().remove(key, entry);
+			entry.response.completeExceptionally(e);
+			throw e;
+		}
+		final StoredResponse stored = new StoredResponse(responseWrapper.getStatus(), responseWrapper.getContentType(), 
+				responseWrapper.getHeader(HttpHeaders.LOCATION), responseWrapper.getContentAsByteArray());
+		if (stored.status < 200 || stored.status >= 300) {
+			this.entries.asMap().remove(key, entry);
+		}
+		entry.response.complete(stored);
+		responseWrapper.copyBodyToResponse();
+	}
+	
+	private void replay(final String key, final Entry existing, final Entry entry, 
+			final HttpServletResponse response) throws IOException {
+		if (!Arrays.equals(existing.fingerprint, entry.fingerprint)) {
+			response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), 
+					"Idempotency-Key already used for a different request");
+			return;
+		}
+		final StoredResponse stored;
+		try {
+			stored = existing.response.get(this.properties.getInFlightTimeout().toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e) {
+			response.sendError(HttpStatus.CONFLICT.value(), "A request with this Idempotency-Key is still in progress");
+			return;
+		}
+		catch (ExecutionException e) {
+			response.sendError(HttpStatus.CONFLICT.value(), "The original request with this Idempotency-Key failed, retry it");
+			return;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+			return;
+		}
+		log.info("*** Replaying the stored response of {} *", key);
+		response.setStatus(stored.status);
+		if (stored.contentType != null) {
+			response.setContentType(stored.contentType);
+		}
+		if (stored.location != null) {
+			response.setHeader(HttpHeaders.LOCATION, stored.location);
+		}
+		response.setHeader(IDEMPOTENT_REPLAYED, "true");
+		response.setContentLength(stored.body.length);
+		response.getOutputStream().write(stored.body);
+	}
+	
+	private static String caller() {
+		final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		return authentication == null ? "anonymous" : authentication.getName();
+	}
+	
+	private static byte[] fingerprint(final HttpServletRequest request, final byte[] body) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update((request.getMethod() + " " + request.getRequestURI() + "?" + request.getQueryString() + "\n")
+					.getBytes(StandardCharsets.UTF_8));
+			return digest.digest(body);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	private static final class Entry {
+		
+		private final byte[] fingerprint;
+		private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+		
+		private Entry(final byte[] fingerprint) {
+			this.fingerprint = fingerprint;
+		}
+	}
+	
+	private static final class StoredResponse {
+		
+		private final int status;
+		private final String contentType;
+		private final String location;
+		private final byte[] body;
+		
+		private StoredResponse(final int status, final String contentType, final String location, final byte[] body) {
+			this.status = status;
+			this.contentType = contentType;
+			this.location = location;
+			this.body = body;
+		}
+	}
+	
+	/**
+	 * Hands the body read for the fingerprint over to the controller
+	 */
+	private static final class ReplayableRequest extends HttpServletRequestWrapper {
+		
+		private final byte[] body;
+		
+		private ReplayableRequest(final HttpServletRequest request, final byte[] body) {
+			super(request);
+			this.body = body;
+		}
+		
+		@Override
+		public ServletInputStream getInputStream() {
+			final ByteArrayInputStream inputStream = new ByteArrayInputStream(this.body);
+			return new ServletInputStream() {
+				
+				@Override
+				public int read() {
+					return inputStream.read();
+				}
+				
+				@Override
+				public int read(final byte[] b, final int off, final int len) {
+					return inputStream.read(b, off, len);
+				}
+				
+				@Override
+				public boolean isFinished() {
+					return inputStream.available() == 0;
+				}
+				
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+				
+				/**
+				 * The whole body is already in memory, so it is all read as far as the listener is concerned
+				 */
+				@Override
+				public void setReadListener(final ReadListener readListener) {
+					try {
+						readListener.onAllDataRead();
+					}
+					catch (IOException e) {
+						readListener.onError(e);
+					}
+				}
+			};
+		}
+		
+		@Override
+		public BufferedReader getReader() {
+			return new BufferedReader(new InputStreamReader(this.getInputStream(), 
+					this.getCharacterEncoding() == null ? StandardCharsets.UTF_8 : Charset.forName(this.getCharacterEncoding())));
+		}
+	}
+	
+	
+	
+}
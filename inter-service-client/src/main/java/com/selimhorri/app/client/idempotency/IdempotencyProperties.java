@@ -0,0 +1,32 @@
+package com.selimhorri.app.client.idempotency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings of {@link IdempotencyFilter}, an empty list of paths leaves every request alone
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+@Getter
+@Setter
+public class IdempotencyProperties {
+	
+	/** POST paths, below the context path, that honor the Idempotency-Key header */
+	private List<String> paths = new ArrayList<>();
+	
+	/** How long a completed response is replayed for its key */
+	private Duration ttl = Duration.ofHours(24);
+	
+	/** Keys kept at most, the least recently used go first */
+	private long maximumSize = 10000;
+	
+	/** How long a duplicate waits on the in-flight original before it is turned away with a 409 */
+	private Duration inFlightTimeout = Duration.ofSeconds(10);
+	
+}
@@ -0,0 +1,32 @@
+package com.selimhorri.app.client.identity;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * User a request is made on behalf of, as verified at the api-gateway from its JWT.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@RequiredArgsConstructor
+public final class AuthenticatedIdentity {
+	
+	private final String username;
+	
+	/** Granted authorities, e.g. ROLE_USER */
+	private final List<String> roles;
+	
+	/** Expiration of the JWT the identity was verified from */
+	private final Instant expiresAt;
+	
+}
+
+
+
+
@@ -0,0 +1,59 @@
+package com.selimhorri.app.client.identity;
+
+import java.io.IOException;
+import java.util.stream.Collectors;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Authenticates a request from the {@value IdentityHeader#NAME} header signed by the api-gateway,
+ * without looking the user up again. Requests without a valid header go on to the other
+ * authentication filters of the chain, so it is added ahead of them.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class IdentityAuthenticationFilter extends OncePerRequestFilter {
+	
+	private final IdentityHeader identityHeader;
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain) 
+			throws ServletException, IOException {
+		
+		final String value = request.getHeader(IdentityHeader.NAME);
+		if (value != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+			this.identityHeader.verify(value).ifPresentOrElse(identity -> {
+				final UserDetails userDetails = User.withUsername(identity.getUsername())
+						.password("")
+						.authorities(identity.getRoles().stream()
+								.map(SimpleGrantedAuthority::new)
+								.collect(Collectors.toUnmodifiableList()))
+						.build();
+				SecurityContextHolder.getContext().setAuthentication(
+						new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+			}, () -> log.debug("**IdentityAuthenticationFilter, ignoring an invalid or expired identity header*\n"));
+		}
+		
+		filterChain.doFilter(request, response);
+	}
+	
+	
+	
+}
+
+
+
+
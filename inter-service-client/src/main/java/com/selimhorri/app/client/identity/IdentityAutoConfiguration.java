@@ -0,0 +1,59 @@
+package com.selimhorri.app.client.identity;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * {@link IdentityHeader} of the shared secret, for the api-gateway to sign and the services to verify.
+ * Servlet services also get an {@link IdentityAuthenticationFilter} to add to their security filter chain.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(IdentityProperties.class)
+public class IdentityAutoConfiguration {
+	
+	@Bean
+	public IdentityHeader identityHeader(final IdentityProperties properties) {
+		final String secret = properties.getSecret();
+		if (secret == null || secret.strip().length() < IdentityProperties.MIN_SECRET_LENGTH)
+			throw new IllegalStateException(String.format(
+					"app.security.identity.secret must be set to at least %d characters", 
+					IdentityProperties.MIN_SECRET_LENGTH));
+		return new IdentityHeader(secret);
+	}
+	
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+	@ConditionalOnClass(SecurityFilterChain.class)
+	static class ServletIdentityConfiguration {
+		
+		@Bean
+		public IdentityAuthenticationFilter identityAuthenticationFilter(final IdentityHeader identityHeader) {
+			return new IdentityAuthenticationFilter(identityHeader);
+		}
+		
+		/**
+		 * Runs inside the security filter chain only, not as a plain servlet filter ahead of it
+		 */
+		@Bean
+		public FilterRegistrationBean<IdentityAuthenticationFilter> identityAuthenticationFilterRegistration(
+				final IdentityAuthenticationFilter identityAuthenticationFilter) {
+			final FilterRegistrationBean<IdentityAuthenticationFilter> registration = 
+					new FilterRegistrationBean<>(identityAuthenticationFilter);
+			registration.setEnabled(false);
+			return registration;
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
@@ -0,0 +1,108 @@
+package com.selimhorri.app.client.identity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Codec of the {@value #NAME} header the api-gateway adds once it has verified the JWT of a request.
+ * The value is {@code username.roles.expiresAt.signature}, the first two parts base64url encoded,
+ * expiresAt in epoch seconds, and the signature an HMAC-SHA256 of the first three parts
+ * with the secret shared by the gateway and the services.
+ */
+public final class IdentityHeader {
+	
+	public static final String NAME = "X-Authenticated-Identity";
+	
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+	private static final String SEPARATOR = ".";
+	private static final String ROLE_SEPARATOR = ",";
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+	
+	private final SecretKeySpec key;
+	private final Clock clock;
+	
+	public IdentityHeader(final String secret) {
+		this(secret, Clock.systemUTC());
+	}
+	
+	IdentityHeader(final String secret, final Clock clock) {
+		this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+		this.clock = clock;
+	}
+	
+	public String sign(final AuthenticatedIdentity identity) {
+		final String payload = encode(identity.getUsername()) 
+				+ SEPARATOR + encode(String.join(ROLE_SEPARATOR, identity.getRoles())) 
+				+ SEPARATOR + identity.getExpiresAt().getEpochSecond();
+		return payload + SEPARATOR + ENCODER.encodeToString(this.mac(payload));
+	}
+	
+	/**
+	 * Returns the identity of a header value signed with the shared secret and not yet expired
+	 */
+	public Optional<AuthenticatedIdentity> verify(final String value) {
+		if (value == null)
+			return Optional.empty();
+		
+		final String[] parts = value.split("\\" + SEPARATOR, -1);
+		if (parts.length != 4)
+			return Optional.empty();
+		
+		try {
+			final String payload = parts[0] + SEPARATOR + parts[1] + SEPARATOR + parts[2];
+			if (!MessageDigest.isEqual(this.mac(payload), DECODER.decode(parts[3])))
+				return Optional.empty();
+			
+			final Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(parts[2]));
+			if (!expiresAt.isAfter(this.clock.instant()))
+				return Optional.empty();
+			
+			final String roles = decode(parts[1]);
+			return Optional.of(new AuthenticatedIdentity(decode(parts[0]), 
+					roles.isEmpty() ? List.of() : Arrays.stream(roles.split(ROLE_SEPARATOR)).collect(Collectors.toUnmodifiableList()), 
+					expiresAt));
+		}
+		catch (final IllegalArgumentException e) {
+			return Optional.empty();
+		}
+	}
+	
+	private byte[] mac(final String payload) {
+		try {
+			final Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+			mac.init(this.key);
+			return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+		}
+		catch (final NoSuchAlgorithmException | InvalidKeyException e) {
+			throw new IllegalStateException(HMAC_ALGORITHM + " is not supported by this JVM", e);
+		}
+	}
+	
+	private static String encode(final String value) {
+		return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	private static String decode(final String value) {
+		return new String(DECODER.decode(value), StandardCharsets.UTF_8);
+	}
+	
+	
+	
+}
+
+
+
+
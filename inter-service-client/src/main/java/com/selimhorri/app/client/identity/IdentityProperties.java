@@ -0,0 +1,25 @@
+package com.selimhorri.app.client.identity;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Secret the api-gateway signs the {@value IdentityHeader#NAME} header with, the same on every service.
+ * There is no default: a service without a secret of at least {@value #MIN_SECRET_LENGTH} characters fails to start.
+ */
+@ConfigurationProperties(prefix = "app.security.identity")
+@Getter
+@Setter
+public class IdentityProperties {
+	
+	public static final int MIN_SECRET_LENGTH = 32;
+	
+	private String secret;
+	
+}
+
+
+
+
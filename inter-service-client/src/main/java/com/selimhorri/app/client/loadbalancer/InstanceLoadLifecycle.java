@@ -0,0 +1,84 @@
+package com.selimhorri.app.client.loadbalancer;
+
+import java.io.IOException;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Feeds {@link InstanceLoadRegistry} from the load balanced calls of the RestTemplates and Feign clients:
+ * in flight when the call is sent, latency when it completes. Failed calls and 5xx responses
+ * count as the penalty at least.
+ */
+public class InstanceLoadLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+	
+	private final InstanceLoadRegistry instanceLoadRegistry;
+	
+	public InstanceLoadLifecycle(final InstanceLoadRegistry instanceLoadRegistry) {
+		this.instanceLoadRegistry = instanceLoadRegistry;
+	}
+	
+	@Override
+	public void onStart(final Request<Object> request) {
+		// the instance is not chosen yet
+	}
+	
+	@Override
+	public void onStartRequest(final Request<Object> request, final Response<ServiceInstance> lbResponse) {
+		if (!lbResponse.hasServer())
+			return;
+		if (request.getContext() instanceof TimedRequestContext)
+			((TimedRequestContext) request.getContext()).setRequestStartTime(System.nanoTime());
+		this.instanceLoadRegistry.started(lbResponse.getServer());
+	}
+	
+	@Override
+	public void onComplete(final CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		final Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+		if (completionContext.status() == CompletionContext.Status.DISCARD || lbResponse == null || !lbResponse.hasServer())
+			return;
+		final Object context = completionContext.getLoadBalancerRequest() == null ? null
+				: completionContext.getLoadBalancerRequest().getContext();
+		final long startTime = context instanceof TimedRequestContext ? ((TimedRequestContext) context).getRequestStartTime() : 0;
+		if (startTime == 0) {
+			this.instanceLoadRegistry.completed(lbResponse.getServer());
+			return;
+		}
+		final boolean failed = completionContext.status() == CompletionContext.Status.FAILED
+				|| isServerError(completionContext.getClientResponse());
+		this.instanceLoadRegistry.completed(lbResponse.getServer(), System.nanoTime() - startTime, failed);
+	}
+	
+	private static boolean isServerError(final Object clientResponse) {
+		try {
+			if (clientResponse instanceof ResponseData)
+				return ((ResponseData) clientResponse).getHttpStatus() != null
+						&& ((ResponseData) clientResponse).getHttpStatus().is5xxServerError();
+			if (clientResponse instanceof ClientHttpResponse)
+				return ((ClientHttpResponse) clientResponse).getRawStatusCode() >= 500;
+			return false;
+		}
+		catch (final IOException e) {
+			return true;
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
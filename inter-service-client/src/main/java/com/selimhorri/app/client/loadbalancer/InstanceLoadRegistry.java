@@ -0,0 +1,207 @@
+package com.selimhorri.app.client.loadbalancer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Load of every downstream instance called, by serviceId and host:port: the calls in flight
+ * and a peak EWMA of the call latency. A call slower than the average replaces it at once,
+ * faster calls and idle time pull it down with the configured decay, so a GC pause or a
+ * saturated instance is avoided right away and retried once it has had time to recover.
+ * An instance with no call in flight and not looked at for the idle expiry is forgotten, its meters
+ * removed, so that the instances replaced by a redeployment or a scale-in do not pile up.
+ * Reported as the {@value #LATENCY_METRIC}, {@value #IN_FLIGHT_METRIC} and {@value #CHOICES_METRIC} meters.
+ */
+public class InstanceLoadRegistry {
+	
+	static final String LATENCY_METRIC = "loadbalancer.instance.latency";
+	static final String IN_FLIGHT_METRIC = "loadbalancer.instance.in.flight";
+	static final String CHOICES_METRIC = "loadbalancer.instance.choices";
+	
+	private final Map<String, InstanceLoad> loads = new ConcurrentHashMap<>();
+	private final MeterRegistry meterRegistry;
+	private final double decayNanos;
+	private final long penaltyNanos;
+	private final long idleExpiryNanos;
+	private final LongSupplier ticker;
+	private final AtomicLong sweptAt;
+	
+	public InstanceLoadRegistry(final LoadBalancerProperties properties, final MeterRegistry meterRegistry) {
+		this(properties, meterRegistry, System::nanoTime);
+	}
+	
+	InstanceLoadRegistry(final LoadBalancerProperties properties, final MeterRegistry meterRegistry, final LongSupplier ticker) {
+		this.meterRegistry = meterRegistry;
+		this.decayNanos = properties.getDecay().toNanos();
+		this.penaltyNanos = properties.getPenalty().toNanos();
+		this.idleExpiryNanos = properties.getIdleExpiry().toNanos();
+		this.ticker = ticker;
+		this.sweptAt = new AtomicLong(ticker.getAsLong());
+	}
+	
+	/**
+	 * Latency times one plus the calls in flight, lower is better. An instance not called yet
+	 * scores 0 until its first call is in flight, then the penalty until that call completes.
+	 */
+	public double score(final ServiceInstance instance) {
+		final InstanceLoad load = load(instance);
+		return load.cost() * (load.inFlight.get() + 1);
+	}
+	
+	public void chosen(final ServiceInstance instance) {
+		load(instance).choices.increment();
+	}
+	
+	public void started(final ServiceInstance instance) {
+		load(instance).inFlight.incrementAndGet();
+	}
+	
+	public void completed(final ServiceInstance instance, final long latencyNanos, final boolean failed) {
+		final InstanceLoad load = load(instance);
+		load.inFlight.decrementAndGet();
+		load.observe(failed ? Math.max(latencyNanos, penaltyNanos) : latencyNanos);
+	}
+	
+	/**
+	 * Completion of a call whose start was not timed, the latency is left as it is
+	 */
+	public void completed(final ServiceInstance instance) {
+		load(instance).inFlight.decrementAndGet();
+	}
+	
+	double latencyNanos(final ServiceInstance instance) {
+		return load(instance).latency();
+	}
+	
+	int inFlight(final ServiceInstance instance) {
+		return load(instance).inFlight.get();
+	}
+	
+	private InstanceLoad load(final ServiceInstance instance) {
+		final long now = ticker.getAsLong();
+		final long lastSweep = sweptAt.get();
+		if (now - lastSweep >= decayNanos && sweptAt.compareAndSet(lastSweep, now))
+			expireIdle(now);
+		final String serviceId = instance.getServiceId();
+		final String address = instance.getHost() + ":" + instance.getPort();
+		while (true) {
+			final InstanceLoad load = loads.computeIfAbsent(serviceId + "/" + address, key -> new InstanceLoad(serviceId, address));
+			if (load.touch(now))
+				return load;
+			Thread.onSpinWait();
+		}
+	}
+	
+	/**
+	 * Forgets the idle instances, swept once a decay period at most by the calls themselves.
+	 * The meters are removed before the entry, so that an instance coming back registers fresh ones.
+	 */
+	private void expireIdle(final long now) {
+		loads.forEach((key, load) -> {
+			if (!load.retire(now))
+				return;
+			load.meters.forEach(meterRegistry::remove);
+			loads.remove(key, load);
+		});
+	}
+	
+	private final class InstanceLoad {
+		
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private final Counter choices;
+		private final List<Meter> meters;
+		private double latencyNanos;
+		private long observedAt;
+		private boolean observed;
+		private long usedAt;
+		private boolean retired;
+		
+		private InstanceLoad(final String serviceId, final String address) {
+			final Tags tags = Tags.of("serviceId", serviceId, "instance", address);
+			final TimeGauge latencyGauge = TimeGauge.builder(LATENCY_METRIC, this, TimeUnit.NANOSECONDS, InstanceLoad::latency)
+					.tags(tags)
+					.description("Peak EWMA of the call latency")
+					.register(meterRegistry);
+			final Gauge inFlightGauge = Gauge.builder(IN_FLIGHT_METRIC, inFlight, AtomicInteger::get)
+					.tags(tags)
+					.description("Calls sent and not completed yet")
+					.register(meterRegistry);
+			this.choices = Counter.builder(CHOICES_METRIC)
+					.tags(tags)
+					.description("Calls the instance was chosen for")
+					.register(meterRegistry);
+			this.meters = List.of(latencyGauge, inFlightGauge, this.choices);
+		}
+		
+		/**
+		 * Marks the instance as used, false once retired: the caller then waits for the entry to be replaced
+		 */
+		private synchronized boolean touch(final long now) {
+			if (retired)
+				return false;
+			usedAt = now;
+			return true;
+		}
+		
+		/**
+		 * Retires the instance when it has no call in flight and was not used for the idle expiry
+		 */
+		private synchronized boolean retire(final long now) {
+			if (retired || inFlight.get() > 0 || now - usedAt < idleExpiryNanos)
+				return false;
+			retired = true;
+			return true;
+		}
+		
+		private synchronized void observe(final long sampleNanos) {
+			final long now = ticker.getAsLong();
+			final double weight = Math.exp(-(now - observedAt) / decayNanos);
+			if (!observed || sampleNanos > latencyNanos * weight)
+				latencyNanos = sampleNanos;
+			else
+				latencyNanos = latencyNanos * weight + sampleNanos * (1 - weight);
+			observedAt = now;
+			observed = true;
+		}
+		
+		private synchronized double latency() {
+			if (!observed)
+				return 0;
+			return latencyNanos * Math.exp(-(ticker.getAsLong() - observedAt) / decayNanos);
+		}
+		
+		private synchronized double cost() {
+			if (!observed)
+				return inFlight.get() == 0 ? 0 : penaltyNanos;
+			return latency();
+		}
+	
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
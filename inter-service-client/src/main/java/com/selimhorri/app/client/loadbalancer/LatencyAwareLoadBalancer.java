@@ -0,0 +1,76 @@
+package com.selimhorri.app.client.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Power of two choices: two distinct instances are drawn at random and the one with the lower
+ * {@link InstanceLoadRegistry#score(ServiceInstance) score} gets the call. A slow or busy instance
+ * loses nearly every draw it takes part in, without every caller herding onto the single best one.
+ */
+@Slf4j
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+	
+	private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+	private final String serviceId;
+	private final InstanceLoadRegistry instanceLoadRegistry;
+	
+	public LatencyAwareLoadBalancer(final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+			final String serviceId, final InstanceLoadRegistry instanceLoadRegistry) {
+		this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+		this.serviceId = serviceId;
+		this.instanceLoadRegistry = instanceLoadRegistry;
+	}
+	
+	@Override
+	public Mono<Response<ServiceInstance>> choose(final Request request) {
+		final ServiceInstanceListSupplier supplier = this.serviceInstanceListSupplierProvider
+				.getIfAvailable(NoopServiceInstanceListSupplier::new);
+		return supplier.get(request).next().map(this::choose);
+	}
+	
+	Response<ServiceInstance> choose(final List<ServiceInstance> instances) {
+		if (instances.isEmpty()) {
+			log.warn("No servers available for service: {}", this.serviceId);
+			return new EmptyResponse();
+		}
+		final ServiceInstance chosen = instances.size() == 1 ? instances.get(0) : chooseOfTwo(instances);
+		this.instanceLoadRegistry.chosen(chosen);
+		return new DefaultResponse(chosen);
+	}
+	
+	private ServiceInstance chooseOfTwo(final List<ServiceInstance> instances) {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final int first = random.nextInt(instances.size());
+		final int second = (first + 1 + random.nextInt(instances.size() - 1)) % instances.size();
+		final ServiceInstance a = instances.get(first);
+		final ServiceInstance b = instances.get(second);
+		return this.instanceLoadRegistry.score(b) < this.instanceLoadRegistry.score(a) ? b : a;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
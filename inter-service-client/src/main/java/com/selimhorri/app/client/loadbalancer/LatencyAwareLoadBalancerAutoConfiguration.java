@@ -0,0 +1,43 @@
+package com.selimhorri.app.client.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Latency aware instance choice of every load balanced RestTemplate and Feign client, see {@link LatencyAwareLoadBalancer}.
+ * The registry and the lifecycle live in the application context, shared by the load balancers of every service.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(ReactorServiceInstanceLoadBalancer.class)
+@ConditionalOnProperty(prefix = "app.load-balancer", name = "latency-aware", matchIfMissing = true)
+@EnableConfigurationProperties(LoadBalancerProperties.class)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LatencyAwareLoadBalancerAutoConfiguration {
+	
+	@Bean
+	public InstanceLoadRegistry instanceLoadRegistry(final LoadBalancerProperties properties, 
+			final ObjectProvider<MeterRegistry> meterRegistry) {
+		return new InstanceLoadRegistry(properties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+	}
+	
+	@Bean
+	public InstanceLoadLifecycle instanceLoadLifecycle(final InstanceLoadRegistry instanceLoadRegistry) {
+		return new InstanceLoadLifecycle(instanceLoadRegistry);
+	}
+	
+	
+	
+}
+
+
+
+
@@ -0,0 +1,29 @@
+package com.selimhorri.app.client.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Default configuration of the per service load balancer contexts, takes the place of the round robin one.
+ * Deliberately not a @Configuration, so that component scanning of the services does not pick it up.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+	
+	@Bean
+	public ReactorLoadBalancer<ServiceInstance> latencyAwareLoadBalancer(final Environment environment, 
+			final LoadBalancerClientFactory loadBalancerClientFactory, final InstanceLoadRegistry instanceLoadRegistry) {
+		final String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+		return new LatencyAwareLoadBalancer(
+				loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), 
+				serviceId, instanceLoadRegistry);
+	}
+	
+}
+
+
+
+
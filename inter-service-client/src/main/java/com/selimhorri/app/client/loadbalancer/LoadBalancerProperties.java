@@ -0,0 +1,40 @@
+package com.selimhorri.app.client.loadbalancer;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Instance choice of the load balanced RestTemplates and Feign clients.
+ */
+@ConfigurationProperties(prefix = "app.load-balancer")
+@Getter
+@Setter
+public class LoadBalancerProperties {
+	
+	/** Latency aware choice, round robin of Spring Cloud LoadBalancer otherwise */
+	private boolean latencyAware = true;
+	
+	/** How fast the latency of an instance forgets older calls, a slower call is taken in at once */
+	private Duration decay = Duration.ofSeconds(10);
+	
+	/** Latency counted for a failed call, and for an instance busy with its first calls */
+	private Duration penalty = Duration.ofSeconds(1);
+	
+	/** Idle time after which an instance with no call in flight is forgotten and its meters removed, a few decays */
+	private Duration idleExpiry = Duration.ofMinutes(2);
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,130 @@
+package com.selimhorri.app.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.support.BasicAuthenticationInterceptor;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.client.cache.ClientCacheProperties;
+import com.selimhorri.app.client.cache.ResponseCacheInterceptor;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("InterServiceClientAutoConfiguration Tests")
+class InterServiceClientAutoConfigurationTest {
+	
+	private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(InterServiceClientAutoConfiguration.class));
+	
+	private HttpServer server;
+	private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+	private final Set<String> authorizations = ConcurrentHashMap.newKeySet();
+	
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/api/users/1", exchange -> {
+			clientPorts.add(exchange.getRemoteAddress().getPort());
+			authorizations.add(exchange.getRequestHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+			final byte[] body = "{\"userId\":1}".getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream responseBody = exchange.getResponseBody()) {
+				responseBody.write(body);
+			}
+		});
+		server.start();
+	}
+	
+	@AfterEach
+	void tearDown() {
+		server.stop(0);
+	}
+	
+	@Test
+	@DisplayName("Should reuse one authenticated connection across sequential calls")
+	void testConnectionReuse() {
+		contextRunner.run(context -> {
+			// Given
+			final RestTemplate restTemplate = new RestTemplate(context.getBean(ClientHttpRequestFactory.class));
+			restTemplate.setInterceptors(List.of(context.getBean(BasicAuthenticationInterceptor.class)));
+			final String url = "http://localhost:" + server.getAddress().getPort() + "/api/users/1";
+			
+			// When
+			for (int i = 0; i < 5; i++)
+				assertEquals("{\"userId\":1}", restTemplate.getForObject(url, String.class));
+			
+			// Then
+			assertEquals(1, clientPorts.size());
+			assertEquals(Set.of("Basic dXNlcjpwYXNzd29yZA=="), authorizations);
+		});
+	}
+	
+	@Test
+	@DisplayName("Should apply the pool limits and report them as gauges")
+	void testPoolLimitsAndMetrics() {
+		contextRunner
+				.withPropertyValues(
+						"app.inter-service-client.max-total=100", 
+						"app.inter-service-client.max-per-route=20")
+				// a ':' would end the name in withPropertyValues, the bracketed map key keeps it
+				.withInitializer(context -> TestPropertyValues.of(Map.of(
+						"app.inter-service-client.routes.[user-service:8700]", "40")).applyTo(context))
+				.run(context -> {
+					// Given
+					final PoolingHttpClientConnectionManager connectionManager = context.getBean(PoolingHttpClientConnectionManager.class);
+					final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+					
+					// When
+					context.getBean(MeterBinder.class).bindTo(meterRegistry);
+					
+					// Then
+					assertEquals(100, connectionManager.getMaxTotal());
+					assertEquals(20, connectionManager.getMaxPerRoute(new HttpRoute(HttpHost.create("product-service:8500"))));
+					assertEquals(40, connectionManager.getMaxPerRoute(new HttpRoute(HttpHost.create("user-service:8700"))));
+					assertEquals(100, meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+							.tag("httpclient", InterServiceClientAutoConfiguration.POOL_NAME)
+							.gauge().value());
+				});
+	}
+	
+	@Test
+	@DisplayName("Should provide the response cache of the listed downstreams")
+	void testResponseCache() {
+		contextRunner
+				.withPropertyValues("app.client-cache.downstreams.user-service.ttl=10s")
+				.run(context -> {
+					// When
+					final ClientCacheProperties properties = context.getBean(ClientCacheProperties.class);
+					
+					// Then
+					assertNotNull(context.getBean(ResponseCacheInterceptor.class));
+					assertEquals(Duration.ofSeconds(10), properties.getDownstreams().get("user-service").getTtl());
+				});
+	}
+	
+}
@@ -0,0 +1,100 @@
+package com.selimhorri.app.client.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.ExpectedCount.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("ResponseCacheInterceptor Tests")
+class ResponseCacheInterceptorTest {
+	
+	private static final String USER_URL = "http://USER-SERVICE/user-service/api/users/1";
+	
+	private ResponseCacheInterceptor interceptor;
+	private RestTemplate restTemplate;
+	private MockRestServiceServer server;
+	
+	private void setUp(final Duration ttl, final Duration staleWhileRevalidate) {
+		final ClientCacheProperties.Downstream downstream = new ClientCacheProperties.Downstream();
+		downstream.setTtl(ttl);
+		downstream.setStaleWhileRevalidate(staleWhileRevalidate);
+		final ClientCacheProperties properties = new ClientCacheProperties();
+		properties.setDownstreams(Map.of("user-service", downstream));
+		
+		interceptor = new ResponseCacheInterceptor(properties, new SimpleMeterRegistry());
+		restTemplate = new RestTemplate();
+		restTemplate.setInterceptors(List.of(interceptor));
+		server = MockRestServiceServer.bindTo(restTemplate).build();
+	}
+	
+	@AfterEach
+	void tearDown() {
+		interceptor.destroy();
+	}
+	
+	@Test
+	@DisplayName("Should serve a fresh response from the cache")
+	void testFreshHit() {
+		// Given
+		setUp(Duration.ofMinutes(1), Duration.ZERO);
+		server.expect(once(), requestTo(USER_URL)).andExpect(method(HttpMethod.GET))
+			.andRespond(withSuccess("{\"userId\":1}", MediaType.APPLICATION_JSON));
+		
+		// When
+		final String first = restTemplate.getForObject(USER_URL, String.class);
+		final String second = restTemplate.getForObject(USER_URL, String.class);
+		
+		// Then
+		assertEquals(first, second);
+		server.verify();
+	}
+	
+	@Test
+	@DisplayName("Should not cache error responses")
+	void testErrorIsNotCached() {
+		// Given
+		setUp(Duration.ofMinutes(1), Duration.ZERO);
+		server.expect(twice(), requestTo(USER_URL)).andRespond(withStatus(HttpStatus.NOT_FOUND));
+		
+		// When / Then
+		assertThrows(HttpClientErrorException.NotFound.class, () -> restTemplate.getForObject(USER_URL, String.class));
+		assertThrows(HttpClientErrorException.NotFound.class, () -> restTemplate.getForObject(USER_URL, String.class));
+		server.verify();
+	}
+	
+	@Test
+	@DisplayName("Should serve a stale response while revalidating it in background")
+	void testStaleWhileRevalidate() {
+		// Given
+		setUp(Duration.ZERO, Duration.ofMinutes(1));
+		server.expect(once(), requestTo(USER_URL))
+			.andRespond(withSuccess("{\"userId\":1}", MediaType.APPLICATION_JSON));
+		server.expect(once(), requestTo(USER_URL))
+			.andRespond(withSuccess("{\"userId\":2}", MediaType.APPLICATION_JSON));
+		
+		// When
+		restTemplate.getForObject(USER_URL, String.class);
+		final String stale = restTemplate.getForObject(USER_URL, String.class);
+		
+		// Then
+		assertEquals("{\"userId\":1}", stale);
+		server.verify(Duration.ofSeconds(5));
+	}
+	
+}
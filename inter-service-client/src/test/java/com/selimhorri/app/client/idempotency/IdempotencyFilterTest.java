@@ -0,0 +1,105 @@
+package com.selimhorri.app.client.idempotency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+@DisplayName("IdempotencyFilter Tests")
+class IdempotencyFilterTest {
+	
+	private final AtomicInteger calls = new AtomicInteger();
+	private final IdempotencyFilter filter = new IdempotencyFilter(properties());
+	
+	private final FilterChain controller = (request, response) -> {
+		final byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+		response.setContentType("application/json");
+		response.getOutputStream().write(("{\"call\":" + calls.incrementAndGet() + ",\"body\":" + new String(body, StandardCharsets.UTF_8) + "}")
+				.getBytes(StandardCharsets.UTF_8));
+	};
+	
+	private static IdempotencyProperties properties() {
+		final IdempotencyProperties properties = new IdempotencyProperties();
+		properties.setPaths(List.of("/api/orders"));
+		return properties;
+	}
+	
+	private MockHttpServletResponse post(final String key, final String body) throws Exception {
+		final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+		request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		final MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, controller);
+		return response;
+	}
+	
+	@Test
+	@DisplayName("Should replay the stored response of a repeated key without calling the controller")
+	void testReplay() throws Exception {
+		// When
+		final MockHttpServletResponse first = post("key-1", "{\"orderFee\":10}");
+		final MockHttpServletResponse replay = post("key-1", "{\"orderFee\":10}");
+		
+		// Then
+		assertEquals(1, calls.get());
+		assertEquals(first.getContentAsString(), replay.getContentAsString());
+		assertEquals("true", replay.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+	}
+	
+	@Test
+	@DisplayName("Should refuse a key reused with another body")
+	void testKeyReusedWithOtherBody() throws Exception {
+		// When
+		post("key-2", "{\"orderFee\":10}");
+		final MockHttpServletResponse reused = post("key-2", "{\"orderFee\":20}");
+		
+		// Then
+		assertEquals(422, reused.getStatus());
+		assertEquals(1, calls.get());
+	}
+	
+	@Test
+	@DisplayName("Should tell a read listener the buffered body is all read")
+	void testReadListener() throws Exception {
+		// Given
+		final AtomicBoolean allDataRead = new AtomicBoolean();
+		final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+		request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "key-3");
+		request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+		
+		// When
+		filter.doFilter(request, new MockHttpServletResponse(), (wrapped, response) -> 
+				wrapped.getInputStream().setReadListener(new ReadListener() {
+					
+					@Override
+					public void onDataAvailable() {
+					}
+					
+					@Override
+					public void onAllDataRead() {
+						allDataRead.set(true);
+					}
+					
+					@Override
+					public void onError(final Throwable throwable) {
+						fail(throwable);
+					}
+				}));
+		
+		// Then
+		assertTrue(allDataRead.get());
+	}
+	
+}
+
@@ -0,0 +1,67 @@
+package com.selimhorri.app.client.identity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+@DisplayName("IdentityAutoConfiguration Tests")
+class IdentityAutoConfigurationTest {
+	
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(IdentityAutoConfiguration.class));
+	
+	@Test
+	@DisplayName("Should fail to start without an identity secret")
+	void testMissingSecret() {
+		this.contextRunner.run(context -> {
+			// Then
+			assertNotNull(context.getStartupFailure());
+			assertTrue(context.getStartupFailure().getMessage().contains("app.security.identity.secret"));
+		});
+	}
+	
+	@Test
+	@DisplayName("Should fail to start with an identity secret shorter than the minimum")
+	void testShortSecret() {
+		this.contextRunner
+				.withPropertyValues("app.security.identity.secret=identity-secret")
+				.run(context -> {
+					// Then
+					assertNotNull(context.getStartupFailure());
+					assertTrue(context.getStartupFailure().getMessage().contains("app.security.identity.secret"));
+				});
+	}
+	
+	@Test
+	@DisplayName("Should sign and verify with a secret of sufficient length")
+	void testSufficientSecret() {
+		this.contextRunner
+				.withPropertyValues("app.security.identity.secret=0123456789abcdef0123456789abcdef")
+				.run(context -> {
+					// Given
+					final IdentityHeader identityHeader = context.getBean(IdentityHeader.class);
+					final AuthenticatedIdentity identity = new AuthenticatedIdentity("selimhorri", 
+							List.of("ROLE_USER"), Instant.now().plus(Duration.ofHours(1)));
+					
+					// When
+					final String value = identityHeader.sign(identity);
+					
+					// Then
+					assertEquals("selimhorri", identityHeader.verify(value).orElseThrow().getUsername());
+				});
+	}
+	
+	
+	
+}
+
+
+
+
@@ -0,0 +1,65 @@
+package com.selimhorri.app.client.identity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("IdentityHeader Tests")
+class IdentityHeaderTest {
+	
+	private static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+	
+	private final IdentityHeader identityHeader = new IdentityHeader("secret", Clock.fixed(NOW, ZoneOffset.UTC));
+	
+	@Test
+	@DisplayName("Should verify a signed identity")
+	void testSignAndVerify() {
+		// Given
+		final AuthenticatedIdentity identity = new AuthenticatedIdentity("selimhorri", 
+				List.of("ROLE_USER", "ROLE_ADMIN"), NOW.plus(Duration.ofHours(1)));
+		
+		// When
+		final Optional<AuthenticatedIdentity> verified = identityHeader.verify(identityHeader.sign(identity));
+		
+		// Then
+		assertEquals(Optional.of(identity), verified);
+	}
+	
+	@Test
+	@DisplayName("Should reject an identity signed with another secret or tampered with")
+	void testForgedIdentity() {
+		// Given
+		final AuthenticatedIdentity identity = new AuthenticatedIdentity("selimhorri", 
+				List.of("ROLE_USER"), NOW.plus(Duration.ofHours(1)));
+		final String forged = new IdentityHeader("other-secret").sign(identity);
+		final String signed = identityHeader.sign(identity);
+		final String tampered = identityHeader.sign(new AuthenticatedIdentity("selimhorri", 
+				List.of("ROLE_ADMIN"), NOW.plus(Duration.ofHours(1)))).split("\\.")[1];
+		final String[] parts = signed.split("\\.");
+		
+		// When & Then
+		assertTrue(identityHeader.verify(forged).isEmpty());
+		assertTrue(identityHeader.verify(parts[0] + "." + tampered + "." + parts[2] + "." + parts[3]).isEmpty());
+		assertTrue(identityHeader.verify("not-an-identity").isEmpty());
+	}
+	
+	@Test
+	@DisplayName("Should reject an expired identity")
+	void testExpiredIdentity() {
+		// Given
+		final String signed = identityHeader.sign(new AuthenticatedIdentity("selimhorri", 
+				List.of("ROLE_USER"), NOW.minusSeconds(1)));
+		
+		// When & Then
+		assertTrue(identityHeader.verify(signed).isEmpty());
+	}
+	
+}
@@ -0,0 +1,237 @@
+package com.selimhorri.app.client.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.simple.SimpleDiscoveryClientAutoConfiguration;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.commons.util.UtilAutoConfiguration;
+import org.springframework.cloud.loadbalancer.config.BlockingLoadBalancerClientAutoConfiguration;
+import org.springframework.cloud.loadbalancer.support.SimpleObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("LatencyAwareLoadBalancer Tests")
+class LatencyAwareLoadBalancerTest {
+	
+	private static final String SERVICE_ID = "user-service";
+	
+	private final AtomicLong ticker = new AtomicLong();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final InstanceLoadRegistry registry = new InstanceLoadRegistry(new LoadBalancerProperties(), meterRegistry, ticker::get);
+	private final List<ServiceInstance> instances = List.of(instance(1), instance(2), instance(3));
+	private final LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(
+			new SimpleObjectProvider<>(null), SERVICE_ID, registry);
+	private final List<HttpServer> servers = new ArrayList<>();
+	
+	private static ServiceInstance instance(final int port) {
+		return new DefaultServiceInstance(SERVICE_ID + "-" + port, SERVICE_ID, "localhost", port, false);
+	}
+	
+	private void call(final ServiceInstance instance, final Duration latency) {
+		registry.started(instance);
+		registry.completed(instance, latency.toNanos(), false);
+	}
+	
+	private Map<ServiceInstance, Integer> choose(final int calls) {
+		final Map<ServiceInstance, Integer> choices = new HashMap<>();
+		for (int i = 0; i < calls; i++)
+			choices.merge(loadBalancer.choose(instances).getServer(), 1, Integer::sum);
+		return choices;
+	}
+	
+	@AfterEach
+	void tearDown() {
+		servers.forEach(server -> server.stop(0));
+	}
+	
+	@Test
+	@DisplayName("Should keep the calls away from the slowest instance")
+	void testSlowInstanceAvoided() {
+		// Given
+		call(instances.get(0), Duration.ofMillis(5));
+		call(instances.get(1), Duration.ofMillis(8));
+		call(instances.get(2), Duration.ofMillis(400));
+		
+		// When
+		final Map<ServiceInstance, Integer> choices = choose(300);
+		
+		// Then
+		assertNull(choices.get(instances.get(2)));
+		assertTrue(choices.get(instances.get(0)) > choices.get(instances.get(1)));
+		assertEquals(choices.get(instances.get(0)).doubleValue(), meterRegistry.get(InstanceLoadRegistry.CHOICES_METRIC)
+				.tag("instance", "localhost:1").counter().count(), 0);
+	}
+	
+	@Test
+	@DisplayName("Should keep the calls away from an instance with calls piling up")
+	void testBusyInstanceAvoided() {
+		// Given
+		instances.forEach(instance -> call(instance, Duration.ofMillis(5)));
+		for (int i = 0; i < 10; i++)
+			registry.started(instances.get(1));
+		
+		// When
+		final Map<ServiceInstance, Integer> choices = choose(300);
+		
+		// Then
+		assertNull(choices.get(instances.get(1)));
+		assertEquals(10, meterRegistry.get(InstanceLoadRegistry.IN_FLIGHT_METRIC)
+				.tag("instance", "localhost:2").gauge().value());
+	}
+	
+	@Test
+	@DisplayName("Should take a latency spike in at once and forget it with time")
+	void testPeakEwma() {
+		// Given
+		final ServiceInstance instance = instances.get(0);
+		call(instance, Duration.ofMillis(5));
+		
+		// When
+		call(instance, Duration.ofMillis(500));
+		call(instance, Duration.ofMillis(5));
+		final double afterSpike = registry.latencyNanos(instance);
+		ticker.addAndGet(Duration.ofSeconds(60).toNanos());
+		
+		// Then
+		assertTrue(afterSpike >= Duration.ofMillis(499).toNanos());
+		assertTrue(registry.latencyNanos(instance) < Duration.ofMillis(5).toNanos());
+		assertEquals(0, registry.inFlight(instance));
+	}
+	
+	@Test
+	@DisplayName("Should count a failed call as the penalty at least")
+	void testFailurePenalty() {
+		// Given
+		final ServiceInstance instance = instances.get(0);
+		registry.started(instance);
+		
+		// When
+		registry.completed(instance, Duration.ofMillis(2).toNanos(), true);
+		
+		// Then
+		assertEquals(Duration.ofSeconds(1).toNanos(), registry.latencyNanos(instance));
+		assertEquals(1, meterRegistry.get(InstanceLoadRegistry.LATENCY_METRIC)
+				.tag("serviceId", SERVICE_ID).timeGauge().value(TimeUnit.SECONDS));
+	}
+	
+	@Test
+	@DisplayName("Should forget an idle instance and its meters but keep an instance with a call in flight")
+	void testIdleExpiry() {
+		// Given
+		call(instances.get(0), Duration.ofMillis(5));
+		registry.started(instances.get(1));
+		ticker.addAndGet(Duration.ofMinutes(3).toNanos());
+		
+		// When
+		call(instances.get(2), Duration.ofMillis(5));
+		
+		// Then
+		assertNull(meterRegistry.find(InstanceLoadRegistry.IN_FLIGHT_METRIC).tag("instance", "localhost:1").gauge());
+		assertNull(meterRegistry.find(InstanceLoadRegistry.LATENCY_METRIC).tag("instance", "localhost:1").timeGauge());
+		assertNull(meterRegistry.find(InstanceLoadRegistry.CHOICES_METRIC).tag("instance", "localhost:1").counter());
+		assertEquals(1, meterRegistry.get(InstanceLoadRegistry.IN_FLIGHT_METRIC).tag("instance", "localhost:2").gauge().value());
+		assertEquals(1, registry.inFlight(instances.get(1)));
+		assertEquals(0, registry.latencyNanos(instances.get(0)));
+		assertNotNull(meterRegistry.find(InstanceLoadRegistry.IN_FLIGHT_METRIC).tag("instance", "localhost:1").gauge());
+	}
+	
+	@Test
+	@DisplayName("Should route the RestTemplate calls away from a slow local stub instance")
+	void testStubInstances() throws IOException {
+		// Given
+		final Map<Integer, AtomicInteger> hits = new ConcurrentHashMap<>();
+		final List<String> properties = new ArrayList<>();
+		for (final long delay : new long[] { 0, 0, 300 }) {
+			final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+			final int port = server.getAddress().getPort();
+			server.createContext("/api/users/1", exchange -> {
+				hits.computeIfAbsent(port, key -> new AtomicInteger()).incrementAndGet();
+				try {
+					Thread.sleep(delay);
+				}
+				catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				final byte[] body = "{\"userId\":1}".getBytes(StandardCharsets.UTF_8);
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream responseBody = exchange.getResponseBody()) {
+					responseBody.write(body);
+				}
+			});
+			server.start();
+			servers.add(server);
+			properties.add("spring.cloud.discovery.client.simple.instances." + SERVICE_ID
+					+ "[" + (servers.size() - 1) + "].uri=http://localhost:" + port);
+		}
+		final int slowPort = servers.get(2).getAddress().getPort();
+		
+		new ApplicationContextRunner()
+				.withUserConfiguration(LoadBalancerConfiguration.class, RestTemplateConfiguration.class)
+				.withPropertyValues(properties.toArray(new String[0]))
+				.run(context -> {
+					final RestTemplate restTemplate = context.getBean(RestTemplate.class);
+					
+					// When
+					for (int i = 0; i < 30; i++)
+						assertEquals("{\"userId\":1}", restTemplate.getForObject("http://" + SERVICE_ID + "/api/users/1", String.class));
+					
+					// Then
+					assertTrue(hits.getOrDefault(slowPort, new AtomicInteger()).get() <= 1);
+					assertEquals(30, hits.values().stream().mapToInt(AtomicInteger::get).sum());
+				});
+	}
+	
+	/**
+	 * Imported rather than given to the runner, which names every configuration by its simple class name
+	 * and so would register both LoadBalancerAutoConfiguration classes under the same bean name
+	 */
+	@Configuration(proxyBeanMethods = false)
+	@ImportAutoConfiguration({
+			UtilAutoConfiguration.class,
+			SimpleDiscoveryClientAutoConfiguration.class,
+			org.springframework.cloud.client.loadbalancer.LoadBalancerAutoConfiguration.class,
+			org.springframework.cloud.loadbalancer.config.LoadBalancerAutoConfiguration.class,
+			BlockingLoadBalancerClientAutoConfiguration.class,
+			LatencyAwareLoadBalancerAutoConfiguration.class })
+	static class LoadBalancerConfiguration {
+		
+	}
+	
+	@Configuration(proxyBeanMethods = false)
+	static class RestTemplateConfiguration {
+		
+		@Bean
+		@LoadBalanced
+		public RestTemplate restTemplate() {
+			return new RestTemplate();
+		}
+	
+	}
+	
+}
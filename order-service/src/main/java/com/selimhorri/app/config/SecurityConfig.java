@@ -12,8 +12,11 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.http.HttpMethod;
 
+import com.selimhorri.app.client.identity.IdentityAuthenticationFilter;
+
 /**
  * Security configuration for order-service
  * Fixes HIGH vulnerabilities:
@@ -25,7 +28,8 @@ import org.springframework.http.HttpMethod;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+            IdentityAuthenticationFilter identityAuthenticationFilter) throws Exception {
         http
             // Disable CSRF for stateless REST API
             .csrf().disable()
@@ -59,6 +63,9 @@ public class SecurityConfig {
             
             .and()
             
+            // Identity signed by the api-gateway, checked ahead of Basic credentials
+            .addFilterBefore(identityAuthenticationFilter, BasicAuthenticationFilter.class)
+            
             // Stateless session management for REST API
             .sessionManagement()
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
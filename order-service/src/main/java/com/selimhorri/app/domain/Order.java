@@ -12,6 +12,7 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 
 import org.springframework.format.annotation.DateTimeFormat;
 
@@ -41,7 +42,10 @@ public final class Order extends AbstractMappedEntity implements Serializable {
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "order_id_generator")
+	@TableGenerator(name = "order_id_generator", table = "id_generators", 
+			pkColumnName = "sequence_name", valueColumnName = "next_val", 
+			pkColumnValue = "orders", allocationSize = AppConstant.ID_ALLOCATION_SIZE)
 	@Column(name = "order_id", unique = true, nullable = false, updatable = false)
 	private Integer orderId;
 	
@@ -58,6 +62,10 @@ public final class Order extends AbstractMappedEntity implements Serializable {
 	@Column(name = "order_fee", columnDefinition = "decimal")
 	private Double orderFee;
 	
+	/** Bumped only by the partial updates of OrderRepository, full saves leave it alone */
+	@Column(name = "version", insertable = false, updatable = false)
+	private Long version;
+	
 	@ManyToOne(fetch = FetchType.EAGER)
 	@JoinColumn(name = "cart_id")
 	private Cart cart;
@@ -39,10 +39,25 @@ public class OrderDto implements Serializable {
 	private String orderDesc;
 	private Double orderFee;
 	
+	@JsonInclude(Include.NON_NULL)
+	private Long version;
+	
 	@JsonProperty("cart")
 	@JsonInclude(Include.NON_NULL)
 	private CartDto cartDto;
 	
+	/**
+	 * Constructor expression target of the read queries of OrderRepository,
+	 * fills the dto straight from the order row and its cart id.
+	 */
+	public OrderDto(final Integer orderId, final LocalDateTime orderDate, final String orderDesc, 
+			final Double orderFee, final Long version, final Integer cartId) {
+		this(orderId, orderDate, orderDesc, orderFee, version, cartId == null ? null : 
+				CartDto.builder()
+					.cartId(cartId)
+					.build());
+	}
+	
 }
 
 
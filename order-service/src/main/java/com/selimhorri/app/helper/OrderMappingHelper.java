@@ -13,6 +13,7 @@ public interface OrderMappingHelper {
 				.orderDate(order.getOrderDate())
 				.orderDesc(order.getOrderDesc())
 				.orderFee(order.getOrderFee())
+				.version(order.getVersion())
 				.cartDto(
 						CartDto.builder()
 							.cartId(order.getCart().getCartId())
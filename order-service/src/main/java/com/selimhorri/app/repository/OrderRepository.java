@@ -1,11 +1,46 @@
 package com.selimhorri.app.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.dto.OrderDto;
 
 public interface OrderRepository extends JpaRepository<Order, Integer> {
 	
+	@Query("SELECT new com.selimhorri.app.dto.OrderDto(o.orderId, o.orderDate, o.orderDesc, o.orderFee, o.version, c.cartId) "
+			+ "FROM Order o LEFT JOIN o.cart c")
+	List<OrderDto> findAllDtos();
+	
+	@Query("SELECT new com.selimhorri.app.dto.OrderDto(o.orderId, o.orderDate, o.orderDesc, o.orderFee, o.version, c.cartId) "
+			+ "FROM Order o LEFT JOIN o.cart c WHERE o.orderId = :orderId")
+	Optional<OrderDto> findDtoById(@Param("orderId") final Integer orderId);
+	
+	@Query("SELECT new com.selimhorri.app.dto.OrderDto(o.orderId, o.orderDate, o.orderDesc, o.orderFee, o.version, c.cartId) "
+			+ "FROM Order o JOIN o.cart c WHERE c.userId = :userId ORDER BY o.orderId ASC")
+	List<OrderDto> findAllDtosByUserId(@Param("userId") final Integer userId);
+	
+	/**
+	 * Applies the non null fields in a single UPDATE and bumps the version, 
+	 * only if it still equals the expected one when given. Returns the updated row count.
+	 */
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Order o SET o.orderDate = COALESCE(:orderDate, o.orderDate), "
+			+ "o.orderDesc = COALESCE(:orderDesc, o.orderDesc), o.orderFee = COALESCE(:orderFee, o.orderFee), "
+			+ "o.version = o.version + 1 WHERE o.orderId = :orderId AND (:version IS NULL OR o.version = :version)")
+	int patch(@Param("orderId") final Integer orderId, @Param("version") final Long version, 
+			@Param("orderDate") final LocalDateTime orderDate, @Param("orderDesc") final String orderDesc, 
+			@Param("orderFee") final Double orderFee);
 	
+	@EntityGraph(attributePaths = "cart")
+	List<Order> findByOrderIdGreaterThanOrderByOrderIdAsc(final Integer orderId, final Pageable pageable);
 	
 }
@@ -1,23 +1,33 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.service.OrderService;
+import com.selimhorri.app.util.NdjsonStreamUtil;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +39,7 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderResource {
 	
 	private final OrderService orderService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAll() {
@@ -36,6 +47,37 @@ public class OrderResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAll()));
 	}
 	
+	@GetMapping(params = "ids")
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAllByIds(
+			@RequestParam("ids") final List<Integer> orderIds) {
+		log.info("*** OrderDto List, controller; fetch orders by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAllByIds(orderIds)));
+	}
+	
+	@GetMapping(params = "userId")
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAllByUserId(
+			@RequestParam("userId") final Integer userId) {
+		log.info("*** OrderDto List, controller; fetch orders by user id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAllByUserId(userId)));
+	}
+	
+	@GetMapping(params = "limit")
+	public ResponseEntity<DtoCursorPageResponse<OrderDto>> findPage(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam("limit") final int limit) {
+		log.info("*** OrderDto Page, controller; fetch orders page *");
+		return ResponseEntity.ok(this.orderService.findPage(after, limit));
+	}
+	
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> stream() {
+		log.info("*** OrderDto Stream, controller; stream all orders *");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(NdjsonStreamUtil.stream(this.objectMapper, 
+						after -> this.orderService.findPage(after, AppConstant.MAX_PAGE_SIZE)));
+	}
+	
 	@GetMapping("/{orderId}")
 	public ResponseEntity<OrderDto> findById(
 			@PathVariable("orderId") 
@@ -75,6 +117,18 @@ public class OrderResource {
 		return ResponseEntity.ok(this.orderService.update(Integer.parseInt(orderId), orderDto));
 	}
 	
+	@PatchMapping("/{orderId}")
+	public ResponseEntity<OrderDto> patch(
+			@PathVariable("orderId")
+			@NotBlank(message = "Input must not be blank")
+			@Valid final String orderId,
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final OrderDto orderDto) {
+		log.info("*** OrderDto, resource; patch order with orderId *");
+		return ResponseEntity.ok(this.orderService.patch(Integer.parseInt(orderId), orderDto));
+	}
+	
 	@DeleteMapping("/{orderId}")
 	public ResponseEntity<Boolean> deleteById(
 			@PathVariable("orderId") 
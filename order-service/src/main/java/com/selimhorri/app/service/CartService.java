@@ -3,10 +3,13 @@ package com.selimhorri.app.service;
 import java.util.List;
 
 import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 
 public interface CartService {
 	
 	List<CartDto> findAll();
+	DtoCursorPageResponse<CartDto> findPage(final String after, final int limit);
+	List<CartDto> findAllByUserId(final Integer userId);
 	CartDto findById(final Integer cartId);
 	CartDto save(final CartDto cartDto);
 	CartDto update(final CartDto cartDto);
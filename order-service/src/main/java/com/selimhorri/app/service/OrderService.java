@@ -1,16 +1,22 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 
 public interface OrderService {
 	
 	List<OrderDto> findAll();
+	List<OrderDto> findAllByIds(final Collection<Integer> orderIds);
+	List<OrderDto> findAllByUserId(final Integer userId);
+	DtoCursorPageResponse<OrderDto> findPage(final String after, final int limit);
 	OrderDto findById(final Integer orderId);
 	OrderDto save(final OrderDto orderDto);
 	OrderDto update(final OrderDto orderDto);
 	OrderDto update(final Integer orderId, final OrderDto orderDto);
+	OrderDto patch(final Integer orderId, final OrderDto orderDto);
 	void deleteById(final Integer orderId);
 	
 }
@@ -1,16 +1,24 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.helper.CartMappingHelper;
 import com.selimhorri.app.repository.CartRepository;
@@ -28,19 +36,86 @@ public class CartServiceImpl implements CartService {
 	private final CartRepository cartRepository;
 	private final RestTemplate restTemplate;
 	
+	/**
+	 * Upper bound of ids sent in a single bulk lookup, keeps the query string
+	 * well below the default header size limits of the user service
+	 */
+	private static final int BULK_LOOKUP_CHUNK_SIZE = 500;
+	
 	@Override
 	public List<CartDto> findAll() {
 		log.info("*** CartDto List, service; fetch all carts *");
-		return this.cartRepository.findAll()
+		return this.enrich(this.cartRepository.findAll()
 				.stream()
 					.map(CartMappingHelper::map)
-					.map(c -> {
-						c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
-						return c;
-					})
 					.distinct()
+					.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	public DtoCursorPageResponse<CartDto> findPage(final String after, final int limit) {
+		log.info("*** CartDto Page, service; fetch carts page *");
+		final int pageSize = Math.min(Math.max(limit, 1), AppConstant.MAX_PAGE_SIZE);
+		final List<CartDto> cartDtos = this.enrich(this.cartRepository
+				.findByCartIdGreaterThanOrderByCartIdAsc(after == null || after.isBlank() ? 
+						0 : Integer.parseInt(after.strip()), PageRequest.of(0, pageSize))
+				.stream()
+					.map(CartMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList()));
+		return DtoCursorPageResponse.of(cartDtos, pageSize, d -> String.valueOf(d.getCartId()));
+	}
+	
+	@Override
+	public List<CartDto> findAllByUserId(final Integer userId) {
+		log.info("*** CartDto List, service; fetch carts by user id *");
+		final List<CartDto> cartDtos = this.cartRepository.findAllByUserIdOrderByCartIdAsc(userId)
+				.stream()
+					.map(CartMappingHelper::map)
 					.collect(Collectors.toUnmodifiableList());
+		if (cartDtos.isEmpty()) {
+			return cartDtos;
+		}
+		// every cart belongs to the same user, so it is fetched once
+		final UserDto userDto = this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+				.USER_SERVICE_API_URL + "/" + userId, UserDto.class);
+		cartDtos.forEach(c -> c.setUserDto(userDto));
+		return cartDtos;
+	}
+	
+	/**
+	 * Resolves the users of all given carts with one bulk call to the user service
+	 * (per chunk of ids) instead of one call per row, then stitches the results in memory.
+	 * Carts whose user could not be resolved keep their id-only placeholder.
+	 */
+	private List<CartDto> enrich(final List<CartDto> cartDtos) {
+		
+		if (cartDtos.isEmpty())
+			return cartDtos;
+		
+		final List<Integer> userIds = cartDtos.stream()
+				.map(CartDto::getUserId)
+				.filter(Objects::nonNull)
+				.distinct()
+				.sorted()
+				.collect(Collectors.toList());
+		final Map<Integer, UserDto> users = new HashMap<>(userIds.size());
+		
+		for (int from = 0; from < userIds.size(); from += BULK_LOOKUP_CHUNK_SIZE) {
+			final DtoCollectionResponse<UserDto> response = this.restTemplate
+					.exchange(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "?ids=" + userIds
+								.subList(from, Math.min(from + BULK_LOOKUP_CHUNK_SIZE, userIds.size()))
+								.stream()
+									.map(String::valueOf)
+									.collect(Collectors.joining(",")), 
+							HttpMethod.GET, null, new ParameterizedTypeReference<DtoCollectionResponse<UserDto>>() {})
+					.getBody();
+			if (response != null && response.getCollection() != null)
+				response.getCollection()
+						.forEach(u -> users.put(u.getUserId(), u));
+		}
+		
+		cartDtos.forEach(c -> c.setUserDto(users.getOrDefault(c.getUserId(), c.getUserDto())));
+		return cartDtos;
 	}
 	
 	@Override
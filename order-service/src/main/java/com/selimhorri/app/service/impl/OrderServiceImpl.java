@@ -1,13 +1,17 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
 import com.selimhorri.app.helper.OrderMappingHelper;
 import com.selimhorri.app.repository.OrderRepository;
@@ -25,9 +29,23 @@ public class OrderServiceImpl implements OrderService {
 	private final OrderRepository orderRepository;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<OrderDto> findAll() {
 		log.info("*** OrderDto List, service; fetch all orders *");
-		return this.orderRepository.findAll()
+		return this.orderRepository.findAllDtos()
+				.stream()
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<OrderDto> findAllByIds(final Collection<Integer> orderIds) {
+		log.info("*** OrderDto List, service; fetch orders by ids *");
+		if (orderIds.isEmpty()) {
+			return List.of();
+		}
+		return this.orderRepository.findAllById(orderIds)
 				.stream()
 					.map(OrderMappingHelper::map)
 					.distinct()
@@ -35,10 +53,31 @@ public class OrderServiceImpl implements OrderService {
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
+	public List<OrderDto> findAllByUserId(final Integer userId) {
+		log.info("*** OrderDto List, service; fetch orders by user id *");
+		return this.orderRepository.findAllDtosByUserId(userId);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public DtoCursorPageResponse<OrderDto> findPage(final String after, final int limit) {
+		log.info("*** OrderDto Page, service; fetch orders page *");
+		final int pageSize = Math.min(Math.max(limit, 1), AppConstant.MAX_PAGE_SIZE);
+		final List<OrderDto> orderDtos = this.orderRepository
+				.findByOrderIdGreaterThanOrderByOrderIdAsc(after == null || after.isBlank() ? 
+						0 : Integer.parseInt(after.strip()), PageRequest.of(0, pageSize))
+				.stream()
+					.map(OrderMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+		return DtoCursorPageResponse.of(orderDtos, pageSize, d -> String.valueOf(d.getOrderId()));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
 	public OrderDto findById(final Integer orderId) {
 		log.info("*** OrderDto, service; fetch order by id *");
-		return this.orderRepository.findById(orderId)
-				.map(OrderMappingHelper::map)
+		return this.orderRepository.findDtoById(orderId)
 				.orElseThrow(() -> new OrderNotFoundException(String
 						.format("Order with id: %d not found", orderId)));
 	}
@@ -64,6 +103,25 @@ public class OrderServiceImpl implements OrderService {
 				.save(OrderMappingHelper.map(this.findById(orderId))));
 	}
 	
+	/**
+	 * Writes only the non null fields of the dto with one UPDATE, no merge read. 
+	 * When the dto carries a version the row must still be at it, otherwise nothing is written.
+	 */
+	@Override
+	public OrderDto patch(final Integer orderId, final OrderDto orderDto) {
+		log.info("*** OrderDto, service; patch order with orderId *");
+		final boolean patched = this.orderRepository.patch(orderId, orderDto.getVersion(), 
+				orderDto.getOrderDate(), orderDto.getOrderDesc(), orderDto.getOrderFee()) > 0;
+		final OrderDto current = this.orderRepository.findDtoById(orderId)
+				.orElseThrow(() -> new OrderNotFoundException(String
+						.format("Order with id: %d not found", orderId)));
+		if (!patched) {
+			throw new OptimisticLockingFailureException(String
+					.format("Order with id: %d is at version %d, not %d", orderId, current.getVersion(), orderDto.getVersion()));
+		}
+		return current;
+	}
+	
 	@Override
 	public void deleteById(final Integer orderId) {
 		log.info("*** Void, service; delete order by id *");
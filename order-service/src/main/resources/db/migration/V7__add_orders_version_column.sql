@@ -0,0 +1,4 @@
+-- version is bumped by every partial update, see OrderRepository#patch
+ALTER TABLE orders ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+
@@ -0,0 +1,4 @@
+-- backs the per-user cart and order lookups, see CartRepository#findAllByUserId
+CREATE INDEX idx_carts_user_id ON carts (user_id);
+
+
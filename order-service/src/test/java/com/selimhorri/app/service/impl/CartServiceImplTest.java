@@ -0,0 +1,94 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
+import com.selimhorri.app.repository.CartRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CartService Tests")
+class CartServiceImplTest {
+	
+	@Mock
+	private CartRepository cartRepository;
+	
+	@Mock
+	private RestTemplate restTemplate;
+	
+	@InjectMocks
+	private CartServiceImpl cartService;
+	
+	@Test
+	@DisplayName("Should resolve the users of a cart page with one bulk lookup")
+	@SuppressWarnings("unchecked")
+	void testFindPageBulkUserLookup() {
+		// Given
+		when(cartRepository.findByCartIdGreaterThanOrderByCartIdAsc(eq(0), any(Pageable.class)))
+			.thenReturn(List.of(
+					Cart.builder().cartId(1).userId(2).build(), 
+					Cart.builder().cartId(2).userId(1).build(), 
+					Cart.builder().cartId(3).userId(2).build(), 
+					Cart.builder().cartId(4).userId(3).build()));
+		when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+			.thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(
+					UserDto.builder().userId(1).firstName("John").build(), 
+					UserDto.builder().userId(2).firstName("Jane").build()))));
+		
+		// When
+		final DtoCursorPageResponse<CartDto> page = cartService.findPage(null, 10);
+		
+		// Then
+		final List<CartDto> carts = List.copyOf(page.getCollection());
+		assertEquals(4, carts.size());
+		assertEquals("Jane", carts.get(0).getUserDto().getFirstName());
+		assertEquals("John", carts.get(1).getUserDto().getFirstName());
+		assertEquals("Jane", carts.get(2).getUserDto().getFirstName());
+		assertEquals(3, carts.get(3).getUserDto().getUserId());
+		assertNull(carts.get(3).getUserDto().getFirstName());
+		verify(restTemplate, times(1)).exchange(eq(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "?ids=1,2,3"), 
+				eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+		verifyNoMoreInteractions(restTemplate);
+	}
+	
+	@Test
+	@DisplayName("Should not call the user service for an empty cart page")
+	void testFindEmptyPage() {
+		// Given
+		when(cartRepository.findByCartIdGreaterThanOrderByCartIdAsc(eq(5), any(Pageable.class)))
+			.thenReturn(List.of());
+		
+		// When
+		final DtoCursorPageResponse<CartDto> page = cartService.findPage("5", 10);
+		
+		// Then
+		assertTrue(page.getCollection().isEmpty());
+		verifyNoInteractions(restTemplate);
+	}
+	
+}
+
+
+
+
+
@@ -15,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.domain.Order;
@@ -59,35 +60,51 @@ class OrderServiceImplTest {
 	@DisplayName("Should find all orders successfully")
 	void testFindAll() {
 		// Given
-		when(orderRepository.findAll()).thenReturn(Arrays.asList(order));
+		when(orderRepository.findAllDtos()).thenReturn(Arrays.asList(orderDto));
 		
 		// When
 		List<OrderDto> result = orderService.findAll();
 		
 		// Then
 		assertNotNull(result);
-		verify(orderRepository, times(1)).findAll();
+		verify(orderRepository, times(1)).findAllDtos();
+	}
+	
+	@Test
+	@DisplayName("Should find orders by user id with a single query")
+	void testFindAllByUserId() {
+		// Given
+		when(orderRepository.findAllDtosByUserId(1)).thenReturn(List.of(orderDto));
+		
+		// When
+		List<OrderDto> result = orderService.findAllByUserId(1);
+		
+		// Then
+		assertEquals(1, result.size());
+		assertEquals(1, result.get(0).getOrderId());
+		verify(orderRepository, times(1)).findAllDtosByUserId(1);
+		verifyNoMoreInteractions(orderRepository);
 	}
 	
 	@Test
 	@DisplayName("Should find order by id successfully")
 	void testFindById() {
 		// Given
-		when(orderRepository.findById(1)).thenReturn(Optional.of(order));
+		when(orderRepository.findDtoById(1)).thenReturn(Optional.of(orderDto));
 		
 		// When
 		OrderDto result = orderService.findById(1);
 		
 		// Then
 		assertNotNull(result);
-		verify(orderRepository, times(1)).findById(1);
+		verify(orderRepository, times(1)).findDtoById(1);
 	}
 	
 	@Test
 	@DisplayName("Should throw exception when order not found")
 	void testFindByIdNotFound() {
 		// Given
-		when(orderRepository.findById(999)).thenReturn(Optional.empty());
+		when(orderRepository.findDtoById(999)).thenReturn(Optional.empty());
 		
 		// When & Then
 		assertThrows(OrderNotFoundException.class, () -> orderService.findById(999));
@@ -125,14 +142,44 @@ class OrderServiceImplTest {
 	@DisplayName("Should delete order by id successfully")
 	void testDeleteById() {
 		// Given
-		when(orderRepository.findById(1)).thenReturn(Optional.of(order));
+		when(orderRepository.findDtoById(1)).thenReturn(Optional.of(orderDto));
 		doNothing().when(orderRepository).delete(any(Order.class));
 		
 		// When
 		orderService.deleteById(1);
 		
 		// Then
-		verify(orderRepository, times(1)).findById(1);
+		verify(orderRepository, times(1)).findDtoById(1);
 		verify(orderRepository, times(1)).delete(order);
 	}
+	
+	@Test
+	@DisplayName("Should patch order with a single update")
+	void testPatch() {
+		// Given
+		OrderDto patch = OrderDto.builder().orderFee(20.0).build();
+		orderDto.setOrderFee(20.0);
+		when(orderRepository.patch(1, null, null, null, 20.0)).thenReturn(1);
+		when(orderRepository.findDtoById(1)).thenReturn(Optional.of(orderDto));
+		
+		// When
+		OrderDto result = orderService.patch(1, patch);
+		
+		// Then
+		assertEquals(20.0, result.getOrderFee());
+		verify(orderRepository, never()).save(any(Order.class));
+	}
+	
+	@Test
+	@DisplayName("Should reject patch when order version changed")
+	void testPatchVersionConflict() {
+		// Given
+		OrderDto patch = OrderDto.builder().orderDesc("desc").version(1L).build();
+		orderDto.setVersion(2L);
+		when(orderRepository.patch(1, 1L, null, "desc", null)).thenReturn(0);
+		when(orderRepository.findDtoById(1)).thenReturn(Optional.of(orderDto));
+		
+		// When & Then
+		assertThrows(OptimisticLockingFailureException.class, () -> orderService.patch(1, patch));
+	}
 }
@@ -3,25 +3,36 @@ package com.selimhorri.app.config.client;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.support.BasicAuthenticationInterceptor;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Collections;
+import com.selimhorri.app.client.cache.ResponseCacheInterceptor;
+
+import java.util.List;
 
 @Configuration
 public class ClientConfig {
 	
-	private final RestTemplateInterceptor restTemplateInterceptor;
+	private final ClientHttpRequestFactory interServiceRequestFactory;
+	private final BasicAuthenticationInterceptor interServiceAuthenticationInterceptor;
+	private final ResponseCacheInterceptor responseCacheInterceptor;
 	
-	public ClientConfig(RestTemplateInterceptor restTemplateInterceptor) {
-		this.restTemplateInterceptor = restTemplateInterceptor;
+	public ClientConfig(ClientHttpRequestFactory interServiceRequestFactory, 
+			BasicAuthenticationInterceptor interServiceAuthenticationInterceptor, 
+			ResponseCacheInterceptor responseCacheInterceptor) {
+		this.interServiceRequestFactory = interServiceRequestFactory;
+		this.interServiceAuthenticationInterceptor = interServiceAuthenticationInterceptor;
+		this.responseCacheInterceptor = responseCacheInterceptor;
 	}
 	
 	@LoadBalanced
 	@Bean
 	public RestTemplate restTemplateBean() {
-		RestTemplate restTemplate = new RestTemplate();
-		// Add interceptor to include authentication in inter-service calls
-		restTemplate.setInterceptors(Collections.singletonList(restTemplateInterceptor));
+		// Calls go over the pooled connections of the inter-service-client module
+		RestTemplate restTemplate = new RestTemplate(interServiceRequestFactory);
+		// Cached responses are served first, misses go on with authentication in inter-service calls
+		restTemplate.setInterceptors(List.of(responseCacheInterceptor, interServiceAuthenticationInterceptor));
 		return restTemplate;
 	}
 	
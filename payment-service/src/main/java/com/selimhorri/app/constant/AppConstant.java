@@ -11,6 +11,14 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	public static final int MAX_PAGE_SIZE = 1000;
+	
+	/**
+	 * Ids handed out per round trip to the id_generators table, must match the
+	 * increment the Flyway migrations seed the table with
+	 */
+	public static final int ID_ALLOCATION_SIZE = 50;
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
@@ -10,6 +10,9 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+
+import com.selimhorri.app.constant.AppConstant;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -29,7 +32,10 @@ public final class Payment extends AbstractMappedEntity implements Serializable
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "payment_id_generator")
+	@TableGenerator(name = "payment_id_generator", table = "id_generators", 
+			pkColumnName = "sequence_name", valueColumnName = "next_val", 
+			pkColumnValue = "payments", allocationSize = AppConstant.ID_ALLOCATION_SIZE)
 	@Column(name = "payment_id", unique = true, nullable = false, updatable = false)
 	private Integer paymentId;
 	
@@ -43,6 +49,10 @@ public final class Payment extends AbstractMappedEntity implements Serializable
 	@Column(name = "payment_status")
 	private PaymentStatus paymentStatus;
 	
+	/** Bumped only by the partial updates of PaymentRepository, full saves leave it alone */
+	@Column(name = "version", insertable = false, updatable = false)
+	private Long version;
+	
 }
 
 
@@ -24,6 +24,9 @@ public class PaymentDto implements Serializable {
 	private Boolean isPayed;
 	private PaymentStatus paymentStatus;
 	
+	@JsonInclude(Include.NON_NULL)
+	private Long version;
+	
 	@JsonProperty("order")
 	@JsonInclude(Include.NON_NULL)
 	private OrderDto orderDto;
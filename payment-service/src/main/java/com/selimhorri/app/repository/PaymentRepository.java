@@ -1,11 +1,31 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Payment;
 
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
 	
+	/**
+	 * Applies the non null fields in a single UPDATE and bumps the version, 
+	 * only if it still equals the expected one when given. Returns the updated row count.
+	 * The status goes by name since the parameter type is not inferred through COALESCE.
+	 */
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Payment p SET p.isPayed = COALESCE(:isPayed, p.isPayed), "
+			+ "p.paymentStatus = COALESCE(:paymentStatus, p.paymentStatus), "
+			+ "p.version = p.version + 1 WHERE p.paymentId = :paymentId AND (:version IS NULL OR p.version = :version)")
+	int patch(@Param("paymentId") final Integer paymentId, @Param("version") final Long version, 
+			@Param("isPayed") final Boolean isPayed, @Param("paymentStatus") final String paymentStatus);
+	
+	List<Payment> findByPaymentIdGreaterThanOrderByPaymentIdAsc(final Integer paymentId, final Pageable pageable);
 	
+	List<Payment> findAllByOrderIdOrderByPaymentIdAsc(final Integer orderId);
 	
 }
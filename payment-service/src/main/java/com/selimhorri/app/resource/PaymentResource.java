@@ -5,19 +5,27 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.service.PaymentService;
+import com.selimhorri.app.util.NdjsonStreamUtil;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +37,7 @@ import lombok.extern.slf4j.Slf4j;
 public class PaymentResource {
 	
 	private final PaymentService paymentService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll() {
@@ -36,6 +45,30 @@ public class PaymentResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll()));
 	}
 	
+	@GetMapping(params = "limit")
+	public ResponseEntity<DtoCursorPageResponse<PaymentDto>> findPage(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam("limit") final int limit) {
+		log.info("*** PaymentDto Page, controller; fetch payments page *");
+		return ResponseEntity.ok(this.paymentService.findPage(after, limit));
+	}
+	
+	@GetMapping(params = "orderId")
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAllByOrderId(
+			@RequestParam("orderId") final Integer orderId) {
+		log.info("*** PaymentDto List, controller; fetch payments by order id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAllByOrderId(orderId)));
+	}
+	
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> stream() {
+		log.info("*** PaymentDto Stream, controller; stream all payments *");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(NdjsonStreamUtil.stream(this.objectMapper, 
+						after -> this.paymentService.findPage(after, AppConstant.MAX_PAGE_SIZE)));
+	}
+	
 	@GetMapping("/{paymentId}")
 	public ResponseEntity<PaymentDto> findById(
 			@PathVariable("paymentId") 
@@ -63,6 +96,18 @@ public class PaymentResource {
 		return ResponseEntity.ok(this.paymentService.update(paymentDto));
 	}
 	
+	@PatchMapping("/{paymentId}")
+	public ResponseEntity<PaymentDto> patch(
+			@PathVariable("paymentId")
+			@NotBlank(message = "Input must not be blank")
+			@Valid final String paymentId,
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final PaymentDto paymentDto) {
+		log.info("*** PaymentDto, resource; patch payment with paymentId *");
+		return ResponseEntity.ok(this.paymentService.patch(Integer.parseInt(paymentId), paymentDto));
+	}
+	
 	@DeleteMapping("/{paymentId}")
 	public ResponseEntity<Boolean> deleteById(
 			@PathVariable("paymentId") 
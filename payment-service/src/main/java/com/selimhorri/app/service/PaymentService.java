@@ -3,13 +3,17 @@ package com.selimhorri.app.service;
 import java.util.List;
 
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 
 public interface PaymentService {
 	
 	List<PaymentDto> findAll();
+	DtoCursorPageResponse<PaymentDto> findPage(final String after, final int limit);
+	List<PaymentDto> findAllByOrderId(final Integer orderId);
 	PaymentDto findById(final Integer paymentId);
 	PaymentDto save(final PaymentDto paymentDto);
 	PaymentDto update(final PaymentDto paymentDto);
+	PaymentDto patch(final Integer paymentId, final PaymentDto paymentDto);
 	void deleteById(final Integer paymentId);
 	
 }
@@ -5,12 +5,15 @@ import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 import com.selimhorri.app.helper.PaymentMappingHelper;
 import com.selimhorri.app.repository.PaymentRepository;
@@ -43,6 +46,41 @@ public class PaymentServiceImpl implements PaymentService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public DtoCursorPageResponse<PaymentDto> findPage(final String after, final int limit) {
+		log.info("*** PaymentDto Page, service; fetch payments page *");
+		final int pageSize = Math.min(Math.max(limit, 1), AppConstant.MAX_PAGE_SIZE);
+		final List<PaymentDto> paymentDtos = this.paymentRepository
+				.findByPaymentIdGreaterThanOrderByPaymentIdAsc(after == null || after.isBlank() ? 
+						0 : Integer.parseInt(after.strip()), PageRequest.of(0, pageSize))
+				.stream()
+					.map(PaymentMappingHelper::map)
+					.map(p -> {
+						p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+								.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
+						return p;
+					})
+					.collect(Collectors.toUnmodifiableList());
+		return DtoCursorPageResponse.of(paymentDtos, pageSize, d -> String.valueOf(d.getPaymentId()));
+	}
+	
+	@Override
+	public List<PaymentDto> findAllByOrderId(final Integer orderId) {
+		log.info("*** PaymentDto List, service; fetch payments by order id *");
+		final List<PaymentDto> paymentDtos = this.paymentRepository.findAllByOrderIdOrderByPaymentIdAsc(orderId)
+				.stream()
+					.map(PaymentMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+		if (paymentDtos.isEmpty()) {
+			return paymentDtos;
+		}
+		// every payment belongs to the same order, so it is fetched once
+		final OrderDto orderDto = this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+				.ORDER_SERVICE_API_URL + "/" + orderId, OrderDto.class);
+		paymentDtos.forEach(p -> p.setOrderDto(orderDto));
+		return paymentDtos;
+	}
+	
 	@Override
 	public PaymentDto findById(final Integer paymentId) {
 		log.info("*** PaymentDto, service; fetch payment by id *");
@@ -70,6 +108,25 @@ public class PaymentServiceImpl implements PaymentService {
 				.save(PaymentMappingHelper.map(paymentDto)));
 	}
 	
+	/**
+	 * Writes only the non null fields of the dto with one UPDATE, no merge read. 
+	 * When the dto carries a version the row must still be at it, otherwise nothing is written.
+	 */
+	@Override
+	public PaymentDto patch(final Integer paymentId, final PaymentDto paymentDto) {
+		log.info("*** PaymentDto, service; patch payment with paymentId *");
+		final boolean patched = this.paymentRepository.patch(paymentId, paymentDto.getVersion(), paymentDto.getIsPayed(), 
+				paymentDto.getPaymentStatus() == null ? null : paymentDto.getPaymentStatus().name()) > 0;
+		final PaymentDto current = this.paymentRepository.findById(paymentId)
+				.map(PaymentMappingHelper::map)
+				.orElseThrow(() -> new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId)));
+		if (!patched) {
+			throw new OptimisticLockingFailureException(String
+					.format("Payment with id: %d is at version %d, not %d", paymentId, current.getVersion(), paymentDto.getVersion()));
+		}
+		return current;
+	}
+	
 	@Override
 	public void deleteById(final Integer paymentId) {
 		log.info("*** Void, service; delete payment by id *");
@@ -0,0 +1,51 @@
+package com.selimhorri.app.util;
+
+import java.util.function.Function;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class NdjsonStreamUtil {
+	
+	/**
+	 * Walks all keyset pages served by the given fetcher and writes every row as 
+	 * newline-delimited JSON, flushing after each page, 
+	 * so only one page is held in memory at a time.
+	 */
+	public static <T> StreamingResponseBody stream(final ObjectMapper objectMapper, 
+			final Function<String, DtoCursorPageResponse<T>> pageFetcher) {
+		final ObjectWriter objectWriter = objectMapper.writer()
+				.without(SerializationFeature.INDENT_OUTPUT);
+		return outputStream -> {
+			String cursor = null;
+			do {
+				final DtoCursorPageResponse<T> page = pageFetcher.apply(cursor);
+				for (final T dto : page.getCollection()) {
+					outputStream.write(objectWriter.writeValueAsBytes(dto));
+					outputStream.write('\n');
+				}
+				outputStream.flush();
+				cursor = page.getNextCursor();
+			} while (cursor != null);
+		};
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
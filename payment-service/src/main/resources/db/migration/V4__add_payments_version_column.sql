@@ -0,0 +1,4 @@
+-- version is bumped by every partial update, see PaymentRepository#patch
+ALTER TABLE payments ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+
@@ -0,0 +1,4 @@
+-- backs the payments by order lookup, see PaymentRepository#findAllByOrderId
+CREATE INDEX idx_payments_order_id ON payments (order_id);
+
+
@@ -17,15 +17,18 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.security.test.context.support.WithMockUser;
 
+import com.selimhorri.app.client.identity.IdentityAutoConfiguration;
 import com.selimhorri.app.config.SecurityConfig;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.context.annotation.Import;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.service.PaymentService;
 
-@WebMvcTest(PaymentResource.class)
+@WebMvcTest(controllers = PaymentResource.class, properties = "app.security.identity.secret=payment-service-test-identity-secret")
 @Import(SecurityConfig.class)
+@ImportAutoConfiguration(IdentityAutoConfiguration.class)
 @DisplayName("PaymentResource Tests")
 class PaymentResourceTest {
 	
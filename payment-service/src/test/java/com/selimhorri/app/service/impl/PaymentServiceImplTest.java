@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -14,9 +15,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import org.springframework.web.client.RestTemplate;
 import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
@@ -64,6 +67,31 @@ class PaymentServiceImplTest {
 		verify(paymentRepository, times(1)).findAll();
 	}
 	
+	@Test
+	@DisplayName("Should find payments by order id fetching the order once")
+	void testFindAllByOrderId() {
+		Payment retry = new Payment();
+		retry.setPaymentId(2);
+		retry.setOrderId(1);
+		when(paymentRepository.findAllByOrderIdOrderByPaymentIdAsc(1)).thenReturn(List.of(payment, retry));
+		when(restTemplate.getForObject(anyString(), eq(OrderDto.class))).thenReturn(orderDto);
+		
+		List<PaymentDto> result = paymentService.findAllByOrderId(1);
+		
+		assertEquals(2, result.size());
+		assertSame(orderDto, result.get(1).getOrderDto());
+		verify(restTemplate, times(1)).getForObject(anyString(), eq(OrderDto.class));
+	}
+	
+	@Test
+	@DisplayName("Should skip the order lookup when the order has no payments")
+	void testFindAllByOrderIdEmpty() {
+		when(paymentRepository.findAllByOrderIdOrderByPaymentIdAsc(9)).thenReturn(List.of());
+		
+		assertTrue(paymentService.findAllByOrderId(9).isEmpty());
+		verifyNoInteractions(restTemplate);
+	}
+	
 	@Test
 	@DisplayName("Should find payment by id")
 	void testFindById() {
@@ -115,4 +143,29 @@ class PaymentServiceImplTest {
 		
 		verify(paymentRepository, times(1)).deleteById(1);
 	}
+	
+	@Test
+	@DisplayName("Should patch payment status by name")
+	void testPatch() {
+		PaymentDto patch = PaymentDto.builder().paymentStatus(PaymentStatus.COMPLETED).version(0L).build();
+		payment.setPaymentStatus(PaymentStatus.COMPLETED);
+		when(paymentRepository.patch(1, 0L, null, "COMPLETED")).thenReturn(1);
+		when(paymentRepository.findById(1)).thenReturn(Optional.of(payment));
+		
+		PaymentDto result = paymentService.patch(1, patch);
+		
+		assertEquals(PaymentStatus.COMPLETED, result.getPaymentStatus());
+		verify(restTemplate, never()).getForObject(anyString(), eq(OrderDto.class));
+	}
+	
+	@Test
+	@DisplayName("Should reject patch when payment version changed")
+	void testPatchVersionConflict() {
+		PaymentDto patch = PaymentDto.builder().isPayed(true).version(0L).build();
+		payment.setVersion(1L);
+		when(paymentRepository.patch(1, 0L, true, null)).thenReturn(0);
+		when(paymentRepository.findById(1)).thenReturn(Optional.of(payment));
+		
+		assertThrows(OptimisticLockingFailureException.class, () -> paymentService.patch(1, patch));
+	}
 }
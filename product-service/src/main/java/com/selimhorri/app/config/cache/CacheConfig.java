@@ -0,0 +1,55 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.constant.AppConstant;
+
+/**
+ * Near-cache of the mapped catalogue DTOs.
+ * Writes on this instance evict their entries, the ttl bounds how stale
+ * an entry can get when the write went through another instance.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+	
+	@Bean
+	public CacheManager cacheManager(
+			@Value("${app.catalogue-cache.maximum-size:10000}") final long maximumSize,
+			@Value("${app.catalogue-cache.ttl:10m}") final Duration ttl) {
+		final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+		cacheManager.setCaffeine(Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(ttl)
+				.recordStats());
+		cacheManager.setCacheNames(List.of(
+				AppConstant.CacheName.PRODUCTS,
+				AppConstant.CacheName.PRODUCT_LIST,
+				AppConstant.CacheName.CATEGORIES,
+				AppConstant.CacheName.CATEGORY_LIST));
+		cacheManager.setAllowNullValues(false);
+		return cacheManager;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
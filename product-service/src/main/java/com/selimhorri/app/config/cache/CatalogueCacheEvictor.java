@@ -0,0 +1,88 @@
+package com.selimhorri.app.config.cache;
+
+import java.util.Objects;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.selimhorri.app.constant.AppConstant;
+
+/**
+ * Evicts the near-cache entries of a catalogue write once its transaction commits.
+ * Evicting before the commit lets a concurrent read cache the row as it was
+ * until the commit, and keep serving it for the whole ttl.
+ * Outside of a transaction the entries are evicted right away.
+ */
+@Component
+public class CatalogueCacheEvictor {
+	
+	private final Cache products;
+	private final Cache productList;
+	private final Cache categories;
+	private final Cache categoryList;
+	
+	public CatalogueCacheEvictor(final CacheManager cacheManager) {
+		this.products = Objects.requireNonNull(cacheManager.getCache(AppConstant.CacheName.PRODUCTS));
+		this.productList = Objects.requireNonNull(cacheManager.getCache(AppConstant.CacheName.PRODUCT_LIST));
+		this.categories = Objects.requireNonNull(cacheManager.getCache(AppConstant.CacheName.CATEGORIES));
+		this.categoryList = Objects.requireNonNull(cacheManager.getCache(AppConstant.CacheName.CATEGORY_LIST));
+	}
+	
+	/**
+	 * Evicts a product, when it has an id, and the product listing
+	 */
+	public void evictProductAfterCommit(final Integer productId) {
+		afterCommit(() -> {
+			if (productId != null) {
+				this.products.evict(productId);
+			}
+			this.productList.clear();
+		});
+	}
+	
+	public void evictCategoryListAfterCommit() {
+		afterCommit(this.categoryList::clear);
+	}
+	
+	/**
+	 * Clears the whole catalogue, every cached product and child category embeds a copy of its category
+	 */
+	public void clearAfterCommit() {
+		afterCommit(() -> {
+			this.categories.clear();
+			this.categoryList.clear();
+			this.products.clear();
+			this.productList.clear();
+		});
+	}
+	
+	private static void afterCommit(final Runnable eviction) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			eviction.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			
+			@Override
+			public void afterCommit() {
+				eviction.run();
+			}
+		});
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,68 @@
+package com.selimhorri.app.config.cache;
+
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.helper.CategoryMappingHelper;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Preloads the first products and categories into the near-cache at startup,
+ * so the first requests after a deploy do not all go to the database.
+ */
+@Component
+@ConditionalOnProperty(name = "app.catalogue-cache.warm-up.enabled", havingValue = "true")
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogueCacheWarmUp implements ApplicationRunner {
+	
+	private final ProductRepository productRepository;
+	private final CategoryRepository categoryRepository;
+	private final CacheManager cacheManager;
+	
+	@Value("${app.catalogue-cache.warm-up.size:500}")
+	private int size;
+	
+	@Override
+	public void run(final ApplicationArguments args) {
+		final Cache products = Objects.requireNonNull(this.cacheManager.getCache(AppConstant.CacheName.PRODUCTS));
+		final Cache categories = Objects.requireNonNull(this.cacheManager.getCache(AppConstant.CacheName.CATEGORIES));
+		
+		this.productRepository.findByProductIdGreaterThanOrderByProductIdAsc(0, PageRequest.of(0, this.size))
+				.stream()
+					.map(ProductMappingHelper::map)
+					.forEach(productDto -> products.put(productDto.getProductId(), productDto));
+		this.categoryRepository.findByCategoryIdGreaterThanOrderByCategoryIdAsc(0, PageRequest.of(0, this.size))
+				.stream()
+					.map(CategoryMappingHelper::map)
+					.forEach(categoryDto -> categories.put(categoryDto.getCategoryId(), categoryDto));
+		log.info("*** Catalogue cache warmed up with at most {} products and categories *", this.size);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,38 @@
+package com.selimhorri.app.config.catalogue;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.selimhorri.app.config.search.ProductSearchIndexLoader;
+import com.selimhorri.app.service.category.CategoryTree;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Catches up the in-memory catalogue copies with the writes of the other instances, which only
+ * only reach the copies of the instance that made them. Each run is a single aggregate query per copy,
+ * a copy is only reloaded once its stamp has moved.
+ */
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+public class CatalogueRefreshConfig {
+	
+	private final CategoryTree categoryTree;
+	private final ProductSearchIndexLoader productSearchIndexLoader;
+	
+	@Scheduled(fixedDelayString = "#{@catalogueRefreshProperties.interval.toMillis()}")
+	public void refreshCategoryTree() {
+		this.categoryTree.refresh();
+	}
+	
+	@Scheduled(fixedDelayString = "#{@catalogueRefreshProperties.interval.toMillis()}")
+	public void refreshProductSearchIndex() {
+		this.productSearchIndexLoader.refresh();
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,24 @@
+package com.selimhorri.app.config.catalogue;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Component
+@ConfigurationProperties(prefix = "app.catalogue-refresh")
+@Getter
+@Setter
+public class CatalogueRefreshProperties {
+	
+	/** Delay between two stamp checks of the in-memory catalogue copies against the database */
+	private Duration interval = Duration.ofSeconds(30);
+	
+	/** Margin taken off the time of the last check when looking for changed rows, for clocks and long transactions */
+	private Duration clockSkew = Duration.ofMinutes(1);
+	
+}
+
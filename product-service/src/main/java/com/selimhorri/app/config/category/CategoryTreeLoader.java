@@ -0,0 +1,90 @@
+package com.selimhorri.app.config.category;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.service.category.CategoryNode;
+import com.selimhorri.app.service.category.CategoryTree;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills in, or corrects, the materialized path of every category from its parent chain at startup.
+ * The migration only fills the roots, from then on CategoryService maintains it on every write.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CategoryTreeLoader implements ApplicationRunner {
+	
+	private final CategoryRepository categoryRepository;
+	private final CategoryTree categoryTree;
+	
+	@Override
+	@Transactional
+	public void run(final ApplicationArguments args) {
+		final List<CategoryNode> nodes = this.categoryRepository.findAllNodes();
+		final Map<Integer, CategoryNode> byId = nodes.stream()
+				.collect(Collectors.toMap(CategoryNode::getCategoryId, Function.identity()));
+		final Map<Integer, String> paths = new HashMap<>();
+		int repaired = 0;
+		for (final CategoryNode node : nodes) {
+			final String path = this.resolve(node, byId, paths, nodes.size());
+			if (path != null && !path.equals(node.getPath())) {
+				this.categoryRepository.updatePath(node.getCategoryId(), path);
+				repaired++;
+			}
+		}
+		if (repaired > 0) {
+			this.categoryTree.invalidate();
+			log.info("*** Materialized path filled for {} categories *", repaired);
+		}
+	}
+	
+	/**
+	 * Walks up the parent chain to the root, null when the chain is broken 
+	 * or loops, which leaves the category out of the tree.
+	 */
+	private String resolve(final CategoryNode node, final Map<Integer, CategoryNode> byId, 
+			final Map<Integer, String> paths, final int maxDepth) {
+		if (paths.containsKey(node.getCategoryId())) {
+			return paths.get(node.getCategoryId());
+		}
+		String path = null;
+		if (node.getParentCategoryId() == null) {
+			path = CategoryTree.childPath(null, node.getCategoryId());
+		}
+		else if (maxDepth > 0 && byId.containsKey(node.getParentCategoryId())) {
+			final String parentPath = this.resolve(byId.get(node.getParentCategoryId()), byId, paths, maxDepth - 1);
+			path = parentPath == null ? null : CategoryTree.childPath(parentPath, node.getCategoryId());
+		}
+		else if (maxDepth <= 0) {
+			log.warn("*** Category {} is part of a parent cycle, left out of the tree *", node.getCategoryId());
+		}
+		paths.put(node.getCategoryId(), path);
+		return path;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
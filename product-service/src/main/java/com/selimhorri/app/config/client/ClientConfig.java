@@ -3,6 +3,7 @@ package com.selimhorri.app.config.client;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
@@ -10,8 +11,8 @@ public class ClientConfig {
 	
 	@LoadBalanced
 	@Bean
-	public RestTemplate restTemplateBean() {
-		return new RestTemplate();
+	public RestTemplate restTemplateBean(final ClientHttpRequestFactory interServiceRequestFactory) {
+		return new RestTemplate(interServiceRequestFactory);
 	}
 	
 	
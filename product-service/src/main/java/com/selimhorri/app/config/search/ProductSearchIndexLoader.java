@@ -0,0 +1,106 @@
+package com.selimhorri.app.config.search;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.catalogue.CatalogueRefreshProperties;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.search.ProductSearchIndex;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the product search index at startup, walking the catalogue by id in pages.
+ * From then on ProductService keeps it up to date on the writes of this instance, and {@link #refresh()}
+ * reindexes the products the other instances wrote since the last check, or rebuilds it after deletes.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchIndexLoader implements ApplicationRunner {
+	
+	private final ProductRepository productRepository;
+	private final ProductSearchIndex productSearchIndex;
+	private final CatalogueRefreshProperties catalogueRefreshProperties;
+	
+	@Value("${app.product-search.page-size:1000}")
+	private int pageSize;
+	
+	private String stamp;
+	private Instant checkedAt;
+	
+	@Override
+	public void run(final ApplicationArguments args) {
+		this.rebuild();
+	}
+	
+	/**
+	 * One aggregate query while nothing moved, the stock writes leave the stamp alone
+	 */
+	public synchronized void refresh() {
+		if (this.stamp == null) {
+			return;
+		}
+		final Instant now = Instant.now();
+		final String current = this.productRepository.findSearchStamp().getETag();
+		if (current.equals(this.stamp)) {
+			return;
+		}
+		if (this.productRepository.count() != this.productSearchIndex.size()) {
+			this.rebuild();
+			return;
+		}
+		final List<Product> changed = this.productRepository
+				.findChangedSince(this.checkedAt.minus(this.catalogueRefreshProperties.getClockSkew()));
+		changed.stream()
+				.map(ProductMappingHelper::map)
+				.forEach(this.productSearchIndex::put);
+		this.stamp = current;
+		this.checkedAt = now;
+		log.debug("*** Product search index refreshed with {} changed products *", changed.size());
+	}
+	
+	private synchronized void rebuild() {
+		final long start = System.nanoTime();
+		final Instant now = Instant.now();
+		final String current = this.productRepository.findSearchStamp().getETag();
+		final List<ProductDto> productDtos = new ArrayList<>();
+		List<Product> page = this.productRepository.findByProductIdGreaterThanOrderByProductIdAsc(0, PageRequest.of(0, this.pageSize));
+		while (!page.isEmpty()) {
+			page.stream()
+					.map(ProductMappingHelper::map)
+					.forEach(productDtos::add);
+			page = page.size() < this.pageSize ? List.of() : this.productRepository.findByProductIdGreaterThanOrderByProductIdAsc(
+					page.get(page.size() - 1).getProductId(), PageRequest.of(0, this.pageSize));
+		}
+		this.productSearchIndex.rebuild(productDtos);
+		this.stamp = current;
+		this.checkedAt = now;
+		log.info("*** Product search index built with {} products in {} ms *", 
+				this.productSearchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,50 @@
+package com.selimhorri.app.config.stock;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Component
+@ConfigurationProperties(prefix = "app.stock")
+@Getter
+@Setter
+public class StockProperties {
+	
+	/** How long a reservation holds its units before the expiry sweep returns them */
+	private Duration reservationTtl = Duration.ofMinutes(15);
+	
+	/** Delay between two runs of the expiry sweep */
+	private Duration expiryInterval = Duration.ofSeconds(30);
+	
+	/** Overdue reservations expired per transaction of the sweep */
+	private int expiryBatchSize = 500;
+	
+	/** Products whose stock is served from an in-memory counter instead of their row */
+	private Set<Integer> hotProducts = new HashSet<>();
+	
+	/** Units a hot product counter takes off the row at once when it runs dry */
+	private int leaseSize = 100;
+	
+	/** Stripes of a hot product counter, 0 picks one per available processor */
+	private int stripes = 0;
+	
+	/** Delay between two flushes of the hot product counters back to their rows */
+	private Duration flushInterval = Duration.ofSeconds(1);
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,47 @@
+package com.selimhorri.app.config.stock;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.selimhorri.app.service.StockReservationService;
+import com.selimhorri.app.service.stock.StockLedger;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Background upkeep of the stock: hot product counters go back to their rows every flush interval,
+ * and pending reservations past their ttl are expired in batches. Every instance runs both,
+ * the conditional status updates keep two sweeps from returning the same units twice.
+ */
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+public class StockSchedulingConfig {
+	
+	private final StockLedger stockLedger;
+	private final StockReservationService stockReservationService;
+	
+	@Scheduled(fixedDelayString = "#{@stockProperties.flushInterval.toMillis()}")
+	public void flushHotProducts() {
+		this.stockLedger.flush();
+	}
+	
+	@Scheduled(fixedDelayString = "#{@stockProperties.expiryInterval.toMillis()}")
+	public void expireOverdueReservations() {
+		this.stockReservationService.expireOverdue();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -11,6 +11,37 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	public static final int MAX_PAGE_SIZE = 1000;
+	
+	/**
+	 * Ids handed out per round trip to the id_generators table, must match the
+	 * increment the Flyway migrations seed the table with
+	 */
+	public static final int ID_ALLOCATION_SIZE = 50;
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class CacheName {
+		
+		public static final String PRODUCTS = "products";
+		public static final String PRODUCT_LIST = "productList";
+		public static final String CATEGORIES = "categories";
+		public static final String CATEGORY_LIST = "categoryList";
+		
+	}
+	
+	/**
+	 * Hibernate second-level cache regions, see SecondLevelCacheConfig
+	 */
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class CacheRegion {
+		
+		public static final String CATEGORY = "category";
+		public static final String PRODUCT = "product";
+		public static final String QUERY_RESULTS = "default-query-results-region";
+		public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+		
+	}
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
@@ -2,6 +2,7 @@ package com.selimhorri.app.domain;
 
 import java.io.Serializable;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
@@ -11,6 +12,12 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.selimhorri.app.constant.AppConstant;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,6 +27,8 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AppConstant.CacheRegion.PRODUCT)
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true, exclude = {"category"})
@@ -30,7 +39,10 @@ public final class Product extends AbstractMappedEntity implements Serializable
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "product_id_generator")
+	@TableGenerator(name = "product_id_generator", table = "id_generators", 
+			pkColumnName = "sequence_name", valueColumnName = "next_val", 
+			pkColumnValue = "products", allocationSize = AppConstant.ID_ALLOCATION_SIZE)
 	@Column(name = "product_id", unique = true, nullable = false, updatable = false)
 	private Integer productId;
 	
@@ -49,6 +61,14 @@ public final class Product extends AbstractMappedEntity implements Serializable
 	@Column(name = "quantity")
 	private Integer quantity;
 	
+	/** Units leased off quantity by a hot product counter, only written by the stock queries of ProductRepository */
+	@Column(name = "leased_quantity", insertable = false, updatable = false)
+	private Integer leasedQuantity;
+	
+	/** Bumped only by the partial updates of ProductRepository, full saves leave it alone */
+	@Column(name = "version", insertable = false, updatable = false)
+	private Long version;
+	
 	@ManyToOne(fetch = FetchType.EAGER)
 	@JoinColumn(name = "category_id")
 	private Category category;
@@ -0,0 +1,70 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+
+import com.selimhorri.app.constant.AppConstant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Units of a product held for a pending order. The units leave Product.quantity
+ * when the reservation is made, and go back to it when it is released or expires.
+ */
+@Entity
+@Table(name = "stock_reservations")
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Builder
+public final class StockReservation extends AbstractMappedEntity implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "stock_reservation_id_generator")
+	@TableGenerator(name = "stock_reservation_id_generator", table = "id_generators", 
+			pkColumnName = "sequence_name", valueColumnName = "next_val", 
+			pkColumnValue = "stock_reservations", allocationSize = AppConstant.ID_ALLOCATION_SIZE)
+	@Column(name = "reservation_id", unique = true, nullable = false, updatable = false)
+	private Integer reservationId;
+	
+	@Column(name = "product_id", nullable = false, updatable = false)
+	private Integer productId;
+	
+	@Column(name = "quantity", nullable = false, updatable = false)
+	private Integer quantity;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false)
+	private ReservationStatus status;
+	
+	@Column(name = "expires_at", nullable = false)
+	private Instant expiresAt;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,7 +1,9 @@
 package com.selimhorri.app.dto;
 
 import java.io.Serializable;
+import java.time.Instant;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
@@ -25,10 +27,33 @@ public class ProductDto implements Serializable {
 	private Double priceUnit;
 	private Integer quantity;
 	
+	@JsonInclude(Include.NON_NULL)
+	private Long version;
+	
+	/** Never serialized, carried so the ETag of a cached copy comes from that copy, see VersionStamp */
+	@JsonIgnore
+	private Instant updatedAt;
+	
 	@JsonProperty("category")
 	@JsonInclude(Include.NON_NULL)
 	private CategoryDto categoryDto;
 	
+	/**
+	 * Constructor expression target of the read queries of ProductRepository,
+	 * fills the dto straight from the product row and its category columns.
+	 */
+	public ProductDto(final Integer productId, final String productTitle, final String imageUrl, 
+			final String sku, final Double priceUnit, final Integer quantity, final Long version, final Instant updatedAt, 
+			final Integer categoryId, final String categoryTitle, final String categoryImageUrl, final Instant categoryUpdatedAt) {
+		this(productId, productTitle, imageUrl, sku, priceUnit, quantity, version, updatedAt, categoryId == null ? null : 
+				CategoryDto.builder()
+					.categoryId(categoryId)
+					.categoryTitle(categoryTitle)
+					.imageUrl(categoryImageUrl)
+					.updatedAt(categoryUpdatedAt)
+					.build());
+	}
+	
 }
 
 
@@ -16,11 +16,13 @@ public interface CategoryMappingHelper {
 				.categoryId(category.getCategoryId())
 				.categoryTitle(category.getCategoryTitle())
 				.imageUrl(category.getImageUrl())
+				.updatedAt(category.getUpdatedAt())
 				.parentCategoryDto(
 						CategoryDto.builder()
 							.categoryId(parentCategory.getCategoryId())
 							.categoryTitle(parentCategory.getCategoryTitle())
 							.imageUrl(parentCategory.getImageUrl())
+							.updatedAt(parentCategory.getUpdatedAt())
 							.build())
 				.build();
 	}
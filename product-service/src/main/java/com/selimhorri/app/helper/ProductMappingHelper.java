@@ -15,11 +15,14 @@ public interface ProductMappingHelper {
 				.sku(product.getSku())
 				.priceUnit(product.getPriceUnit())
 				.quantity(product.getQuantity())
+				.version(product.getVersion())
+				.updatedAt(product.getUpdatedAt())
 				.categoryDto(
 						CategoryDto.builder()
 							.categoryId(product.getCategory().getCategoryId())
 							.categoryTitle(product.getCategory().getCategoryTitle())
 							.imageUrl(product.getCategory().getImageUrl())
+							.updatedAt(product.getCategory().getUpdatedAt())
 							.build())
 				.build();
 	}
@@ -1,11 +1,58 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.service.category.CategoryNode;
+import com.selimhorri.app.util.VersionStamp;
 
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
 	
+	List<Category> findByCategoryIdGreaterThanOrderByCategoryIdAsc(final Integer categoryId, final Pageable pageable);
+	
+	/**
+	 * Update times behind a single category representation, its parent included
+	 */
+	@Query("SELECT new com.selimhorri.app.util.VersionStamp(c.categoryId, c.updatedAt, pc.updatedAt) "
+			+ "FROM Category c LEFT JOIN c.parentCategory pc WHERE c.categoryId = :categoryId")
+	Optional<VersionStamp> findStampById(@Param("categoryId") final Integer categoryId);
+	
+	/**
+	 * Stamp of the whole category listing, the count catches deletes
+	 */
+	@Query("SELECT new com.selimhorri.app.util.VersionStamp(COUNT(c), MAX(c.updatedAt)) FROM Category c")
+	VersionStamp findStamp();
+	
+	/**
+	 * Stamp of the tree, the count of the paths catches CategoryTreeLoader filling them
+	 */
+	@Query("SELECT new com.selimhorri.app.util.VersionStamp(COUNT(c), COUNT(c.path), MAX(c.updatedAt)) FROM Category c")
+	VersionStamp findTreeStamp();
+	
+	/**
+	 * Every category as a flat row, the parent id is read off the foreign key without a join
+	 */
+	@Query("SELECT new com.selimhorri.app.service.category.CategoryNode(c.categoryId, c.parentCategory.categoryId, "
+			+ "c.categoryTitle, c.imageUrl, c.path) FROM Category c")
+	List<CategoryNode> findAllNodes();
+	
+	@Modifying
+	@Query("UPDATE Category c SET c.path = :path WHERE c.categoryId = :categoryId")
+	int updatePath(@Param("categoryId") final Integer categoryId, @Param("path") final String path);
 	
+	/**
+	 * Re-roots a whole subtree in a single UPDATE, replacing the old path prefix by the new one
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Category c SET c.path = CONCAT(:newPath, SUBSTRING(c.path, LENGTH(:oldPath) + 1)) "
+			+ "WHERE c.path LIKE CONCAT(:oldPath, '%')")
+	int movePaths(@Param("oldPath") final String oldPath, @Param("newPath") final String newPath);
 	
 }
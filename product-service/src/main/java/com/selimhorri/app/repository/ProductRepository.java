@@ -1,11 +1,119 @@
 package com.selimhorri.app.repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.util.VersionStamp;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 	
+	@Query("SELECT new com.selimhorri.app.dto.ProductDto(p.productId, p.productTitle, p.imageUrl, p.sku, p.priceUnit, p.quantity, p.version, p.updatedAt, "
+			+ "c.categoryId, c.categoryTitle, c.imageUrl, c.updatedAt) FROM Product p LEFT JOIN p.category c")
+	List<ProductDto> findAllDtos();
+	
+	@Query("SELECT new com.selimhorri.app.dto.ProductDto(p.productId, p.productTitle, p.imageUrl, p.sku, p.priceUnit, p.quantity, p.version, p.updatedAt, "
+			+ "c.categoryId, c.categoryTitle, c.imageUrl, c.updatedAt) FROM Product p LEFT JOIN p.category c WHERE p.productId = :productId")
+	Optional<ProductDto> findDtoById(@Param("productId") final Integer productId);
+	
+	/**
+	 * Version and update times behind a single product representation, its category included
+	 */
+	@Query("SELECT new com.selimhorri.app.util.VersionStamp(p.productId, p.version, p.updatedAt, c.updatedAt) "
+			+ "FROM Product p LEFT JOIN p.category c WHERE p.productId = :productId")
+	Optional<VersionStamp> findStampById(@Param("productId") final Integer productId);
+	
+	/**
+	 * Stamp of the whole product listing, the count catches deletes
+	 */
+	@Query("SELECT new com.selimhorri.app.util.VersionStamp(COUNT(p), SUM(p.version), MAX(p.updatedAt), MAX(c.updatedAt)) "
+			+ "FROM Product p LEFT JOIN p.category c")
+	VersionStamp findStamp();
+	
+	/**
+	 * Stamp of what the search index holds, moved by every write but the stock ones, the count catches deletes
+	 */
+	@Query("SELECT new com.selimhorri.app.util.VersionStamp(COUNT(p), MAX(p.updatedAt), MAX(c.updatedAt)) "
+			+ "FROM Product p LEFT JOIN p.category c")
+	VersionStamp findSearchStamp();
+	
+	/**
+	 * Products written, or whose category was written, at or after the given time
+	 */
+	@Query("SELECT p FROM Product p LEFT JOIN FETCH p.category c WHERE p.updatedAt >= :since OR c.updatedAt >= :since")
+	List<Product> findChangedSince(@Param("since") final Instant since);
+	
+	/**
+	 * Products of every category under the given materialized path, its own included, 
+	 * a prefix range on the categories path index. Keyset paged by product id.
+	 */
+	@Query("SELECT new com.selimhorri.app.dto.ProductDto(p.productId, p.productTitle, p.imageUrl, p.sku, p.priceUnit, p.quantity, p.version, p.updatedAt, "
+			+ "c.categoryId, c.categoryTitle, c.imageUrl, c.updatedAt) FROM Product p JOIN p.category c "
+			+ "WHERE c.path LIKE CONCAT(:path, '%') AND p.productId > :productId ORDER BY p.productId ASC")
+	List<ProductDto> findDtosByCategoryPath(@Param("path") final String path, 
+			@Param("productId") final Integer productId, final Pageable pageable);
+	
+	/**
+	 * Applies the non null fields in a single UPDATE and bumps the version, 
+	 * only if it still equals the expected one when given. Returns the updated row count.
+	 * A quantity is absolute, the units leased off the row before are no longer owed back to it.
+	 * The update time moves as well, it is what the other instances refresh their search index by.
+	 */
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Product p SET p.productTitle = COALESCE(:productTitle, p.productTitle), "
+			+ "p.imageUrl = COALESCE(:imageUrl, p.imageUrl), p.sku = COALESCE(:sku, p.sku), "
+			+ "p.priceUnit = COALESCE(:priceUnit, p.priceUnit), p.quantity = COALESCE(:quantity, p.quantity), "
+			+ "p.leasedQuantity = CASE WHEN :quantity IS NULL THEN p.leasedQuantity ELSE 0 END, "
+			+ "p.version = p.version + 1, p.updatedAt = CURRENT_TIMESTAMP "
+			+ "WHERE p.productId = :productId AND (:version IS NULL OR p.version = :version)")
+	int patch(@Param("productId") final Integer productId, @Param("version") final Long version, 
+			@Param("productTitle") final String productTitle, @Param("imageUrl") final String imageUrl, 
+			@Param("sku") final String sku, @Param("priceUnit") final Double priceUnit, 
+			@Param("quantity") final Integer quantity);
+	
+	/**
+	 * Takes the units off the stock only if that many are left, the row lock is held 
+	 * for this single statement. Returns 0 when the product is missing or short of stock.
+	 */
+	@Modifying
+	@Query("UPDATE Product p SET p.quantity = p.quantity - :quantity, p.version = p.version + 1 "
+			+ "WHERE p.productId = :productId AND p.quantity >= :quantity")
+	int takeStock(@Param("productId") final Integer productId, @Param("quantity") final int quantity);
+	
+	@Modifying
+	@Query("UPDATE Product p SET p.quantity = p.quantity + :quantity, p.version = p.version + 1 "
+			+ "WHERE p.productId = :productId")
+	int returnStock(@Param("productId") final Integer productId, @Param("quantity") final int quantity);
+	
+	/**
+	 * Like {@link #takeStock(Integer, int)}, the units taken are also counted as leased by a hot product counter
+	 */
+	@Modifying
+	@Query("UPDATE Product p SET p.quantity = p.quantity - :quantity, p.leasedQuantity = p.leasedQuantity + :quantity, "
+			+ "p.version = p.version + 1 WHERE p.productId = :productId AND p.quantity >= :quantity")
+	int leaseStock(@Param("productId") final Integer productId, @Param("quantity") final int quantity);
+	
+	/**
+	 * Returns leased units to the stock, at most as many as are still leased: 
+	 * the leases older than the last absolute write of quantity are already part of it.
+	 */
+	@Modifying
+	@Query("UPDATE Product p SET "
+			+ "p.quantity = p.quantity + CASE WHEN p.leasedQuantity < :quantity THEN p.leasedQuantity ELSE :quantity END, "
+			+ "p.leasedQuantity = p.leasedQuantity - CASE WHEN p.leasedQuantity < :quantity THEN p.leasedQuantity ELSE :quantity END, "
+			+ "p.version = p.version + 1 WHERE p.productId = :productId")
+	int returnLease(@Param("productId") final Integer productId, @Param("quantity") final int quantity);
 	
+	@EntityGraph(attributePaths = "category")
+	List<Product> findByProductIdGreaterThanOrderByProductIdAsc(final Integer productId, final Pageable pageable);
 	
 }
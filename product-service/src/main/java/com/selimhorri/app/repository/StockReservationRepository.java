@@ -0,0 +1,45 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.ReservationStatus;
+import com.selimhorri.app.domain.StockReservation;
+
+/**
+ * The status moves with conditional updates, so of two concurrent transitions out of 
+ * PENDING only one changes a row and only that one may act on the stock.
+ */
+public interface StockReservationRepository extends JpaRepository<StockReservation, Integer> {
+	
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE StockReservation r SET r.status = com.selimhorri.app.domain.ReservationStatus.CONFIRMED "
+			+ "WHERE r.reservationId = :reservationId AND r.status = com.selimhorri.app.domain.ReservationStatus.PENDING "
+			+ "AND r.expiresAt > :now")
+	int confirm(@Param("reservationId") final Integer reservationId, @Param("now") final Instant now);
+	
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE StockReservation r SET r.status = :status WHERE r.reservationId = :reservationId "
+			+ "AND r.status = com.selimhorri.app.domain.ReservationStatus.PENDING")
+	int closePending(@Param("reservationId") final Integer reservationId, @Param("status") final ReservationStatus status);
+	
+	List<StockReservation> findByStatusAndExpiresAtBefore(final ReservationStatus status, final Instant expiresAt, 
+			final Pageable pageable);
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,10 +1,13 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,11 +16,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.util.NdjsonStreamUtil;
+import com.selimhorri.app.util.VersionStamp;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,20 +41,74 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryResource {
 	
 	private final CategoryService categoryService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAll(final WebRequest webRequest) {
 		log.info("*** CategoryDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService.findAll()));
+		final String eTag = this.categoryService.findETag();
+		if (webRequest.checkNotModified(eTag))
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+		final List<CategoryDto> categoryDtos = this.categoryService.findAll();
+		return ResponseEntity.ok(new DtoCollectionResponse<>(eTag.equals(VersionStamp.ofCategories(categoryDtos).getETag()) ? 
+				categoryDtos : this.categoryService.reloadAll()));
+	}
+	
+	@GetMapping(params = "limit")
+	public ResponseEntity<DtoCursorPageResponse<CategoryDto>> findPage(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam("limit") final int limit, 
+			final WebRequest webRequest) {
+		log.info("*** CategoryDto Page, controller; fetch categories page *");
+		if (webRequest.checkNotModified(this.categoryService.findETag()))
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+		return ResponseEntity.ok(this.categoryService.findPage(after, limit));
+	}
+	
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> stream() {
+		log.info("*** CategoryDto Stream, controller; stream all categories *");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(NdjsonStreamUtil.stream(this.objectMapper, 
+						after -> this.categoryService.findPage(after, AppConstant.MAX_PAGE_SIZE)));
 	}
 	
 	@GetMapping("/{categoryId}")
 	public ResponseEntity<CategoryDto> findById(
 			@PathVariable("categoryId") 
 			@NotBlank(message = "Input must not be blank") 
-			@Valid final String categoryId) {
+			@Valid final String categoryId, 
+			final WebRequest webRequest) {
 		log.info("*** CategoryDto, resource; fetch category by id *");
-		return ResponseEntity.ok(this.categoryService.findById(Integer.parseInt(categoryId)));
+		final int id = Integer.parseInt(categoryId);
+		final String eTag = this.categoryService.findETag(id);
+		if (webRequest.checkNotModified(eTag))
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+		final CategoryDto categoryDto = this.categoryService.findById(id);
+		return ResponseEntity.ok(eTag.equals(VersionStamp.of(categoryDto).getETag()) ? 
+				categoryDto : this.categoryService.reloadById(id));
+	}
+	
+	@GetMapping("/{categoryId}/breadcrumbs")
+	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findBreadcrumbs(
+			@PathVariable("categoryId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String categoryId) {
+		log.info("*** CategoryDto List, resource; fetch category breadcrumbs *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(
+				this.categoryService.findBreadcrumbs(Integer.parseInt(categoryId))));
+	}
+	
+	@GetMapping("/{categoryId}/products")
+	public ResponseEntity<DtoCursorPageResponse<ProductDto>> findSubtreeProducts(
+			@PathVariable("categoryId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String categoryId, 
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", defaultValue = "100") final int limit) {
+		log.info("*** ProductDto Page, resource; fetch products under category *");
+		return ResponseEntity.ok(this.categoryService.findSubtreeProducts(Integer.parseInt(categoryId), after, limit));
 	}
 	
 	@PostMapping
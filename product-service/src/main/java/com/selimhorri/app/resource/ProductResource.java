@@ -1,23 +1,35 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.util.NdjsonStreamUtil;
+import com.selimhorri.app.util.VersionStamp;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,20 +41,72 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductResource {
 	
 	private final ProductService productService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll(final WebRequest webRequest) {
 		log.info("*** ProductDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAll()));
+		final String eTag = this.productService.findETag();
+		if (webRequest.checkNotModified(eTag))
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+		final List<ProductDto> productDtos = this.productService.findAll();
+		return ResponseEntity.ok(new DtoCollectionResponse<>(eTag.equals(VersionStamp.ofProducts(productDtos).getETag()) ? 
+				productDtos : this.productService.reloadAll()));
+	}
+	
+	@GetMapping(params = "ids")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAllByIds(
+			@RequestParam("ids") final List<Integer> productIds) {
+		log.info("*** ProductDto List, controller; fetch products by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAllByIds(productIds)));
+	}
+	
+	@GetMapping(params = "limit")
+	public ResponseEntity<DtoCursorPageResponse<ProductDto>> findPage(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam("limit") final int limit, 
+			final WebRequest webRequest) {
+		log.info("*** ProductDto Page, controller; fetch products page *");
+		if (webRequest.checkNotModified(this.productService.findETag()))
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+		return ResponseEntity.ok(this.productService.findPage(after, limit));
+	}
+	
+	@GetMapping("/search")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> search(
+			@RequestParam(name = "q", required = false) final String query, 
+			@RequestParam(name = "category", required = false) final Integer categoryId, 
+			@RequestParam(name = "minPrice", required = false) final Double minPrice, 
+			@RequestParam(name = "maxPrice", required = false) final Double maxPrice, 
+			@RequestParam(name = "limit", defaultValue = "20") final int limit) {
+		log.info("*** ProductDto List, controller; search products *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(
+				this.productService.search(query, categoryId, minPrice, maxPrice, limit)));
+	}
+	
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> stream() {
+		log.info("*** ProductDto Stream, controller; stream all products *");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(NdjsonStreamUtil.stream(this.objectMapper, 
+						after -> this.productService.findPage(after, AppConstant.MAX_PAGE_SIZE)));
 	}
 	
 	@GetMapping("/{productId}")
 	public ResponseEntity<ProductDto> findById(
 			@PathVariable("productId") 
 			@NotBlank(message = "Input must not be blank!") 
-			@Valid final String productId) {
+			@Valid final String productId, 
+			final WebRequest webRequest) {
 		log.info("*** ProductDto, resource; fetch product by id *");
-		return ResponseEntity.ok(this.productService.findById(Integer.parseInt(productId)));
+		final int id = Integer.parseInt(productId);
+		final String eTag = this.productService.findETag(id);
+		if (webRequest.checkNotModified(eTag))
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+		final ProductDto productDto = this.productService.findById(id);
+		return ResponseEntity.ok(eTag.equals(VersionStamp.of(productDto).getETag()) ? 
+				productDto : this.productService.reloadById(id));
 	}
 	
 	@PostMapping
@@ -75,6 +139,18 @@ public class ProductResource {
 		return ResponseEntity.ok(this.productService.update(Integer.parseInt(productId), productDto));
 	}
 	
+	@PatchMapping("/{productId}")
+	public ResponseEntity<ProductDto> patch(
+			@PathVariable("productId")
+			@NotBlank(message = "Input must not be blank!")
+			@Valid final String productId,
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final ProductDto productDto) {
+		log.info("*** ProductDto, resource; patch product with productId *");
+		return ResponseEntity.ok(this.productService.patch(Integer.parseInt(productId), productDto));
+	}
+	
 	@DeleteMapping("/{productId}")
 	public ResponseEntity<Boolean> deleteById(
 			@PathVariable("productId") 
@@ -3,11 +3,20 @@ package com.selimhorri.app.service;
 import java.util.List;
 
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 
 public interface CategoryService {
 	
 	List<CategoryDto> findAll();
+	DtoCursorPageResponse<CategoryDto> findPage(final String after, final int limit);
 	CategoryDto findById(final Integer categoryId);
+	List<CategoryDto> reloadAll();
+	CategoryDto reloadById(final Integer categoryId);
+	String findETag();
+	String findETag(final Integer categoryId);
+	List<CategoryDto> findBreadcrumbs(final Integer categoryId);
+	DtoCursorPageResponse<ProductDto> findSubtreeProducts(final Integer categoryId, final String after, final int limit);
 	CategoryDto save(final CategoryDto categoryDto);
 	CategoryDto update(final CategoryDto categoryDto);
 	CategoryDto update(final Integer categoryId, final CategoryDto categoryDto);
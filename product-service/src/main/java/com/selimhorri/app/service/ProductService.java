@@ -1,16 +1,27 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 
 public interface ProductService {
 	
 	List<ProductDto> findAll();
+	List<ProductDto> findAllByIds(final Collection<Integer> productIds);
+	DtoCursorPageResponse<ProductDto> findPage(final String after, final int limit);
 	ProductDto findById(final Integer productId);
+	List<ProductDto> reloadAll();
+	ProductDto reloadById(final Integer productId);
+	String findETag();
+	String findETag(final Integer productId);
+	List<ProductDto> search(final String query, final Integer categoryId, 
+			final Double minPrice, final Double maxPrice, final int limit);
 	ProductDto save(final ProductDto productDto);
 	ProductDto update(final ProductDto productDto);
 	ProductDto update(final Integer productId, final ProductDto productDto);
+	ProductDto patch(final Integer productId, final ProductDto productDto);
 	void deleteById(final Integer productId);
 	
 }
@@ -0,0 +1,13 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.dto.StockReservationDto;
+
+public interface StockReservationService {
+	
+	StockReservationDto findById(final Integer reservationId);
+	StockReservationDto reserve(final StockReservationDto stockReservationDto);
+	StockReservationDto confirm(final Integer reservationId);
+	StockReservationDto release(final Integer reservationId);
+	int expireOverdue();
+	
+}
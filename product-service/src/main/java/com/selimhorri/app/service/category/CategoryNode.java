@@ -0,0 +1,29 @@
+package com.selimhorri.app.service.category;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Flat row of the category tree, built by the {@code CategoryRepository#findAllNodes} projection
+ */
+@Getter
+@AllArgsConstructor
+public final class CategoryNode {
+	
+	private final Integer categoryId;
+	private final Integer parentCategoryId;
+	private final String categoryTitle;
+	private final String imageUrl;
+	private final String path;
+	
+}
+
+
+
+
+
+
+
+
+
+
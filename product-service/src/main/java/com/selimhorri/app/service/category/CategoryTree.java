@@ -0,0 +1,140 @@
+package com.selimhorri.app.service.category;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.repository.CategoryRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * In-memory copy of the whole category tree, loaded with a single query on first use.
+ * Category writes drop it once their transaction completes and the next read loads it again.
+ * Loading and dropping share the lock, so a load racing a commit is dropped right after it.
+ * The writes of the other instances are caught by {@link #refresh()}, which compares the stamp
+ * the tree was loaded at with the current one.
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryTree {
+	
+	private final CategoryRepository categoryRepository;
+	
+	private volatile Map<Integer, CategoryNode> nodes;
+	private volatile String stamp;
+	
+	/**
+	 * Materialized path of the category, e.g. /1/4/9/
+	 */
+	public String path(final Integer categoryId) {
+		final CategoryNode node = this.nodes().get(categoryId);
+		if (node == null || node.getPath() == null) {
+			throw new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId));
+		}
+		return node.getPath();
+	}
+	
+	/**
+	 * The categories from the root down to the given one, itself included
+	 */
+	public List<CategoryDto> breadcrumbs(final Integer categoryId) {
+		final Map<Integer, CategoryNode> nodes = this.nodes();
+		final List<CategoryDto> breadcrumbs = new ArrayList<>();
+		for (final Integer ancestorId : pathIds(this.path(categoryId))) {
+			final CategoryNode ancestor = nodes.get(ancestorId);
+			if (ancestor != null) {
+				breadcrumbs.add(CategoryDto.builder()
+						.categoryId(ancestor.getCategoryId())
+						.categoryTitle(ancestor.getCategoryTitle())
+						.imageUrl(ancestor.getImageUrl())
+						.build());
+			}
+		}
+		return Collections.unmodifiableList(breadcrumbs);
+	}
+	
+	public void invalidate() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				
+				@Override
+				public void afterCompletion(final int status) {
+					drop();
+				}
+			});
+		}
+		else {
+			this.drop();
+		}
+	}
+	
+	/**
+	 * Drops the tree when its stamp has moved since it was loaded, one aggregate query
+	 */
+	public void refresh() {
+		if (this.nodes == null) {
+			return;
+		}
+		final String current = this.categoryRepository.findTreeStamp().getETag();
+		synchronized (this) {
+			if (this.nodes != null && !current.equals(this.stamp)) {
+				this.nodes = null;
+			}
+		}
+	}
+	
+	private synchronized void drop() {
+		this.nodes = null;
+	}
+	
+	private Map<Integer, CategoryNode> nodes() {
+		final Map<Integer, CategoryNode> loaded = this.nodes;
+		return loaded != null ? loaded : this.load();
+	}
+	
+	private synchronized Map<Integer, CategoryNode> load() {
+		if (this.nodes == null) {
+			this.stamp = this.categoryRepository.findTreeStamp().getETag();
+			this.nodes = this.categoryRepository.findAllNodes().stream()
+					.collect(Collectors.toUnmodifiableMap(CategoryNode::getCategoryId, Function.identity()));
+		}
+		return this.nodes;
+	}
+	
+	public static String childPath(final String parentPath, final Integer categoryId) {
+		return (parentPath == null ? "/" : parentPath) + categoryId + "/";
+	}
+	
+	static List<Integer> pathIds(final String path) {
+		final List<Integer> ids = new ArrayList<>();
+		for (final String id : path.split("/")) {
+			if (!id.isEmpty()) {
+				ids.add(Integer.valueOf(id));
+			}
+		}
+		return ids;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
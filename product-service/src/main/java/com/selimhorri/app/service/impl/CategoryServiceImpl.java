@@ -1,21 +1,39 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.config.cache.CatalogueCacheEvictor;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
 import com.selimhorri.app.helper.CategoryMappingHelper;
 import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
 import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.service.category.CategoryTree;
+import com.selimhorri.app.util.VersionStamp;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Category writes clear the whole catalogue cache once they commit, every cached product
+ * and child category embeds a copy of its category. They also keep the materialized
+ * path of the categories in step with their parents, and drop the in-memory {@link CategoryTree}.
+ */
 @Service
 @Transactional
 @Slf4j
@@ -23,8 +41,12 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryServiceImpl implements CategoryService {
 	
 	private final CategoryRepository categoryRepository;
+	private final ProductRepository productRepository;
+	private final CategoryTree categoryTree;
+	private final CatalogueCacheEvictor catalogueCacheEvictor;
 	
 	@Override
+	@Cacheable(cacheNames = AppConstant.CacheName.CATEGORY_LIST, key = "'all'")
 	public List<CategoryDto> findAll() {
 		log.info("*** CategoryDto List, service; fetch all categorys *");
 		return this.categoryRepository.findAll()
@@ -35,6 +57,20 @@ public class CategoryServiceImpl implements CategoryService {
 	}
 	
 	@Override
+	public DtoCursorPageResponse<CategoryDto> findPage(final String after, final int limit) {
+		log.info("*** CategoryDto Page, service; fetch categories page *");
+		final int pageSize = Math.min(Math.max(limit, 1), AppConstant.MAX_PAGE_SIZE);
+		final List<CategoryDto> categoryDtos = this.categoryRepository
+				.findByCategoryIdGreaterThanOrderByCategoryIdAsc(after == null || after.isBlank() ? 
+						0 : Integer.parseInt(after.strip()), PageRequest.of(0, pageSize))
+				.stream()
+					.map(CategoryMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+		return DtoCursorPageResponse.of(categoryDtos, pageSize, d -> String.valueOf(d.getCategoryId()));
+	}
+	
+	@Override
+	@Cacheable(cacheNames = AppConstant.CacheName.CATEGORIES, key = "#categoryId")
 	public CategoryDto findById(final Integer categoryId) {
 		log.info("*** CategoryDto, service; fetch category by id *");
 		return this.categoryRepository.findById(categoryId)
@@ -42,31 +78,142 @@ public class CategoryServiceImpl implements CategoryService {
 				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId)));
 	}
 	
+	/**
+	 * Replaces the cached listing once its stamp has moved, the call to findAll skips the cache proxy
+	 */
+	@Override
+	@CachePut(cacheNames = AppConstant.CacheName.CATEGORY_LIST, key = "'all'")
+	public List<CategoryDto> reloadAll() {
+		return this.findAll();
+	}
+	
+	@Override
+	@CachePut(cacheNames = AppConstant.CacheName.CATEGORIES, key = "#categoryId")
+	public CategoryDto reloadById(final Integer categoryId) {
+		return this.findById(categoryId);
+	}
+	
+	@Override
+	public String findETag() {
+		return this.categoryRepository.findStamp().getETag();
+	}
+	
+	@Override
+	public String findETag(final Integer categoryId) {
+		return this.categoryRepository.findStampById(categoryId)
+				.map(VersionStamp::getETag)
+				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId)));
+	}
+	
+	@Override
+	public List<CategoryDto> findBreadcrumbs(final Integer categoryId) {
+		log.info("*** CategoryDto List, service; fetch category breadcrumbs *");
+		return this.categoryTree.breadcrumbs(categoryId);
+	}
+	
+	@Override
+	public DtoCursorPageResponse<ProductDto> findSubtreeProducts(final Integer categoryId, final String after, final int limit) {
+		log.info("*** ProductDto Page, service; fetch products under category *");
+		final int pageSize = Math.min(Math.max(limit, 1), AppConstant.MAX_PAGE_SIZE);
+		final List<ProductDto> productDtos = this.productRepository.findDtosByCategoryPath(
+				this.categoryTree.path(categoryId), 
+				after == null || after.isBlank() ? 0 : Integer.parseInt(after.strip()), 
+				PageRequest.of(0, pageSize));
+		return DtoCursorPageResponse.of(productDtos, pageSize, d -> String.valueOf(d.getProductId()));
+	}
+	
 	@Override
 	public CategoryDto save(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; save category *");
-		return CategoryMappingHelper.map(this.categoryRepository
+		final String parentPath = this.parentPath(categoryDto);
+		final CategoryDto saved = CategoryMappingHelper.map(this.categoryRepository
 				.save(CategoryMappingHelper.map(categoryDto)));
+		this.placeUnder(saved.getCategoryId(), null, parentPath);
+		this.catalogueCacheEvictor.evictCategoryListAfterCommit();
+		return saved;
 	}
 	
 	@Override
 	public CategoryDto update(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category *");
-		return CategoryMappingHelper.map(this.categoryRepository
+		final String oldPath = categoryDto.getCategoryId() == null ? null : this.categoryRepository
+				.findById(categoryDto.getCategoryId())
+				.map(Category::getPath)
+				.orElse(null);
+		final String parentPath = this.parentPath(categoryDto);
+		if (oldPath != null && parentPath != null && parentPath.startsWith(oldPath)) {
+			throw new IllegalArgumentException("Category can not be moved under itself or one of its subcategories");
+		}
+		final CategoryDto updated = CategoryMappingHelper.map(this.categoryRepository
 				.save(CategoryMappingHelper.map(categoryDto)));
+		this.placeUnder(updated.getCategoryId(), oldPath, parentPath);
+		this.catalogueCacheEvictor.clearAfterCommit();
+		return updated;
 	}
 	
 	@Override
 	public CategoryDto update(final Integer categoryId, final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category with categoryId *");
-		return CategoryMappingHelper.map(this.categoryRepository
+		final CategoryDto updated = CategoryMappingHelper.map(this.categoryRepository
 				.save(CategoryMappingHelper.map(this.findById(categoryId))));
+		this.catalogueCacheEvictor.clearAfterCommit();
+		return updated;
 	}
 	
 	@Override
 	public void deleteById(final Integer categoryId) {
 		log.info("*** Void, service; delete category by id *");
 		this.categoryRepository.deleteById(categoryId);
+		this.categoryTree.invalidate();
+		this.catalogueCacheEvictor.clearAfterCommit();
+	}
+	
+	private String parentPath(final CategoryDto categoryDto) {
+		final Integer parentCategoryId = categoryDto.getParentCategoryDto() == null ? 
+				null : categoryDto.getParentCategoryDto().getCategoryId();
+		if (parentCategoryId == null) {
+			return null;
+		}
+		return this.categoryRepository.findById(parentCategoryId)
+				.map(CategoryServiceImpl::pathOf)
+				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", parentCategoryId)));
+	}
+	
+	/**
+	 * The materialized path of a category, rebuilt from its parent chain while it has none yet,
+	 * e.g. before CategoryTreeLoader ran. A chain looping back on itself is refused.
+	 */
+	private static String pathOf(final Category category) {
+		final Deque<Integer> unplaced = new ArrayDeque<>();
+		Category ancestor = category;
+		while (ancestor != null && ancestor.getPath() == null) {
+			if (unplaced.contains(ancestor.getCategoryId())) {
+				throw new IllegalArgumentException(String
+						.format("Category with id: %d is part of a parent cycle", category.getCategoryId()));
+			}
+			unplaced.push(ancestor.getCategoryId());
+			ancestor = ancestor.getParentCategory();
+		}
+		String path = ancestor == null ? null : ancestor.getPath();
+		while (!unplaced.isEmpty()) {
+			path = CategoryTree.childPath(path, unplaced.pop());
+		}
+		return path;
+	}
+	
+	/**
+	 * Writes the path of a new category, or moves the whole subtree of an existing one 
+	 * in a single statement when its parent changed
+	 */
+	private void placeUnder(final Integer categoryId, final String oldPath, final String parentPath) {
+		final String newPath = CategoryTree.childPath(parentPath, categoryId);
+		if (oldPath == null) {
+			this.categoryRepository.updatePath(categoryId, newPath);
+		}
+		else if (!oldPath.equals(newPath)) {
+			this.categoryRepository.movePaths(oldPath, newPath);
+		}
+		this.categoryTree.invalidate();
 	}
 	
 	
@@ -1,17 +1,27 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.config.cache.CatalogueCacheEvictor;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
 import com.selimhorri.app.helper.ProductMappingHelper;
 import com.selimhorri.app.repository.ProductRepository;
 import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.service.search.ProductSearchIndex;
+import com.selimhorri.app.util.VersionStamp;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,11 +33,28 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductServiceImpl implements ProductService {
 	
 	private final ProductRepository productRepository;
+	private final ProductSearchIndex productSearchIndex;
+	private final CatalogueCacheEvictor catalogueCacheEvictor;
 	
 	@Override
+	@Cacheable(cacheNames = AppConstant.CacheName.PRODUCT_LIST, key = "'all'")
+	@Transactional(readOnly = true)
 	public List<ProductDto> findAll() {
 		log.info("*** ProductDto List, service; fetch all products *");
-		return this.productRepository.findAll()
+		return this.productRepository.findAllDtos()
+				.stream()
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<ProductDto> findAllByIds(final Collection<Integer> productIds) {
+		log.info("*** ProductDto List, service; fetch products by ids *");
+		if (productIds.isEmpty()) {
+			return List.of();
+		}
+		return this.productRepository.findAllById(productIds)
 				.stream()
 					.map(ProductMappingHelper::map)
 					.distinct()
@@ -35,32 +62,112 @@ public class ProductServiceImpl implements ProductService {
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
+	public DtoCursorPageResponse<ProductDto> findPage(final String after, final int limit) {
+		log.info("*** ProductDto Page, service; fetch products page *");
+		final int pageSize = Math.min(Math.max(limit, 1), AppConstant.MAX_PAGE_SIZE);
+		final List<ProductDto> productDtos = this.productRepository
+				.findByProductIdGreaterThanOrderByProductIdAsc(after == null || after.isBlank() ? 
+						0 : Integer.parseInt(after.strip()), PageRequest.of(0, pageSize))
+				.stream()
+					.map(ProductMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+		return DtoCursorPageResponse.of(productDtos, pageSize, d -> String.valueOf(d.getProductId()));
+	}
+	
+	@Override
+	@Cacheable(cacheNames = AppConstant.CacheName.PRODUCTS, key = "#productId")
+	@Transactional(readOnly = true)
 	public ProductDto findById(final Integer productId) {
 		log.info("*** ProductDto, service; fetch product by id *");
-		return this.productRepository.findById(productId)
-				.map(ProductMappingHelper::map)
+		return this.productRepository.findDtoById(productId)
 				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
 	}
 	
+	/**
+	 * Replaces the cached listing once its stamp has moved, the call to findAll skips the cache proxy
+	 */
+	@Override
+	@CachePut(cacheNames = AppConstant.CacheName.PRODUCT_LIST, key = "'all'")
+	@Transactional(readOnly = true)
+	public List<ProductDto> reloadAll() {
+		return this.findAll();
+	}
+	
+	@Override
+	@CachePut(cacheNames = AppConstant.CacheName.PRODUCTS, key = "#productId")
+	@Transactional(readOnly = true)
+	public ProductDto reloadById(final Integer productId) {
+		return this.findById(productId);
+	}
+	
+	/**
+	 * Read past the catalogue cache on purpose, a tag must never lag behind the database
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public String findETag() {
+		return this.productRepository.findStamp().getETag();
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public String findETag(final Integer productId) {
+		return this.productRepository.findStampById(productId)
+				.map(VersionStamp::getETag)
+				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
+	}
+	
+	/**
+	 * Served by the in-process index, no transaction and no connection needed
+	 */
+	@Override
+	@Transactional(propagation = Propagation.SUPPORTS)
+	public List<ProductDto> search(final String query, final Integer categoryId, 
+			final Double minPrice, final Double maxPrice, final int limit) {
+		log.info("*** ProductDto List, service; search products *");
+		return this.productSearchIndex.search(query, categoryId, minPrice, maxPrice, 
+				Math.min(Math.max(limit, 1), AppConstant.MAX_PAGE_SIZE));
+	}
+	
 	@Override
 	public ProductDto save(final ProductDto productDto) {
 		log.info("*** ProductDto, service; save product *");
-		return ProductMappingHelper.map(this.productRepository
-				.save(ProductMappingHelper.map(productDto)));
+		return this.written(ProductMappingHelper.map(this.productRepository
+				.save(ProductMappingHelper.map(productDto))));
 	}
 	
 	@Override
 	public ProductDto update(final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product *");
-		return ProductMappingHelper.map(this.productRepository
-				.save(ProductMappingHelper.map(productDto)));
+		return this.written(ProductMappingHelper.map(this.productRepository
+				.save(ProductMappingHelper.map(productDto))));
 	}
 	
 	@Override
 	public ProductDto update(final Integer productId, final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product with productId *");
-		return ProductMappingHelper.map(this.productRepository
-				.save(ProductMappingHelper.map(this.findById(productId))));
+		return this.written(ProductMappingHelper.map(this.productRepository
+				.save(ProductMappingHelper.map(this.findById(productId)))));
+	}
+	
+	/**
+	 * Writes only the non null fields of the dto with one UPDATE, no merge read. 
+	 * When the dto carries a version the row must still be at it, otherwise nothing is written.
+	 */
+	@Override
+	public ProductDto patch(final Integer productId, final ProductDto productDto) {
+		log.info("*** ProductDto, service; patch product with productId *");
+		final boolean patched = this.productRepository.patch(productId, productDto.getVersion(), 
+				productDto.getProductTitle(), productDto.getImageUrl(), productDto.getSku(), 
+				productDto.getPriceUnit(), productDto.getQuantity()) > 0;
+		final ProductDto current = this.productRepository.findDtoById(productId)
+				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
+		if (!patched) {
+			throw new OptimisticLockingFailureException(String
+					.format("Product with id: %d is at version %d, not %d", productId, current.getVersion(), productDto.getVersion()));
+		}
+		return this.written(current);
 	}
 	
 	@Override
@@ -68,6 +175,17 @@ public class ProductServiceImpl implements ProductService {
 		log.info("*** Void, service; delete product by id *");
 		this.productRepository.delete(ProductMappingHelper
 				.map(this.findById(productId)));
+		this.productSearchIndex.remove(productId);
+		this.catalogueCacheEvictor.evictProductAfterCommit(productId);
+	}
+	
+	/**
+	 * Puts a written product in the search index, and evicts its cached copies once the write commits
+	 */
+	private ProductDto written(final ProductDto productDto) {
+		this.productSearchIndex.put(productDto);
+		this.catalogueCacheEvictor.evictProductAfterCommit(productDto.getProductId());
+		return productDto;
 	}
 	
 	
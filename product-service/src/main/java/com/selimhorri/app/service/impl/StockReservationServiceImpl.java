@@ -0,0 +1,169 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.config.stock.StockProperties;
+import com.selimhorri.app.domain.ReservationStatus;
+import com.selimhorri.app.domain.StockReservation;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.exception.wrapper.ReservationNotFoundException;
+import com.selimhorri.app.exception.wrapper.ReservationStateException;
+import com.selimhorri.app.helper.StockReservationMappingHelper;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.StockReservationRepository;
+import com.selimhorri.app.service.StockReservationService;
+import com.selimhorri.app.service.stock.StockLedger;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class StockReservationServiceImpl implements StockReservationService {
+	
+	private final StockReservationRepository stockReservationRepository;
+	private final ProductRepository productRepository;
+	private final StockLedger stockLedger;
+	private final StockProperties stockProperties;
+	private final TransactionTemplate transactionTemplate;
+	
+	@Override
+	@Transactional(readOnly = true)
+	public StockReservationDto findById(final Integer reservationId) {
+		log.info("*** StockReservationDto, service; fetch reservation by id *");
+		return StockReservationMappingHelper.map(this.fetch(reservationId));
+	}
+	
+	/**
+	 * The units of a hot product are taken before the transaction saving the reservation opens, 
+	 * so a lease off the row never waits for a connection while this call holds one. 
+	 * Those units go back to the counter if the save fails.
+	 */
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public StockReservationDto reserve(final StockReservationDto stockReservationDto) {
+		log.info("*** StockReservationDto, service; reserve stock *");
+		final Integer productId = stockReservationDto.getProductId();
+		final Integer quantity = stockReservationDto.getQuantity();
+		if (productId == null || quantity == null || quantity <= 0) {
+			throw new IllegalArgumentException("A reservation needs a productId and a positive quantity");
+		}
+		if (!this.stockLedger.isHot(productId)) {
+			return this.transactionTemplate.execute(status -> {
+				if (!this.stockLedger.take(productId, quantity)) {
+					throw this.shortOf(productId, quantity);
+				}
+				return this.save(productId, quantity);
+			});
+		}
+		if (!this.stockLedger.take(productId, quantity)) {
+			throw this.shortOf(productId, quantity);
+		}
+		try {
+			return this.transactionTemplate.execute(status -> this.save(productId, quantity));
+		} catch (RuntimeException e) {
+			this.stockLedger.giveBack(productId, quantity);
+			throw e;
+		}
+	}
+	
+	@Override
+	public StockReservationDto confirm(final Integer reservationId) {
+		log.info("*** StockReservationDto, service; confirm reservation *");
+		if (this.stockReservationRepository.confirm(reservationId, Instant.now()) == 0) {
+			throw this.notPending(this.fetch(reservationId), "confirmed");
+		}
+		return StockReservationMappingHelper.map(this.fetch(reservationId));
+	}
+	
+	@Override
+	public StockReservationDto release(final Integer reservationId) {
+		log.info("*** StockReservationDto, service; release reservation *");
+		final StockReservation stockReservation = this.fetch(reservationId);
+		if (this.stockReservationRepository.closePending(reservationId, ReservationStatus.RELEASED) == 0) {
+			throw this.notPending(this.fetch(reservationId), "released");
+		}
+		this.stockLedger.giveBack(stockReservation.getProductId(), stockReservation.getQuantity());
+		stockReservation.setStatus(ReservationStatus.RELEASED);
+		return StockReservationMappingHelper.map(stockReservation);
+	}
+	
+	/**
+	 * Expires one batch of pending reservations past their deadline and gives their units back,
+	 * with one stock update per product. Returns the number of reservations expired.
+	 */
+	@Override
+	public int expireOverdue() {
+		final List<StockReservation> overdue = this.stockReservationRepository.findByStatusAndExpiresAtBefore(
+				ReservationStatus.PENDING, Instant.now(), PageRequest.of(0, this.stockProperties.getExpiryBatchSize()));
+		final Map<Integer, Integer> expiredUnits = new HashMap<>();
+		int expired = 0;
+		for (final StockReservation stockReservation : overdue) {
+			if (this.stockReservationRepository.closePending(stockReservation.getReservationId(), ReservationStatus.EXPIRED) > 0) {
+				expiredUnits.merge(stockReservation.getProductId(), stockReservation.getQuantity(), Integer::sum);
+				expired++;
+			}
+		}
+		expiredUnits.forEach(this.stockLedger::giveBack);
+		if (expired > 0) {
+			log.info("*** Expired {} overdue stock reservations *", expired);
+		}
+		return expired;
+	}
+	
+	private StockReservationDto save(final Integer productId, final Integer quantity) {
+		return StockReservationMappingHelper.map(this.stockReservationRepository.save(StockReservation.builder()
+				.productId(productId)
+				.quantity(quantity)
+				.status(ReservationStatus.PENDING)
+				.expiresAt(Instant.now().plus(this.stockProperties.getReservationTtl()))
+				.build()));
+	}
+	
+	private RuntimeException shortOf(final Integer productId, final Integer quantity) {
+		if (!this.productRepository.existsById(productId)) {
+			return new ProductNotFoundException(String.format("Product with id: %d not found", productId));
+		}
+		return new InsufficientStockException(String
+				.format("Product with id: %d has less than %d units in stock", productId, quantity));
+	}
+	
+	private StockReservation fetch(final Integer reservationId) {
+		return this.stockReservationRepository.findById(reservationId)
+				.orElseThrow(() -> new ReservationNotFoundException(String
+						.format("Reservation with id: %d not found", reservationId)));
+	}
+	
+	private ReservationStateException notPending(final StockReservation stockReservation, final String transition) {
+		final String state = stockReservation.getStatus() == ReservationStatus.PENDING ? 
+				"expired" : stockReservation.getStatus().name().toLowerCase();
+		return new ReservationStateException(String.format("Reservation with id: %d is %s and cannot be %s", 
+				stockReservation.getReservationId(), state, transition));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,597 @@
+package com.selimhorri.app.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * In-process inverted index of the products over their title, sku and category title.
+ * Every term maps to the sorted ids of the products holding it, and queries match
+ * each token exactly, as a prefix or within one typo (via the single character deletions of the terms).
+ * A product must match every token, its score adds up the best match of each token
+ * weighted by the rarity of the term, title and sku terms counting twice as much as category ones.
+ * Queries without tokens are served by the postings of the category, of the price or of the whole
+ * catalogue instead of a scan, see {@link #filter}.
+ * Readers never lock: postings are only ever appended past the size the readers see or copied,
+ * and writes through {@link #put} and {@link #remove} only apply once the surrounding transaction commits.
+ * A search reads a single {@link Index}, which a rebuild replaces as a whole once it is complete.
+ * An update only touches the postings of the terms, category and price it changes.
+ */
+@Component
+public class ProductSearchIndex {
+	
+	private static final int MIN_TYPO_LENGTH = 4;
+	private static final int MAX_PREFIX_EXPANSIONS = 64;
+	private static final float PREFIX_FACTOR = 0.8f;
+	private static final float TYPO_FACTOR = 0.6f;
+	private static final float CATEGORY_FACTOR = 0.5f;
+	
+	private final Map<Integer, String> categoryTitles = new ConcurrentHashMap<>();
+	private volatile Index current = new Index();
+	
+	public void put(final ProductDto productDto) {
+		afterCommit(() -> this.index(productDto));
+	}
+	
+	public void remove(final Integer productId) {
+		afterCommit(() -> this.unindex(productId));
+	}
+	
+	public int size() {
+		return this.current.products.size();
+	}
+	
+	/**
+	 * Replaces the whole index, postings are built in bulk instead of one copy per product.
+	 * The searches keep reading the previous index until the new one is swapped in complete.
+	 */
+	public synchronized void rebuild(final Collection<ProductDto> productDtos) {
+		final Index index = new Index();
+		final Map<String, IntList> built = new HashMap<>();
+		final Map<Integer, IntList> builtCategories = new HashMap<>();
+		final Map<Double, IntList> builtPrices = new HashMap<>();
+		final IntList builtAll = new IntList();
+		productDtos.stream()
+				.sorted(Comparator.comparing(ProductDto::getProductId))
+				.forEach(productDto -> {
+					final IndexedProduct product = this.toIndexed(productDto);
+					index.products.put(productDto.getProductId(), product);
+					builtAll.add(productDto.getProductId());
+					for (final String term : product.terms) {
+						built.computeIfAbsent(term, t -> new IntList()).add(productDto.getProductId());
+					}
+					if (product.categoryId != null) {
+						builtCategories.computeIfAbsent(product.categoryId, c -> new IntList()).add(productDto.getProductId());
+					}
+					if (product.price != null) {
+						builtPrices.computeIfAbsent(product.price, c -> new IntList()).add(productDto.getProductId());
+					}
+				});
+		built.forEach((term, ids) -> {
+			index.postings.put(term, ids.toPostings());
+			index.addDeletions(term);
+		});
+		builtCategories.forEach((categoryId, ids) -> index.categories.put(categoryId, ids.toPostings()));
+		builtPrices.forEach((price, ids) -> index.prices.put(price, ids.toPostings()));
+		index.all = builtAll.toPostings();
+		this.current = index;
+	}
+	
+	public List<ProductDto> search(final String query, final Integer categoryId, 
+			final Double minPrice, final Double maxPrice, final int limit) {
+		final Index index = this.current;
+		final PriorityQueue<Scored> top = new PriorityQueue<>(Scored.WORST_FIRST);
+		final List<String> tokens = tokenize(query);
+		if (tokens.isEmpty()) {
+			filter(index, top, categoryId, minPrice, maxPrice, limit);
+		}
+		else {
+			score(index, tokens).forEach((productId, score) -> {
+				final IndexedProduct product = index.products.get(productId);
+				if (product != null) {
+					offer(top, product, score, categoryId, minPrice, maxPrice, limit);
+				}
+			});
+		}
+		final List<ProductDto> result = new ArrayList<>(top.size());
+		while (!top.isEmpty()) {
+			result.add(top.poll().product.productDto);
+		}
+		Collections.reverse(result);
+		return result;
+	}
+	
+	/**
+	 * Without tokens every product scores the same and the lowest ids win, so the postings of the category,
+	 * or of the whole catalogue, are walked in id order and left as soon as the limit is filled.
+	 * A price range alone walks the products priced within it, a wide range still visits most of the catalogue.
+	 */
+	private static void filter(final Index index, final PriorityQueue<Scored> top, final Integer categoryId, 
+			final Double minPrice, final Double maxPrice, final int limit) {
+		if (categoryId == null && (minPrice != null || maxPrice != null)) {
+			if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+				return;
+			}
+			final ConcurrentNavigableMap<Double, Postings> range = minPrice == null ? index.prices.headMap(maxPrice, true)
+					: maxPrice == null ? index.prices.tailMap(minPrice, true) : index.prices.subMap(minPrice, true, maxPrice, true);
+			for (final Postings productIds : range.values()) {
+				for (int i = 0; i < productIds.size; i++) {
+					offer(index, top, productIds.ids[i], categoryId, minPrice, maxPrice, limit);
+				}
+			}
+			return;
+		}
+		final Postings productIds = categoryId == null ? index.all : index.categories.getOrDefault(categoryId, Postings.EMPTY);
+		for (int i = 0; i < productIds.size && top.size() < limit; i++) {
+			offer(index, top, productIds.ids[i], categoryId, minPrice, maxPrice, limit);
+		}
+	}
+	
+	private static void offer(final Index index, final PriorityQueue<Scored> top, final int productId, 
+			final Integer categoryId, final Double minPrice, final Double maxPrice, final int limit) {
+		final IndexedProduct product = index.products.get(productId);
+		if (product != null) {
+			offer(top, product, 0f, categoryId, minPrice, maxPrice, limit);
+		}
+	}
+	
+	/**
+	 * Scores the products matching every token, walking the postings of the most selective token
+	 * and probing the others with a binary search, so the work follows the rarest token.
+	 */
+	private static Map<Integer, Float> score(final Index index, final List<String> tokens) {
+		final List<List<Expansion>> expanded = new ArrayList<>(tokens.size());
+		for (final String token : tokens) {
+			final List<Expansion> expansions = expand(index, token);
+			if (expansions.isEmpty()) {
+				return Map.of();
+			}
+			expanded.add(expansions);
+		}
+		expanded.sort(Comparator.comparingLong(ProductSearchIndex::postingsSize));
+		
+		final Map<Integer, Float> scores = new HashMap<>();
+		for (final Expansion expansion : expanded.get(0)) {
+			for (int i = 0; i < expansion.productIds.size; i++) {
+				final int productId = expansion.productIds.ids[i];
+				scores.merge(productId, weight(index, productId, expansion), Math::max);
+			}
+		}
+		for (final List<Expansion> expansions : expanded.subList(1, expanded.size())) {
+			scores.entrySet().removeIf(entry -> {
+				float best = 0f;
+				for (final Expansion expansion : expansions) {
+					if (expansion.productIds.contains(entry.getKey())) {
+						best = Math.max(best, weight(index, entry.getKey(), expansion));
+					}
+				}
+				entry.setValue(entry.getValue() + best);
+				return best == 0f;
+			});
+		}
+		return scores;
+	}
+	
+	private static List<Expansion> expand(final Index index, final String token) {
+		final Map<String, Float> terms = new LinkedHashMap<>();
+		if (index.postings.containsKey(token)) {
+			terms.put(token, 1f);
+		}
+		index.postings.subMap(token, false, token + Character.MAX_VALUE, false).keySet().stream()
+				.limit(MAX_PREFIX_EXPANSIONS)
+				.forEach(term -> terms.putIfAbsent(term, PREFIX_FACTOR));
+		if (token.length() >= MIN_TYPO_LENGTH) {
+			final Set<String> candidates = new LinkedHashSet<>(index.deletions.getOrDefault(token, Set.of()));
+			for (final String deletion : deletions(token)) {
+				if (index.postings.containsKey(deletion)) {
+					candidates.add(deletion);
+				}
+				candidates.addAll(index.deletions.getOrDefault(deletion, Set.of()));
+			}
+			candidates.stream()
+					.filter(term -> isOneEditAway(token, term))
+					.forEach(term -> terms.putIfAbsent(term, TYPO_FACTOR));
+		}
+		
+		final int size = Math.max(1, index.products.size());
+		final List<Expansion> expansions = new ArrayList<>(terms.size());
+		terms.forEach((term, factor) -> {
+			final Postings productIds = index.postings.get(term);
+			if (productIds != null) {
+				final float idf = (float) Math.log(1 + (double) size / productIds.size);
+				expansions.add(new Expansion(term, productIds, factor * idf));
+			}
+		});
+		return expansions;
+	}
+	
+	private static float weight(final Index index, final int productId, final Expansion expansion) {
+		final IndexedProduct product = index.products.get(productId);
+		if (product == null) {
+			return 0f;
+		}
+		for (final String term : product.primaryTerms) {
+			if (term.equals(expansion.term)) {
+				return expansion.weight;
+			}
+		}
+		return expansion.weight * CATEGORY_FACTOR;
+	}
+	
+	/**
+	 * Adds the product to the postings of its new terms, category and price, then drops it from the ones it left.
+	 * Postings it stays in are not written at all.
+	 */
+	private synchronized void index(final ProductDto productDto) {
+		final Index index = this.current;
+		final int productId = productDto.getProductId();
+		final IndexedProduct previous = index.products.get(productId);
+		final IndexedProduct product = this.toIndexed(productDto);
+		index.products.put(productId, product);
+		if (previous == null) {
+			index.all = index.all.with(productId);
+		}
+		for (final String term : product.terms) {
+			if ((previous == null || !previous.hasTerm(term)) && add(index.postings, term, productId)) {
+				index.addDeletions(term);
+			}
+		}
+		if (previous == null || !Objects.equals(previous.categoryId, product.categoryId)) {
+			add(index.categories, product.categoryId, productId);
+		}
+		if (previous == null || !Objects.equals(previous.price, product.price)) {
+			add(index.prices, product.price, productId);
+		}
+		if (previous != null) {
+			for (final String term : previous.terms) {
+				if (!product.hasTerm(term) && remove(index.postings, term, productId)) {
+					index.removeDeletions(term);
+				}
+			}
+			if (!Objects.equals(previous.categoryId, product.categoryId)) {
+				remove(index.categories, previous.categoryId, productId);
+			}
+			if (!Objects.equals(previous.price, product.price)) {
+				remove(index.prices, previous.price, productId);
+			}
+		}
+	}
+	
+	private synchronized void unindex(final Integer productId) {
+		final Index index = this.current;
+		final IndexedProduct product = index.products.remove(productId);
+		if (product == null) {
+			return;
+		}
+		index.all = index.all.without(productId);
+		for (final String term : product.terms) {
+			if (remove(index.postings, term, productId)) {
+				index.removeDeletions(term);
+			}
+		}
+		remove(index.categories, product.categoryId, productId);
+		remove(index.prices, product.price, productId);
+	}
+	
+	/**
+	 * True when the postings of the key were created by this product
+	 */
+	private static <K> boolean add(final Map<K, Postings> postings, final K key, final int productId) {
+		if (key == null) {
+			return false;
+		}
+		final Postings previous = postings.get(key);
+		postings.put(key, (previous == null ? Postings.EMPTY : previous).with(productId));
+		return previous == null;
+	}
+	
+	/**
+	 * True when the postings of the key were dropped, this product being the last one in them
+	 */
+	private static <K> boolean remove(final Map<K, Postings> postings, final K key, final int productId) {
+		final Postings previous = key == null ? null : postings.get(key);
+		if (previous == null) {
+			return false;
+		}
+		final Postings remaining = previous.without(productId);
+		if (remaining.size > 0) {
+			postings.put(key, remaining);
+			return false;
+		}
+		postings.remove(key);
+		return true;
+	}
+	
+	private IndexedProduct toIndexed(final ProductDto productDto) {
+		final Integer categoryId = productDto.getCategoryDto() == null ? null : productDto.getCategoryDto().getCategoryId();
+		String categoryTitle = productDto.getCategoryDto() == null ? null : productDto.getCategoryDto().getCategoryTitle();
+		if (categoryId != null && categoryTitle != null) {
+			this.categoryTitles.put(categoryId, categoryTitle);
+		}
+		else if (categoryId != null) {
+			categoryTitle = this.categoryTitles.get(categoryId);
+		}
+		
+		final Set<String> primaryTerms = new LinkedHashSet<>(tokenize(productDto.getProductTitle()));
+		if (productDto.getSku() != null && !productDto.getSku().isBlank()) {
+			primaryTerms.add(productDto.getSku().strip().toLowerCase(Locale.ROOT));
+			primaryTerms.addAll(tokenize(productDto.getSku()));
+		}
+		final Set<String> terms = new LinkedHashSet<>(primaryTerms);
+		terms.addAll(tokenize(categoryTitle));
+		return new IndexedProduct(productDto, categoryId, 
+				productDto.getPriceUnit(), primaryTerms.toArray(String[]::new), terms.toArray(String[]::new));
+	}
+	
+	private static void offer(final PriorityQueue<Scored> top, final IndexedProduct product, final float score, 
+			final Integer categoryId, final Double minPrice, final Double maxPrice, final int limit) {
+		if ((categoryId != null && !categoryId.equals(product.categoryId))
+				|| (minPrice != null && (product.price == null || product.price < minPrice))
+				|| (maxPrice != null && (product.price == null || product.price > maxPrice))) {
+			return;
+		}
+		final Scored scored = new Scored(product, score);
+		if (top.size() < limit) {
+			top.add(scored);
+		}
+		else if (Scored.WORST_FIRST.compare(scored, top.peek()) > 0) {
+			top.poll();
+			top.add(scored);
+		}
+	}
+	
+	private static long postingsSize(final List<Expansion> expansions) {
+		return expansions.stream().mapToLong(expansion -> expansion.productIds.size).sum();
+	}
+	
+	static List<String> tokenize(final String text) {
+		if (text == null || text.isBlank()) {
+			return List.of();
+		}
+		final Set<String> tokens = new LinkedHashSet<>();
+		for (final String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+			if (!token.isEmpty()) {
+				tokens.add(token);
+			}
+		}
+		return List.copyOf(tokens);
+	}
+	
+	private static Set<String> deletions(final String term) {
+		final Set<String> deletions = new LinkedHashSet<>();
+		for (int i = 0; i < term.length(); i++) {
+			deletions.add(term.substring(0, i) + term.substring(i + 1));
+		}
+		return deletions;
+	}
+	
+	/**
+	 * One insertion, deletion, substitution or swap of adjacent characters apart
+	 */
+	static boolean isOneEditAway(final String a, final String b) {
+		if (a.equals(b)) {
+			return true;
+		}
+		if (Math.abs(a.length() - b.length()) > 1) {
+			return false;
+		}
+		int i = 0;
+		while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+			i++;
+		}
+		if (a.length() != b.length()) {
+			final String longer = a.length() > b.length() ? a : b;
+			final String shorter = a.length() > b.length() ? b : a;
+			return longer.substring(i + 1).equals(shorter.substring(i));
+		}
+		if (a.substring(i + 1).equals(b.substring(i + 1))) {
+			return true;
+		}
+		return i + 1 < a.length() && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+				&& a.substring(i + 2).equals(b.substring(i + 2));
+	}
+	
+	private static void afterCommit(final Runnable write) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				
+				@Override
+				public void afterCommit() {
+					write.run();
+				}
+			});
+		}
+		else {
+			write.run();
+		}
+	}
+	
+	/**
+	 * Everything a search reads: the indexed products, the postings of their terms, categories and prices,
+	 * and the single character deletions of the terms. Written in place by single product writes.
+	 */
+	private static final class Index {
+		
+		private final Map<Integer, IndexedProduct> products = new ConcurrentHashMap<>();
+		private final ConcurrentSkipListMap<String, Postings> postings = new ConcurrentSkipListMap<>();
+		private final Map<String, Set<String>> deletions = new ConcurrentHashMap<>();
+		private final Map<Integer, Postings> categories = new ConcurrentHashMap<>();
+		private final ConcurrentSkipListMap<Double, Postings> prices = new ConcurrentSkipListMap<>();
+		private volatile Postings all = Postings.EMPTY;
+		
+		private void addDeletions(final String term) {
+			if (term.length() >= MIN_TYPO_LENGTH) {
+				for (final String deletion : deletions(term)) {
+					this.deletions.computeIfAbsent(deletion, d -> ConcurrentHashMap.newKeySet()).add(term);
+				}
+			}
+		}
+		
+		private void removeDeletions(final String term) {
+			if (term.length() >= MIN_TYPO_LENGTH) {
+				for (final String deletion : deletions(term)) {
+					this.deletions.computeIfPresent(deletion, (d, terms) -> {
+						terms.remove(term);
+						return terms.isEmpty() ? null : terms;
+					});
+				}
+			}
+		}
+	}
+	
+	private static final class IndexedProduct {
+		
+		private final ProductDto productDto;
+		private final Integer categoryId;
+		private final Double price;
+		private final String[] primaryTerms;
+		private final String[] terms;
+		
+		private IndexedProduct(final ProductDto productDto, final Integer categoryId, final Double price, 
+				final String[] primaryTerms, final String[] terms) {
+			this.productDto = productDto;
+			this.categoryId = categoryId;
+			this.price = price;
+			this.primaryTerms = primaryTerms;
+			this.terms = terms;
+		}
+		
+		private boolean hasTerm(final String term) {
+			for (final String held : this.terms) {
+				if (held.equals(term)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+	
+	/**
+	 * Sorted product ids, the first size entries of the array. A new greatest id, the usual case since ids grow,
+	 * is written in place while the array has room: the readers of the previous postings never look past
+	 * their own size, and only the latest postings of a key are ever written to. Any other write copies
+	 * into an array with room to grow, so inserts cost an amortized constant instead of a full copy.
+	 */
+	private static final class Postings {
+		
+		private static final Postings EMPTY = new Postings(new int[0], 0);
+		
+		private final int[] ids;
+		private final int size;
+		
+		private Postings(final int[] ids, final int size) {
+			this.ids = ids;
+			this.size = size;
+		}
+		
+		private boolean contains(final int productId) {
+			return Arrays.binarySearch(this.ids, 0, this.size, productId) >= 0;
+		}
+		
+		private Postings with(final int productId) {
+			final int index = Arrays.binarySearch(this.ids, 0, this.size, productId);
+			if (index >= 0) {
+				return this;
+			}
+			final int at = -index - 1;
+			if (at == this.size && this.size < this.ids.length) {
+				this.ids[at] = productId;
+				return new Postings(this.ids, this.size + 1);
+			}
+			final int[] grown = new int[this.size + (this.size >> 1) + 1];
+			System.arraycopy(this.ids, 0, grown, 0, at);
+			grown[at] = productId;
+			System.arraycopy(this.ids, at, grown, at + 1, this.size - at);
+			return new Postings(grown, this.size + 1);
+		}
+		
+		private Postings without(final int productId) {
+			final int at = Arrays.binarySearch(this.ids, 0, this.size, productId);
+			if (at < 0) {
+				return this;
+			}
+			final int[] remaining = new int[this.size];
+			System.arraycopy(this.ids, 0, remaining, 0, at);
+			System.arraycopy(this.ids, at + 1, remaining, at, this.size - at - 1);
+			return new Postings(remaining, this.size - 1);
+		}
+	}
+	
+	private static final class Expansion {
+		
+		private final String term;
+		private final Postings productIds;
+		private final float weight;
+		
+		private Expansion(final String term, final Postings productIds, final float weight) {
+			this.term = term;
+			this.productIds = productIds;
+			this.weight = weight;
+		}
+	}
+	
+	private static final class Scored {
+		
+		/** Lower score first, then higher id first, so the head of the queue is the first to drop */
+		private static final Comparator<Scored> WORST_FIRST = Comparator.<Scored>comparingDouble(s -> s.score)
+				.thenComparing(s -> s.product.productDto.getProductId(), Comparator.reverseOrder());
+		
+		private final IndexedProduct product;
+		private final float score;
+		
+		private Scored(final IndexedProduct product, final float score) {
+			this.product = product;
+			this.score = score;
+		}
+	}
+	
+	private static final class IntList {
+		
+		private int[] values = new int[4];
+		private int size;
+		
+		private void add(final int value) {
+			if (this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+			}
+			this.values[this.size++] = value;
+		}
+		
+		private Postings toPostings() {
+			return new Postings(this.values, this.size);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
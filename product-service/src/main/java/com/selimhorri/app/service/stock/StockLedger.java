@@ -0,0 +1,229 @@
+package com.selimhorri.app.service.stock;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.config.stock.StockProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.repository.ProductRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves units in and out of Product.quantity. Most products go straight to their row
+ * with a conditional update inside the caller's transaction. The hot products of
+ * {@link StockProperties} lease blocks of units off their row into a {@link StripedStockCounter},
+ * so a flash sale takes the row lock once per lease instead of once per reservation.
+ * Leases and released units go back to the row on every flush, at most as many as the row still
+ * counts as leased: an absolute write of the quantity in between supersedes the leases.
+ * A crash loses the units leased at that moment, which undersells but never oversells.
+ * A hot product whose row could not cover a lease counts as sold out until the next flush,
+ * so the takes of a sold-out flash sale stop at its counter instead of all going to the row.
+ * Every write to a row evicts the cached product and listing once it is committed.
+ */
+@Component
+@Slf4j
+public class StockLedger implements DisposableBean {
+	
+	private final ProductRepository productRepository;
+	private final TransactionTemplate leaseTransaction;
+	private final int leaseSize;
+	private final Map<Integer, StripedStockCounter> hotCounters;
+	private final Set<Integer> soldOut = ConcurrentHashMap.newKeySet();
+	private final Cache products;
+	private final Cache productList;
+	
+	public StockLedger(final ProductRepository productRepository, final PlatformTransactionManager transactionManager, 
+			final StockProperties stockProperties, final CacheManager cacheManager) {
+		this.productRepository = productRepository;
+		this.products = Objects.requireNonNull(cacheManager.getCache(AppConstant.CacheName.PRODUCTS));
+		this.productList = Objects.requireNonNull(cacheManager.getCache(AppConstant.CacheName.PRODUCT_LIST));
+		this.leaseTransaction = new TransactionTemplate(transactionManager);
+		this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.leaseSize = stockProperties.getLeaseSize();
+		final int stripes = stockProperties.getStripes() > 0 ? 
+				stockProperties.getStripes() : Runtime.getRuntime().availableProcessors();
+		this.hotCounters = stockProperties.getHotProducts().stream()
+				.collect(Collectors.toUnmodifiableMap(Function.identity(), productId -> new StripedStockCounter(stripes)));
+	}
+	
+	public boolean isHot(final Integer productId) {
+		return this.hotCounters.containsKey(productId);
+	}
+	
+	/**
+	 * Takes the units of a product, false when not that many are left.
+	 * Units taken from a hot product counter are handed back to it if the caller's transaction rolls back.
+	 * A hot product is best taken before the caller's transaction opens: a lease runs in its own transaction,
+	 * which inside another one holds two pooled connections at once.
+	 */
+	public boolean take(final Integer productId, final int quantity) {
+		final StripedStockCounter counter = this.hotCounters.get(productId);
+		if (counter == null) {
+			if (this.productRepository.takeStock(productId, quantity) == 0) {
+				return false;
+			}
+			this.evictAfterCommit(productId);
+			return true;
+		}
+		if (!counter.tryTake(quantity) && !this.refill(productId, counter, quantity)) {
+			return false;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				
+				@Override
+				public void afterCompletion(final int status) {
+					if (status == STATUS_ROLLED_BACK) {
+						counter.add(quantity);
+					}
+				}
+			});
+		}
+		return true;
+	}
+	
+	/**
+	 * Gives units back to a product. A hot product counter only sees them once the caller's transaction commits.
+	 */
+	public void giveBack(final Integer productId, final int quantity) {
+		final StripedStockCounter counter = this.hotCounters.get(productId);
+		if (counter == null) {
+			this.productRepository.returnStock(productId, quantity);
+			this.evictAfterCommit(productId);
+		}
+		else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				
+				@Override
+				public void afterCommit() {
+					counter.add(quantity);
+				}
+			});
+		}
+		else {
+			counter.add(quantity);
+		}
+	}
+	
+	/**
+	 * Returns everything the hot product counters hold to their rows, one update per product.
+	 * The sold-out products go back to their rows on the next lease, in case they were restocked.
+	 */
+	public void flush() {
+		this.hotCounters.forEach((productId, counter) -> {
+			this.soldOut.remove(productId);
+			final long drained = counter.drain();
+			if (drained > 0) {
+				try {
+					this.leaseTransaction.executeWithoutResult(status -> 
+							this.productRepository.returnLease(productId, Math.toIntExact(drained)));
+					this.evict(productId);
+				} catch (RuntimeException e) {
+					counter.add(drained);
+					log.warn("Could not flush {} units of product {}: {}", drained, productId, e.getMessage());
+				}
+			}
+		});
+	}
+	
+	@Override
+	public void destroy() {
+		this.flush();
+	}
+	
+	/**
+	 * Pools the units left in all stripes and, if they are not enough, leases the rest off the row
+	 * in its own transaction, so a rollback of the caller can never put leased units back in the row twice.
+	 * The monitor only covers the pooling, the pooled units are held by this call during the lease
+	 * and handed back to the counter if it comes short, meanwhile other takes may find the counter empty.
+	 */
+	private boolean refill(final Integer productId, final StripedStockCounter counter, final int quantity) {
+		final long pooled;
+		synchronized (counter) {
+			if (counter.tryTake(quantity)) {
+				return true;
+			}
+			pooled = counter.drain();
+			if (pooled >= quantity) {
+				counter.add(pooled - quantity);
+				return true;
+			}
+		}
+		if (this.soldOut.contains(productId)) {
+			counter.add(pooled);
+			return false;
+		}
+		final int missing = Math.toIntExact(quantity - pooled);
+		final int lease = Math.max(missing, this.leaseSize);
+		final Integer leased;
+		try {
+			leased = this.leaseTransaction.execute(status -> {
+				if (this.productRepository.leaseStock(productId, lease) > 0) {
+					return lease;
+				}
+				return lease > missing && this.productRepository.leaseStock(productId, missing) > 0 ? missing : 0;
+			});
+		} catch (RuntimeException e) {
+			counter.add(pooled);
+			throw e;
+		}
+		if (leased == null || leased == 0) {
+			this.soldOut.add(productId);
+			counter.add(pooled);
+			return false;
+		}
+		this.evict(productId);
+		counter.add(leased - missing);
+		return true;
+	}
+	
+	/**
+	 * Evicts once the caller's transaction commits, a read before that would only cache the old row again
+	 */
+	private void evictAfterCommit(final Integer productId) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			this.evict(productId);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			
+			@Override
+			public void afterCommit() {
+				evict(productId);
+			}
+		});
+	}
+	
+	private void evict(final Integer productId) {
+		this.products.evict(productId);
+		this.productList.clear();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
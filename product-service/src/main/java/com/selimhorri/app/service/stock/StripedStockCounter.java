@@ -0,0 +1,76 @@
+package com.selimhorri.app.service.stock;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Units of one product spread over independent stripes, so concurrent takes
+ * mostly compare-and-set different cache lines instead of queueing on one value.
+ * A take never drives a stripe below zero, hence the sum of the stripes is never
+ * below zero either. Units stuck in stripes too small for a take are only pooled
+ * again by {@link #drain()}.
+ */
+public final class StripedStockCounter {
+	
+	/** Longs between two stripes, keeps each stripe on its own 64 byte cache line */
+	private static final int PADDING = 8;
+	
+	private final AtomicLongArray cells;
+	private final int mask;
+	
+	public StripedStockCounter(final int stripes) {
+		final int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+		this.cells = new AtomicLongArray(size * PADDING);
+		this.mask = size - 1;
+	}
+	
+	public boolean tryTake(final int quantity) {
+		final int start = ThreadLocalRandom.current().nextInt();
+		for (int i = 0; i <= this.mask; i++) {
+			final int cell = ((start + i) & this.mask) * PADDING;
+			long available = this.cells.get(cell);
+			while (available >= quantity) {
+				if (this.cells.compareAndSet(cell, available, available - quantity)) {
+					return true;
+				}
+				available = this.cells.get(cell);
+			}
+		}
+		return false;
+	}
+	
+	public void add(final long quantity) {
+		this.cells.addAndGet((ThreadLocalRandom.current().nextInt() & this.mask) * PADDING, quantity);
+	}
+	
+	/**
+	 * Empties every stripe and returns what they held, concurrent takes either
+	 * happen before a stripe is emptied or find it empty.
+	 */
+	public long drain() {
+		long drained = 0;
+		for (int i = 0; i <= this.mask; i++) {
+			drained += this.cells.getAndSet(i * PADDING, 0);
+		}
+		return drained;
+	}
+	
+	public long available() {
+		long available = 0;
+		for (int i = 0; i <= this.mask; i++) {
+			available += this.cells.get(i * PADDING);
+		}
+		return available;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,113 @@
+package com.selimhorri.app.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.springframework.util.DigestUtils;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * Change marker of a single resource or of a whole listing, built by the stamp projections of the
+ * repositories from version columns, update times and row counts without loading any entity.
+ * Whatever write changes the representation changes one of its parts, hence its strong ETag.
+ * The same stamps are also derived from the dtos themselves, which is how a cached copy is told
+ * apart from the current one: its tag differs from the one of the repository.
+ */
+public final class VersionStamp {
+	
+	private final String eTag;
+	
+	public VersionStamp(final Object first, final Object second) {
+		this(new Object[] { first, second });
+	}
+	
+	public VersionStamp(final Object first, final Object second, final Object third) {
+		this(new Object[] { first, second, third });
+	}
+	
+	public VersionStamp(final Object first, final Object second, final Object third, final Object fourth) {
+		this(new Object[] { first, second, third, fourth });
+	}
+	
+	private VersionStamp(final Object[] parts) {
+		this.eTag = "\"" + DigestUtils.md5DigestAsHex(Arrays.toString(parts)
+				.getBytes(StandardCharsets.UTF_8)) + "\"";
+	}
+	
+	/**
+	 * ProductRepository#findStampById, taken off the product
+	 */
+	public static VersionStamp of(final ProductDto productDto) {
+		return new VersionStamp(productDto.getProductId(), productDto.getVersion(), productDto.getUpdatedAt(), 
+				productDto.getCategoryDto() == null ? null : productDto.getCategoryDto().getUpdatedAt());
+	}
+	
+	/**
+	 * ProductRepository#findStamp, taken off the whole listing
+	 */
+	public static VersionStamp ofProducts(final Collection<ProductDto> productDtos) {
+		return new VersionStamp((long) productDtos.size(), 
+				productDtos.stream()
+					.map(ProductDto::getVersion)
+					.filter(Objects::nonNull)
+					.reduce(Long::sum)
+					.orElse(null), 
+				latest(productDtos.stream()
+					.map(ProductDto::getUpdatedAt)), 
+				latest(productDtos.stream()
+					.map(ProductDto::getCategoryDto)
+					.filter(Objects::nonNull)
+					.map(CategoryDto::getUpdatedAt)));
+	}
+	
+	/**
+	 * CategoryRepository#findStampById, taken off the category
+	 */
+	public static VersionStamp of(final CategoryDto categoryDto) {
+		return new VersionStamp(categoryDto.getCategoryId(), categoryDto.getUpdatedAt(), 
+				categoryDto.getParentCategoryDto() == null ? null : categoryDto.getParentCategoryDto().getUpdatedAt());
+	}
+	
+	/**
+	 * CategoryRepository#findStamp, taken off the whole listing
+	 */
+	public static VersionStamp ofCategories(final Collection<CategoryDto> categoryDtos) {
+		return new VersionStamp((long) categoryDtos.size(), latest(categoryDtos.stream()
+				.map(CategoryDto::getUpdatedAt)));
+	}
+	
+	/**
+	 * MAX in SQL: nulls are skipped, null when nothing is left
+	 */
+	private static Instant latest(final Stream<Instant> instants) {
+		return instants
+				.filter(Objects::nonNull)
+				.max(Comparator.naturalOrder())
+				.orElse(null);
+	}
+	
+	/**
+	 * Quoted strong entity tag, as sent in the ETag header
+	 */
+	public String getETag() {
+		return this.eTag;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
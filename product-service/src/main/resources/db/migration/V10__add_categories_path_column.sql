@@ -0,0 +1,10 @@
+-- materialized path of the category ids from the root down, e.g. /1/4/9/, 
+-- a subtree is a prefix range on the index, see CategoryRepository#movePaths
+ALTER TABLE categories ADD COLUMN path VARCHAR(255);
+
+CREATE INDEX idx_categories_path ON categories (path);
+
+-- roots are filled here, deeper levels by CategoryTreeLoader at startup
+UPDATE categories SET path = CONCAT('/', category_id, '/') WHERE parent_category_id IS NULL;
+
+
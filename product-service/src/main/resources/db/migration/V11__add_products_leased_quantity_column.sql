@@ -0,0 +1,5 @@
+-- units the hot product counters hold off quantity, see StockLedger. An absolute write
+-- of quantity zeroes it, so a later flush cannot add those units on top of it
+ALTER TABLE products ADD COLUMN leased_quantity INT DEFAULT 0 NOT NULL;
+
+
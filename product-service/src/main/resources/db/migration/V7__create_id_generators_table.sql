@@ -0,0 +1,11 @@
+
+-- next_val holds the high value of the next pooled block, each row is seeded
+-- one block (AppConstant.ID_ALLOCATION_SIZE) above the current max id
+CREATE TABLE IF NOT EXISTS id_generators (
+	sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+	next_val BIGINT
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'products', COALESCE(MAX(product_id), 0) + 50 FROM products;
+
@@ -0,0 +1,4 @@
+-- version is bumped by every partial update, see ProductRepository#patch
+ALTER TABLE products ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+
@@ -0,0 +1,19 @@
+CREATE TABLE stock_reservations (
+	reservation_id INT(11) NOT NULL PRIMARY KEY,
+	product_id INT(11) NOT NULL,
+	quantity INT(11) NOT NULL,
+	status VARCHAR(255) NOT NULL,
+	expires_at TIMESTAMP NOT NULL,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP
+);
+
+ALTER TABLE stock_reservations
+  ADD CONSTRAINT fk_stock_reservations_product_id FOREIGN KEY (product_id) REFERENCES products (product_id);
+
+-- the expiry sweep looks up pending reservations past their deadline
+CREATE INDEX idx_stock_reservations_status_expires_at ON stock_reservations (status, expires_at);
+
+INSERT INTO id_generators (sequence_name, next_val) VALUES ('stock_reservations', 50);
+
+
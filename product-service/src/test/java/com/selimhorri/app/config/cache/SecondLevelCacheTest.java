@@ -0,0 +1,100 @@
+package com.selimhorri.app.config.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.repository.ProductRepository;
+
+/**
+ * Runs against the Flyway-migrated H2 database, every repository call in its own transaction
+ * so only the second-level cache, not the persistence context, can save a query.
+ */
+@DataJpaTest(properties = {
+		"app.second-level-cache.enabled=true" })
+@Import(SecondLevelCacheConfig.class)
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Second-level cache Tests")
+class SecondLevelCacheTest {
+	
+	@Autowired
+	private ProductRepository productRepository;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	
+	private Statistics statistics;
+	
+	@BeforeEach
+	void setUp() {
+		entityManagerFactory.getCache().evictAll();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+	
+	@Test
+	@DisplayName("Should serve a repeated product read without any query")
+	void testRepeatedReadIsCached() {
+		// Given
+		productRepository.findById(1).orElseThrow();
+		final long queriesOnMiss = statistics.getPrepareStatementCount();
+		statistics.clear();
+		
+		// When
+		final Product product = productRepository.findById(1).orElseThrow();
+		
+		// Then
+		assertNotNull(product.getCategory());
+		assertTrue(queriesOnMiss > 0);
+		assertEquals(0, statistics.getPrepareStatementCount());
+		assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+	}
+	
+	@Test
+	@DisplayName("Should serve the saved state after an update")
+	void testSaveUpdatesEntry() {
+		// Given
+		final Product product = productRepository.findById(1).orElseThrow();
+		product.setProductTitle("Renamed");
+		
+		// When
+		productRepository.save(product);
+		
+		// Then
+		assertEquals("Renamed", productRepository.findById(1).orElseThrow().getProductTitle());
+	}
+	
+	@Test
+	@DisplayName("Should drop the cached product on a bulk update")
+	void testBulkUpdateEvicts() {
+		// Given
+		final int quantity = productRepository.findById(1).orElseThrow().getQuantity();
+		
+		// When
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> 
+				productRepository.patch(1, null, null, null, null, null, quantity + 5));
+		
+		// Then
+		assertEquals(quantity + 5, productRepository.findById(1).orElseThrow().getQuantity());
+	}
+	
+}
@@ -0,0 +1,117 @@
+package com.selimhorri.app.config.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.selimhorri.app.config.catalogue.CatalogueRefreshProperties;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.search.ProductSearchIndex;
+import com.selimhorri.app.util.VersionStamp;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductSearchIndexLoader Tests")
+class ProductSearchIndexLoaderTest {
+	
+	@Mock
+	private ProductRepository productRepository;
+	
+	private ProductSearchIndex productSearchIndex;
+	private ProductSearchIndexLoader loader;
+	
+	@BeforeEach
+	void setUp() {
+		productSearchIndex = new ProductSearchIndex();
+		loader = new ProductSearchIndexLoader(productRepository, productSearchIndex, new CatalogueRefreshProperties());
+		ReflectionTestUtils.setField(loader, "pageSize", 10);
+		when(productRepository.findByProductIdGreaterThanOrderByProductIdAsc(eq(0), any(Pageable.class)))
+				.thenReturn(List.of(product(1, "Galaxy Phone"), product(2, "Apple iPhone")));
+		when(productRepository.findSearchStamp()).thenReturn(new VersionStamp(2L, null, null));
+		loader.run(null);
+	}
+	
+	@Test
+	@DisplayName("Should do nothing but the stamp query while the stamp stays")
+	void testRefreshUnchanged() {
+		// When
+		loader.refresh();
+		
+		// Then
+		verify(productRepository, times(2)).findSearchStamp();
+		verify(productRepository, never()).findChangedSince(any(Instant.class));
+		verify(productRepository, times(1)).findByProductIdGreaterThanOrderByProductIdAsc(eq(0), any(Pageable.class));
+	}
+	
+	@Test
+	@DisplayName("Should reindex the products written by another instance")
+	void testRefreshReindexesChanged() {
+		// Given
+		when(productRepository.findSearchStamp()).thenReturn(new VersionStamp(2L, Instant.now(), null));
+		when(productRepository.count()).thenReturn(2L);
+		when(productRepository.findChangedSince(any(Instant.class))).thenReturn(List.of(product(2, "Apple Watch")));
+		
+		// When
+		loader.refresh();
+		
+		// Then
+		assertEquals(List.of(2), ids(productSearchIndex.search("watch", null, null, null, 10)));
+		// "iphone" is still one typo away from the "phone" of product 1, only product 2 left it
+		assertEquals(List.of(1), ids(productSearchIndex.search("iphone", null, null, null, 10)));
+		verify(productRepository, times(1)).findByProductIdGreaterThanOrderByProductIdAsc(eq(0), any(Pageable.class));
+	}
+	
+	@Test
+	@DisplayName("Should rebuild the index once the product count no longer matches")
+	void testRefreshRebuildsAfterDelete() {
+		// Given
+		when(productRepository.findSearchStamp()).thenReturn(new VersionStamp(1L, null, null));
+		when(productRepository.count()).thenReturn(1L);
+		when(productRepository.findByProductIdGreaterThanOrderByProductIdAsc(eq(0), any(Pageable.class)))
+				.thenReturn(List.of(product(1, "Galaxy Phone")));
+		
+		// When
+		loader.refresh();
+		
+		// Then
+		assertEquals(1, productSearchIndex.size());
+		verify(productRepository, never()).findChangedSince(any(Instant.class));
+	}
+	
+	private static List<Integer> ids(final List<ProductDto> productDtos) {
+		return productDtos.stream()
+				.map(ProductDto::getProductId)
+				.collect(Collectors.toList());
+	}
+	
+	private static Product product(final int productId, final String title) {
+		return Product.builder()
+				.productId(productId)
+				.productTitle(title)
+				.sku("SKU-" + productId)
+				.priceUnit(100.0)
+				.quantity(10)
+				.category(Category.builder()
+						.categoryId(1)
+						.categoryTitle("Phones")
+						.build())
+				.build();
+	}
+	
+}
+
@@ -1,11 +1,13 @@
 package com.selimhorri.app.resource;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,13 +15,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
 import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.util.VersionStamp;
 
 @WebMvcTest(ProductResource.class)
 @DisplayName("ProductResource Tests")
@@ -51,6 +58,7 @@ class ProductResourceTest {
 	@DisplayName("GET /api/products - Should return all products")
 	void testFindAll() throws Exception {
 		// Given
+		when(productService.findETag()).thenReturn(VersionStamp.ofProducts(List.of(productDto)).getETag());
 		when(productService.findAll()).thenReturn(Arrays.asList(productDto));
 		
 		// When & Then
@@ -61,10 +69,167 @@ class ProductResourceTest {
 		verify(productService, times(1)).findAll();
 	}
 	
+	@Test
+	@DisplayName("GET /api/products/{id} - Should tag the product with its ETag")
+	void testFindByIdSendsETag() throws Exception {
+		// Given
+		final String eTag = VersionStamp.of(productDto).getETag();
+		when(productService.findETag(1)).thenReturn(eTag);
+		when(productService.findById(1)).thenReturn(productDto);
+		
+		// When & Then
+		mockMvc.perform(get("/api/products/1"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, eTag))
+			.andExpect(jsonPath("$.productId").value(1));
+		
+		verify(productService, never()).reloadById(anyInt());
+	}
+	
+	@Test
+	@DisplayName("GET /api/products/{id} - Should reload a cached product whose stamp has moved")
+	void testFindByIdReloadsStaleCopy() throws Exception {
+		// Given
+		productDto.setVersion(1L);
+		final ProductDto current = ProductDto.builder()
+				.productId(1)
+				.productTitle("Test Product")
+				.quantity(9)
+				.version(2L)
+				.build();
+		final String eTag = VersionStamp.of(current).getETag();
+		when(productService.findETag(1)).thenReturn(eTag);
+		when(productService.findById(1)).thenReturn(productDto);
+		when(productService.reloadById(1)).thenReturn(current);
+		
+		// When & Then
+		mockMvc.perform(get("/api/products/1"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, eTag))
+			.andExpect(jsonPath("$.version").value(2))
+			.andExpect(jsonPath("$.quantity").value(9));
+		
+		verify(productService, times(1)).reloadById(1);
+	}
+	
+	@Test
+	@DisplayName("GET /api/products - Should reload a cached listing whose stamp has moved")
+	void testFindAllReloadsStaleCopy() throws Exception {
+		// Given
+		final ProductDto added = ProductDto.builder().productId(2).version(0L).build();
+		when(productService.findETag()).thenReturn(VersionStamp.ofProducts(List.of(productDto, added)).getETag());
+		when(productService.findAll()).thenReturn(List.of(productDto));
+		when(productService.reloadAll()).thenReturn(List.of(productDto, added));
+		
+		// When & Then
+		mockMvc.perform(get("/api/products"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.collection.length()").value(2));
+	}
+	
+	@Test
+	@DisplayName("GET /api/products/{id} - Should answer 304 to a matching If-None-Match without loading the product")
+	void testFindByIdNotModified() throws Exception {
+		// Given
+		when(productService.findETag(1)).thenReturn("\"v1\"");
+		
+		// When & Then
+		mockMvc.perform(get("/api/products/1").header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+			.andExpect(status().isNotModified())
+			.andExpect(content().string(""));
+		
+		verify(productService, never()).findById(anyInt());
+	}
+	
+	@Test
+	@DisplayName("GET /api/products - Should answer 304 while the listing is unchanged")
+	void testFindAllNotModified() throws Exception {
+		// Given
+		when(productService.findETag()).thenReturn("\"v7\"");
+		
+		// When & Then
+		mockMvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, "\"v6\", \"v7\""))
+			.andExpect(status().isNotModified());
+		
+		verify(productService, never()).findAll();
+	}
+	
+	@Test
+	@DisplayName("GET /api/products/search - Should return ranked matches")
+	void testSearch() throws Exception {
+		// Given
+		when(productService.search("phone", 3, 10.0, null, 5)).thenReturn(List.of(productDto));
+		
+		// When & Then
+		mockMvc.perform(get("/api/products/search")
+				.param("q", "phone")
+				.param("category", "3")
+				.param("minPrice", "10")
+				.param("limit", "5"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.collection[0].productId").value(1));
+		
+		verify(productService, times(1)).search("phone", 3, 10.0, null, 5);
+	}
+	
+	@Test
+	@DisplayName("GET /api/products?ids= - Should return products by ids")
+	void testFindAllByIds() throws Exception {
+		// Given
+		when(productService.findAllByIds(List.of(1, 2))).thenReturn(Arrays.asList(productDto));
+		
+		// When & Then
+		mockMvc.perform(get("/api/products").param("ids", "1,2"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.collection[0].productId").value(1));
+		
+		verify(productService, times(1)).findAllByIds(List.of(1, 2));
+		verify(productService, never()).findAll();
+	}
+	
+	@Test
+	@DisplayName("GET /api/products?after=&limit= - Should return a keyset page")
+	void testFindPage() throws Exception {
+		// Given
+		when(productService.findPage("5", 1))
+			.thenReturn(new DtoCursorPageResponse<>(Arrays.asList(productDto), "1"));
+		
+		// When & Then
+		mockMvc.perform(get("/api/products").param("after", "5").param("limit", "1"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.collection[0].productId").value(1))
+			.andExpect(jsonPath("$.nextCursor").value("1"));
+		
+		verify(productService, times(1)).findPage("5", 1);
+		verify(productService, never()).findAll();
+	}
+	
+	@Test
+	@DisplayName("GET /api/products/stream - Should stream products as NDJSON")
+	void testStream() throws Exception {
+		// Given
+		when(productService.findPage(isNull(), anyInt()))
+			.thenReturn(new DtoCursorPageResponse<>(Arrays.asList(productDto), "1"));
+		when(productService.findPage(eq("1"), anyInt()))
+			.thenReturn(new DtoCursorPageResponse<>(Arrays.asList(productDto), null));
+		
+		// When
+		MvcResult mvcResult = mockMvc.perform(get("/api/products/stream"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		
+		// Then
+		mockMvc.perform(asyncDispatch(mvcResult))
+			.andExpect(status().isOk())
+			.andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+		assertEquals(2, mvcResult.getResponse().getContentAsString().strip().split("\n").length);
+	}
+	
 	@Test
 	@DisplayName("GET /api/products/{id} - Should return product")
 	void testFindById() throws Exception {
 		// Given
+		when(productService.findETag(1)).thenReturn(VersionStamp.of(productDto).getETag());
 		when(productService.findById(1)).thenReturn(productDto);
 		
 		// When & Then
@@ -132,4 +297,34 @@ class ProductResourceTest {
 		
 		verify(productService, times(1)).deleteById(1);
 	}
+	
+	@Test
+	@DisplayName("PATCH /api/products/{id} - Should patch product")
+	void testPatch() throws Exception {
+		// Given
+		when(productService.patch(eq(1), any(ProductDto.class))).thenReturn(productDto);
+		
+		// When & Then
+		mockMvc.perform(patch("/api/products/1")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"quantity\":10,\"version\":0}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.quantity").value(10));
+		
+		verify(productService, times(1)).patch(eq(1), argThat(p -> p.getVersion() == 0L && p.getSku() == null));
+	}
+	
+	@Test
+	@DisplayName("PATCH /api/products/{id} - Should return 409 on a stale version")
+	void testPatchVersionConflict() throws Exception {
+		// Given
+		when(productService.patch(eq(1), any(ProductDto.class)))
+			.thenThrow(new OptimisticLockingFailureException("Product with id: 1 is at version 2, not 1"));
+		
+		// When & Then
+		mockMvc.perform(patch("/api/products/1")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"priceUnit\":10.0,\"version\":1}"))
+			.andExpect(status().isConflict());
+	}
 }
@@ -0,0 +1,110 @@
+package com.selimhorri.app.service.category;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.util.VersionStamp;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CategoryTree Tests")
+class CategoryTreeTest {
+	
+	@Mock
+	private CategoryRepository categoryRepository;
+	
+	private CategoryTree categoryTree;
+	
+	@BeforeEach
+	void setUp() {
+		categoryTree = new CategoryTree(categoryRepository);
+		lenient().when(categoryRepository.findTreeStamp()).thenReturn(new VersionStamp(3L, 3L, null));
+		lenient().when(categoryRepository.findAllNodes()).thenReturn(List.of(
+				new CategoryNode(1, null, "Computer", null, "/1/"),
+				new CategoryNode(4, 1, "Laptops", null, "/1/4/"),
+				new CategoryNode(9, 4, "Gaming Laptops", null, "/1/4/9/")));
+	}
+	
+	@Test
+	@DisplayName("Should return the breadcrumbs from the root down")
+	void testBreadcrumbs() {
+		// When
+		List<String> titles = categoryTree.breadcrumbs(9).stream()
+				.map(CategoryDto::getCategoryTitle)
+				.collect(Collectors.toList());
+		
+		// Then
+		assertEquals(List.of("Computer", "Laptops", "Gaming Laptops"), titles);
+		assertEquals("/1/4/", categoryTree.path(4));
+	}
+	
+	@Test
+	@DisplayName("Should load the tree once and again after an invalidation")
+	void testLoadsOnceUntilInvalidated() {
+		// When
+		categoryTree.breadcrumbs(9);
+		categoryTree.path(1);
+		categoryTree.invalidate();
+		categoryTree.path(1);
+		
+		// Then
+		verify(categoryRepository, times(2)).findAllNodes();
+	}
+	
+	@Test
+	@DisplayName("Should reload the tree only once its stamp has moved")
+	void testRefreshReloadsMovedTree() {
+		// Given
+		categoryTree.path(1);
+		
+		// When
+		categoryTree.refresh();
+		categoryTree.path(1);
+		when(categoryRepository.findTreeStamp()).thenReturn(new VersionStamp(4L, 4L, null));
+		categoryTree.refresh();
+		categoryTree.path(1);
+		
+		// Then
+		verify(categoryRepository, times(2)).findAllNodes();
+	}
+	
+	@Test
+	@DisplayName("Should not load a tree nobody has read on refresh")
+	void testRefreshSkipsUnloadedTree() {
+		// When
+		categoryTree.refresh();
+		
+		// Then
+		verify(categoryRepository, never()).findTreeStamp();
+		verify(categoryRepository, never()).findAllNodes();
+	}
+	
+	@Test
+	@DisplayName("Should throw when the category is unknown")
+	void testUnknownCategory() {
+		// When & Then
+		assertThrows(CategoryNotFoundException.class, () -> categoryTree.breadcrumbs(42));
+	}
+	
+	@Test
+	@DisplayName("Should build and split paths")
+	void testPaths() {
+		// When & Then
+		assertEquals("/1/", CategoryTree.childPath(null, 1));
+		assertEquals("/1/4/", CategoryTree.childPath("/1/", 4));
+		assertEquals(List.of(1, 4, 9), CategoryTree.pathIds("/1/4/9/"));
+	}
+	
+}
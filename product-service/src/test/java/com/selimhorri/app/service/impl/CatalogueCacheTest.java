@@ -0,0 +1,200 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.selimhorri.app.config.cache.CacheConfig;
+import com.selimhorri.app.config.cache.CatalogueCacheEvictor;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.service.category.CategoryTree;
+import com.selimhorri.app.service.search.ProductSearchIndex;
+import com.selimhorri.app.util.VersionStamp;
+
+@SpringJUnitConfig(CatalogueCacheTest.CacheTestConfig.class)
+@DisplayName("Catalogue cache Tests")
+class CatalogueCacheTest {
+	
+	@Configuration
+	@EnableCaching
+	static class CacheTestConfig {
+		
+		@Bean
+		CacheManager cacheManager() {
+			return new CacheConfig().cacheManager(100, Duration.ofMinutes(1));
+		}
+		
+		@Bean
+		CatalogueCacheEvictor catalogueCacheEvictor(final CacheManager cacheManager) {
+			return new CatalogueCacheEvictor(cacheManager);
+		}
+		
+		@Bean
+		ProductService productService(final ProductRepository productRepository, final CatalogueCacheEvictor catalogueCacheEvictor) {
+			return new ProductServiceImpl(productRepository, new ProductSearchIndex(), catalogueCacheEvictor);
+		}
+		
+		@Bean
+		CategoryService categoryService(final CategoryRepository categoryRepository, final ProductRepository productRepository, 
+				final CatalogueCacheEvictor catalogueCacheEvictor) {
+			return new CategoryServiceImpl(categoryRepository, productRepository, new CategoryTree(categoryRepository), 
+					catalogueCacheEvictor);
+		}
+	
+	}
+	
+	@MockBean
+	private ProductRepository productRepository;
+	
+	@MockBean
+	private CategoryRepository categoryRepository;
+	
+	@Autowired
+	private ProductService productService;
+	
+	@Autowired
+	private CategoryService categoryService;
+	
+	@Autowired
+	private CacheManager cacheManager;
+	
+	private Product product;
+	private Category category;
+	
+	@BeforeEach
+	void setUp() {
+		cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+		
+		category = new Category();
+		category.setCategoryId(1);
+		category.setCategoryTitle("Electronics");
+		
+		product = new Product();
+		product.setProductId(1);
+		product.setProductTitle("Test Product");
+		product.setCategory(category);
+	}
+	
+	@Test
+	@DisplayName("Should serve repeated product reads from the cache")
+	void testFindByIdIsCached() {
+		// Given
+		when(productRepository.findDtoById(1)).thenReturn(Optional.of(ProductMappingHelper.map(product)));
+		
+		// When
+		ProductDto first = productService.findById(1);
+		ProductDto second = productService.findById(1);
+		
+		// Then
+		assertEquals("Test Product", second.getProductTitle());
+		assertSame(first, second);
+		verify(productRepository, times(1)).findDtoById(1);
+	}
+	
+	@Test
+	@DisplayName("Should replace a cached product written behind the cache")
+	void testReloadReplacesStaleProduct() {
+		// Given
+		final ProductDto cached = ProductMappingHelper.map(product);
+		final ProductDto current = ProductMappingHelper.map(product);
+		current.setQuantity(9);
+		current.setVersion(2L);
+		when(productRepository.findDtoById(1)).thenReturn(Optional.of(cached), Optional.of(current));
+		productService.findById(1);
+		
+		// When
+		productService.reloadById(1);
+		
+		// Then
+		assertEquals(VersionStamp.of(current).getETag(), VersionStamp.of(productService.findById(1)).getETag());
+		assertNotEquals(VersionStamp.of(cached).getETag(), VersionStamp.of(current).getETag());
+		verify(productRepository, times(2)).findDtoById(1);
+	}
+	
+	@Test
+	@DisplayName("Should evict the cached product on update")
+	void testUpdateEvictsProduct() {
+		// Given
+		when(productRepository.findDtoById(1)).thenReturn(Optional.of(ProductMappingHelper.map(product)));
+		when(productRepository.save(any(Product.class))).thenReturn(product);
+		productService.findById(1);
+		
+		// When
+		productService.update(ProductDto.builder()
+				.productId(1)
+				.productTitle("Renamed")
+				.categoryDto(CategoryDto.builder().categoryId(1).build())
+				.build());
+		productService.findById(1);
+		
+		// Then
+		verify(productRepository, times(2)).findDtoById(1);
+	}
+	
+	@Test
+	@DisplayName("Should keep the cached product until the update commits")
+	void testUpdateEvictsAfterCommit() {
+		// Given
+		when(productRepository.findDtoById(1)).thenReturn(Optional.of(ProductMappingHelper.map(product)));
+		when(productRepository.save(any(Product.class))).thenReturn(product);
+		productService.findById(1);
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			// When
+			productService.update(ProductDto.builder()
+					.productId(1)
+					.productTitle("Renamed")
+					.categoryDto(CategoryDto.builder().categoryId(1).build())
+					.build());
+			
+			// Then
+			assertNotNull(cacheManager.getCache(AppConstant.CacheName.PRODUCTS).get(1));
+			TransactionSynchronizationUtils.triggerAfterCommit();
+			assertNull(cacheManager.getCache(AppConstant.CacheName.PRODUCTS).get(1));
+		}
+		finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+	
+	@Test
+	@DisplayName("Should evict cached products when a category changes")
+	void testCategoryDeleteEvictsProducts() {
+		// Given
+		when(productRepository.findDtoById(1)).thenReturn(Optional.of(ProductMappingHelper.map(product)));
+		productService.findById(1);
+		
+		// When
+		categoryService.deleteById(1);
+		productService.findById(1);
+		
+		// Then
+		verify(productRepository, times(2)).findDtoById(1);
+	}
+	
+}
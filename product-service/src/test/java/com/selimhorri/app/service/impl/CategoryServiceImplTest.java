@@ -0,0 +1,194 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import com.selimhorri.app.config.cache.CatalogueCacheEvictor;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.category.CategoryTree;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CategoryService Tests")
+class CategoryServiceImplTest {
+	
+	@Mock
+	private CategoryRepository categoryRepository;
+	
+	@Mock
+	private ProductRepository productRepository;
+	
+	@Mock
+	private CategoryTree categoryTree;
+	
+	@Mock
+	private CatalogueCacheEvictor catalogueCacheEvictor;
+	
+	@InjectMocks
+	private CategoryServiceImpl categoryService;
+	
+	private Category computer;
+	private Category laptops;
+	
+	@BeforeEach
+	void setUp() {
+		computer = Category.builder()
+				.categoryId(1)
+				.categoryTitle("Computer")
+				.path("/1/")
+				.build();
+		laptops = Category.builder()
+				.categoryId(4)
+				.categoryTitle("Laptops")
+				.parentCategory(computer)
+				.path("/1/4/")
+				.build();
+	}
+	
+	@Test
+	@DisplayName("Should write the path of a new category under its parent")
+	void testSaveWritesPath() {
+		// Given
+		when(categoryRepository.findById(1)).thenReturn(Optional.of(computer));
+		when(categoryRepository.save(any(Category.class))).thenReturn(laptops);
+		
+		// When
+		CategoryDto result = categoryService.save(CategoryDto.builder()
+				.categoryTitle("Laptops")
+				.parentCategoryDto(CategoryDto.builder().categoryId(1).build())
+				.build());
+		
+		// Then
+		assertEquals(4, result.getCategoryId());
+		verify(categoryRepository, times(1)).updatePath(4, "/1/4/");
+		verify(categoryTree, times(1)).invalidate();
+	}
+	
+	@Test
+	@DisplayName("Should build the path of a new category from ancestors whose path is not filled yet")
+	void testSaveResolvesUnfilledParentPath() {
+		// Given
+		Category unfilled = Category.builder().categoryId(4).categoryTitle("Laptops").parentCategory(computer).build();
+		Category gaming = Category.builder().categoryId(9).categoryTitle("Gaming Laptops").parentCategory(unfilled).build();
+		when(categoryRepository.findById(4)).thenReturn(Optional.of(unfilled));
+		when(categoryRepository.save(any(Category.class))).thenReturn(gaming);
+		
+		// When
+		categoryService.save(CategoryDto.builder()
+				.categoryTitle("Gaming Laptops")
+				.parentCategoryDto(CategoryDto.builder().categoryId(4).build())
+				.build());
+		
+		// Then
+		verify(categoryRepository, times(1)).updatePath(9, "/1/4/9/");
+	}
+	
+	@Test
+	@DisplayName("Should refuse a parent whose chain loops back on itself")
+	void testSaveRejectsParentCycle() {
+		// Given
+		Category first = Category.builder().categoryId(5).categoryTitle("First").build();
+		Category second = Category.builder().categoryId(6).categoryTitle("Second").parentCategory(first).build();
+		first.setParentCategory(second);
+		when(categoryRepository.findById(5)).thenReturn(Optional.of(first));
+		
+		// When & Then
+		assertThrows(IllegalArgumentException.class, () -> categoryService.save(CategoryDto.builder()
+				.categoryTitle("Third")
+				.parentCategoryDto(CategoryDto.builder().categoryId(5).build())
+				.build()));
+		verify(categoryRepository, never()).save(any(Category.class));
+	}
+	
+	@Test
+	@DisplayName("Should move the whole subtree when the parent changes")
+	void testUpdateMovesSubtree() {
+		// Given
+		Category game = Category.builder().categoryId(3).categoryTitle("Game").path("/3/").build();
+		when(categoryRepository.findById(4)).thenReturn(Optional.of(laptops));
+		when(categoryRepository.findById(3)).thenReturn(Optional.of(game));
+		when(categoryRepository.save(any(Category.class))).thenReturn(laptops);
+		
+		// When
+		categoryService.update(CategoryDto.builder()
+				.categoryId(4)
+				.categoryTitle("Laptops")
+				.parentCategoryDto(CategoryDto.builder().categoryId(3).build())
+				.build());
+		
+		// Then
+		verify(categoryRepository, times(1)).movePaths("/1/4/", "/3/4/");
+		verify(categoryRepository, never()).updatePath(anyInt(), anyString());
+	}
+	
+	@Test
+	@DisplayName("Should leave the paths alone when the parent stays the same")
+	void testUpdateKeepsPath() {
+		// Given
+		when(categoryRepository.findById(4)).thenReturn(Optional.of(laptops));
+		when(categoryRepository.findById(1)).thenReturn(Optional.of(computer));
+		when(categoryRepository.save(any(Category.class))).thenReturn(laptops);
+		
+		// When
+		categoryService.update(CategoryDto.builder()
+				.categoryId(4)
+				.categoryTitle("Notebooks")
+				.parentCategoryDto(CategoryDto.builder().categoryId(1).build())
+				.build());
+		
+		// Then
+		verify(categoryRepository, never()).movePaths(anyString(), anyString());
+		verify(categoryRepository, never()).updatePath(anyInt(), anyString());
+	}
+	
+	@Test
+	@DisplayName("Should refuse to move a category under its own subtree")
+	void testUpdateRejectsCycle() {
+		// Given
+		when(categoryRepository.findById(1)).thenReturn(Optional.of(computer));
+		when(categoryRepository.findById(4)).thenReturn(Optional.of(laptops));
+		
+		// When & Then
+		assertThrows(IllegalArgumentException.class, () -> categoryService.update(CategoryDto.builder()
+				.categoryId(1)
+				.categoryTitle("Computer")
+				.parentCategoryDto(CategoryDto.builder().categoryId(4).build())
+				.build()));
+		verify(categoryRepository, never()).save(any(Category.class));
+	}
+	
+	@Test
+	@DisplayName("Should list the products of a subtree by its path")
+	void testFindSubtreeProducts() {
+		// Given
+		ProductDto productDto = ProductDto.builder().productId(7).productTitle("Laptop").build();
+		when(categoryTree.path(1)).thenReturn("/1/");
+		when(productRepository.findDtosByCategoryPath(eq("/1/"), eq(0), any(Pageable.class)))
+				.thenReturn(List.of(productDto));
+		
+		// When
+		DtoCursorPageResponse<ProductDto> result = categoryService.findSubtreeProducts(1, null, 10);
+		
+		// Then
+		assertEquals(1, result.getCollection().size());
+		assertNull(result.getNextCursor());
+	}
+	
+}
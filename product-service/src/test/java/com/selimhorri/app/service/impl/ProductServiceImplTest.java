@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -15,13 +16,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
 
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.config.cache.CatalogueCacheEvictor;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
 import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.search.ProductSearchIndex;
+import com.selimhorri.app.util.VersionStamp;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("ProductService Tests")
@@ -30,6 +37,12 @@ class ProductServiceImplTest {
 	@Mock
 	private ProductRepository productRepository;
 	
+	@Mock
+	private ProductSearchIndex productSearchIndex;
+	
+	@Mock
+	private CatalogueCacheEvictor catalogueCacheEvictor;
+	
 	@InjectMocks
 	private ProductServiceImpl productService;
 	
@@ -71,7 +84,7 @@ class ProductServiceImplTest {
 	@DisplayName("Should find all products successfully")
 	void testFindAll() {
 		// Given
-		when(productRepository.findAll()).thenReturn(Arrays.asList(product));
+		when(productRepository.findAllDtos()).thenReturn(Arrays.asList(productDto));
 		
 		// When
 		List<ProductDto> result = productService.findAll();
@@ -79,14 +92,49 @@ class ProductServiceImplTest {
 		// Then
 		assertNotNull(result);
 		assertEquals(1, result.size());
-		verify(productRepository, times(1)).findAll();
+		verify(productRepository, times(1)).findAllDtos();
+	}
+	
+	@Test
+	@DisplayName("Should find products by ids in a single repository call")
+	void testFindAllByIds() {
+		// Given
+		when(productRepository.findAllById(List.of(1, 2))).thenReturn(Arrays.asList(product));
+		
+		// When
+		List<ProductDto> result = productService.findAllByIds(List.of(1, 2));
+		
+		// Then
+		assertEquals(1, result.size());
+		assertEquals(1, result.get(0).getProductId());
+		verify(productRepository, times(1)).findAllById(List.of(1, 2));
+	}
+	
+	@Test
+	@DisplayName("Should return next cursor only when the keyset page is full")
+	void testFindPage() {
+		// Given
+		when(productRepository.findByProductIdGreaterThanOrderByProductIdAsc(eq(0), any(Pageable.class)))
+			.thenReturn(Arrays.asList(product));
+		when(productRepository.findByProductIdGreaterThanOrderByProductIdAsc(eq(1), any(Pageable.class)))
+			.thenReturn(List.of());
+		
+		// When
+		DtoCursorPageResponse<ProductDto> first = productService.findPage(null, 1);
+		DtoCursorPageResponse<ProductDto> last = productService.findPage(first.getNextCursor(), 1);
+		
+		// Then
+		assertEquals(1, first.getCollection().size());
+		assertEquals("1", first.getNextCursor());
+		assertTrue(last.getCollection().isEmpty());
+		assertNull(last.getNextCursor());
 	}
 	
 	@Test
 	@DisplayName("Should find product by id successfully")
 	void testFindById() {
 		// Given
-		when(productRepository.findById(1)).thenReturn(Optional.of(product));
+		when(productRepository.findDtoById(1)).thenReturn(Optional.of(productDto));
 		
 		// When
 		ProductDto result = productService.findById(1);
@@ -95,14 +143,14 @@ class ProductServiceImplTest {
 		assertNotNull(result);
 		assertEquals(1, result.getProductId());
 		assertEquals("Test Product", result.getProductTitle());
-		verify(productRepository, times(1)).findById(1);
+		verify(productRepository, times(1)).findDtoById(1);
 	}
 	
 	@Test
 	@DisplayName("Should throw exception when product not found")
 	void testFindByIdNotFound() {
 		// Given
-		when(productRepository.findById(999)).thenReturn(Optional.empty());
+		when(productRepository.findDtoById(999)).thenReturn(Optional.empty());
 		
 		// When & Then
 		ProductNotFoundException exception = assertThrows(
@@ -111,7 +159,53 @@ class ProductServiceImplTest {
 		);
 		
 		assertTrue(exception.getMessage().contains("Product with id: 999 not found"));
-		verify(productRepository, times(1)).findById(999);
+		verify(productRepository, times(1)).findDtoById(999);
+	}
+	
+	@Test
+	@DisplayName("Should derive a strong ETag that changes with the product version")
+	void testFindETag() {
+		// Given
+		final Instant updatedAt = Instant.parse("2024-01-01T10:00:00Z");
+		when(productRepository.findStampById(1))
+			.thenReturn(Optional.of(new VersionStamp(1, 3L, updatedAt, null)))
+			.thenReturn(Optional.of(new VersionStamp(1, 4L, updatedAt, null)));
+		
+		// When
+		final String before = productService.findETag(1);
+		final String after = productService.findETag(1);
+		
+		// Then
+		assertTrue(before.startsWith("\"") && before.endsWith("\""));
+		assertEquals(new VersionStamp(1, 3L, updatedAt, null).getETag(), before);
+		assertNotEquals(before, after);
+		verify(productRepository, never()).findDtoById(anyInt());
+	}
+	
+	@Test
+	@DisplayName("Should derive from a product the same ETag as its stamp queries")
+	void testETagOfRepresentation() {
+		// Given
+		final Instant updatedAt = Instant.parse("2024-01-01T10:00:00Z");
+		final Instant categoryUpdatedAt = Instant.parse("2023-12-01T10:00:00Z");
+		final ProductDto read = new ProductDto(1, "Test Product", "http://image.url", "SKU123", 99.99, 10, 3L, updatedAt, 
+				2, "Electronics", null, categoryUpdatedAt);
+		
+		// When & Then
+		assertEquals(new VersionStamp(1, 3L, updatedAt, categoryUpdatedAt).getETag(), VersionStamp.of(read).getETag());
+		assertEquals(new VersionStamp(1L, 3L, updatedAt, categoryUpdatedAt).getETag(), 
+				VersionStamp.ofProducts(List.of(read)).getETag());
+		assertEquals(new VersionStamp(0L, null, null, null).getETag(), VersionStamp.ofProducts(List.of()).getETag());
+	}
+	
+	@Test
+	@DisplayName("Should reject the ETag of a missing product")
+	void testFindETagNotFound() {
+		// Given
+		when(productRepository.findStampById(999)).thenReturn(Optional.empty());
+		
+		// When & Then
+		assertThrows(ProductNotFoundException.class, () -> productService.findETag(999));
 	}
 	
 	@Test
@@ -127,6 +221,7 @@ class ProductServiceImplTest {
 		assertNotNull(result);
 		assertEquals("Test Product", result.getProductTitle());
 		verify(productRepository, times(1)).save(any(Product.class));
+		verify(productSearchIndex, times(1)).put(result);
 	}
 	
 	@Test
@@ -147,14 +242,59 @@ class ProductServiceImplTest {
 	@DisplayName("Should delete product by id successfully")
 	void testDeleteById() {
 		// Given
-		when(productRepository.findById(1)).thenReturn(Optional.of(product));
+		when(productRepository.findDtoById(1)).thenReturn(Optional.of(productDto));
 		doNothing().when(productRepository).delete(any(Product.class));
 		
 		// When
 		productService.deleteById(1);
 		
 		// Then
-		verify(productRepository, times(1)).findById(1);
+		verify(productRepository, times(1)).findDtoById(1);
 		verify(productRepository, times(1)).delete(product);
+		verify(productSearchIndex, times(1)).remove(1);
+	}
+	
+	@Test
+	@DisplayName("Should patch product with a single update")
+	void testPatch() {
+		// Given
+		ProductDto patch = ProductDto.builder().quantity(5).version(2L).build();
+		productDto.setQuantity(5);
+		productDto.setVersion(3L);
+		when(productRepository.patch(1, 2L, null, null, null, null, 5)).thenReturn(1);
+		when(productRepository.findDtoById(1)).thenReturn(Optional.of(productDto));
+		
+		// When
+		ProductDto result = productService.patch(1, patch);
+		
+		// Then
+		assertEquals(5, result.getQuantity());
+		assertEquals(3L, result.getVersion());
+		verify(productRepository, never()).save(any(Product.class));
+	}
+	
+	@Test
+	@DisplayName("Should reject patch when product version changed")
+	void testPatchVersionConflict() {
+		// Given
+		ProductDto patch = ProductDto.builder().priceUnit(10.0).version(1L).build();
+		productDto.setVersion(2L);
+		when(productRepository.patch(1, 1L, null, null, null, 10.0, null)).thenReturn(0);
+		when(productRepository.findDtoById(1)).thenReturn(Optional.of(productDto));
+		
+		// When & Then
+		assertThrows(OptimisticLockingFailureException.class, () -> productService.patch(1, patch));
+	}
+	
+	@Test
+	@DisplayName("Should throw exception when patched product not found")
+	void testPatchNotFound() {
+		// Given
+		ProductDto patch = ProductDto.builder().quantity(5).build();
+		when(productRepository.patch(999, null, null, null, null, null, 5)).thenReturn(0);
+		when(productRepository.findDtoById(999)).thenReturn(Optional.empty());
+		
+		// When & Then
+		assertThrows(ProductNotFoundException.class, () -> productService.patch(999, patch));
 	}
 }
@@ -0,0 +1,198 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.config.stock.StockProperties;
+import com.selimhorri.app.domain.ReservationStatus;
+import com.selimhorri.app.domain.StockReservation;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.exception.wrapper.ReservationStateException;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.StockReservationRepository;
+import com.selimhorri.app.service.stock.StockLedger;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockReservationService Tests")
+class StockReservationServiceImplTest {
+	
+	@Mock
+	private StockReservationRepository stockReservationRepository;
+	
+	@Mock
+	private ProductRepository productRepository;
+	
+	@Mock
+	private StockLedger stockLedger;
+	
+	@Spy
+	private StockProperties stockProperties = new StockProperties();
+	
+	@Spy
+	private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+	
+	@InjectMocks
+	private StockReservationServiceImpl stockReservationService;
+	
+	private StockReservation pending;
+	
+	@BeforeEach
+	void setUp() {
+		pending = StockReservation.builder()
+				.reservationId(7)
+				.productId(1)
+				.quantity(2)
+				.status(ReservationStatus.PENDING)
+				.expiresAt(Instant.now().plusSeconds(60))
+				.build();
+	}
+	
+	@Test
+	@DisplayName("Should reserve stock and save a pending reservation")
+	void testReserve() {
+		// Given
+		when(stockLedger.take(1, 2)).thenReturn(true);
+		when(stockReservationRepository.save(any(StockReservation.class))).thenReturn(pending);
+		
+		// When
+		StockReservationDto result = stockReservationService.reserve(
+				StockReservationDto.builder().productId(1).quantity(2).build());
+		
+		// Then
+		assertEquals(ReservationStatus.PENDING, result.getStatus());
+		verify(stockReservationRepository).save(argThat(r -> r.getStatus() == ReservationStatus.PENDING 
+				&& r.getExpiresAt().isAfter(Instant.now())));
+	}
+	
+	@Test
+	@DisplayName("Should reject a reservation when stock is short")
+	void testReserveInsufficientStock() {
+		// Given
+		when(stockLedger.take(1, 2)).thenReturn(false);
+		when(productRepository.existsById(1)).thenReturn(true);
+		StockReservationDto request = StockReservationDto.builder().productId(1).quantity(2).build();
+		
+		// When & Then
+		assertThrows(InsufficientStockException.class, () -> stockReservationService.reserve(request));
+		verify(stockReservationRepository, never()).save(any(StockReservation.class));
+	}
+	
+	@Test
+	@DisplayName("Should reject a reservation of an unknown product")
+	void testReserveProductNotFound() {
+		// Given
+		when(stockLedger.take(999, 1)).thenReturn(false);
+		when(productRepository.existsById(999)).thenReturn(false);
+		StockReservationDto request = StockReservationDto.builder().productId(999).quantity(1).build();
+		
+		// When & Then
+		assertThrows(ProductNotFoundException.class, () -> stockReservationService.reserve(request));
+	}
+	
+	@Test
+	@DisplayName("Should hand the units of a hot product back when the reservation cannot be saved")
+	void testReserveHotProductSaveFails() {
+		// Given
+		when(stockLedger.isHot(1)).thenReturn(true);
+		when(stockLedger.take(1, 2)).thenReturn(true);
+		when(stockReservationRepository.save(any(StockReservation.class))).thenThrow(new IllegalStateException("Connection lost"));
+		StockReservationDto request = StockReservationDto.builder().productId(1).quantity(2).build();
+		
+		// When & Then
+		assertThrows(IllegalStateException.class, () -> stockReservationService.reserve(request));
+		verify(stockLedger).giveBack(1, 2);
+	}
+	
+	@Test
+	@DisplayName("Should reject a reservation without a positive quantity")
+	void testReserveInvalidQuantity() {
+		// Given
+		StockReservationDto request = StockReservationDto.builder().productId(1).quantity(0).build();
+		
+		// When & Then
+		assertThrows(IllegalArgumentException.class, () -> stockReservationService.reserve(request));
+		verifyNoInteractions(stockLedger);
+	}
+	
+	@Test
+	@DisplayName("Should not confirm an expired reservation")
+	void testConfirmExpired() {
+		// Given
+		when(stockReservationRepository.confirm(eq(7), any(Instant.class))).thenReturn(0);
+		when(stockReservationRepository.findById(7)).thenReturn(Optional.of(pending));
+		
+		// When & Then
+		ReservationStateException e = assertThrows(ReservationStateException.class, 
+				() -> stockReservationService.confirm(7));
+		assertTrue(e.getMessage().contains("expired"));
+	}
+	
+	@Test
+	@DisplayName("Should give the units back when a reservation is released")
+	void testRelease() {
+		// Given
+		when(stockReservationRepository.findById(7)).thenReturn(Optional.of(pending));
+		when(stockReservationRepository.closePending(7, ReservationStatus.RELEASED)).thenReturn(1);
+		
+		// When
+		StockReservationDto result = stockReservationService.release(7);
+		
+		// Then
+		assertEquals(ReservationStatus.RELEASED, result.getStatus());
+		verify(stockLedger).giveBack(1, 2);
+	}
+	
+	@Test
+	@DisplayName("Should not give the units back twice")
+	void testReleaseTwice() {
+		// Given
+		when(stockReservationRepository.findById(7)).thenReturn(Optional.of(pending));
+		when(stockReservationRepository.closePending(7, ReservationStatus.RELEASED)).thenReturn(0);
+		
+		// When & Then
+		assertThrows(ReservationStateException.class, () -> stockReservationService.release(7));
+		verify(stockLedger, never()).giveBack(anyInt(), anyInt());
+	}
+	
+	@Test
+	@DisplayName("Should expire overdue reservations with one give back per product")
+	void testExpireOverdue() {
+		// Given
+		StockReservation other = StockReservation.builder().reservationId(8).productId(1).quantity(3).build();
+		StockReservation taken = StockReservation.builder().reservationId(9).productId(2).quantity(1).build();
+		when(stockReservationRepository.findByStatusAndExpiresAtBefore(eq(ReservationStatus.PENDING), 
+				any(Instant.class), any(Pageable.class))).thenReturn(List.of(pending, other, taken));
+		when(stockReservationRepository.closePending(anyInt(), eq(ReservationStatus.EXPIRED)))
+				.thenAnswer(invocation -> invocation.getArgument(0).equals(9) ? 0 : 1);
+		
+		// When
+		int expired = stockReservationService.expireOverdue();
+		
+		// Then
+		assertEquals(2, expired);
+		verify(stockLedger).giveBack(1, 5);
+		verify(stockLedger, never()).giveBack(eq(2), anyInt());
+	}
+	
+	
+	
+}
@@ -0,0 +1,190 @@
+package com.selimhorri.app.service.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+@DisplayName("ProductSearchIndex Tests")
+class ProductSearchIndexTest {
+	
+	private ProductSearchIndex index;
+	
+	@BeforeEach
+	void setUp() {
+		index = new ProductSearchIndex();
+		index.rebuild(List.of(
+				product(1, "Samsung Galaxy Phone", "SAM-GAL-01", 699.0, 1, "Smartphones"),
+				product(2, "Apple iPhone", "APL-IPH-13", 999.0, 1, "Smartphones"),
+				product(3, "Phone Charger", "CHG-USB-C", 19.0, 2, "Accessories"),
+				product(4, "Galaxy Watch", "SAM-WAT-04", 249.0, 3, "Wearables")));
+	}
+	
+	@Test
+	@DisplayName("Should require every token and rank title matches above category matches")
+	void testRanking() {
+		// When
+		List<Integer> phones = ids(index.search("phone", null, null, null, 10));
+		List<Integer> galaxyPhones = ids(index.search("galaxy phone", null, null, null, 10));
+		
+		// Then
+		assertEquals(List.of(1, 3), phones.subList(0, 2));
+		assertTrue(phones.contains(2), "iphone is one typo away from phone");
+		assertEquals(List.of(1), galaxyPhones);
+	}
+	
+	@Test
+	@DisplayName("Should match prefixes and single typos")
+	void testPrefixAndTypo() {
+		// When & Then
+		assertEquals(List.of(1, 4), ids(index.search("gal", null, null, null, 10)));
+		assertEquals(List.of(1, 4), ids(index.search("galaxt", null, null, null, 10)));
+		assertEquals(List.of(1, 4), ids(index.search("glaaxy", null, null, null, 10)));
+		assertEquals(List.of(3), ids(index.search("chrager", null, null, null, 10)));
+		assertEquals(List.of(), ids(index.search("toaster", null, null, null, 10)));
+	}
+	
+	@Test
+	@DisplayName("Should match skus whole and by parts")
+	void testSku() {
+		// When & Then
+		assertEquals(List.of(2), ids(index.search("APL-IPH-13", null, null, null, 10)));
+		assertEquals(List.of(1, 4), ids(index.search("sam", null, null, null, 10)));
+	}
+	
+	@Test
+	@DisplayName("Should filter by category and price range and cut to the limit")
+	void testFilters() {
+		// When & Then
+		assertEquals(List.of(1), ids(index.search("galaxy", 1, null, null, 10)));
+		assertEquals(List.of(4), ids(index.search("galaxy", null, null, 500.0, 10)));
+		assertEquals(List.of(2), ids(index.search(null, null, 900.0, null, 10)));
+		assertEquals(1, index.search(null, null, null, null, 1).size());
+	}
+	
+	@Test
+	@DisplayName("Should serve filter only queries in id order off the category and price postings")
+	void testFilterOnly() {
+		// When & Then
+		assertEquals(List.of(1, 2), ids(index.search(null, 1, null, null, 10)));
+		assertEquals(List.of(1), ids(index.search(" ", 1, null, null, 1)));
+		assertEquals(List.of(1, 2), ids(index.search(null, 1, 500.0, null, 10)));
+		assertEquals(List.of(3, 4), ids(index.search(null, null, null, 300.0, 10)));
+		assertEquals(List.of(1, 4), ids(index.search(null, null, 200.0, 700.0, 10)));
+		assertEquals(List.of(), ids(index.search(null, null, 700.0, 200.0, 10)));
+		assertEquals(List.of(), ids(index.search(null, 42, null, null, 10)));
+	}
+	
+	@Test
+	@DisplayName("Should move a product between category and price postings on update")
+	void testFilterPostingsFollowUpdates() {
+		// When
+		index.put(product(3, "Phone Charger", "CHG-USB-C", 29.0, 1, "Smartphones"));
+		index.remove(2);
+		
+		// Then
+		assertEquals(List.of(1, 3), ids(index.search(null, 1, null, null, 10)));
+		assertEquals(List.of(), ids(index.search(null, 2, null, null, 10)));
+		assertEquals(List.of(3), ids(index.search(null, null, 29.0, 29.0, 10)));
+		assertEquals(List.of(), ids(index.search(null, null, 19.0, 19.0, 10)));
+		assertEquals(List.of(1, 3, 4), ids(index.search(null, null, null, null, 10)));
+	}
+	
+	@Test
+	@DisplayName("Should keep earlier results intact while the postings grow in place")
+	void testPostingsGrowth() {
+		// Given
+		List<ProductDto> before = index.search("galaxy", null, null, null, 10);
+		
+		// When
+		for (int productId = 5; productId < 105; productId++) {
+			index.put(product(productId, "Galaxy Case " + productId, "CASE-" + productId, 9.0, 2, "Accessories"));
+		}
+		index.put(product(0, "Galaxy Strap", "STRAP-00", 9.0, 2, "Accessories"));
+		
+		// Then
+		assertEquals(List.of(1, 4), ids(before));
+		assertEquals(103, index.search("galaxy", null, null, null, 200).size());
+		assertEquals(List.of(0, 3, 5), ids(index.search(null, 2, null, null, 3)));
+	}
+	
+	@Test
+	@DisplayName("Should follow puts and removes")
+	void testIncrementalUpdates() {
+		// When
+		index.put(product(5, "Galaxy Tab", "SAM-TAB-05", 399.0, 4, "Tablets"));
+		index.put(product(4, "Fitness Band", "SAM-WAT-04", 99.0, 3, null));
+		index.remove(1);
+		
+		// Then
+		assertEquals(List.of(5), ids(index.search("galaxy", null, null, null, 10)));
+		assertEquals(List.of(4), ids(index.search("wearables band", null, null, null, 10)));
+		assertEquals(List.of(), ids(index.search("samsung", null, null, null, 10)));
+		assertEquals(4, index.size());
+	}
+	
+	@Test
+	@DisplayName("Should keep serving the whole previous index while a rebuild runs")
+	void testSearchDuringRebuild() throws Exception {
+		// Given
+		final List<ProductDto> products = List.of(
+				product(1, "Samsung Galaxy Phone", "SAM-GAL-01", 699.0, 1, "Smartphones"),
+				product(4, "Galaxy Watch", "SAM-WAT-04", 249.0, 3, "Wearables"));
+		index.rebuild(products);
+		final Thread rebuilds = new Thread(() -> {
+			for (int i = 0; i < 2_000; i++) {
+				index.rebuild(products);
+			}
+		});
+		
+		// When
+		rebuilds.start();
+		while (rebuilds.isAlive()) {
+			// Then
+			assertEquals(List.of(1, 4), ids(index.search("galaxy", null, null, null, 10)));
+			assertEquals(List.of(1, 4), ids(index.search("", null, null, null, 10)));
+		}
+		rebuilds.join();
+	}
+	
+	@Test
+	@DisplayName("Should tell one edit apart from two")
+	void testOneEditAway() {
+		// When & Then
+		assertTrue(ProductSearchIndex.isOneEditAway("galaxy", "galaxt"));
+		assertTrue(ProductSearchIndex.isOneEditAway("galaxy", "glaaxy"));
+		assertTrue(ProductSearchIndex.isOneEditAway("galaxy", "galaxys"));
+		assertTrue(ProductSearchIndex.isOneEditAway("galaxy", "galax"));
+		assertFalse(ProductSearchIndex.isOneEditAway("galaxy", "gxlaay"));
+		assertFalse(ProductSearchIndex.isOneEditAway("galaxy", "gal"));
+	}
+	
+	private static List<Integer> ids(final List<ProductDto> productDtos) {
+		return productDtos.stream()
+				.map(ProductDto::getProductId)
+				.collect(Collectors.toList());
+	}
+	
+	private static ProductDto product(final int productId, final String title, final String sku, 
+			final double price, final int categoryId, final String categoryTitle) {
+		return ProductDto.builder()
+				.productId(productId)
+				.productTitle(title)
+				.sku(sku)
+				.priceUnit(price)
+				.quantity(10)
+				.categoryDto(CategoryDto.builder()
+						.categoryId(categoryId)
+						.categoryTitle(categoryTitle)
+						.build())
+				.build();
+	}
+	
+}
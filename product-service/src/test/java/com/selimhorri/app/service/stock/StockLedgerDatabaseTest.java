@@ -0,0 +1,175 @@
+package com.selimhorri.app.service.stock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.config.cache.CacheConfig;
+import com.selimhorri.app.config.stock.StockProperties;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.ProductRepository;
+
+/**
+ * Runs against the Flyway-migrated H2 database, every take on its own connection,
+ * so only the conditional updates on the row can keep concurrent takes from overselling.
+ */
+@DataJpaTest(properties = {
+		"app.stock.hot-products=" + StockLedgerDatabaseTest.HOT_PRODUCT,
+		"app.stock.lease-size=10",
+		"app.stock.stripes=4" })
+@Import({ StockLedger.class, CacheConfig.class })
+@EnableConfigurationProperties(StockProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("StockLedger database Tests")
+class StockLedgerDatabaseTest {
+	
+	static final int HOT_PRODUCT = 4;
+	private static final int PRODUCT = 3;
+	private static final int STOCK = 200;
+	private static final int THREADS = 8;
+	private static final int ATTEMPTS = 400;
+	
+	@Autowired
+	private StockLedger stockLedger;
+	
+	@Autowired
+	private ProductRepository productRepository;
+	
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	
+	private TransactionTemplate transactionTemplate;
+	private ExecutorService executor;
+	
+	@BeforeEach
+	void setUp() {
+		this.transactionTemplate = new TransactionTemplate(this.transactionManager);
+		this.stockLedger.flush();
+		this.setQuantity(PRODUCT, STOCK);
+		this.setQuantity(HOT_PRODUCT, STOCK);
+		this.executor = Executors.newFixedThreadPool(THREADS);
+	}
+	
+	@AfterEach
+	void tearDown() {
+		this.executor.shutdownNow();
+	}
+	
+	@Test
+	@DisplayName("Should never oversell a product taken concurrently in the callers' transactions")
+	void testRowNoOversell() throws Exception {
+		// When
+		final int sold = this.takeConcurrently(() -> 
+				this.transactionTemplate.execute(status -> this.stockLedger.take(PRODUCT, 1)));
+		
+		// Then
+		assertEquals(STOCK, sold);
+		assertEquals(0, this.product(PRODUCT).getQuantity());
+	}
+	
+	@Test
+	@DisplayName("Should never oversell a hot product leased concurrently off its row")
+	void testHotProductNoOversell() throws Exception {
+		// When
+		final int sold = this.takeConcurrently(() -> this.stockLedger.take(HOT_PRODUCT, 1));
+		this.stockLedger.flush();
+		
+		// Then
+		assertEquals(STOCK, sold);
+		assertEquals(0, this.product(HOT_PRODUCT).getQuantity());
+	}
+	
+	@Test
+	@DisplayName("Should keep a quantity patched over a lease when flushing")
+	void testFlushKeepsPatchedQuantity() {
+		// Given
+		assertTrue(this.stockLedger.take(HOT_PRODUCT, 1));
+		assertEquals(STOCK - 10, this.product(HOT_PRODUCT).getQuantity());
+		this.setQuantity(HOT_PRODUCT, 30);
+		
+		// When
+		this.stockLedger.flush();
+		
+		// Then
+		assertEquals(30, this.product(HOT_PRODUCT).getQuantity());
+		assertEquals(0, this.product(HOT_PRODUCT).getLeasedQuantity());
+		assertTrue(this.stockLedger.take(HOT_PRODUCT, 1));
+		assertEquals(20, this.product(HOT_PRODUCT).getQuantity());
+	}
+	
+	@Test
+	@DisplayName("Should keep the leases of a hot product across a full save of its row")
+	void testFullSaveKeepsLeases() {
+		// Given
+		assertTrue(this.stockLedger.take(HOT_PRODUCT, 1));
+		final ProductDto productDto = ProductMappingHelper.map(this.product(HOT_PRODUCT));
+		productDto.setProductTitle("Renamed");
+		
+		// When
+		this.transactionTemplate.executeWithoutResult(status -> 
+				this.productRepository.save(ProductMappingHelper.map(productDto)));
+		this.stockLedger.flush();
+		
+		// Then
+		assertEquals("Renamed", this.product(HOT_PRODUCT).getProductTitle());
+		assertEquals(STOCK - 1, this.product(HOT_PRODUCT).getQuantity());
+	}
+	
+	/**
+	 * Fires the attempts from all threads at once, one unit each, and returns the units sold
+	 */
+	private int takeConcurrently(final BooleanSupplier take) throws Exception {
+		final AtomicInteger sold = new AtomicInteger();
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			futures.add(this.executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < ATTEMPTS / THREADS; i++) {
+					if (take.getAsBoolean()) {
+						sold.incrementAndGet();
+					}
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (final Future<?> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+		return sold.get();
+	}
+	
+	private void setQuantity(final int productId, final int quantity) {
+		this.transactionTemplate.executeWithoutResult(status -> 
+				this.productRepository.patch(productId, null, null, null, null, null, quantity));
+	}
+	
+	private Product product(final int productId) {
+		return this.productRepository.findById(productId).orElseThrow();
+	}
+	
+}
@@ -0,0 +1,193 @@
+package com.selimhorri.app.service.stock;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.selimhorri.app.config.stock.StockProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.repository.ProductRepository;
+
+/**
+ * The counters against a stub of the repository, {@link StockLedgerDatabaseTest} runs the conditional updates themselves
+ */
+@DisplayName("StockLedger Tests")
+class StockLedgerTest {
+	
+	private static final int HOT_PRODUCT = 1;
+	private static final int PRODUCT = 2;
+	private static final int STOCK = 5_000;
+	private static final int THREADS = 32;
+	private static final int ATTEMPTS = 20_000;
+	
+	private final AtomicInteger hotRow = new AtomicInteger(STOCK);
+	private final AtomicInteger row = new AtomicInteger(STOCK);
+	private final AtomicInteger rowUpdates = new AtomicInteger();
+	private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+			AppConstant.CacheName.PRODUCTS, AppConstant.CacheName.PRODUCT_LIST);
+	private ExecutorService executor;
+	private StockLedger stockLedger;
+	
+	@BeforeEach
+	void setUp() {
+		// Given a repository with the semantics of the conditional updates on two rows
+		final ProductRepository productRepository = mock(ProductRepository.class);
+		final Answer<Integer> takeStock = invocation -> {
+			this.rowUpdates.incrementAndGet();
+			final AtomicInteger stock = this.row(invocation.getArgument(0));
+			final int quantity = invocation.getArgument(1);
+			return stock.getAndUpdate(v -> v >= quantity ? v - quantity : v) >= quantity ? 1 : 0;
+		};
+		final Answer<Integer> returnStock = invocation -> {
+			this.rowUpdates.incrementAndGet();
+			this.row(invocation.getArgument(0)).addAndGet(invocation.getArgument(1));
+			return 1;
+		};
+		when(productRepository.takeStock(anyInt(), anyInt())).thenAnswer(takeStock);
+		when(productRepository.leaseStock(anyInt(), anyInt())).thenAnswer(takeStock);
+		when(productRepository.returnStock(anyInt(), anyInt())).thenAnswer(returnStock);
+		when(productRepository.returnLease(anyInt(), anyInt())).thenAnswer(returnStock);
+		
+		final StockProperties stockProperties = new StockProperties();
+		stockProperties.setHotProducts(Set.of(HOT_PRODUCT));
+		stockProperties.setLeaseSize(100);
+		stockProperties.setStripes(8);
+		this.cacheManager.getCache(AppConstant.CacheName.PRODUCTS).put(HOT_PRODUCT, "cached");
+		this.cacheManager.getCache(AppConstant.CacheName.PRODUCT_LIST).put("all", "cached");
+		this.stockLedger = new StockLedger(productRepository, mock(PlatformTransactionManager.class), 
+				stockProperties, this.cacheManager);
+		this.executor = Executors.newFixedThreadPool(THREADS);
+	}
+	
+	@AfterEach
+	void tearDown() {
+		this.executor.shutdownNow();
+	}
+	
+	@Test
+	@DisplayName("Should never oversell a hot product under concurrent reservations")
+	void testHotProductNoOversell() throws Exception {
+		// When
+		this.reserveConcurrently(HOT_PRODUCT);
+		
+		// Then
+		assertEquals(0, this.hotRow.get());
+		this.stockLedger.flush();
+		assertEquals(0, this.hotRow.get());
+		assertTrue(this.rowUpdates.get() < STOCK / 10, "row updates: " + this.rowUpdates.get());
+	}
+	
+	@Test
+	@DisplayName("Should never oversell a product reserved on its row")
+	void testRowNoOversell() throws Exception {
+		// When
+		this.reserveConcurrently(PRODUCT);
+		
+		// Then
+		assertEquals(0, this.row.get());
+	}
+	
+	@Test
+	@DisplayName("Should return released and leased units of a hot product to its row on flush")
+	void testFlush() {
+		// Given
+		assertTrue(this.stockLedger.take(HOT_PRODUCT, 3));
+		assertEquals(STOCK - 100, this.hotRow.get());
+		
+		// When
+		this.stockLedger.giveBack(HOT_PRODUCT, 3);
+		this.stockLedger.flush();
+		
+		// Then
+		assertEquals(STOCK, this.hotRow.get());
+		assertNull(this.cacheManager.getCache(AppConstant.CacheName.PRODUCTS).get(HOT_PRODUCT));
+		assertNull(this.cacheManager.getCache(AppConstant.CacheName.PRODUCT_LIST).get("all"));
+	}
+	
+	@Test
+	@DisplayName("Should pool units left over in stripes before reporting a hot product short")
+	void testPoolsStripes() {
+		// Given
+		this.hotRow.set(10);
+		for (int i = 0; i < 10; i++) {
+			assertTrue(this.stockLedger.take(HOT_PRODUCT, 1));
+			this.stockLedger.giveBack(HOT_PRODUCT, 1);
+		}
+		
+		// When & Then
+		assertTrue(this.stockLedger.take(HOT_PRODUCT, 10));
+		assertFalse(this.stockLedger.take(HOT_PRODUCT, 1));
+	}
+	
+	@Test
+	@DisplayName("Should stop at the counter of a sold-out hot product until the next flush")
+	void testSoldOutUntilFlush() {
+		// Given
+		this.hotRow.set(0);
+		assertFalse(this.stockLedger.take(HOT_PRODUCT, 1));
+		final int updates = this.rowUpdates.get();
+		
+		// When
+		final boolean soldOut = this.stockLedger.take(HOT_PRODUCT, 1);
+		this.hotRow.set(5);
+		final boolean beforeFlush = this.stockLedger.take(HOT_PRODUCT, 1);
+		this.stockLedger.flush();
+		
+		// Then
+		assertFalse(soldOut);
+		assertFalse(beforeFlush);
+		assertEquals(updates, this.rowUpdates.get());
+		assertTrue(this.stockLedger.take(HOT_PRODUCT, 1));
+	}
+	
+	/**
+	 * Fires the attempts from all threads at once, one unit each, and asserts exactly the stock was sold
+	 */
+	private void reserveConcurrently(final int productId) throws Exception {
+		final AtomicInteger sold = new AtomicInteger();
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			futures.add(this.executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < ATTEMPTS / THREADS; i++) {
+					if (this.stockLedger.take(productId, 1)) {
+						sold.incrementAndGet();
+					}
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (final Future<?> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+		
+		assertEquals(STOCK, sold.get());
+	}
+	
+	private AtomicInteger row(final int productId) {
+		return productId == HOT_PRODUCT ? this.hotRow : this.row;
+	}
+	
+	
+	
+}
@@ -14,6 +14,7 @@ import com.selimhorri.app.business.favourite.model.FavouriteDto;
 import com.selimhorri.app.business.favourite.model.FavouriteId;
 import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
 import com.selimhorri.app.business.favourite.service.FavouriteClientService;
+import com.selimhorri.app.business.favourite.service.ResilientFavouriteService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,10 +24,11 @@ import lombok.RequiredArgsConstructor;
 public class FavouriteController {
 	
 	private final FavouriteClientService favouriteClientService;
+	private final ResilientFavouriteService resilientFavouriteService;
 	
 	@GetMapping
 	public ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.favouriteClientService.findAll().getBody());
+		return this.resilientFavouriteService.findAll();
 	}
 	
 	@GetMapping("/{userId}/{productId}/{likeDate}")
@@ -34,12 +36,12 @@ public class FavouriteController {
 			@PathVariable("userId") final String userId, 
 			@PathVariable("productId") final String productId, 
 			@PathVariable("likeDate") final String likeDate) {
-		return ResponseEntity.ok(this.favouriteClientService.findById(userId, productId, likeDate).getBody());
+		return this.resilientFavouriteService.findById(userId, productId, likeDate);
 	}
 	
 	@GetMapping("/find")
 	public ResponseEntity<FavouriteDto> findById(@RequestBody final FavouriteId favouriteId) {
-		return ResponseEntity.ok(this.favouriteClientService.findById(favouriteId).getBody());
+		return this.resilientFavouriteService.findById(favouriteId);
 	}
 	
 	@PostMapping
@@ -1,5 +1,6 @@
 package com.selimhorri.app.business.favourite.service;
 
+import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 
 import org.springframework.http.HttpStatus;
@@ -9,7 +10,11 @@ import org.springframework.stereotype.Component;
 import com.selimhorri.app.business.favourite.model.FavouriteDto;
 import com.selimhorri.app.business.favourite.model.FavouriteId;
 import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.fallback.DownstreamErrors;
+import com.selimhorri.app.fallback.LastKnownGoodStore;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -20,41 +25,62 @@ import lombok.extern.slf4j.Slf4j;
  * during service disruptions.
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class FavouriteServiceFallback {
 	
+	static final String FIND_ALL_KEY = "favourite-service:findAll";
+	
+	private final LastKnownGoodStore lastKnownGoodStore;
+	
+	static String findByIdKey(final String userId, final String productId, final String likeDate) {
+		return String.join(":", "favourite-service:findById", userId, productId, likeDate);
+	}
+	
+	static String findByIdKey(final FavouriteId favouriteId) {
+		return findByIdKey(String.valueOf(favouriteId.getUserId()), String.valueOf(favouriteId.getProductId()), 
+				favouriteId.getLikeDate() == null ? null : favouriteId.getLikeDate()
+						.format(DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT)));
+	}
+	
 	/**
 	 * Fallback for findAll operation.
-	 * Returns empty collection when favourite service is unavailable.
+	 * Serves the last known good favourites, or an empty collection when there are none.
 	 */
 	public ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAllFallback(Throwable throwable) {
+		DownstreamErrors.rethrowClientError(throwable);
 		log.warn("Favourite Service findAll fallback triggered. Reason: {}", throwable.getMessage());
-		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-				.body(FavouriteFavouriteServiceCollectionDtoResponse.builder()
-						.collection(Collections.emptyList())
-						.build());
+		return this.lastKnownGoodStore.serve(FIND_ALL_KEY, FavouriteFavouriteServiceCollectionDtoResponse.class)
+				.orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+						.body(FavouriteFavouriteServiceCollectionDtoResponse.builder()
+								.collection(Collections.emptyList())
+								.build()));
 	}
 	
 	/**
 	 * Fallback for findById operation (with path variables).
-	 * Returns null response when favourite service is unavailable.
+	 * Serves the last known good favourite, or a null response when there is none.
 	 */
 	public ResponseEntity<FavouriteDto> findByIdFallback(String userId, String productId, String likeDate, Throwable throwable) {
+		DownstreamErrors.rethrowClientError(throwable);
 		log.warn("Favourite Service findById fallback triggered for userId: {}, productId: {}, likeDate: {}. Reason: {}", 
 				userId, productId, likeDate, throwable.getMessage());
-		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-				.body(null);
+		return this.lastKnownGoodStore.serve(findByIdKey(userId, productId, likeDate), FavouriteDto.class)
+				.orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+						.body(null));
 	}
 	
 	/**
 	 * Fallback for findById operation (with FavouriteId).
-	 * Returns null response when favourite service is unavailable.
+	 * Serves the last known good favourite, or a null response when there is none.
 	 */
 	public ResponseEntity<FavouriteDto> findByIdObjectFallback(FavouriteId favouriteId, Throwable throwable) {
+		DownstreamErrors.rethrowClientError(throwable);
 		log.warn("Favourite Service findById fallback triggered for favouriteId: {}. Reason: {}", 
 				favouriteId, throwable.getMessage());
-		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-				.body(null);
+		return this.lastKnownGoodStore.serve(findByIdKey(favouriteId), FavouriteDto.class)
+				.orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+						.body(null));
 	}
 	
 	/**
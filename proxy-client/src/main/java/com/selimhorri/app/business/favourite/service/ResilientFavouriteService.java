@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 import com.selimhorri.app.business.favourite.model.FavouriteDto;
 import com.selimhorri.app.business.favourite.model.FavouriteId;
 import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
+import com.selimhorri.app.fallback.LastKnownGoodStore;
 
 import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
@@ -33,6 +34,7 @@ public class ResilientFavouriteService {
 	
 	private final FavouriteClientService favouriteClientService;
 	private final FavouriteServiceFallback favouriteServiceFallback;
+	private final LastKnownGoodStore lastKnownGoodStore;
 	
 	/**
 	 * Find all favourites with resilience patterns.
@@ -44,21 +46,22 @@ public class ResilientFavouriteService {
 	@Bulkhead(name = "favouriteService")
 	public ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAll() {
 		log.debug("Calling Favourite Service - findAll");
-		return favouriteClientService.findAll();
+		return lastKnownGoodStore.record(FavouriteServiceFallback.FIND_ALL_KEY, 
+				favouriteClientService.findAll());
 	}
 	
 	/**
 	 * Find favourite by composite ID (userId, productId, likeDate) with resilience patterns.
-	 * Times out after 3 seconds to prevent hanging calls.
+	 * Bounded by the Feign read timeout, @TimeLimiter only applies to asynchronous calls.
 	 */
 	@CircuitBreaker(name = "favouriteService", fallbackMethod = "findByIdFallback")
 	@Retry(name = "favouriteService")
-	@TimeLimiter(name = "favouriteService")
 	@Bulkhead(name = "favouriteService")
 	public ResponseEntity<FavouriteDto> findById(String userId, String productId, String likeDate) {
 		log.debug("Calling Favourite Service - findById: userId={}, productId={}, likeDate={}", 
 				userId, productId, likeDate);
-		return favouriteClientService.findById(userId, productId, likeDate);
+		return lastKnownGoodStore.record(FavouriteServiceFallback.findByIdKey(userId, productId, likeDate), 
+				favouriteClientService.findById(userId, productId, likeDate));
 	}
 	
 	/**
@@ -66,11 +69,11 @@ public class ResilientFavouriteService {
 	 */
 	@CircuitBreaker(name = "favouriteService", fallbackMethod = "findByIdObjectFallback")
 	@Retry(name = "favouriteService")
-	@TimeLimiter(name = "favouriteService")
 	@Bulkhead(name = "favouriteService")
 	public ResponseEntity<FavouriteDto> findById(FavouriteId favouriteId) {
 		log.debug("Calling Favourite Service - findById: {}", favouriteId);
-		return favouriteClientService.findById(favouriteId);
+		return lastKnownGoodStore.record(FavouriteServiceFallback.findByIdKey(favouriteId), 
+				favouriteClientService.findById(favouriteId));
 	}
 	
 	/**
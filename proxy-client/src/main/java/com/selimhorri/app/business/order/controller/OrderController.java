@@ -17,8 +17,10 @@ import org.springframework.web.bind.annotation.RestController;
 import com.selimhorri.app.business.order.model.OrderDto;
 import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
 import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.order.service.ReactiveOrderClientService;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -26,18 +28,21 @@ import lombok.RequiredArgsConstructor;
 public class OrderController {
 	
 	private final OrderClientService orderClientService;
+	private final ReactiveOrderClientService reactiveOrderClientService;
 	
 	@GetMapping
-	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.orderClientService.findAll().getBody());
+	public Mono<ResponseEntity<OrderOrderServiceDtoCollectionResponse>> findAll() {
+		return this.reactiveOrderClientService.findAll()
+				.map(ResponseEntity::ok);
 	}
 	
 	@GetMapping("/{orderId}")
-	public ResponseEntity<OrderDto> findById(
+	public Mono<ResponseEntity<OrderDto>> findById(
 			@PathVariable("orderId") 
 			@NotBlank(message = "Input must not be blank!") 
 			@Valid final String orderId) {
-		return ResponseEntity.ok(this.orderClientService.findById(orderId).getBody());
+		return this.reactiveOrderClientService.findById(orderId)
+				.map(ResponseEntity::ok);
 	}
 	
 	@PostMapping
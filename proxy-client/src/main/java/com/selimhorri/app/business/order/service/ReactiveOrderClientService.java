@@ -0,0 +1,53 @@
+package com.selimhorri.app.business.order.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.config.resilience.ReactiveResilience;
+import com.selimhorri.app.config.template.IdentityForwardingInterceptor;
+import com.selimhorri.app.constant.AppConstant;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of orders, no request thread is held while the downstream answers.
+ * Writes keep going through {@link OrderClientService}.
+ */
+@Service
+@Slf4j
+public class ReactiveOrderClientService {
+	
+	private static final String INSTANCE = "orderService";
+	
+	private final WebClient webClient;
+	private final ReactiveResilience reactiveResilience;
+	
+	public ReactiveOrderClientService(final WebClient.Builder webClientBuilder, 
+			final ReactiveResilience reactiveResilience) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL)
+				.build();
+		this.reactiveResilience = reactiveResilience;
+	}
+	
+	public Mono<OrderOrderServiceDtoCollectionResponse> findAll() {
+		log.debug("Calling Order Service - findAll");
+		return this.reactiveResilience.decorate(INSTANCE, this.webClient.get()
+				.headers(IdentityForwardingInterceptor::forwardIdentity)
+				.retrieve()
+				.bodyToMono(OrderOrderServiceDtoCollectionResponse.class));
+	}
+	
+	public Mono<OrderDto> findById(final String orderId) {
+		log.debug("Calling Order Service - findById: {}", orderId);
+		return this.reactiveResilience.decorate(INSTANCE, this.webClient.get()
+				.uri("/{orderId}", orderId)
+				.headers(IdentityForwardingInterceptor::forwardIdentity)
+				.retrieve()
+				.bodyToMono(OrderDto.class));
+	}
+	
+}
@@ -13,8 +13,10 @@ import org.springframework.web.bind.annotation.RestController;
 import com.selimhorri.app.business.product.model.CategoryDto;
 import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
 import com.selimhorri.app.business.product.service.CategoryClientService;
+import com.selimhorri.app.business.product.service.ReactiveCategoryClientService;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -22,15 +24,16 @@ import lombok.RequiredArgsConstructor;
 public class CategoryController {
 	
 	private final CategoryClientService categoryClientService;
+	private final ReactiveCategoryClientService reactiveCategoryClientService;
 	
 	@GetMapping
-	public ResponseEntity<CategoryProductServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.categoryClientService.findAll().getBody());
+	public Mono<ResponseEntity<CategoryProductServiceCollectionDtoResponse>> findAll() {
+		return this.reactiveCategoryClientService.findAll();
 	}
 	
 	@GetMapping("/{categoryId}")
-	public ResponseEntity<CategoryDto> findById(@PathVariable("categoryId") final String categoryId) {
-		return ResponseEntity.ok(this.categoryClientService.findById(categoryId).getBody());
+	public Mono<ResponseEntity<CategoryDto>> findById(@PathVariable("categoryId") final String categoryId) {
+		return this.reactiveCategoryClientService.findById(categoryId);
 	}
 	
 	@PostMapping
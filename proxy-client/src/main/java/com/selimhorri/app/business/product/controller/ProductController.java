@@ -13,8 +13,10 @@ import org.springframework.web.bind.annotation.RestController;
 import com.selimhorri.app.business.product.model.ProductDto;
 import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
 import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.business.product.service.ReactiveProductClientService;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/api/products")
@@ -22,15 +24,16 @@ import lombok.RequiredArgsConstructor;
 public class ProductController {
 	
 	private final ProductClientService productClientService;
+	private final ReactiveProductClientService reactiveProductClientService;
 	
 	@GetMapping
-	public ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.productClientService.findAll().getBody());
+	public Mono<ResponseEntity<ProductProductServiceCollectionDtoResponse>> findAll() {
+		return this.reactiveProductClientService.findAll();
 	}
 	
 	@GetMapping("/{productId}")
-	public ResponseEntity<ProductDto> findById(@PathVariable("productId") final String productId) {
-		return ResponseEntity.ok(this.productClientService.findById(productId).getBody());
+	public Mono<ResponseEntity<ProductDto>> findById(@PathVariable("productId") final String productId) {
+		return this.reactiveProductClientService.findById(productId);
 	}
 	
 	@PostMapping
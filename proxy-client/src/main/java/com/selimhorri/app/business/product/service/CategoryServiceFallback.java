@@ -0,0 +1,57 @@
+package com.selimhorri.app.business.product.service;
+
+import java.util.Collections;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.fallback.DownstreamErrors;
+import com.selimhorri.app.fallback.LastKnownGoodStore;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fallback of the category reads, served while the product service is unavailable.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryServiceFallback {
+	
+	static final String FIND_ALL_KEY = "product-service:categories:findAll";
+	static final String FIND_BY_ID_KEY = "product-service:categories:findById:";
+	
+	private final LastKnownGoodStore lastKnownGoodStore;
+	
+	/**
+	 * Fallback for findAll operation.
+	 * Serves the last known good categories, or an empty collection when there are none.
+	 */
+	public ResponseEntity<CategoryProductServiceCollectionDtoResponse> findAllFallback(Throwable throwable) {
+		DownstreamErrors.rethrowClientError(throwable);
+		log.warn("Category findAll fallback triggered. Reason: {}", throwable.getMessage());
+		return this.lastKnownGoodStore.serve(FIND_ALL_KEY, CategoryProductServiceCollectionDtoResponse.class)
+				.orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+						.body(CategoryProductServiceCollectionDtoResponse.builder()
+								.collection(Collections.emptyList())
+								.build()));
+	}
+	
+	/**
+	 * Fallback for findById operation.
+	 * Serves the last known good category, or a null response when there is none.
+	 */
+	public ResponseEntity<CategoryDto> findByIdFallback(String categoryId, Throwable throwable) {
+		DownstreamErrors.rethrowClientError(throwable);
+		log.warn("Category findById fallback triggered for categoryId: {}. Reason: {}", 
+				categoryId, throwable.getMessage());
+		return this.lastKnownGoodStore.serve(FIND_BY_ID_KEY + categoryId, CategoryDto.class)
+				.orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+						.body(null));
+	}
+	
+}
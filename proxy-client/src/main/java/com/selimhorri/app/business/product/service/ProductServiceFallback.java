@@ -8,7 +8,10 @@ import org.springframework.stereotype.Component;
 
 import com.selimhorri.app.business.product.model.ProductDto;
 import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.fallback.DownstreamErrors;
+import com.selimhorri.app.fallback.LastKnownGoodStore;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -19,30 +22,40 @@ import lombok.extern.slf4j.Slf4j;
  * during service disruptions.
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class ProductServiceFallback {
 	
+	static final String FIND_ALL_KEY = "product-service:findAll";
+	static final String FIND_BY_ID_KEY = "product-service:findById:";
+	
+	private final LastKnownGoodStore lastKnownGoodStore;
+	
 	/**
 	 * Fallback for findAll operation.
-	 * Returns empty collection when product service is unavailable.
+	 * Serves the last known good products, or an empty collection when there are none.
 	 */
 	public ResponseEntity<ProductProductServiceCollectionDtoResponse> findAllFallback(Throwable throwable) {
+		DownstreamErrors.rethrowClientError(throwable);
 		log.warn("Product Service findAll fallback triggered. Reason: {}", throwable.getMessage());
-		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-				.body(ProductProductServiceCollectionDtoResponse.builder()
-						.collection(Collections.emptyList())
-						.build());
+		return this.lastKnownGoodStore.serve(FIND_ALL_KEY, ProductProductServiceCollectionDtoResponse.class)
+				.orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+						.body(ProductProductServiceCollectionDtoResponse.builder()
+								.collection(Collections.emptyList())
+								.build()));
 	}
 	
 	/**
 	 * Fallback for findById operation.
-	 * Returns null response when product service is unavailable.
+	 * Serves the last known good product, or a null response when there is none.
 	 */
 	public ResponseEntity<ProductDto> findByIdFallback(String productId, Throwable throwable) {
+		DownstreamErrors.rethrowClientError(throwable);
 		log.warn("Product Service findById fallback triggered for productId: {}. Reason: {}", 
 				productId, throwable.getMessage());
-		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-				.body(null);
+		return this.lastKnownGoodStore.serve(FIND_BY_ID_KEY + productId, ProductDto.class)
+				.orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+						.body(null));
 	}
 	
 	/**
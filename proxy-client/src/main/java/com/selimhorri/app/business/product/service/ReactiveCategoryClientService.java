@@ -0,0 +1,63 @@
+package com.selimhorri.app.business.product.service;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.config.resilience.ReactiveResilience;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.fallback.LastKnownGoodStore;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of categories, no request thread is held while the downstream answers.
+ * Successful reads are kept in the {@link LastKnownGoodStore} and served back when the product service
+ * is unavailable, a 4xx is passed on as is.
+ * Writes keep going through {@link CategoryClientService}.
+ */
+@Service
+@Slf4j
+public class ReactiveCategoryClientService {
+	
+	private static final String INSTANCE = "productService";
+	
+	private final WebClient webClient;
+	private final ReactiveResilience reactiveResilience;
+	private final CategoryServiceFallback categoryServiceFallback;
+	private final LastKnownGoodStore lastKnownGoodStore;
+	
+	public ReactiveCategoryClientService(final WebClient.Builder webClientBuilder, 
+			final ReactiveResilience reactiveResilience, final CategoryServiceFallback categoryServiceFallback, 
+			final LastKnownGoodStore lastKnownGoodStore) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_HOST + "/api/categories")
+				.build();
+		this.reactiveResilience = reactiveResilience;
+		this.categoryServiceFallback = categoryServiceFallback;
+		this.lastKnownGoodStore = lastKnownGoodStore;
+	}
+	
+	public Mono<ResponseEntity<CategoryProductServiceCollectionDtoResponse>> findAll() {
+		log.debug("Calling Product Service - findAll");
+		return this.reactiveResilience.decorate(INSTANCE, this.webClient.get()
+				.retrieve()
+				.bodyToMono(CategoryProductServiceCollectionDtoResponse.class))
+				.map(body -> this.lastKnownGoodStore.record(CategoryServiceFallback.FIND_ALL_KEY, ResponseEntity.ok(body)))
+				.onErrorResume(e -> Mono.fromCallable(() -> this.categoryServiceFallback.findAllFallback(e)));
+	}
+	
+	public Mono<ResponseEntity<CategoryDto>> findById(final String categoryId) {
+		log.debug("Calling Product Service - findById: {}", categoryId);
+		return this.reactiveResilience.decorate(INSTANCE, this.webClient.get()
+				.uri("/{categoryId}", categoryId)
+				.retrieve()
+				.bodyToMono(CategoryDto.class))
+				.map(body -> this.lastKnownGoodStore.record(CategoryServiceFallback.FIND_BY_ID_KEY + categoryId, ResponseEntity.ok(body)))
+				.onErrorResume(e -> Mono.fromCallable(() -> this.categoryServiceFallback.findByIdFallback(categoryId, e)));
+	}
+	
+}
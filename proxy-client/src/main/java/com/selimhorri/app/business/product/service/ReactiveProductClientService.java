@@ -0,0 +1,63 @@
+package com.selimhorri.app.business.product.service;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.config.resilience.ReactiveResilience;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.fallback.LastKnownGoodStore;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of products, no request thread is held while the downstream answers.
+ * Successful reads are kept in the {@link LastKnownGoodStore} and served back when the product service
+ * is unavailable, a 4xx is passed on as is.
+ * Writes keep going through {@link ProductClientService}.
+ */
+@Service
+@Slf4j
+public class ReactiveProductClientService {
+	
+	private static final String INSTANCE = "productService";
+	
+	private final WebClient webClient;
+	private final ReactiveResilience reactiveResilience;
+	private final ProductServiceFallback productServiceFallback;
+	private final LastKnownGoodStore lastKnownGoodStore;
+	
+	public ReactiveProductClientService(final WebClient.Builder webClientBuilder, 
+			final ReactiveResilience reactiveResilience, final ProductServiceFallback productServiceFallback, 
+			final LastKnownGoodStore lastKnownGoodStore) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL)
+				.build();
+		this.reactiveResilience = reactiveResilience;
+		this.productServiceFallback = productServiceFallback;
+		this.lastKnownGoodStore = lastKnownGoodStore;
+	}
+	
+	public Mono<ResponseEntity<ProductProductServiceCollectionDtoResponse>> findAll() {
+		log.debug("Calling Product Service - findAll");
+		return this.reactiveResilience.decorate(INSTANCE, this.webClient.get()
+				.retrieve()
+				.bodyToMono(ProductProductServiceCollectionDtoResponse.class))
+				.map(body -> this.lastKnownGoodStore.record(ProductServiceFallback.FIND_ALL_KEY, ResponseEntity.ok(body)))
+				.onErrorResume(e -> Mono.fromCallable(() -> this.productServiceFallback.findAllFallback(e)));
+	}
+	
+	public Mono<ResponseEntity<ProductDto>> findById(final String productId) {
+		log.debug("Calling Product Service - findById: {}", productId);
+		return this.reactiveResilience.decorate(INSTANCE, this.webClient.get()
+				.uri("/{productId}", productId)
+				.retrieve()
+				.bodyToMono(ProductDto.class))
+				.map(body -> this.lastKnownGoodStore.record(ProductServiceFallback.FIND_BY_ID_KEY + productId, ResponseEntity.ok(body)))
+				.onErrorResume(e -> Mono.fromCallable(() -> this.productServiceFallback.findByIdFallback(productId, e)));
+	}
+	
+}
@@ -12,9 +12,11 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.user.model.UserDto;
 import com.selimhorri.app.business.user.model.response.UserUserServiceCollectionDtoResponse;
+import com.selimhorri.app.business.user.service.ReactiveUserClientService;
 import com.selimhorri.app.business.user.service.UserClientService;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/api/users")
@@ -22,20 +24,21 @@ import lombok.RequiredArgsConstructor;
 public class UserController {
 	
 	private final UserClientService userClientService;
+	private final ReactiveUserClientService reactiveUserClientService;
 	
 	@GetMapping
-	public ResponseEntity<UserUserServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.userClientService.findAll().getBody());
+	public Mono<ResponseEntity<UserUserServiceCollectionDtoResponse>> findAll() {
+		return this.reactiveUserClientService.findAll();
 	}
 	
 	@GetMapping("/{userId}")
-	public ResponseEntity<UserDto> findById(@PathVariable("userId") final String userId) {
-		return ResponseEntity.ok(this.userClientService.findById(userId).getBody());
+	public Mono<ResponseEntity<UserDto>> findById(@PathVariable("userId") final String userId) {
+		return this.reactiveUserClientService.findById(userId);
 	}
 	
 	@GetMapping("/username/{username}")
-	public ResponseEntity<UserDto> findByUsername(@PathVariable("username") final String username) {
-		return ResponseEntity.ok(this.userClientService.findByUsername(username).getBody());
+	public Mono<ResponseEntity<UserDto>> findByUsername(@PathVariable("username") final String username) {
+		return this.reactiveUserClientService.findByUsername(username);
 	}
 	
 	@PostMapping
@@ -0,0 +1,78 @@
+package com.selimhorri.app.business.user.service;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.user.model.UserDto;
+import com.selimhorri.app.business.user.model.response.UserUserServiceCollectionDtoResponse;
+import com.selimhorri.app.config.resilience.ReactiveResilience;
+import com.selimhorri.app.config.template.IdentityForwardingInterceptor;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.fallback.LastKnownGoodStore;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of users, hedged like the product reads since they sit on the login and checkout paths.
+ * Successful reads are kept in the {@link LastKnownGoodStore} and served back when the user service
+ * is unavailable, a 4xx is passed on as is.
+ * Writes keep going through {@link UserClientService}.
+ */
+@Service
+@Slf4j
+public class ReactiveUserClientService {
+	
+	private static final String INSTANCE = "userService";
+	
+	private final WebClient webClient;
+	private final ReactiveResilience reactiveResilience;
+	private final UserServiceFallback userServiceFallback;
+	private final LastKnownGoodStore lastKnownGoodStore;
+	
+	public ReactiveUserClientService(final WebClient.Builder webClientBuilder, 
+			final ReactiveResilience reactiveResilience, final UserServiceFallback userServiceFallback, 
+			final LastKnownGoodStore lastKnownGoodStore) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL)
+				.build();
+		this.reactiveResilience = reactiveResilience;
+		this.userServiceFallback = userServiceFallback;
+		this.lastKnownGoodStore = lastKnownGoodStore;
+	}
+	
+	public Mono<ResponseEntity<UserUserServiceCollectionDtoResponse>> findAll() {
+		log.debug("Calling User Service - findAll");
+		return this.reactiveResilience.decorate(INSTANCE, this.webClient.get()
+				.headers(IdentityForwardingInterceptor::forwardIdentity)
+				.retrieve()
+				.bodyToMono(UserUserServiceCollectionDtoResponse.class))
+				.map(body -> this.lastKnownGoodStore.record(UserServiceFallback.FIND_ALL_KEY, ResponseEntity.ok(body)))
+				.onErrorResume(e -> Mono.fromCallable(() -> this.userServiceFallback.findAllFallback(e)));
+	}
+	
+	public Mono<ResponseEntity<UserDto>> findById(final String userId) {
+		log.debug("Calling User Service - findById: {}", userId);
+		return this.reactiveResilience.decorate(INSTANCE, this.webClient.get()
+				.uri("/{userId}", userId)
+				.headers(IdentityForwardingInterceptor::forwardIdentity)
+				.retrieve()
+				.bodyToMono(UserDto.class))
+				.map(body -> this.lastKnownGoodStore.record(UserServiceFallback.FIND_BY_ID_KEY + userId, ResponseEntity.ok(body)))
+				.onErrorResume(e -> Mono.fromCallable(() -> this.userServiceFallback.findByIdFallback(userId, e)));
+	}
+	
+	public Mono<ResponseEntity<UserDto>> findByUsername(final String username) {
+		log.debug("Calling User Service - findByUsername: {}", username);
+		return this.reactiveResilience.decorate(INSTANCE, this.webClient.get()
+				.uri("/username/{username}", username)
+				.headers(IdentityForwardingInterceptor::forwardIdentity)
+				.retrieve()
+				.bodyToMono(UserDto.class))
+				.map(body -> this.lastKnownGoodStore.record(UserServiceFallback.FIND_BY_USERNAME_KEY + username, ResponseEntity.ok(body)))
+				.onErrorResume(e -> Mono.fromCallable(() -> this.userServiceFallback.findByUsernameFallback(username, e)));
+	}
+	
+}
+
@@ -8,7 +8,10 @@ import org.springframework.stereotype.Component;
 
 import com.selimhorri.app.business.user.model.UserDto;
 import com.selimhorri.app.business.user.model.response.UserUserServiceCollectionDtoResponse;
+import com.selimhorri.app.fallback.DownstreamErrors;
+import com.selimhorri.app.fallback.LastKnownGoodStore;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -19,41 +22,54 @@ import lombok.extern.slf4j.Slf4j;
  * during service disruptions.
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class UserServiceFallback {
 	
+	static final String FIND_ALL_KEY = "user-service:findAll";
+	static final String FIND_BY_ID_KEY = "user-service:findById:";
+	static final String FIND_BY_USERNAME_KEY = "user-service:findByUsername:";
+	
+	private final LastKnownGoodStore lastKnownGoodStore;
+	
 	/**
 	 * Fallback for findAll operation.
-	 * Returns empty collection when user service is unavailable.
+	 * Serves the last known good users, or an empty collection when there are none.
 	 */
 	public ResponseEntity<UserUserServiceCollectionDtoResponse> findAllFallback(Throwable throwable) {
+		DownstreamErrors.rethrowClientError(throwable);
 		log.warn("User Service findAll fallback triggered. Reason: {}", throwable.getMessage());
-		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-				.body(UserUserServiceCollectionDtoResponse.builder()
-						.collection(Collections.emptyList())
-						.build());
+		return this.lastKnownGoodStore.serve(FIND_ALL_KEY, UserUserServiceCollectionDtoResponse.class)
+				.orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+						.body(UserUserServiceCollectionDtoResponse.builder()
+								.collection(Collections.emptyList())
+								.build()));
 	}
 	
 	/**
 	 * Fallback for findById operation.
-	 * Returns null response when user service is unavailable.
+	 * Serves the last known good user, or a null response when there is none.
 	 */
 	public ResponseEntity<UserDto> findByIdFallback(String userId, Throwable throwable) {
+		DownstreamErrors.rethrowClientError(throwable);
 		log.warn("User Service findById fallback triggered for userId: {}. Reason: {}", 
 				userId, throwable.getMessage());
-		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-				.body(null);
+		return this.lastKnownGoodStore.serve(FIND_BY_ID_KEY + userId, UserDto.class)
+				.orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+						.body(null));
 	}
 	
 	/**
 	 * Fallback for findByUsername operation.
-	 * Returns null response when user service is unavailable.
+	 * Serves the last known good user, or a null response when there is none.
 	 */
 	public ResponseEntity<UserDto> findByUsernameFallback(String username, Throwable throwable) {
+		DownstreamErrors.rethrowClientError(throwable);
 		log.warn("User Service findByUsername fallback triggered for username: {}. Reason: {}", 
 				username, throwable.getMessage());
-		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-				.body(null);
+		return this.lastKnownGoodStore.serve(FIND_BY_USERNAME_KEY + username, UserDto.class)
+				.orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+						.body(null));
 	}
 	
 	/**
@@ -1,6 +1,7 @@
 package com.selimhorri.app.config.filter;
 
 import java.io.IOException;
+import java.util.function.Function;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -15,8 +16,11 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.selimhorri.app.jwt.cache.JwtAuthenticationCache;
+import com.selimhorri.app.jwt.cache.JwtAuthenticationCache.JwtAuthentication;
 import com.selimhorri.app.jwt.service.JwtService;
 
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,6 +31,7 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 	
 	private final UserDetailsService userDetailsService;
 	private final JwtService jwtService;
+	private final JwtAuthenticationCache jwtAuthenticationCache;
 	
 	@Override
 	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain) 
@@ -36,19 +41,15 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		
 		final var authorizationHeader = request.getHeader("Authorization");
 		
-		String username = null;
-		String jwt = null;
-		
-		if ( authorizationHeader != null && authorizationHeader.startsWith("Bearer ") ) {
-			jwt = authorizationHeader.substring(7);
-			username = jwtService.extractUsername(jwt);
-		}
-		
-		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+		if ( authorizationHeader != null && authorizationHeader.startsWith("Bearer ") 
+				&& SecurityContextHolder.getContext().getAuthentication() == null ) {
 			
-			final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+			final String jwt = authorizationHeader.substring(7);
+			final UserDetails userDetails = this.jwtAuthenticationCache.get(jwt)
+					.map(JwtAuthentication::getUserDetails)
+					.orElseGet(() -> this.authenticate(jwt));
 			
-			if (this.jwtService.validateToken(jwt, userDetails)) {
+			if (userDetails != null) {
 				final UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
 						new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 				usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -61,6 +62,24 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		log.info("**Jwt request filtered!*\n");
 	}
 	
+	/**
+	 * Cache miss path: parses the token, resolves its user from user-service 
+	 * and caches the outcome when the token is valid
+	 */
+	private UserDetails authenticate(final String jwt) {
+		
+		final Claims claims = this.jwtService.extractClaims(jwt, Function.identity());
+		if (claims.getSubject() == null)
+			return null;
+		
+		final UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
+		if (!this.jwtService.validateToken(jwt, userDetails))
+			return null;
+		
+		this.jwtAuthenticationCache.put(jwt, claims, userDetails);
+		return userDetails;
+	}
+	
 	
 	
 }
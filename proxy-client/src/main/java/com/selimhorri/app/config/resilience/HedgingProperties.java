@@ -0,0 +1,48 @@
+package com.selimhorri.app.config.resilience;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings of {@link ReactiveHedging}, bound by the component itself
+ */
+@ConfigurationProperties(prefix = "app.hedging")
+@Getter
+@Setter
+public class HedgingProperties {
+	
+	/** Hedged downstreams by resilience instance name, e.g. productService, the others are never hedged */
+	private Map<String, Policy> instances = new LinkedHashMap<>();
+	
+	@Getter
+	@Setter
+	public static class Policy {
+		
+		/** Latency percentile of the recent calls after which the hedge is sent */
+		private double percentile = 0.95;
+		
+		/** Lower bound of the hedge delay */
+		private Duration minDelay = Duration.ofMillis(50);
+		
+		/** Upper bound of the hedge delay, also its value until latencies are recorded */
+		private Duration maxDelay = Duration.ofSeconds(1);
+		
+		/** Hedges allowed per call, e.g. 0.1 caps the extra load at 10% */
+		private double budget = 0.1;
+		
+		/** Hedges that may be sent back to back once the budget has built up */
+		private int maxBurst = 10;
+	
+	}
+	
+}
+
+
+
+
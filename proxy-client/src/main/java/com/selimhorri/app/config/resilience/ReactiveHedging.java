@@ -0,0 +1,215 @@
+package com.selimhorri.app.config.resilience;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Hedged idempotent reads: when a call has not answered after the configured latency percentile
+ * of its downstream, a second identical call is sent, which the load balancer routes to another
+ * instance since the first one is still busy with the original call. The first value wins and a losing
+ * hedge is cancelled, its connection closed. An error is only returned once no call is left running.
+ *
+ * The hedge delay follows the latency of the primary calls, not of the winners: a percentile of the
+ * hedged latencies would fall with every hedge and pull the delay down with it. So a primary call
+ * losing to its hedge is left running until it answers or reaches the max delay of the policy, and
+ * is recorded then. Cutting it at the max delay does not bias the delay, which never goes past it.
+ *
+ * Each call earns a fraction of a hedge, so that hedges never add more than the configured budget
+ * of load, and a downstream that is slow as a whole does not see its traffic doubled.
+ * Reported as {@value #LATENCY_METRIC} with the percentile, {@value #CALLS_METRIC}, {@value #HEDGES_METRIC}
+ * and {@value #WINS_METRIC} tagged by winner, all tagged by instance.
+ */
+@Component
+@EnableConfigurationProperties(HedgingProperties.class)
+public class ReactiveHedging {
+	
+	static final String LATENCY_METRIC = "proxy.hedging.latency";
+	static final String CALLS_METRIC = "proxy.hedging.calls";
+	static final String HEDGES_METRIC = "proxy.hedging.hedges";
+	static final String WINS_METRIC = "proxy.hedging.wins";
+	
+	private static final long TOKEN = 1000;
+	private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+	
+	private final HedgingProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, Hedge> hedges = new ConcurrentHashMap<>();
+	
+	public ReactiveHedging(final HedgingProperties properties, final MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+	}
+	
+	/**
+	 * The call as is when the instance has no hedging policy
+	 */
+	public <T> Mono<T> hedge(final String instance, final Mono<T> call) {
+		final HedgingProperties.Policy policy = this.properties.getInstances().get(instance);
+		if (policy == null)
+			return call;
+		final Hedge hedge = this.hedges.computeIfAbsent(instance, name -> new Hedge(name, policy));
+		return Mono.create(sink -> hedge.subscribe(call, sink));
+	}
+	
+	private final class Hedge {
+		
+		private final HedgingProperties.Policy policy;
+		private final Timer latency;
+		private final Counter calls;
+		private final Counter sent;
+		private final Counter primaryWins;
+		private final Counter hedgeWins;
+		private final AtomicLong tokens = new AtomicLong();
+		private final long deposit;
+		private final long maxTokens;
+		private volatile long delayNanos;
+		private volatile long delayRefreshedAt;
+		
+		private Hedge(final String instance, final HedgingProperties.Policy policy) {
+			this.policy = policy;
+			this.latency = Timer.builder(LATENCY_METRIC)
+					.tag("instance", instance)
+					.publishPercentiles(policy.getPercentile())
+					.description("Latency of the primary calls, its percentile is the hedge delay")
+					.register(meterRegistry);
+			this.calls = Counter.builder(CALLS_METRIC).tag("instance", instance).register(meterRegistry);
+			this.sent = Counter.builder(HEDGES_METRIC).tag("instance", instance).register(meterRegistry);
+			this.primaryWins = Counter.builder(WINS_METRIC).tags("instance", instance, "winner", "primary").register(meterRegistry);
+			this.hedgeWins = Counter.builder(WINS_METRIC).tags("instance", instance, "winner", "hedge").register(meterRegistry);
+			this.deposit = Math.round(policy.getBudget() * TOKEN);
+			this.maxTokens = policy.getMaxBurst() * TOKEN;
+			this.delayNanos = policy.getMaxDelay().toNanos();
+			this.delayRefreshedAt = System.nanoTime();
+		}
+		
+		private <T> void subscribe(final Mono<T> call, final MonoSink<T> sink) {
+			this.calls.increment();
+			this.tokens.accumulateAndGet(this.deposit, (current, amount) -> Math.min(current + amount, this.maxTokens));
+			final Mono<T> attempt = call.contextWrite(sink.currentContext());
+			final long startTime = System.nanoTime();
+			final AtomicBoolean settled = new AtomicBoolean();
+			final AtomicBoolean hedgeSent = new AtomicBoolean();
+			final AtomicBoolean primaryDone = new AtomicBoolean();
+			final AtomicInteger running = new AtomicInteger(1);
+			final Disposable.Composite subscriptions = Disposables.composite();
+			final Disposable.Composite primary = Disposables.composite();
+			sink.onDispose(subscriptions);
+			sink.onCancel(primary);
+			
+			final class Attempt {
+				
+				private final boolean hedged;
+				
+				private Attempt(final boolean hedged) {
+					this.hedged = hedged;
+				}
+				
+				private void start() {
+					(this.hedged ? subscriptions : primary).add(attempt.subscribe(this::success, this::error, () -> success(null)));
+				}
+				
+				private void success(final T value) {
+					if (!this.hedged && primaryDone.compareAndSet(false, true))
+						latency.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+					if (!settled.compareAndSet(false, true))
+						return;
+					if (hedgeSent.get())
+						(this.hedged ? hedgeWins : primaryWins).increment();
+					if (this.hedged)
+						lingerPrimary();
+					sink.success(value);
+				}
+				
+				private void error(final Throwable throwable) {
+					if (!this.hedged)
+						primaryDone.set(true);
+					if (running.decrementAndGet() == 0 && settled.compareAndSet(false, true))
+						sink.error(throwable);
+				}
+				
+				/**
+				 * Gives the primary call until the max delay to answer, then records the time reached and cancels it
+				 */
+				private void lingerPrimary() {
+					if (primaryDone.get())
+						return;
+					final long remaining = policy.getMaxDelay().toNanos() - (System.nanoTime() - startTime);
+					if (remaining <= 0)
+						cutPrimary();
+					else
+						primary.add(Mono.delay(Duration.ofNanos(remaining)).subscribe(tick -> cutPrimary()));
+				}
+				
+				private void cutPrimary() {
+					if (primaryDone.compareAndSet(false, true))
+						latency.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+					primary.dispose();
+				}
+			
+			}
+			
+			new Attempt(false).start();
+			subscriptions.add(Mono.delay(Duration.ofNanos(delay())).subscribe(tick -> {
+				if (settled.get() || !withdraw())
+					return;
+				if (running.getAndIncrement() == 0) {
+					this.tokens.addAndGet(TOKEN);
+					return;
+				}
+				hedgeSent.set(true);
+				this.sent.increment();
+				new Attempt(true).start();
+			}));
+		}
+		
+		private boolean withdraw() {
+			long current;
+			do {
+				current = this.tokens.get();
+				if (current < TOKEN)
+					return false;
+			} while (!this.tokens.compareAndSet(current, current - TOKEN));
+			return true;
+		}
+		
+		/**
+		 * The percentile of the recent latencies within the policy bounds, recomputed once a second at most
+		 */
+		private long delay() {
+			final long now = System.nanoTime();
+			if (now - this.delayRefreshedAt < DELAY_REFRESH_NANOS)
+				return this.delayNanos;
+			this.delayRefreshedAt = now;
+			final ValueAtPercentile[] percentiles = this.latency.takeSnapshot().percentileValues();
+			if (percentiles.length > 0 && this.latency.count() > 0)
+				this.delayNanos = Math.max(this.policy.getMinDelay().toNanos(), 
+						Math.min(this.policy.getMaxDelay().toNanos(), (long) percentiles[0].value(TimeUnit.NANOSECONDS)));
+			return this.delayNanos;
+		}
+	
+	}
+	
+	
+	
+}
+
+
+
+
@@ -0,0 +1,48 @@
+package com.selimhorri.app.config.resilience;
+
+import org.springframework.stereotype.Component;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of the {@code @CircuitBreaker}, {@code @Retry}, {@code @TimeLimiter}
+ * and {@code @Bulkhead} annotations, nested in the same order as their aspects.
+ * 
+ * Circuit breaker, retry and time limiter share the instances of the blocking path.
+ * The bulkhead is a separate {@code <instance>Reactive} instance, since it bounds
+ * in-flight calls instead of busy request threads and is sized accordingly.
+ * 
+ * Innermost, the call is hedged when its instance has a {@link ReactiveHedging} policy,
+ * the reactive path being reads only. A hedged call counts once against every limit.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReactiveResilience {
+	
+	public static final String REACTIVE_BULKHEAD_SUFFIX = "Reactive";
+	
+	private final CircuitBreakerRegistry circuitBreakerRegistry;
+	private final RetryRegistry retryRegistry;
+	private final TimeLimiterRegistry timeLimiterRegistry;
+	private final BulkheadRegistry bulkheadRegistry;
+	private final ReactiveHedging reactiveHedging;
+	
+	public <T> Mono<T> decorate(final String instance, final Mono<T> call) {
+		return this.reactiveHedging.hedge(instance, call)
+				.transformDeferred(BulkheadOperator.of(this.bulkheadRegistry
+						.bulkhead(instance + REACTIVE_BULKHEAD_SUFFIX)))
+				.transformDeferred(TimeLimiterOperator.of(this.timeLimiterRegistry.timeLimiter(instance)))
+				.transformDeferred(CircuitBreakerOperator.of(this.circuitBreakerRegistry.circuitBreaker(instance)))
+				.transformDeferred(RetryOperator.of(this.retryRegistry.retry(instance)));
+	}
+	
+}
@@ -0,0 +1,86 @@
+package com.selimhorri.app.config.template;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+/**
+ * Sends an Idempotency-Key with every POST, so the {@code @Retry} attempts of one call are answered
+ * from the response stored for the first attempt by order-service and payment-service instead of
+ * creating duplicates. The key is built from the Idempotency-Key the caller sent, or from one drawn 
+ * once per incoming request, and from the path and body of the call: every attempt of a call sends 
+ * the same key, two different calls made for the same request do not. The two parts are joined by
+ * a '.', which the url-safe Base64 digest never holds, so the key the call was made for can be read back.
+ */
+@Component
+public class IdempotencyKeyInterceptor implements RequestInterceptor {
+	
+	public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+	
+	static final char SEPARATOR = '.';
+	
+	private static final String REQUEST_KEY_ATTRIBUTE = IdempotencyKeyInterceptor.class.getName() + ".KEY";
+	
+	@Override
+	public void apply(final RequestTemplate template) {
+		if (!"POST".equalsIgnoreCase(template.method()) || template.headers().containsKey(IDEMPOTENCY_KEY))
+			return;
+		requestKey().ifPresent(requestKey -> template.header(IDEMPOTENCY_KEY, requestKey + SEPARATOR + callDigest(template)));
+	}
+	
+	private static Optional<String> requestKey() {
+		final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if (!(requestAttributes instanceof ServletRequestAttributes))
+			return Optional.empty();
+		final HttpServletRequest request = ((ServletRequestAttributes) requestAttributes).getRequest();
+		final String callerKey = request.getHeader(IDEMPOTENCY_KEY);
+		if (callerKey != null && !callerKey.isBlank())
+			return Optional.of(callerKey.strip());
+		Object drawnKey = request.getAttribute(REQUEST_KEY_ATTRIBUTE);
+		if (drawnKey == null) {
+			drawnKey = UUID.randomUUID().toString();
+			request.setAttribute(REQUEST_KEY_ATTRIBUTE, drawnKey);
+		}
+		return Optional.of((String) drawnKey);
+	}
+	
+	private static String callDigest(final RequestTemplate template) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(template.url().getBytes(StandardCharsets.UTF_8));
+			if (template.body() != null)
+				digest.update(template.body());
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest.digest(), 12));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
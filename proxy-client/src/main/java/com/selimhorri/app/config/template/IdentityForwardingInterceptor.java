@@ -0,0 +1,55 @@
+package com.selimhorri.app.config.template;
+
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.selimhorri.app.client.identity.IdentityHeader;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+/**
+ * Forwards the identity header the api-gateway signed for the current request to the services
+ * proxy-client calls, so they authenticate the user from it too.
+ * Applies to every Feign client, the reactive clients add it through {@link #forwardIdentity(HttpHeaders)}.
+ */
+@Component
+public class IdentityForwardingInterceptor implements RequestInterceptor {
+	
+	@Override
+	public void apply(final RequestTemplate template) {
+		currentIdentity().ifPresent(identity -> template.header(IdentityHeader.NAME, identity));
+	}
+	
+	/**
+	 * To be called while the request is assembled, on the thread of the incoming request
+	 */
+	public static void forwardIdentity(final HttpHeaders headers) {
+		currentIdentity().ifPresent(identity -> headers.set(IdentityHeader.NAME, identity));
+	}
+	
+	private static Optional<String> currentIdentity() {
+		final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if (!(requestAttributes instanceof ServletRequestAttributes))
+			return Optional.empty();
+		return Optional.ofNullable(((ServletRequestAttributes) requestAttributes).getRequest().getHeader(IdentityHeader.NAME));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
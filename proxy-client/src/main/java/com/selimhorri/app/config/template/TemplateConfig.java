@@ -1,17 +1,48 @@
 package com.selimhorri.app.config.template;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class TemplateConfig {
 	
 	@LoadBalanced
 	@Bean
-	public RestTemplate restTemplateBean() {
-		return new RestTemplate();
+	public RestTemplate restTemplateBean(final ClientHttpRequestFactory interServiceRequestFactory) {
+		return new RestTemplate(interServiceRequestFactory);
+	}
+	
+	/**
+	 * Non-blocking client of the reactive read path, all calls share the Reactor Netty event loop.
+	 * The pool is sized for in-flight calls, and waiting acquisitions are not capped,
+	 * the bulkhead of each downstream bounds them instead.
+	 */
+	@LoadBalanced
+	@Bean
+	public WebClient.Builder webClientBuilderBean(
+			@Value("${app.reactive-client.max-connections:1000}") final int maxConnections, 
+			@Value("${app.reactive-client.connect-timeout:2s}") final Duration connectTimeout, 
+			@Value("${app.reactive-client.response-timeout:3s}") final Duration responseTimeout) {
+		final ConnectionProvider connectionProvider = ConnectionProvider.builder("proxy-client")
+				.maxConnections(maxConnections)
+				.pendingAcquireMaxCount(-1)
+				.build();
+		return WebClient.builder()
+				.clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)
+						.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+						.responseTimeout(responseTimeout)));
 	}
 	
 	
@@ -2,6 +2,7 @@ package com.selimhorri.app.exception;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.concurrent.TimeoutException;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +11,7 @@ import org.springframework.validation.BindException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
@@ -21,6 +23,8 @@ import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
 import feign.FeignException;
 import feign.FeignException.FeignClientException;
 import feign.FeignException.FeignServerException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -48,6 +52,47 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	/**
+	 * A 4xx of the downstream is passed on as is, anything else is a BAD_GATEWAY
+	 */
+	@ExceptionHandler(value = {
+		WebClientResponseException.class
+	})
+	public <T extends WebClientResponseException> ResponseEntity<ExceptionMsg> handleReactiveProxyException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle reactive proxy exception*\n");
+		final HttpStatus downstreamStatus = HttpStatus.resolve(e.getRawStatusCode());
+		final var status = downstreamStatus != null && downstreamStatus.is4xxClientError() ? 
+				downstreamStatus : HttpStatus.BAD_GATEWAY;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getResponseBodyAsString())
+					.httpStatus(status)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), status);
+	}
+	
+	@ExceptionHandler(value = {
+		CallNotPermittedException.class,
+		BulkheadFullException.class,
+		TimeoutException.class
+	})
+	public <T extends Exception> ResponseEntity<ExceptionMsg> handleUnavailableException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle SERVICE UNAVAILABLE exception*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(serviceUnavailable)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), serviceUnavailable);
+	}
+	
 	@ExceptionHandler(value = {
 		MethodArgumentNotValidException.class,
 		HttpMessageNotReadableException.class
@@ -0,0 +1,34 @@
+package com.selimhorri.app.fallback;
+
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import feign.FeignException.FeignClientException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A 4xx from the downstream is an answer about the request, e.g. a product that does not exist,
+ * not a sign that the downstream is unavailable, so it is never replaced by a last known good response.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DownstreamErrors {
+	
+	public static boolean isClientError(final Throwable throwable) {
+		return throwable instanceof FeignClientException 
+				|| throwable instanceof WebClientResponseException 
+						&& ((WebClientResponseException) throwable).getStatusCode().is4xxClientError();
+	}
+	
+	/**
+	 * Lets a fallback hand a client error back to the caller as is
+	 */
+	public static void rethrowClientError(final Throwable throwable) {
+		if (isClientError(throwable))
+			throw (RuntimeException) throwable;
+	}
+	
+}
+
+
+
+
@@ -0,0 +1,21 @@
+package com.selimhorri.app.fallback;
+
+import java.util.function.Predicate;
+
+/**
+ * Record failure predicate of the circuit breakers, referenced from application.yml:
+ * a client error of the downstream counts as a successful call, so a run of 404s cannot open the circuit.
+ */
+public class DownstreamFailurePredicate implements Predicate<Throwable> {
+	
+	@Override
+	public boolean test(final Throwable throwable) {
+		return !DownstreamErrors.isClientError(throwable);
+	}
+	
+}
+
+
+
+
+
@@ -0,0 +1,107 @@
+package com.selimhorri.app.fallback;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Last successful response of each read made through the reactive and resilient client services,
+ * served by their fallbacks while the downstream is unavailable.
+ * Bodies are kept serialized, so the store is capped by bytes rather than by entries
+ * and a served copy can never alter the stored one.
+ * Served responses carry an {@code Age} and a {@code Warning: 110} header.
+ */
+@Component
+@Slf4j
+public class LastKnownGoodStore {
+	
+	public static final String STALE_WARNING = "110 - \"Response is Stale\"";
+	
+	private static final String CACHE_NAME = "lastKnownGood";
+	
+	private final Cache<String, StoredResponse> cache;
+	private final ObjectMapper objectMapper;
+	
+	public LastKnownGoodStore(
+			@Value("${app.last-known-good.max-memory:64MB}") final DataSize maxMemory,
+			@Value("${app.last-known-good.ttl:24h}") final Duration ttl,
+			final ObjectMapper objectMapper,
+			final MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+				.maximumWeight(maxMemory.toBytes())
+				.weigher((final String key, final StoredResponse stored) -> key.length() + stored.body.length)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+		this.objectMapper = objectMapper;
+		CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+	}
+	
+	/**
+	 * Stores the body of a successful response under the given key, and returns the response as is
+	 */
+	public <T> ResponseEntity<T> record(final String key, final ResponseEntity<T> response) {
+		if (response == null || !response.getStatusCode().is2xxSuccessful() || response.getBody() == null)
+			return response;
+		try {
+			this.cache.put(key, new StoredResponse(this.objectMapper.writeValueAsBytes(response.getBody()), Instant.now()));
+		}
+		catch (final JsonProcessingException e) {
+			log.warn("**LastKnownGoodStore, response of {} is not stored: {}*\n", key, e.getMessage());
+		}
+		return response;
+	}
+	
+	public <T> Optional<ResponseEntity<T>> serve(final String key, final Class<T> type) {
+		final StoredResponse stored = this.cache.getIfPresent(key);
+		if (stored == null)
+			return Optional.empty();
+		try {
+			return Optional.of(ResponseEntity.ok()
+					.header(HttpHeaders.AGE, String.valueOf(Duration.between(stored.storedAt, Instant.now()).toSeconds()))
+					.header(HttpHeaders.WARNING, STALE_WARNING)
+					.body(this.objectMapper.readValue(stored.body, type)));
+		}
+		catch (final IOException e) {
+			log.warn("**LastKnownGoodStore, stored response of {} is not readable: {}*\n", key, e.getMessage());
+			this.cache.invalidate(key);
+			return Optional.empty();
+		}
+	}
+	
+	@RequiredArgsConstructor
+	private static final class StoredResponse {
+		private final byte[] body;
+		private final Instant storedAt;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
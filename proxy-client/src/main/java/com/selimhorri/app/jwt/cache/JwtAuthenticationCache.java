@@ -0,0 +1,125 @@
+package com.selimhorri.app.jwt.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded cache of already validated JWTs, keyed by the SHA-256 hash of the token,
+ * holding the parsed claims and the resolved {@link UserDetails}.
+ * An entry never outlives the token {@code exp} claim, nor the configured ttl,
+ * so changes on the user credential are picked up after at most one ttl.
+ */
+@Component
+@Slf4j
+public class JwtAuthenticationCache {
+	
+	private static final String CACHE_NAME = "jwtAuthentication";
+	
+	private final Cache<String, JwtAuthentication> cache;
+	
+	public JwtAuthenticationCache(
+			@Value("${app.security.jwt-cache.maximum-size:10000}") final long maximumSize,
+			@Value("${app.security.jwt-cache.ttl:5m}") final Duration ttl,
+			final MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfter(new TokenExpiry(ttl))
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+	}
+	
+	public Optional<JwtAuthentication> get(final String token) {
+		return Optional.ofNullable(this.cache.getIfPresent(hash(token)));
+	}
+	
+	public void put(final String token, final Claims claims, final UserDetails userDetails) {
+		if (claims.getExpiration() == null) {
+			log.warn("**JwtAuthenticationCache, token without exp claim is not cached*\n");
+			return;
+		}
+		this.cache.put(hash(token), new JwtAuthentication(claims, userDetails));
+	}
+	
+	public void invalidateAll() {
+		this.cache.invalidateAll();
+	}
+	
+	private static String hash(final String token) {
+		try {
+			return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256")
+					.digest(token.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+		}
+	}
+	
+	@Getter
+	@RequiredArgsConstructor
+	public static final class JwtAuthentication {
+		private final Claims claims;
+		private final UserDetails userDetails;
+	}
+	
+	private static final class TokenExpiry implements Expiry<String, JwtAuthentication> {
+		
+		private final long ttlNanos;
+		
+		private TokenExpiry(final Duration ttl) {
+			this.ttlNanos = ttl.toNanos();
+		}
+		
+		@Override
+		public long expireAfterCreate(final String key, final JwtAuthentication value, final long currentTime) {
+			final long untilExpiration = value.getClaims().getExpiration().getTime() - System.currentTimeMillis();
+			return Math.max(0, Math.min(this.ttlNanos, TimeUnit.MILLISECONDS.toNanos(untilExpiration)));
+		}
+		
+		@Override
+		public long expireAfterUpdate(final String key, final JwtAuthentication value,
+				final long currentTime, final long currentDuration) {
+			return this.expireAfterCreate(key, value, currentTime);
+		}
+		
+		@Override
+		public long expireAfterRead(final String key, final JwtAuthentication value,
+				final long currentTime, final long currentDuration) {
+			return currentDuration;
+		}
+	
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -4,7 +4,9 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
@@ -19,6 +21,9 @@ public class JwtUtilImpl implements JwtUtil {
 	
 	private static final String SECRET_KEY = "secret";
 	
+	/** Granted authorities of the user, read by the api-gateway to propagate the identity without a lookup */
+	public static final String ROLES_CLAIM = "roles";
+	
 	@Override
 	public String extractUsername(final String token) {
 		return this.extractClaims(token, Claims::getSubject);
@@ -46,6 +51,9 @@ public class JwtUtilImpl implements JwtUtil {
 	@Override
 	public String generateToken(final UserDetails userDetails) {
 		final Map<String, Object> claims = new HashMap<>();
+		claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.collect(Collectors.toUnmodifiableList()));
 		return this.createToken(claims, userDetails.getUsername());
 	}
 	
@@ -14,6 +14,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.client.identity.IdentityAuthenticationFilter;
 import com.selimhorri.app.config.filter.JwtRequestFilter;
 
 import lombok.RequiredArgsConstructor;
@@ -26,6 +27,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 	private final UserDetailsService userDetailsService;
 	private final PasswordEncoder passwordEncoder;
 	private final JwtRequestFilter jwtRequestFilter;
+	private final IdentityAuthenticationFilter identityAuthenticationFilter;
 	
 	@Override
 	protected void configure(final AuthenticationManagerBuilder auth) throws Exception {
@@ -60,6 +62,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 				.contentSecurityPolicy("default-src 'self'").and().and().sessionManagement()
 				.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
 			.and()
+			// The identity verified by the api-gateway first, the JWT lookup only for requests without it
+			.addFilterBefore(this.identityAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
 			.addFilterBefore(this.jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
 	}
 	
@@ -0,0 +1,113 @@
+package com.selimhorri.app.business.product.controller;
+
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.business.product.service.ProductServiceFallback;
+import com.selimhorri.app.business.product.service.ReactiveProductClientService;
+import com.selimhorri.app.config.resilience.HedgingProperties;
+import com.selimhorri.app.config.resilience.ReactiveHedging;
+import com.selimhorri.app.config.resilience.ReactiveResilience;
+import com.selimhorri.app.exception.ApiExceptionHandler;
+import com.selimhorri.app.fallback.LastKnownGoodStore;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+@DisplayName("ProductController Tests - last known good reads")
+class ProductControllerTest {
+	
+	private static final String PRODUCT = "{\"productId\":1,\"productTitle\":\"Laptop\"}";
+	
+	private final AtomicReference<HttpStatus> downstreamStatus = new AtomicReference<>(HttpStatus.OK);
+	private WebTestClient webTestClient;
+	
+	@BeforeEach
+	void setUp() {
+		final WebClient.Builder webClientBuilder = WebClient.builder()
+				.exchangeFunction(request -> Mono.just(ClientResponse.create(downstreamStatus.get())
+						.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+						.body(downstreamStatus.get() == HttpStatus.OK ? PRODUCT : "{}")
+						.build()));
+		final ReactiveResilience reactiveResilience = new ReactiveResilience(
+				CircuitBreakerRegistry.ofDefaults(), 
+				RetryRegistry.of(RetryConfig.custom()
+						.maxAttempts(2)
+						.waitDuration(Duration.ofMillis(1))
+						.build()), 
+				TimeLimiterRegistry.ofDefaults(), 
+				BulkheadRegistry.ofDefaults(), 
+				new ReactiveHedging(new HedgingProperties(), new SimpleMeterRegistry()));
+		final LastKnownGoodStore lastKnownGoodStore = new LastKnownGoodStore(DataSize.ofMegabytes(1), Duration.ofHours(1), 
+				new ObjectMapper(), new SimpleMeterRegistry());
+		final ReactiveProductClientService reactiveProductClientService = new ReactiveProductClientService(
+				webClientBuilder, reactiveResilience, new ProductServiceFallback(lastKnownGoodStore), lastKnownGoodStore);
+		webTestClient = WebTestClient
+				.bindToController(new ProductController(mock(ProductClientService.class), reactiveProductClientService))
+				.controllerAdvice(new ApiExceptionHandler())
+				.build();
+	}
+	
+	@Test
+	@DisplayName("Should serve the last known good product while the product service is unavailable")
+	void testServeLastKnownGood() {
+		// Given
+		webTestClient.get().uri("/api/products/1").exchange()
+				.expectStatus().isOk()
+				.expectHeader().doesNotExist(HttpHeaders.WARNING);
+		downstreamStatus.set(HttpStatus.SERVICE_UNAVAILABLE);
+		
+		// When / Then
+		webTestClient.get().uri("/api/products/1").exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals(HttpHeaders.WARNING, LastKnownGoodStore.STALE_WARNING)
+				.expectHeader().exists(HttpHeaders.AGE)
+				.expectBody().jsonPath("$.productTitle").isEqualTo("Laptop");
+	}
+	
+	@Test
+	@DisplayName("Should answer SERVICE_UNAVAILABLE when no product was read before")
+	void testNothingStored() {
+		// Given
+		downstreamStatus.set(HttpStatus.SERVICE_UNAVAILABLE);
+		
+		// When / Then
+		webTestClient.get().uri("/api/products/2").exchange()
+				.expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+	}
+	
+	@Test
+	@DisplayName("Should pass a downstream client error on instead of the last known good product")
+	void testClientErrorPassedOn() {
+		// Given
+		webTestClient.get().uri("/api/products/1").exchange()
+				.expectStatus().isOk();
+		downstreamStatus.set(HttpStatus.NOT_FOUND);
+		
+		// When / Then
+		webTestClient.get().uri("/api/products/1").exchange()
+				.expectStatus().is4xxClientError()
+				.expectHeader().doesNotExist(HttpHeaders.WARNING);
+	}
+	
+}
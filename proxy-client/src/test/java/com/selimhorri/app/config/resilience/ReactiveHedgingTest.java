@@ -0,0 +1,169 @@
+package com.selimhorri.app.config.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+@DisplayName("ReactiveHedging Tests")
+class ReactiveHedgingTest {
+	
+	private static final String INSTANCE = "productService";
+	
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicInteger attempts = new AtomicInteger();
+	
+	private ReactiveHedging hedging(final double budget) {
+		final HedgingProperties.Policy policy = new HedgingProperties.Policy();
+		policy.setMinDelay(Duration.ofMillis(20));
+		policy.setMaxDelay(Duration.ofMillis(20));
+		policy.setBudget(budget);
+		final HedgingProperties properties = new HedgingProperties();
+		properties.getInstances().put(INSTANCE, policy);
+		return new ReactiveHedging(properties, meterRegistry);
+	}
+	
+	private double count(final String metric) {
+		return meterRegistry.get(metric).tag("instance", INSTANCE).counter().count();
+	}
+	
+	@Test
+	@DisplayName("Should answer with the hedge and cancel a primary call slower than the delay")
+	void testHedgeWins() {
+		// Given
+		final AtomicBoolean primaryCancelled = new AtomicBoolean();
+		final Mono<String> call = Mono.defer(() -> attempts.incrementAndGet() == 1 ?
+				Mono.delay(Duration.ofSeconds(2)).map(tick -> "primary").doOnCancel(() -> primaryCancelled.set(true)) :
+				Mono.just("hedge"));
+		
+		// When
+		final String result = hedging(1).hedge(INSTANCE, call).block(Duration.ofSeconds(1));
+		
+		// Then
+		assertEquals("hedge", result);
+		assertEquals(2, attempts.get());
+		assertTrue(primaryCancelled.get());
+		assertEquals(1, meterRegistry.get(ReactiveHedging.LATENCY_METRIC).timer().count());
+		assertEquals(1, count(ReactiveHedging.HEDGES_METRIC));
+		assertEquals(1, meterRegistry.get(ReactiveHedging.WINS_METRIC).tag("winner", "hedge").counter().count());
+	}
+	
+	@Test
+	@DisplayName("Should record the latency of a primary call losing to its hedge, not of the hedge")
+	void testPrimaryLatencyRecorded() throws InterruptedException {
+		// Given
+		final HedgingProperties.Policy policy = new HedgingProperties.Policy();
+		policy.setMinDelay(Duration.ofMillis(20));
+		policy.setMaxDelay(Duration.ofMillis(500));
+		policy.setBudget(1);
+		final HedgingProperties properties = new HedgingProperties();
+		properties.getInstances().put(INSTANCE, policy);
+		final ReactiveHedging hedging = new ReactiveHedging(properties, meterRegistry);
+		for (int i = 0; i < 20; i++)
+			hedging.hedge(INSTANCE, Mono.just("warm-up")).block(Duration.ofSeconds(1));
+		Thread.sleep(1100);
+		final AtomicBoolean primaryCancelled = new AtomicBoolean();
+		final AtomicInteger calls = new AtomicInteger();
+		final Mono<String> call = Mono.defer(() -> calls.incrementAndGet() == 1 ?
+				Mono.delay(Duration.ofMillis(200)).map(tick -> "primary").doOnCancel(() -> primaryCancelled.set(true)) :
+				Mono.just("hedge"));
+		
+		// When
+		final String result = hedging.hedge(INSTANCE, call).block(Duration.ofSeconds(1));
+		Thread.sleep(400);
+		
+		// Then
+		assertEquals("hedge", result);
+		assertFalse(primaryCancelled.get());
+		assertEquals(21, meterRegistry.get(ReactiveHedging.LATENCY_METRIC).timer().count());
+		assertTrue(meterRegistry.get(ReactiveHedging.LATENCY_METRIC).timer().max(TimeUnit.MILLISECONDS) >= 200);
+	}
+	
+	@Test
+	@DisplayName("Should not hedge a call answering within the delay")
+	void testFastCallNotHedged() {
+		// Given
+		final Mono<String> call = Mono.fromCallable(() -> "product" + attempts.incrementAndGet());
+		
+		// When
+		final String result = hedging(1).hedge(INSTANCE, call).block(Duration.ofSeconds(1));
+		
+		// Then
+		assertEquals("product1", result);
+		assertEquals(1, count(ReactiveHedging.CALLS_METRIC));
+		assertEquals(0, count(ReactiveHedging.HEDGES_METRIC));
+	}
+	
+	@Test
+	@DisplayName("Should cap the hedges at the budget of the calls made")
+	void testBudget() {
+		// Given
+		final ReactiveHedging hedging = hedging(0.1);
+		final Mono<String> call = Mono.delay(Duration.ofMillis(60)).map(tick -> "product");
+		
+		// When
+		for (int i = 0; i < 20; i++)
+			hedging.hedge(INSTANCE, call).block(Duration.ofSeconds(1));
+		
+		// Then
+		assertEquals(20, count(ReactiveHedging.CALLS_METRIC));
+		assertEquals(2, count(ReactiveHedging.HEDGES_METRIC));
+	}
+	
+	@Test
+	@DisplayName("Should fail at once when the primary call fails before the delay")
+	void testPrimaryFailure() {
+		// Given
+		final Mono<String> call = Mono.defer(() -> {
+			attempts.incrementAndGet();
+			return Mono.error(new IOException("Connection reset"));
+		});
+		
+		// When
+		final RuntimeException exception = assertThrows(RuntimeException.class,
+				() -> hedging(1).hedge(INSTANCE, call).block(Duration.ofSeconds(1)));
+		
+		// Then
+		assertTrue(exception.getCause() instanceof IOException);
+		assertEquals(1, attempts.get());
+	}
+	
+	@Test
+	@DisplayName("Should wait for the hedge when the primary call fails after the delay")
+	void testHedgeOutlivesPrimaryFailure() {
+		// Given
+		final Mono<String> call = Mono.defer(() -> attempts.incrementAndGet() == 1 ?
+				Mono.delay(Duration.ofMillis(40)).then(Mono.<String>error(new IOException("Connection reset"))) :
+				Mono.delay(Duration.ofMillis(100)).map(tick -> "hedge"));
+		
+		// When
+		final String result = hedging(1).hedge(INSTANCE, call).block(Duration.ofSeconds(1));
+		
+		// Then
+		assertEquals("hedge", result);
+		assertEquals(2, attempts.get());
+	}
+	
+	@Test
+	@DisplayName("Should leave the calls of an instance without a policy as they are")
+	void testNoPolicy() {
+		// Given
+		final Mono<String> call = Mono.just("order");
+		
+		// When
+		final Mono<String> hedged = hedging(1).hedge("orderService", call);
+		
+		// Then
+		assertSame(call, hedged);
+	}
+	
+}
@@ -0,0 +1,84 @@
+package com.selimhorri.app.config.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+@DisplayName("ReactiveResilience Tests")
+class ReactiveResilienceTest {
+	
+	private BulkheadRegistry bulkheadRegistry;
+	private ReactiveResilience reactiveResilience;
+	
+	@BeforeEach
+	void setUp() {
+		bulkheadRegistry = BulkheadRegistry.ofDefaults();
+		reactiveResilience = new ReactiveResilience(
+				CircuitBreakerRegistry.ofDefaults(), 
+				RetryRegistry.of(RetryConfig.custom()
+						.maxAttempts(3)
+						.waitDuration(Duration.ofMillis(1))
+						.build()), 
+				TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+						.timeoutDuration(Duration.ofMillis(100))
+						.build()), 
+				bulkheadRegistry, 
+				new ReactiveHedging(new HedgingProperties(), new SimpleMeterRegistry()));
+	}
+	
+	@Test
+	@DisplayName("Should resubscribe to the call on transient failures")
+	void testRetry() {
+		// Given
+		final AtomicInteger attempts = new AtomicInteger();
+		final Mono<String> call = Mono.defer(() -> attempts.incrementAndGet() < 3 ? 
+				Mono.error(new IOException("Connection reset")) : Mono.just("product"));
+		
+		// When
+		final String result = reactiveResilience.decorate("productService", call).block();
+		
+		// Then
+		assertEquals("product", result);
+		assertEquals(3, attempts.get());
+	}
+	
+	@Test
+	@DisplayName("Should time out a downstream that never answers")
+	void testTimeout() {
+		// When
+		final RuntimeException exception = assertThrows(RuntimeException.class, 
+				() -> reactiveResilience.decorate("productService", Mono.never()).block());
+		
+		// Then
+		assertTrue(Exceptions.unwrap(exception) instanceof TimeoutException);
+	}
+	
+	@Test
+	@DisplayName("Should use the reactive bulkhead instance of the downstream")
+	void testReactiveBulkhead() {
+		// When
+		reactiveResilience.decorate("productService", Mono.just("product")).block();
+		
+		// Then
+		assertTrue(bulkheadRegistry.find("productService" + ReactiveResilience.REACTIVE_BULKHEAD_SUFFIX).isPresent());
+		assertFalse(bulkheadRegistry.find("productService").isPresent());
+	}
+	
+}
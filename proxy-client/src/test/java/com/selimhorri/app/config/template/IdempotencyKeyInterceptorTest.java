@@ -0,0 +1,118 @@
+package com.selimhorri.app.config.template;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import feign.Request.HttpMethod;
+import feign.RequestTemplate;
+
+@DisplayName("IdempotencyKeyInterceptor Tests")
+class IdempotencyKeyInterceptorTest {
+	
+	private final IdempotencyKeyInterceptor interceptor = new IdempotencyKeyInterceptor();
+	private MockHttpServletRequest request;
+	
+	@BeforeEach
+	void setUp() {
+		request = new MockHttpServletRequest("POST", "/app/api/orders");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+	
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+	
+	private String keyOf(final HttpMethod method, final String uri, final String body) {
+		final RequestTemplate template = new RequestTemplate()
+				.method(method)
+				.uri(uri)
+				.body(body.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+		interceptor.apply(template);
+		return template.headers().getOrDefault(IdempotencyKeyInterceptor.IDEMPOTENCY_KEY, List.of()).stream()
+				.findFirst()
+				.orElse(null);
+	}
+	
+	private static String requestKeyOf(final String key) {
+		return key.substring(0, key.lastIndexOf(IdempotencyKeyInterceptor.SEPARATOR));
+	}
+	
+	@Test
+	@DisplayName("Should send the same key on every attempt of a call")
+	void testSameKeyAcrossRetries() {
+		// When
+		final String firstAttempt = keyOf(HttpMethod.POST, "/order-service/api/orders", "{\"orderFee\":10}");
+		final String retry = keyOf(HttpMethod.POST, "/order-service/api/orders", "{\"orderFee\":10}");
+		
+		// Then
+		assertNotNull(firstAttempt);
+		assertEquals(firstAttempt, retry);
+	}
+	
+	@Test
+	@DisplayName("Should send different keys for different calls of one request")
+	void testDifferentCallsDifferentKeys() {
+		// When
+		final String order = keyOf(HttpMethod.POST, "/order-service/api/orders", "{\"orderFee\":10}");
+		final String otherOrder = keyOf(HttpMethod.POST, "/order-service/api/orders", "{\"orderFee\":20}");
+		final String payment = keyOf(HttpMethod.POST, "/payment-service/api/payments", "{\"orderFee\":10}");
+		
+		// Then
+		assertNotEquals(order, otherOrder);
+		assertNotEquals(order, payment);
+		assertEquals(requestKeyOf(order), requestKeyOf(payment));
+	}
+	
+	@Test
+	@DisplayName("Should draw a new key per incoming request")
+	void testNewKeyPerRequest() {
+		// Given
+		final String first = keyOf(HttpMethod.POST, "/order-service/api/orders", "{}");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("POST", "/app/api/orders")));
+		
+		// When
+		final String second = keyOf(HttpMethod.POST, "/order-service/api/orders", "{}");
+		
+		// Then
+		assertNotEquals(first, second);
+	}
+	
+	@Test
+	@DisplayName("Should build the key from the one the caller sent")
+	void testCallerKey() {
+		// Given
+		request.addHeader(IdempotencyKeyInterceptor.IDEMPOTENCY_KEY, " checkout-42 ");
+		
+		// When
+		final String key = keyOf(HttpMethod.POST, "/order-service/api/orders", "{}");
+		
+		// Then
+		assertEquals("checkout-42", requestKeyOf(key));
+	}
+	
+	@Test
+	@DisplayName("Should leave other methods and calls made outside a request alone")
+	void testNoKey() {
+		// When
+		final String get = keyOf(HttpMethod.GET, "/order-service/api/orders", "");
+		RequestContextHolder.resetRequestAttributes();
+		final String outsideRequest = keyOf(HttpMethod.POST, "/order-service/api/orders", "{}");
+		
+		// Then
+		assertNull(get);
+		assertNull(outsideRequest);
+	}
+	
+}
+
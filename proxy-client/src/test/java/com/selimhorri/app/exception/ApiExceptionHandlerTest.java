@@ -2,15 +2,22 @@ package com.selimhorri.app.exception;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.charset.StandardCharsets;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import com.selimhorri.app.exception.wrapper.UnauthorizedException;
 
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
 @ExtendWith(MockitoExtension.class)
 @DisplayName("ApiExceptionHandler Tests - Proxy Client")
 class ApiExceptionHandlerTest {
@@ -46,4 +53,37 @@ class ApiExceptionHandlerTest {
 		
 		assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
 	}
+	
+	@Test
+	@DisplayName("Should pass on the client error responses of the reactive client")
+	void testHandleReactiveProxyException() {
+		var exception = WebClientResponseException.create(404, "Not Found", HttpHeaders.EMPTY, 
+				"Product not found".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+		var response = apiExceptionHandler.handleReactiveProxyException(exception);
+		
+		assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+		assertEquals(HttpStatus.NOT_FOUND, response.getBody().getHttpStatus());
+		assertEquals("Product not found", response.getBody().getMsg());
+	}
+	
+	@Test
+	@DisplayName("Should answer BAD_GATEWAY on server error responses of the reactive client")
+	void testHandleReactiveProxyServerException() {
+		var exception = WebClientResponseException.create(500, "Internal Server Error", HttpHeaders.EMPTY, 
+				"Database unavailable".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+		var response = apiExceptionHandler.handleReactiveProxyException(exception);
+		
+		assertEquals(HttpStatus.BAD_GATEWAY, response.getStatusCode());
+		assertEquals("Database unavailable", response.getBody().getMsg());
+	}
+	
+	@Test
+	@DisplayName("Should answer SERVICE_UNAVAILABLE when the circuit is open")
+	void testHandleCallNotPermittedException() {
+		var exception = CallNotPermittedException.createCallNotPermittedException(
+				CircuitBreaker.ofDefaults("productService"));
+		var response = apiExceptionHandler.handleUnavailableException(exception);
+		
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+	}
 }
@@ -0,0 +1,58 @@
+package com.selimhorri.app.fallback;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+
+@DisplayName("DownstreamFailurePredicate Tests")
+class DownstreamFailurePredicateTest {
+	
+	private final CircuitBreaker circuitBreaker = CircuitBreaker.of("productService", CircuitBreakerConfig.custom()
+			.slidingWindowSize(10)
+			.minimumNumberOfCalls(5)
+			.failureRateThreshold(50)
+			.recordException(new DownstreamFailurePredicate())
+			.build());
+	
+	private static WebClientResponseException responseException(final int status) {
+		return WebClientResponseException.create(status, "", HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8);
+	}
+	
+	@Test
+	@DisplayName("Should keep the circuit closed on client errors of the downstream")
+	void testClientErrors() {
+		// When
+		for (int i = 0; i < 10; i++)
+			circuitBreaker.onError(0, TimeUnit.MILLISECONDS, responseException(404));
+		
+		// Then
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+		assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+	}
+	
+	@Test
+	@DisplayName("Should open the circuit on server errors of the downstream")
+	void testServerErrors() {
+		// When
+		for (int i = 0; i < 10; i++)
+			circuitBreaker.onError(0, TimeUnit.MILLISECONDS, responseException(503));
+		
+		// Then
+		assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+	}
+	
+}
+
+
+
+
+
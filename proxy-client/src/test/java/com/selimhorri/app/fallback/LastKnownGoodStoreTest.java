@@ -0,0 +1,80 @@
+package com.selimhorri.app.fallback;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("LastKnownGoodStore Tests")
+class LastKnownGoodStoreTest {
+	
+	private LastKnownGoodStore lastKnownGoodStore;
+	private ProductDto productDto;
+	
+	@BeforeEach
+	void setUp() {
+		lastKnownGoodStore = new LastKnownGoodStore(DataSize.ofMegabytes(1), Duration.ofHours(1), 
+				new ObjectMapper(), new SimpleMeterRegistry());
+		productDto = ProductDto.builder()
+				.productId(1)
+				.productTitle("Laptop")
+				.build();
+	}
+	
+	@Test
+	@DisplayName("Should serve the last successful response with staleness headers")
+	void testServe() {
+		// Given
+		lastKnownGoodStore.record("product-service:findAll", ResponseEntity.ok(
+				new ProductProductServiceCollectionDtoResponse(List.of(productDto))));
+		
+		// When
+		final Optional<ResponseEntity<ProductProductServiceCollectionDtoResponse>> served = lastKnownGoodStore
+				.serve("product-service:findAll", ProductProductServiceCollectionDtoResponse.class);
+		
+		// Then
+		assertTrue(served.isPresent());
+		assertEquals(HttpStatus.OK, served.get().getStatusCode());
+		assertEquals(LastKnownGoodStore.STALE_WARNING, served.get().getHeaders().getFirst(HttpHeaders.WARNING));
+		assertNotNull(served.get().getHeaders().getFirst(HttpHeaders.AGE));
+		assertEquals("Laptop", served.get().getBody().getCollection().iterator().next().getProductTitle());
+	}
+	
+	@Test
+	@DisplayName("Should not record error responses")
+	void testErrorIsNotRecorded() {
+		// Given
+		lastKnownGoodStore.record("product-service:findById:1", ResponseEntity.status(HttpStatus.NOT_FOUND).body(productDto));
+		
+		// When & Then
+		assertFalse(lastKnownGoodStore.serve("product-service:findById:1", ProductDto.class).isPresent());
+	}
+	
+	@Test
+	@DisplayName("Should keep a stored copy apart from later changes of the recorded body")
+	void testStoredCopyIsIsolated() {
+		// Given
+		lastKnownGoodStore.record("product-service:findById:1", ResponseEntity.ok(productDto));
+		productDto.setProductTitle("Changed");
+		
+		// When & Then
+		assertEquals("Laptop", lastKnownGoodStore.serve("product-service:findById:1", ProductDto.class)
+				.get().getBody().getProductTitle());
+	}
+	
+}
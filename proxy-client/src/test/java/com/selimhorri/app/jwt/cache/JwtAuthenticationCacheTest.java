@@ -0,0 +1,76 @@
+package com.selimhorri.app.jwt.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("JwtAuthenticationCache Tests")
+class JwtAuthenticationCacheTest {
+	
+	private SimpleMeterRegistry meterRegistry;
+	private JwtAuthenticationCache jwtAuthenticationCache;
+	private UserDetails userDetails;
+	
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		jwtAuthenticationCache = new JwtAuthenticationCache(100, Duration.ofMinutes(5), meterRegistry);
+		userDetails = User.builder()
+				.username("testuser")
+				.password("password")
+				.authorities("ROLE_USER")
+				.build();
+	}
+	
+	private static Claims claimsExpiringIn(final long millis) {
+		return Jwts.claims()
+				.setSubject("testuser")
+				.setExpiration(new Date(System.currentTimeMillis() + millis));
+	}
+	
+	@Test
+	@DisplayName("Should return cached user details for a known token")
+	void testHit() {
+		// Given
+		jwtAuthenticationCache.put("token", claimsExpiringIn(60_000), userDetails);
+		
+		// When & Then
+		assertTrue(jwtAuthenticationCache.get("token").isPresent());
+		assertEquals("testuser", jwtAuthenticationCache.get("token").get().getUserDetails().getUsername());
+		assertFalse(jwtAuthenticationCache.get("other-token").isPresent());
+		assertEquals(2.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+	}
+	
+	@Test
+	@DisplayName("Should not serve a token past its exp claim")
+	void testExpiredToken() {
+		// Given
+		jwtAuthenticationCache.put("token", claimsExpiringIn(-1_000), userDetails);
+		
+		// When & Then
+		assertFalse(jwtAuthenticationCache.get("token").isPresent());
+	}
+	
+	@Test
+	@DisplayName("Should not cache a token without exp claim")
+	void testTokenWithoutExpiration() {
+		// Given
+		jwtAuthenticationCache.put("token", Jwts.claims().setSubject("testuser"), userDetails);
+		
+		// When & Then
+		assertFalse(jwtAuthenticationCache.get("token").isPresent());
+	}
+	
+}
@@ -0,0 +1,46 @@
+package com.selimhorri.app.dto.response.collection;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class DtoCursorPageResponse<T> {
+	
+	private Collection<T> collection;
+	
+	/**
+	 * Opaque keyset cursor to pass as {@code after} for the next page, 
+	 * absent once the last page has been reached
+	 */
+	@JsonInclude(Include.NON_NULL)
+	private String nextCursor;
+	
+	public static <T> DtoCursorPageResponse<T> of(final List<T> page, final int pageSize, 
+			final Function<T, String> cursorExtractor) {
+		return new DtoCursorPageResponse<>(page, page.size() < pageSize ? 
+				null : cursorExtractor.apply(page.get(page.size() - 1)));
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
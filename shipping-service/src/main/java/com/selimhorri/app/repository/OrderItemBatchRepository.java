@@ -0,0 +1,15 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+
+import com.selimhorri.app.domain.OrderItem;
+
+public interface OrderItemBatchRepository {
+	
+	/**
+	 * Inserts new order items in JDBC batches of {@code hibernate.jdbc.batch_size}.
+	 * Unlike save, it never merges, so no select is issued per assigned composite key.
+	 */
+	List<OrderItem> persistAll(final List<OrderItem> orderItems);
+	
+}
@@ -0,0 +1,47 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.transaction.Transactional;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import com.selimhorri.app.domain.OrderItem;
+
+public class OrderItemBatchRepositoryImpl implements OrderItemBatchRepository {
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int batchSize;
+	
+	@Override
+	@Transactional
+	public List<OrderItem> persistAll(final List<OrderItem> orderItems) {
+		for (int i = 0; i < orderItems.size(); i++) {
+			this.entityManager.persist(orderItems.get(i));
+			if ((i + 1) % this.batchSize == 0) {
+				this.entityManager.flush();
+				this.entityManager.clear();
+			}
+		}
+		this.entityManager.flush();
+		return orderItems;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
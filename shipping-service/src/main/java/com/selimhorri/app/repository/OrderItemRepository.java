@@ -1,12 +1,33 @@
 package com.selimhorri.app.repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 
-public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItemId> {
+public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItemId>, OrderItemBatchRepository {
+	
+	/**
+	 * Superset of the rows matching any of the given keys, callers match the exact composite keys
+	 */
+	List<OrderItem> findAllByProductIdInAndOrderIdIn(final Collection<Integer> productIds, 
+			final Collection<Integer> orderIds);
+	
+	List<OrderItem> findAllByOrderByProductIdAscOrderIdAsc(final Pageable pageable);
 	
+	List<OrderItem> findAllByOrderIdOrderByProductIdAsc(final Integer orderId);
 	
+	@Query("SELECT oi FROM OrderItem oi WHERE oi.productId > :productId "
+			+ "OR (oi.productId = :productId AND oi.orderId > :orderId) "
+			+ "ORDER BY oi.productId ASC, oi.orderId ASC")
+	List<OrderItem> findPageAfter(@Param("productId") final Integer productId, 
+			@Param("orderId") final Integer orderId, 
+			final Pageable pageable);
 	
 }
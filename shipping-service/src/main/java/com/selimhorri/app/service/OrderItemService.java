@@ -4,12 +4,17 @@ import java.util.List;
 
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.response.collection.DtoBatchResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 
 public interface OrderItemService {
 	
 	List<OrderItemDto> findAll();
+	DtoCursorPageResponse<OrderItemDto> findPage(final String after, final int limit);
+	List<OrderItemDto> findAllByOrderId(final Integer orderId);
 	OrderItemDto findById(final OrderItemId orderItemId);
 	OrderItemDto save(final OrderItemDto orderItemDto);
+	DtoBatchResponse<OrderItemDto> saveAll(final List<OrderItemDto> orderItemDtos);
 	OrderItemDto update(final OrderItemDto orderItemDto);
 	void deleteById(final OrderItemId orderItemId);
 	
@@ -0,0 +1,203 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.exception.custom.ExternalServiceException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Enriquece OrderItemDtos con el producto y la orden de los servicios externos.
+ * Los lookups de producto y orden se lanzan en paralelo, cada id distinto se consulta
+ * una sola vez por llamada y cada downstream tiene su propio pool acotado,
+ * que limita las llamadas en vuelo contra ese servicio.
+ */
+@Component
+@Slf4j
+public class OrderItemEnricher implements DisposableBean {
+	
+	static final String LATENCY_METRIC = "shipping.enrichment.latency";
+	static final String PRODUCT_SERVICE = "product-service";
+	static final String ORDER_SERVICE = "order-service";
+	
+	private final RestTemplate restTemplate;
+	private final Executor productExecutor;
+	private final Executor orderExecutor;
+	private final MeterRegistry meterRegistry;
+	
+	@Autowired
+	public OrderItemEnricher(final RestTemplate restTemplate, final MeterRegistry meterRegistry,
+			@Value("${app.enrichment.product-service.max-in-flight:16}") final int productMaxInFlight,
+			@Value("${app.enrichment.order-service.max-in-flight:16}") final int orderMaxInFlight) {
+		this(restTemplate,
+				boundedExecutor("product-lookup-", productMaxInFlight),
+				boundedExecutor("order-lookup-", orderMaxInFlight),
+				meterRegistry);
+	}
+	
+	OrderItemEnricher(final RestTemplate restTemplate, final Executor productExecutor,
+			final Executor orderExecutor, final MeterRegistry meterRegistry) {
+		this.restTemplate = restTemplate;
+		this.productExecutor = productExecutor;
+		this.orderExecutor = orderExecutor;
+		this.meterRegistry = meterRegistry;
+	}
+	
+	/**
+	 * Enriquece una lista de items, un 404 deja el DTO con datos parciales
+	 * y un error de comunicacion omite el item
+	 */
+	public List<OrderItemDto> enrichAll(final List<OrderItemDto> orderItemDtos) {
+		final Map<Integer, CompletableFuture<Optional<ProductDto>>> products = new HashMap<>();
+		final Map<Integer, CompletableFuture<Optional<OrderDto>>> orders = new HashMap<>();
+		orderItemDtos.forEach(orderItemDto -> {
+			if (orderItemDto.getProductId() != null) {
+				products.computeIfAbsent(orderItemDto.getProductId(), this::lookupProduct);
+			}
+			if (orderItemDto.getOrderId() != null) {
+				orders.computeIfAbsent(orderItemDto.getOrderId(), this::lookupOrder);
+			}
+		});
+		
+		return orderItemDtos.stream()
+				.map(orderItemDto -> {
+					try {
+						return apply(orderItemDto,
+								products.get(orderItemDto.getProductId()),
+								orders.get(orderItemDto.getOrderId()));
+					}
+					catch (final CompletionException e) {
+						log.error("Skipping order item {}-{}: {}", orderItemDto.getProductId(),
+								orderItemDto.getOrderId(), e.getCause().getMessage());
+						return null;
+					}
+				})
+				.filter(Objects::nonNull)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Enriquece un unico item, un 404 deja el DTO con datos parciales
+	 * y un error de comunicacion se propaga como {@link ExternalServiceException}
+	 */
+	public OrderItemDto enrich(final OrderItemDto orderItemDto) {
+		try {
+			return apply(orderItemDto,
+					orderItemDto.getProductId() == null ? null : lookupProduct(orderItemDto.getProductId()),
+					orderItemDto.getOrderId() == null ? null : lookupOrder(orderItemDto.getOrderId()));
+		}
+		catch (final CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+	
+	@Override
+	public void destroy() {
+		Stream.of(this.productExecutor, this.orderExecutor)
+				.filter(ThreadPoolTaskExecutor.class::isInstance)
+				.map(ThreadPoolTaskExecutor.class::cast)
+				.forEach(ThreadPoolTaskExecutor::shutdown);
+	}
+	
+	private static OrderItemDto apply(final OrderItemDto orderItemDto,
+			final CompletableFuture<Optional<ProductDto>> product,
+			final CompletableFuture<Optional<OrderDto>> order) {
+		if (product != null) {
+			product.join().ifPresent(orderItemDto::setProductDto);
+		}
+		if (order != null) {
+			order.join().ifPresent(orderItemDto::setOrderDto);
+		}
+		return orderItemDto;
+	}
+	
+	private CompletableFuture<Optional<ProductDto>> lookupProduct(final Integer productId) {
+		return this.lookup(PRODUCT_SERVICE, AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL,
+				productId, ProductDto.class, this.productExecutor);
+	}
+	
+	private CompletableFuture<Optional<OrderDto>> lookupOrder(final Integer orderId) {
+		return this.lookup(ORDER_SERVICE, AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL,
+				orderId, OrderDto.class, this.orderExecutor);
+	}
+	
+	private <T> CompletableFuture<Optional<T>> lookup(final String downstream, final String apiUrl,
+			final Integer id, final Class<T> responseType, final Executor executor) {
+		return CompletableFuture.supplyAsync(() -> {
+			final Timer.Sample sample = Timer.start(this.meterRegistry);
+			String outcome = "ERROR";
+			try {
+				log.debug("Fetching {} from {}", id, downstream);
+				final T response = this.restTemplate.getForObject(apiUrl + "/" + id, responseType);
+				outcome = "SUCCESS";
+				return Optional.ofNullable(response);
+			}
+			catch (final HttpClientErrorException.NotFound e) {
+				outcome = "NOT_FOUND";
+				log.warn("Resource {} not found in {} while enriching order items", id, downstream);
+				return Optional.empty();
+			}
+			catch (final RestClientException e) {
+				throw new ExternalServiceException("Failed to communicate with " + downstream, e);
+			}
+			finally {
+				sample.stop(Timer.builder(LATENCY_METRIC)
+						.description("Latency of the order item enrichment lookups")
+						.tag("downstream", downstream)
+						.tag("outcome", outcome)
+						.publishPercentileHistogram()
+						.register(this.meterRegistry));
+			}
+		}, executor);
+	}
+	
+	private static ThreadPoolTaskExecutor boundedExecutor(final String threadNamePrefix, final int maxInFlight) {
+		final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(maxInFlight);
+		executor.setMaxPoolSize(maxInFlight);
+		executor.setThreadNamePrefix(threadNamePrefix);
+		executor.setDaemon(true);
+		executor.initialize();
+		return executor;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,11 +1,19 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
@@ -17,6 +25,9 @@ import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoBatchResponse;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.ErrorCode;
 import com.selimhorri.app.exception.custom.DuplicateResourceException;
 import com.selimhorri.app.exception.custom.ExternalServiceException;
@@ -25,6 +36,7 @@ import com.selimhorri.app.exception.custom.ResourceNotFoundException;
 import com.selimhorri.app.helper.OrderItemMappingHelper;
 import com.selimhorri.app.repository.OrderItemRepository;
 import com.selimhorri.app.service.OrderItemService;
+import com.selimhorri.app.util.ParserUtil;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,17 +49,48 @@ public class OrderItemServiceImpl implements OrderItemService {
 	
 	private final OrderItemRepository orderItemRepository;
 	private final RestTemplate restTemplate;
+	private final OrderItemEnricher orderItemEnricher;
 	
 	@Override
 	public List<OrderItemDto> findAll() {
 		log.info("*** OrderItemDto List, service; fetch all orderItems *");
-		return this.orderItemRepository.findAll()
+		return this.orderItemEnricher.enrichAll(this.orderItemRepository.findAll()
 				.stream()
 				.map(OrderItemMappingHelper::map)
-				.map(this::enrichOrderItemWithExternalData)
-				.filter(Objects::nonNull)
 				.distinct()
-				.collect(Collectors.toUnmodifiableList());
+				.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	public DtoCursorPageResponse<OrderItemDto> findPage(final String after, final int limit) {
+		log.info("*** OrderItemDto Page, service; fetch orderItems page *");
+		final int pageSize = Math.min(Math.max(limit, 1), AppConstant.MAX_PAGE_SIZE);
+		final List<OrderItem> orderItems;
+		if (after == null || after.isBlank()) {
+			orderItems = this.orderItemRepository
+					.findAllByOrderByProductIdAscOrderIdAsc(PageRequest.of(0, pageSize));
+		}
+		else {
+			final OrderItemId cursor = parseCursor(after);
+			orderItems = this.orderItemRepository.findPageAfter(cursor.getProductId(), 
+					cursor.getOrderId(), PageRequest.of(0, pageSize));
+		}
+		
+		// Cursor is taken from the last row read, items skipped during enrichment must not end the walk
+		final OrderItem last = orderItems.size() < pageSize ? null : orderItems.get(orderItems.size() - 1);
+		return new DtoCursorPageResponse<>(this.orderItemEnricher.enrichAll(orderItems.stream()
+					.map(OrderItemMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList())), 
+				last == null ? null : last.getProductId() + "," + last.getOrderId());
+	}
+	
+	@Override
+	public List<OrderItemDto> findAllByOrderId(final Integer orderId) {
+		log.info("*** OrderItemDto List, service; fetch orderItems by order id *");
+		return this.orderItemEnricher.enrichAll(this.orderItemRepository.findAllByOrderIdOrderByProductIdAsc(orderId)
+				.stream()
+				.map(OrderItemMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList()));
 	}
 	
 	@Override
@@ -55,7 +98,7 @@ public class OrderItemServiceImpl implements OrderItemService {
 		log.info("*** OrderItemDto, service; fetch orderItem by id *");
 		return this.orderItemRepository.findById(orderItemId)
 				.map(OrderItemMappingHelper::map)
-				.map(this::enrichOrderItemWithExternalData)
+				.map(this.orderItemEnricher::enrich)
 				.orElseThrow(() -> new ResourceNotFoundException(
 						ErrorCode.SHIPPING_NOT_FOUND, orderItemId));
 	}
@@ -89,6 +132,91 @@ public class OrderItemServiceImpl implements OrderItemService {
 		}
 	}
 	
+	/**
+	 * Valida el lote completo de una vez: una consulta IN para los duplicados y una
+	 * consulta por ids a cada servicio referenciado, luego inserta en lotes JDBC.
+	 * Los items rechazados se reportan por su posicion en el lote.
+	 */
+	@Override
+	public DtoBatchResponse<OrderItemDto> saveAll(final List<OrderItemDto> orderItemDtos) {
+		log.info("*** OrderItemDto Batch, service; save orderItems batch *");
+		
+		if (orderItemDtos == null || orderItemDtos.isEmpty()) {
+			throw new InvalidInputException(ErrorCode.MISSING_REQUIRED_FIELD);
+		}
+		if (orderItemDtos.size() > AppConstant.MAX_BATCH_SIZE) {
+			throw new InvalidInputException(ErrorCode.INVALID_INPUT, 
+					"Batch size must not exceed " + AppConstant.MAX_BATCH_SIZE);
+		}
+		
+		final List<DtoBatchResponse.ItemError> errors = new ArrayList<>();
+		final Map<OrderItemId, Integer> candidates = new LinkedHashMap<>();
+		for (int i = 0; i < orderItemDtos.size(); i++) {
+			final OrderItemDto orderItemDto = orderItemDtos.get(i);
+			if (orderItemDto == null || orderItemDto.getOrderId() == null 
+					|| orderItemDto.getProductId() == null) {
+				errors.add(itemError(i, ErrorCode.MISSING_REQUIRED_FIELD, 
+						ErrorCode.MISSING_REQUIRED_FIELD.getMessage()));
+			}
+			else if (candidates.putIfAbsent(OrderItemMappingHelper.toId(orderItemDto), i) != null) {
+				errors.add(itemError(i, ErrorCode.DUPLICATE_RESOURCE, "Order item is repeated in the batch"));
+			}
+		}
+		
+		if (!candidates.isEmpty()) {
+			final Set<Integer> productIds = candidates.keySet().stream()
+					.map(OrderItemId::getProductId)
+					.collect(Collectors.toSet());
+			final Set<Integer> orderIds = candidates.keySet().stream()
+					.map(OrderItemId::getOrderId)
+					.collect(Collectors.toSet());
+			
+			final Set<OrderItemId> existing = this.orderItemRepository
+					.findAllByProductIdInAndOrderIdIn(productIds, orderIds)
+					.stream()
+						.map(OrderItemMappingHelper::toId)
+						.collect(Collectors.toSet());
+			final Set<Integer> existingProducts = this.fetchExistingIds(
+					AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL, "product-service", productIds, 
+					new ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>() {}, 
+					ProductDto::getProductId);
+			final Set<Integer> existingOrders = this.fetchExistingIds(
+					AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL, "order-service", orderIds, 
+					new ParameterizedTypeReference<DtoCollectionResponse<OrderDto>>() {}, 
+					OrderDto::getOrderId);
+			
+			candidates.entrySet().removeIf(candidate -> {
+				final OrderItemId id = candidate.getKey();
+				if (existing.contains(id)) {
+					errors.add(itemError(candidate.getValue(), ErrorCode.DUPLICATE_RESOURCE, 
+							ErrorCode.DUPLICATE_RESOURCE.getMessage()));
+				}
+				else if (!existingProducts.contains(id.getProductId())) {
+					errors.add(itemError(candidate.getValue(), ErrorCode.PRODUCT_NOT_FOUND, 
+							ErrorCode.PRODUCT_NOT_FOUND.formatMessage(id.getProductId())));
+				}
+				else if (!existingOrders.contains(id.getOrderId())) {
+					errors.add(itemError(candidate.getValue(), ErrorCode.ORDER_NOT_FOUND, 
+							ErrorCode.ORDER_NOT_FOUND.formatMessage(id.getOrderId())));
+				}
+				else {
+					return false;
+				}
+				return true;
+			});
+		}
+		
+		final List<OrderItemDto> saved = this.orderItemRepository.persistAll(candidates.values().stream()
+					.map(orderItemDtos::get)
+					.map(OrderItemMappingHelper::map)
+					.collect(Collectors.toList()))
+				.stream()
+					.map(OrderItemMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+		errors.sort(Comparator.comparing(DtoBatchResponse.ItemError::getIndex));
+		return new DtoBatchResponse<>(saved, errors);
+	}
+	
 	@Override
 	public OrderItemDto update(final OrderItemDto orderItemDto) {
 		log.info("*** OrderItemDto, service; update orderItem *");
@@ -120,27 +248,47 @@ public class OrderItemServiceImpl implements OrderItemService {
 	}
 	
 	/**
-	 * Enriquece el OrderItemDto con datos de servicios externos
+	 * El cursor de una pagina es la clave compuesta del ultimo item: {@code productId,orderId}
 	 */
-	private OrderItemDto enrichOrderItemWithExternalData(OrderItemDto orderItemDto) {
+	private static OrderItemId parseCursor(final String cursor) {
+		final String[] parts = cursor.strip().split(",");
+		if (parts.length != 2) {
+			throw new InvalidInputException(ErrorCode.INVALID_INPUT, 
+					"Invalid cursor format: " + cursor);
+		}
+		return new OrderItemId(ParserUtil.parseId(parts[0], "productId"), 
+				ParserUtil.parseId(parts[1], "orderId"));
+	}
+	
+	private static DtoBatchResponse.ItemError itemError(final int index, final ErrorCode errorCode, 
+			final String message) {
+		return new DtoBatchResponse.ItemError(index, errorCode.getCode(), message);
+	}
+	
+	/**
+	 * Consulta de una vez cuales de los ids existen en el servicio externo
+	 */
+	private <T> Set<Integer> fetchExistingIds(final String apiUrl, final String serviceName, 
+			final Set<Integer> ids, final ParameterizedTypeReference<DtoCollectionResponse<T>> responseType, 
+			final Function<T, Integer> idExtractor) {
 		try {
-			// Obtener producto
-			ProductDto product = fetchProduct(orderItemDto.getProductDto().getProductId());
-			orderItemDto.setProductDto(product);
-			
-			// Obtener orden
-			OrderDto order = fetchOrder(orderItemDto.getOrderDto().getOrderId());
-			orderItemDto.setOrderDto(order);
-			
-			return orderItemDto;
-		} catch (HttpClientErrorException.NotFound e) {
-			log.warn("Resource not found while enriching order item: {}", e.getMessage());
-			// Retornar el DTO con datos parciales en lugar de fallar
-			return orderItemDto;
+			final DtoCollectionResponse<T> response = this.restTemplate
+					.exchange(apiUrl + "?ids=" + ids.stream()
+								.sorted()
+								.map(String::valueOf)
+								.collect(Collectors.joining(",")), 
+							HttpMethod.GET, null, responseType)
+					.getBody();
+			if (response == null || response.getCollection() == null) {
+				return Set.of();
+			}
+			return response.getCollection().stream()
+					.map(idExtractor)
+					.collect(Collectors.toSet());
 		} catch (RestClientException e) {
-			log.error("Error communicating with external service: {}", e.getMessage());
-			// En findAll, podemos omitir items con errores
-			return null;
+			log.error("Error verifying ids against {}: {}", serviceName, e.getMessage());
+			throw new ExternalServiceException(
+					"Failed to communicate with " + serviceName, e);
 		}
 	}
 	
@@ -0,0 +1,4 @@
+-- the primary key leads with product_id, so order lookups need their own index
+CREATE INDEX idx_order_items_order_id ON order_items (order_id);
+
+
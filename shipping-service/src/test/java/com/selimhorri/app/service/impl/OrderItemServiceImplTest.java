@@ -5,15 +5,24 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 
 import org.springframework.web.client.RestTemplate;
 import com.selimhorri.app.domain.OrderItem;
@@ -21,9 +30,18 @@ import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoBatchResponse;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
+import com.selimhorri.app.exception.ErrorCode;
+import com.selimhorri.app.exception.custom.ExternalServiceException;
+import com.selimhorri.app.exception.custom.InvalidInputException;
 import com.selimhorri.app.exception.custom.ResourceNotFoundException;
 import com.selimhorri.app.repository.OrderItemRepository;
 
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 @DisplayName("OrderItemService Tests")
 class OrderItemServiceImplTest {
@@ -34,7 +52,8 @@ class OrderItemServiceImplTest {
 	@Mock
 	private RestTemplate restTemplate;
 	
-	@InjectMocks
+	private SimpleMeterRegistry meterRegistry;
+	
 	private OrderItemServiceImpl orderItemService;
 	
 	private OrderItem orderItem;
@@ -43,6 +62,10 @@ class OrderItemServiceImplTest {
 	
 	@BeforeEach
 	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		orderItemService = new OrderItemServiceImpl(orderItemRepository, restTemplate, 
+				new OrderItemEnricher(restTemplate, Runnable::run, Runnable::run, meterRegistry));
+		
 		orderItemId = new OrderItemId(1, 1);
 		
 		orderItem = new OrderItem();
@@ -67,6 +90,101 @@ class OrderItemServiceImplTest {
 		verify(orderItemRepository, times(1)).findAll();
 	}
 	
+	@Test
+	@DisplayName("Should look up each distinct product and order only once")
+	void testFindAllDeduplicatesLookups() {
+		OrderItem sameProduct = new OrderItem();
+		sameProduct.setOrderId(2);
+		sameProduct.setProductId(1);
+		sameProduct.setOrderedQuantity(1);
+		when(orderItemRepository.findAll()).thenReturn(Arrays.asList(orderItem, sameProduct));
+		when(restTemplate.getForObject(anyString(), eq(ProductDto.class))).thenReturn(new ProductDto());
+		when(restTemplate.getForObject(anyString(), eq(OrderDto.class))).thenReturn(new OrderDto());
+		
+		List<OrderItemDto> result = orderItemService.findAll();
+		
+		assertEquals(2, result.size());
+		verify(restTemplate, times(1)).getForObject(endsWith("/products/1"), eq(ProductDto.class));
+		verify(restTemplate, times(1)).getForObject(endsWith("/orders/1"), eq(OrderDto.class));
+		verify(restTemplate, times(1)).getForObject(endsWith("/orders/2"), eq(OrderDto.class));
+		assertEquals(3, meterRegistry.get(OrderItemEnricher.LATENCY_METRIC).timers().stream()
+				.mapToLong(Timer::count).sum());
+	}
+	
+	@Test
+	@DisplayName("Should keep partial data when a downstream resource is not found")
+	void testFindAllKeepsPartialDtoOnNotFound() {
+		when(orderItemRepository.findAll()).thenReturn(Arrays.asList(orderItem));
+		when(restTemplate.getForObject(anyString(), eq(ProductDto.class)))
+			.thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", 
+					HttpHeaders.EMPTY, null, null));
+		when(restTemplate.getForObject(anyString(), eq(OrderDto.class)))
+			.thenReturn(OrderDto.builder().orderId(1).orderDesc("order").build());
+		
+		List<OrderItemDto> result = orderItemService.findAll();
+		
+		assertEquals(1, result.size());
+		assertEquals(1, result.get(0).getProductDto().getProductId());
+		assertEquals("order", result.get(0).getOrderDto().getOrderDesc());
+		assertEquals(1, meterRegistry.get(OrderItemEnricher.LATENCY_METRIC)
+				.tags("downstream", OrderItemEnricher.PRODUCT_SERVICE, "outcome", "NOT_FOUND").timer().count());
+	}
+	
+	@Test
+	@DisplayName("Should skip order items whose enrichment fails on transport errors")
+	void testFindAllSkipsItemOnTransportError() {
+		when(orderItemRepository.findAll()).thenReturn(Arrays.asList(orderItem));
+		when(restTemplate.getForObject(anyString(), eq(ProductDto.class))).thenReturn(new ProductDto());
+		when(restTemplate.getForObject(anyString(), eq(OrderDto.class)))
+			.thenThrow(new ResourceAccessException("Connection refused"));
+		
+		assertTrue(orderItemService.findAll().isEmpty());
+	}
+	
+	@Test
+	@DisplayName("Should surface transport errors when enriching a single order item")
+	void testFindByIdTransportError() {
+		when(orderItemRepository.findById(any(OrderItemId.class))).thenReturn(Optional.of(orderItem));
+		when(restTemplate.getForObject(anyString(), eq(ProductDto.class)))
+			.thenThrow(new ResourceAccessException("Connection refused"));
+		when(restTemplate.getForObject(anyString(), eq(OrderDto.class))).thenReturn(new OrderDto());
+		
+		assertThrows(ExternalServiceException.class, () -> orderItemService.findById(orderItemId));
+	}
+	
+	@Test
+	@DisplayName("Should return the composite key of the last row as next cursor")
+	void testFindPage() {
+		when(orderItemRepository.findPageAfter(eq(1), eq(0), any(Pageable.class)))
+			.thenReturn(Arrays.asList(orderItem));
+		when(restTemplate.getForObject(anyString(), eq(ProductDto.class))).thenReturn(new ProductDto());
+		when(restTemplate.getForObject(anyString(), eq(OrderDto.class))).thenReturn(new OrderDto());
+		
+		DtoCursorPageResponse<OrderItemDto> result = orderItemService.findPage("1,0", 1);
+		
+		assertEquals(1, result.getCollection().size());
+		assertEquals("1,1", result.getNextCursor());
+	}
+	
+	@Test
+	@DisplayName("Should find the items of an order looking the order up once")
+	void testFindAllByOrderId() {
+		OrderItem otherProduct = new OrderItem();
+		otherProduct.setOrderId(1);
+		otherProduct.setProductId(2);
+		otherProduct.setOrderedQuantity(1);
+		when(orderItemRepository.findAllByOrderIdOrderByProductIdAsc(1))
+			.thenReturn(Arrays.asList(orderItem, otherProduct));
+		when(restTemplate.getForObject(anyString(), eq(ProductDto.class))).thenReturn(new ProductDto());
+		when(restTemplate.getForObject(anyString(), eq(OrderDto.class))).thenReturn(new OrderDto());
+		
+		List<OrderItemDto> result = orderItemService.findAllByOrderId(1);
+		
+		assertEquals(2, result.size());
+		verify(restTemplate, times(1)).getForObject(endsWith("/orders/1"), eq(OrderDto.class));
+		verify(orderItemRepository, never()).findAll();
+	}
+	
 	@Test
 	@DisplayName("Should find order item by id")
 	void testFindById() {
@@ -99,6 +217,58 @@ class OrderItemServiceImplTest {
 		verify(orderItemRepository, times(1)).save(any(OrderItem.class));
 	}
 	
+	@Test
+	@DisplayName("Should save a batch verifying references with one call per service")
+	@SuppressWarnings("unchecked")
+	void testSaveAll() {
+		OrderItemDto missingProduct = OrderItemDto.builder().orderId(1).productId(9).orderedQuantity(1).build();
+		OrderItemDto missingField = OrderItemDto.builder().orderId(1).build();
+		when(orderItemRepository.findAllByProductIdInAndOrderIdIn(anyCollection(), anyCollection()))
+			.thenReturn(List.of());
+		when(restTemplate.exchange(contains("/products?ids=1,9"), eq(HttpMethod.GET), isNull(), 
+				any(ParameterizedTypeReference.class)))
+			.thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(ProductDto.builder().productId(1).build()))));
+		when(restTemplate.exchange(contains("/orders?ids=1"), eq(HttpMethod.GET), isNull(), 
+				any(ParameterizedTypeReference.class)))
+			.thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(OrderDto.builder().orderId(1).build()))));
+		when(orderItemRepository.persistAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+		
+		DtoBatchResponse<OrderItemDto> result = orderItemService.saveAll(
+				Arrays.asList(orderItemDto, missingProduct, orderItemDto, missingField));
+		
+		assertEquals(1, result.getCollection().size());
+		assertEquals(List.of(1, 2, 3), result.getErrors().stream()
+				.map(DtoBatchResponse.ItemError::getIndex)
+				.collect(Collectors.toList()));
+		assertEquals(ErrorCode.PRODUCT_NOT_FOUND.getCode(), result.getErrors().get(0).getErrorCode());
+		assertEquals(ErrorCode.DUPLICATE_RESOURCE.getCode(), result.getErrors().get(1).getErrorCode());
+		assertEquals(ErrorCode.MISSING_REQUIRED_FIELD.getCode(), result.getErrors().get(2).getErrorCode());
+		verify(orderItemRepository, never()).save(any(OrderItem.class));
+	}
+	
+	@Test
+	@DisplayName("Should report order items that already exist in a batch")
+	@SuppressWarnings("unchecked")
+	void testSaveAllExisting() {
+		when(orderItemRepository.findAllByProductIdInAndOrderIdIn(anyCollection(), anyCollection()))
+			.thenReturn(List.of(orderItem));
+		when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(), 
+				any(ParameterizedTypeReference.class)))
+			.thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of())));
+		when(orderItemRepository.persistAll(anyList())).thenReturn(List.of());
+		
+		DtoBatchResponse<OrderItemDto> result = orderItemService.saveAll(List.of(orderItemDto));
+		
+		assertTrue(result.getCollection().isEmpty());
+		assertEquals(ErrorCode.DUPLICATE_RESOURCE.getCode(), result.getErrors().get(0).getErrorCode());
+	}
+	
+	@Test
+	@DisplayName("Should reject an empty batch")
+	void testSaveAllEmpty() {
+		assertThrows(InvalidInputException.class, () -> orderItemService.saveAll(List.of()));
+	}
+	
 	@Test
 	@DisplayName("Should update order item")
 	void testUpdate() {
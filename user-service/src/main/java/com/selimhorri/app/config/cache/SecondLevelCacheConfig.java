@@ -0,0 +1,56 @@
+package com.selimhorri.app.config.cache;
+
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.selimhorri.app.constant.AppConstant;
+
+/**
+ * Opt-in Hibernate second-level cache of credentials and addresses, and of the queries marked
+ * cacheable such as the sign-in lookup by username, held by Caffeine behind JCache. Every region 
+ * is created up front with its own size and ttl, Hibernate refuses to start on any other.
+ * Statistics are on so the actuator Hibernate metrics publish the hits and misses of every region.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.second-level-cache", name = "enabled", havingValue = "true")
+public class SecondLevelCacheConfig {
+	
+	@Bean(destroyMethod = "close")
+	public CacheManager secondLevelCacheManager(final SecondLevelCacheProperties properties) {
+		final CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+		properties.getRegions().forEach((name, region) -> {
+			final CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+			configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+			configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+			cacheManager.createCache(name, configuration);
+		});
+		// one entry per table, they must outlive the query results they guard so they never expire
+		cacheManager.createCache(AppConstant.CacheRegion.UPDATE_TIMESTAMPS, new CaffeineConfiguration<>());
+		return cacheManager;
+	}
+	
+	@Bean
+	public HibernatePropertiesCustomizer secondLevelCacheCustomizer(final CacheManager secondLevelCacheManager) {
+		return hibernateProperties -> {
+			hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+			hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+			hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+			hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+			hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+			hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+		};
+	}
+	
+	
+	
+}
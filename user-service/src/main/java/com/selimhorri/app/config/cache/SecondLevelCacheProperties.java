@@ -0,0 +1,45 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.constant.AppConstant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Component
+@ConfigurationProperties(prefix = "app.second-level-cache")
+@Getter
+@Setter
+public class SecondLevelCacheProperties {
+	
+	/** Turns the Hibernate second-level and query cache on, off by default */
+	private boolean enabled = false;
+	
+	/** Size and ttl per region, keyed by region name, listed regions override these defaults */
+	private Map<String, Region> regions = new HashMap<>(Map.of(
+			AppConstant.CacheRegion.CREDENTIAL, new Region(10000, Duration.ofMinutes(10)), 
+			AppConstant.CacheRegion.ADDRESS, new Region(10000, Duration.ofMinutes(10)), 
+			AppConstant.CacheRegion.QUERY_RESULTS, new Region(1000, Duration.ofMinutes(5))));
+	
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Region {
+		
+		private long maximumSize = 1000;
+		
+		/** How long an entry lives after it was last written, bounds the staleness of writes from other instances */
+		private Duration ttl = Duration.ofMinutes(10);
+		
+	}
+	
+}
@@ -13,9 +13,11 @@ import javax.persistence.Id;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 import javax.validation.constraints.Email;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.selimhorri.app.constant.AppConstant;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -24,6 +26,10 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
+/**
+ * Not final, so that credentials and addresses load their user lazily through a proxy
+ * instead of querying it along with every credential served from the second-level cache
+ */
 @Entity
 @Table(name = "users")
 @NoArgsConstructor
@@ -32,12 +38,15 @@ import lombok.ToString;
 @ToString(exclude = {"addresses", "credential"})
 @Data
 @Builder
-public final class User extends AbstractMappedEntity implements Serializable {
+public class User extends AbstractMappedEntity implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "user_id_generator")
+	@TableGenerator(name = "user_id_generator", table = "id_generators", 
+			pkColumnName = "sequence_name", valueColumnName = "next_val", 
+			pkColumnValue = "users", allocationSize = AppConstant.ID_ALLOCATION_SIZE)
 	@Column(name = "user_id", unique = true, nullable = false, updatable = false)
 	private Integer userId;
 	
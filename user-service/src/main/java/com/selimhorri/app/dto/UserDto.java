@@ -6,6 +6,7 @@ import java.util.Set;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.selimhorri.app.domain.RoleBasedAuthority;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -39,6 +40,27 @@ public class UserDto implements Serializable {
 	@JsonInclude(value = Include.NON_NULL)
 	private CredentialDto credentialDto;
 	
+	/**
+	 * Constructor expression target of the read queries of UserRepository,
+	 * fills the dto straight from the user row and its credential columns.
+	 */
+	public UserDto(final Integer userId, final String firstName, final String lastName, final String imageUrl, 
+			final String email, final String phone, final Integer credentialId, final String username, 
+			final String password, final RoleBasedAuthority roleBasedAuthority, final Boolean isEnabled, 
+			final Boolean isAccountNonExpired, final Boolean isAccountNonLocked, final Boolean isCredentialsNonExpired) {
+		this(userId, firstName, lastName, imageUrl, email, phone, null, credentialId == null ? null : 
+				CredentialDto.builder()
+					.credentialId(credentialId)
+					.username(username)
+					.password(password)
+					.roleBasedAuthority(roleBasedAuthority)
+					.isEnabled(isEnabled)
+					.isAccountNonExpired(isAccountNonExpired)
+					.isAccountNonLocked(isAccountNonLocked)
+					.isCredentialsNonExpired(isCredentialsNonExpired)
+					.build());
+	}
+	
 }
 
 
@@ -2,12 +2,19 @@ package com.selimhorri.app.repository;
 
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.selimhorri.app.domain.Credential;
 
 public interface CredentialRepository extends JpaRepository<Credential, Integer> {
 	
+	/**
+	 * Looked up on every sign-in, cached in the query cache when the second-level cache is on
+	 */
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	Optional<Credential> findByUsername(final String username);
 	
 }
@@ -1,21 +1,49 @@
 package com.selimhorri.app.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.User;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.util.VersionStamp;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
 	
-	@Query("SELECT u FROM User u LEFT JOIN FETCH u.credential WHERE u.userId = :id")
-    Optional<User> findByIdWithCredential(@Param("id") Integer id);
+	@Query("SELECT new com.selimhorri.app.dto.UserDto(u.userId, u.firstName, u.lastName, u.imageUrl, u.email, u.phone, "
+            + "c.credentialId, c.username, c.password, c.roleBasedAuthority, c.isEnabled, c.isAccountNonExpired, "
+            + "c.isAccountNonLocked, c.isCredentialsNonExpired) FROM User u LEFT JOIN u.credential c")
+    List<UserDto> findAllDtos();
     
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.credential")
-    List<User> findAllWithCredentials();
+    @Query("SELECT new com.selimhorri.app.dto.UserDto(u.userId, u.firstName, u.lastName, u.imageUrl, u.email, u.phone, "
+            + "c.credentialId, c.username, c.password, c.roleBasedAuthority, c.isEnabled, c.isAccountNonExpired, "
+            + "c.isAccountNonLocked, c.isCredentialsNonExpired) FROM User u LEFT JOIN u.credential c WHERE u.userId = :id")
+    Optional<UserDto> findDtoById(@Param("id") Integer id);
+    
+    /**
+     * Update times behind a single user representation, its credential included
+     */
+    @Query("SELECT new com.selimhorri.app.util.VersionStamp(u.userId, u.updatedAt, c.updatedAt) "
+            + "FROM User u LEFT JOIN u.credential c WHERE u.userId = :id")
+    Optional<VersionStamp> findStampById(@Param("id") Integer id);
+    
+    /**
+     * Stamp of the whole user listing, the counts catch deletes
+     */
+    @Query("SELECT new com.selimhorri.app.util.VersionStamp(COUNT(u), MAX(u.updatedAt), COUNT(c), MAX(c.updatedAt)) "
+            + "FROM User u LEFT JOIN u.credential c")
+    VersionStamp findStamp();
+    
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.credential WHERE u.userId IN :ids")
+    List<User> findAllWithCredentialsByIdIn(@Param("ids") Collection<Integer> ids);
+    
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.credential WHERE u.userId > :after ORDER BY u.userId ASC")
+    List<User> findPageWithCredentials(@Param("after") Integer after, Pageable pageable);
     
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.credential c WHERE c.username = :username")
     Optional<User> findByCredentialUsername(@Param("username") String username);
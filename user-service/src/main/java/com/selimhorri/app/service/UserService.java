@@ -1,13 +1,19 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 
 public interface UserService {
 	
 	List<UserDto> findAll();
+	List<UserDto> findAllByIds(final Collection<Integer> userIds);
+	DtoCursorPageResponse<UserDto> findPage(final String after, final int limit);
 	UserDto findById(final Integer userId);
+	String findETag();
+	String findETag(final Integer userId);
 	UserDto save(final UserDto userDto);
 	UserDto update(final UserDto userDto);
 	UserDto update(final Integer userId, final UserDto userDto);
@@ -1,21 +1,26 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
-import javax.transaction.Transactional;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.ErrorCode;
 import com.selimhorri.app.exception.custom.DuplicateResourceException;
 import com.selimhorri.app.exception.custom.ResourceNotFoundException;
 import com.selimhorri.app.helper.UserMappingHelper;
 import com.selimhorri.app.repository.UserRepository;
 import com.selimhorri.app.service.UserService;
+import com.selimhorri.app.util.VersionStamp;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,9 +33,23 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     
     @Override
+    @Transactional(readOnly = true)
     public List<UserDto> findAll() {
         log.info("Fetching all users");
-        return this.userRepository.findAllWithCredentials()
+        return this.userRepository.findAllDtos()
+                .stream()
+                .distinct()
+                .collect(Collectors.toUnmodifiableList());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDto> findAllByIds(final Collection<Integer> userIds) {
+        log.info("Fetching {} users by ids", userIds.size());
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return this.userRepository.findAllWithCredentialsByIdIn(userIds)
                 .stream()
                 .map(UserMappingHelper::map)
                 .distinct()
@@ -38,13 +57,41 @@ public class UserServiceImpl implements UserService {
     }
     
     @Override
+    @Transactional(readOnly = true)
+    public DtoCursorPageResponse<UserDto> findPage(final String after, final int limit) {
+        log.info("Fetching users page after cursor: {}", after);
+        final int pageSize = Math.min(Math.max(limit, 1), AppConstant.MAX_PAGE_SIZE);
+        final List<UserDto> userDtos = this.userRepository
+                .findPageWithCredentials(after == null || after.isBlank() ? 
+                        0 : Integer.parseInt(after.strip()), PageRequest.of(0, pageSize))
+                .stream()
+                .map(UserMappingHelper::map)
+                .collect(Collectors.toUnmodifiableList());
+        return DtoCursorPageResponse.of(userDtos, pageSize, u -> String.valueOf(u.getUserId()));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
     public UserDto findById(final Integer userId) {
     log.info("Fetching user with id: {}", userId);
-    return this.userRepository.findByIdWithCredential(userId)
-            .map(UserMappingHelper::map)
+    return this.userRepository.findDtoById(userId)
             .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, userId));
 }
     
+    @Override
+    @Transactional(readOnly = true)
+    public String findETag() {
+        return this.userRepository.findStamp().getETag();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public String findETag(final Integer userId) {
+        return this.userRepository.findStampById(userId)
+                .map(VersionStamp::getETag)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.USER_NOT_FOUND, userId));
+    }
+    
     @Override
     public UserDto save(final UserDto userDto) {
         log.info("Saving new user");
@@ -118,6 +165,7 @@ public class UserServiceImpl implements UserService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public UserDto findByUsername(final String username) {
         log.info("Fetching user with username: {}", username);
         return this.userRepository.findByCredentialUsername(username)
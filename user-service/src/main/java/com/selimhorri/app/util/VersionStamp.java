@@ -0,0 +1,51 @@
+package com.selimhorri.app.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * Change marker of a single resource or of a whole listing, built by the stamp projections of the
+ * repositories from version columns, update times and row counts without loading any entity.
+ * Whatever write changes the representation changes one of its parts, hence its strong ETag.
+ */
+public final class VersionStamp {
+	
+	private final String eTag;
+	
+	public VersionStamp(final Object first, final Object second) {
+		this(new Object[] { first, second });
+	}
+	
+	public VersionStamp(final Object first, final Object second, final Object third) {
+		this(new Object[] { first, second, third });
+	}
+	
+	public VersionStamp(final Object first, final Object second, final Object third, final Object fourth) {
+		this(new Object[] { first, second, third, fourth });
+	}
+	
+	private VersionStamp(final Object[] parts) {
+		this.eTag = "\"" + DigestUtils.md5DigestAsHex(Arrays.toString(parts)
+				.getBytes(StandardCharsets.UTF_8)) + "\"";
+	}
+	
+	/**
+	 * Quoted strong entity tag, as sent in the ETag header
+	 */
+	public String getETag() {
+		return this.eTag;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,113 @@
+package com.selimhorri.app.config.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Address;
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.repository.AddressRepository;
+import com.selimhorri.app.repository.CredentialRepository;
+
+/**
+ * Runs against the Flyway-migrated H2 database, every repository call in its own transaction
+ * so only the second-level cache, not the persistence context, can save a query.
+ */
+@DataJpaTest(properties = {
+		"app.second-level-cache.enabled=true" })
+@Import(SecondLevelCacheConfig.class)
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Second-level cache Tests")
+class SecondLevelCacheTest {
+	
+	private static final String USERNAME = "selimhorri";
+	
+	@Autowired
+	private CredentialRepository credentialRepository;
+	
+	@Autowired
+	private AddressRepository addressRepository;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	private Statistics statistics;
+	
+	@BeforeEach
+	void setUp() {
+		entityManagerFactory.getCache().evictAll();
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+	
+	@Test
+	@DisplayName("Should serve a repeated credential and address read without any query")
+	void testRepeatedReadIsCached() {
+		// Given
+		credentialRepository.findById(1).orElseThrow();
+		addressRepository.findById(1).orElseThrow();
+		final long queriesOnMiss = statistics.getPrepareStatementCount();
+		statistics.clear();
+		
+		// When
+		credentialRepository.findById(1).orElseThrow();
+		addressRepository.findById(1).orElseThrow();
+		
+		// Then
+		assertEquals(2, queriesOnMiss);
+		assertEquals(0, statistics.getPrepareStatementCount());
+		assertEquals(1, statistics.getDomainDataRegionStatistics(AppConstant.CacheRegion.CREDENTIAL).getHitCount());
+		assertEquals(1, statistics.getDomainDataRegionStatistics(AppConstant.CacheRegion.ADDRESS).getHitCount());
+	}
+	
+	@Test
+	@DisplayName("Should serve a repeated sign-in lookup by username from the query cache")
+	void testUsernameLookupIsCached() {
+		// Given
+		credentialRepository.findByUsername(USERNAME).orElseThrow();
+		statistics.clear();
+		
+		// When
+		final Credential credential = credentialRepository.findByUsername(USERNAME).orElseThrow();
+		
+		// Then
+		assertEquals(USERNAME, credential.getUsername());
+		assertEquals(0, statistics.getPrepareStatementCount());
+		assertEquals(1, statistics.getQueryCacheHitCount());
+	}
+	
+	@Test
+	@DisplayName("Should serve the saved state after an update, also to the cached username lookup")
+	void testSaveUpdatesEntry() {
+		// Given
+		credentialRepository.findByUsername(USERNAME).orElseThrow();
+		final Credential credential = credentialRepository.findById(1).orElseThrow();
+		credential.setIsEnabled(false);
+		final Address address = addressRepository.findById(1).orElseThrow();
+		address.setCity("Tunis");
+		
+		// When
+		credentialRepository.save(credential);
+		addressRepository.save(address);
+		
+		// Then
+		assertFalse(credentialRepository.findByUsername(USERNAME).orElseThrow().getIsEnabled());
+		assertEquals("Tunis", addressRepository.findById(1).orElseThrow().getCity());
+	}
+	
+}
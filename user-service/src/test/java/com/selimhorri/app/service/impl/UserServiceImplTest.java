@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -22,7 +23,9 @@ import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.exception.custom.ResourceNotFoundException;
+import com.selimhorri.app.helper.UserMappingHelper;
 import com.selimhorri.app.repository.UserRepository;
+import com.selimhorri.app.util.VersionStamp;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("UserService Tests")
@@ -100,7 +103,7 @@ class UserServiceImplTest {
 		user2.setLastName("Smith");
 		user2.setCredential(credential2);
 		
-		when(userRepository.findAllWithCredentials()).thenReturn(Arrays.asList(user, user2));
+		when(userRepository.findAllDtos()).thenReturn(Arrays.asList(UserMappingHelper.map(user), UserMappingHelper.map(user2)));
 		
 		// When
 		List<UserDto> result = userService.findAll();
@@ -108,14 +111,29 @@ class UserServiceImplTest {
 		// Then
 		assertNotNull(result);
 		assertEquals(2, result.size());
-		verify(userRepository, times(1)).findAllWithCredentials();
+		verify(userRepository, times(1)).findAllDtos();
+	}
+	
+	@Test
+	@DisplayName("Should find users by ids in a single repository call")
+	void testFindAllByIds() {
+		// Given
+		when(userRepository.findAllWithCredentialsByIdIn(List.of(1, 3))).thenReturn(Arrays.asList(user));
+		
+		// When
+		List<UserDto> result = userService.findAllByIds(List.of(1, 3));
+		
+		// Then
+		assertEquals(1, result.size());
+		assertEquals(1, result.get(0).getUserId());
+		verify(userRepository, times(1)).findAllWithCredentialsByIdIn(List.of(1, 3));
 	}
 	
 	@Test
 	@DisplayName("Should find user by id successfully")
 	void testFindById() {
 		// Given
-		when(userRepository.findByIdWithCredential(1)).thenReturn(Optional.of(user));
+		when(userRepository.findDtoById(1)).thenReturn(Optional.of(userDto));
 		
 		// When
 		UserDto result = userService.findById(1);
@@ -124,14 +142,14 @@ class UserServiceImplTest {
 		assertNotNull(result);
 		assertEquals(1, result.getUserId());
 		assertEquals("John", result.getFirstName());
-		verify(userRepository, times(1)).findByIdWithCredential(1);
+		verify(userRepository, times(1)).findDtoById(1);
 	}
 	
 	@Test
 	@DisplayName("Should throw exception when user not found by id")
 	void testFindByIdNotFound() {
 		// Given
-		when(userRepository.findByIdWithCredential(999)).thenReturn(Optional.empty());
+		when(userRepository.findDtoById(999)).thenReturn(Optional.empty());
 		
 		// When & Then
 		ResourceNotFoundException exception = assertThrows(
@@ -140,7 +158,38 @@ class UserServiceImplTest {
 		);
 		
 		assertTrue(exception.getMessage().contains("User with id 999 not found"));
-		verify(userRepository, times(1)).findByIdWithCredential(999);
+		verify(userRepository, times(1)).findDtoById(999);
+	}
+	
+	@Test
+	@DisplayName("Should change the user ETag when its credential is updated")
+	void testFindETag() {
+		// Given
+		final Instant updatedAt = Instant.parse("2024-01-01T10:00:00Z");
+		when(userRepository.findStampById(1))
+			.thenReturn(Optional.of(new VersionStamp(1, updatedAt, updatedAt)))
+			.thenReturn(Optional.of(new VersionStamp(1, updatedAt, updatedAt.plusMillis(1))));
+		
+		// When
+		final String before = userService.findETag(1);
+		final String after = userService.findETag(1);
+		
+		// Then
+		assertNotEquals(before, after);
+		verify(userRepository, never()).findDtoById(anyInt());
+	}
+	
+	@Test
+	@DisplayName("Should change the listing ETag when a user is deleted")
+	void testFindListingETag() {
+		// Given
+		final Instant updatedAt = Instant.parse("2024-01-01T10:00:00Z");
+		when(userRepository.findStamp())
+			.thenReturn(new VersionStamp(4L, updatedAt, 4L, updatedAt))
+			.thenReturn(new VersionStamp(3L, updatedAt, 3L, updatedAt));
+		
+		// When & Then
+		assertNotEquals(userService.findETag(), userService.findETag());
 	}
 	
 	@Test
@@ -181,7 +230,7 @@ class UserServiceImplTest {
 	@DisplayName("Should update user with userId successfully")
 	void testUpdateWithUserId() {
 		// Given
-		when(userRepository.findByIdWithCredential(1)).thenReturn(Optional.of(user));
+		when(userRepository.findDtoById(1)).thenReturn(Optional.of(userDto));
 		when(userRepository.existsById(1)).thenReturn(true);
 		when(userRepository.findById(1)).thenReturn(Optional.of(user));
 		when(userRepository.save(any(User.class))).thenReturn(user);
@@ -191,7 +240,7 @@ class UserServiceImplTest {
 		
 		// Then
 		assertNotNull(result);
-		verify(userRepository, times(1)).findByIdWithCredential(1);
+		verify(userRepository, times(1)).findDtoById(1);
 		verify(userRepository, times(1)).save(any(User.class));
 	}
 	